@@ -100,12 +100,24 @@ public class AircraftAxis {
      * @return  Bank angle in degrees
      */
     public double getBankAngleAtWpt(Waypoint wpt) {
+        return this.getBankAngleAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt));
+    }
+
+    /**
+     * This method returns the aircraft's bank angle at a given waypoint along the lateral track. The data provided by the method
+     * is leveraged to adjust the aircraft's corresponding aileron position.
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @return  Bank angle in degrees
+     */
+    public double getBankAngleAtWpt(PositionContext pos) {
         try{
             int sigmoidSlope = BANK_SIGM_SLOPE;
             double vAsu, rollRate, rollT, wptT, wptDist, sgmtT, sgmtDist, sgmtAngle, sgmtWx, wptAngle, wptAileron, wptWx, scale;
             LateralSegment refSgmt;
+            Waypoint wpt = pos.getWpt();
 
-            refSgmt = lateral.getWptSgmt(wpt);
+            refSgmt = pos.getLatSgmt();
             wptAngle = 0;
             control.setAileron(0);
 
@@ -163,7 +175,7 @@ public class AircraftAxis {
             }
 
             // Adjust bank angle by CATs (Clear Air Turbulence) effect
-            wptWx = weather.getBankDeviationAtWpt(wpt);
+            wptWx = pos.getBankDev();
 
             if(wptWx != 0){
                 sgmtWx = weather.getCatTargetValueAtWpt(wpt, "bank");
@@ -195,14 +207,24 @@ public class AircraftAxis {
      * @return  Heading in degrees
      */
     public double getHeadingAtWpt(Waypoint wpt) {
+        return this.getHeadingAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt));
+    }
+
+    /**
+     * This method returns the aircraft's heading at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @return  Heading in degrees
+     */
+    public double getHeadingAtWpt(PositionContext pos) {
         try{
             int sigmoidSlope;
             double wptCrs,wptCrsChg,sgmtCrsChg, vAs;
             LateralSegment refSgmt;
 
-            refSgmt = lateral.getWptSgmt(wpt);
-            wptCrs = lateral.getCourseAtWpt(wpt);
-            vAs = velocity.getVasAtWpt(wpt);
+            refSgmt = pos.getLatSgmt();
+            wptCrs = pos.getCourse();
+            vAs = pos.getVas();
 
             if (vAs <= convertKts(25,"kts"))
                 sigmoidSlope = TURN_SIGM_SLOPE_0_25;
@@ -238,16 +260,26 @@ public class AircraftAxis {
      * @return  Pitch in degrees
      */
     public double getPitchAngleAtWpt(Waypoint wpt){
+        return this.getPitchAngleAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt));
+    }
+
+    /**
+     * This method returns the aircraft's pitch at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @return  Pitch in degrees
+     */
+    public double getPitchAngleAtWpt(PositionContext pos){
         try{
             int s, l, sigmoidSlope = PITCH_SIGM_SLOPE;
             double startPitch, targetPitch, targetDist, wptDist, pitchChg, vAsu, wptPitch = 0, pitchDelayRatio = 0, refAlpha = 0;
             VerticalSegment thisSgmt, nextSgmt, sgmtStart, sgmtEnd;
-            Waypoint endWpt;
+            Waypoint endWpt, wpt = pos.getWpt();
 
             // Identify vertical segments
-            thisSgmt = vertical.getWptSgmt(wpt);
+            thisSgmt = pos.getVertSgmt();
             l = vertical.getSgmtCount();
-            s = vertical.getSgmtPos(thisSgmt);
+            s = pos.getVertSgmtPos();
 
 
             // NOTE
@@ -414,7 +446,7 @@ public class AircraftAxis {
 
             // Adjust pitch angle by CATs (Clear Air Turbulence) effect
             //if(s < l-4)
-             wptPitch += weather.getPitchDeviationAtWpt(wpt);
+             wptPitch += pos.getPitchDev();
 
             return wptPitch;
         }catch(Exception e){
@@ -429,16 +461,26 @@ public class AircraftAxis {
      * @return  Altitude in meters
      */
     public double getAltAtWpt(Waypoint wpt){
+        return this.getAltAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt));
+    }
+
+    /**
+     * This method returns the aircraft's altitude at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @return  Altitude in meters
+     */
+    public double getAltAtWpt(PositionContext pos){
         try{
             int s, l;
             double wptAltChg = 0, sgmtAltChg = 0, wptAlt;
             VerticalSegment thisSgmt;
 
             // Get segment, position and altitude at waypoint
-            thisSgmt = vertical.getWptSgmt(wpt);
-            s = vertical.getSgmtPos(thisSgmt);
+            thisSgmt = pos.getVertSgmt();
+            s = pos.getVertSgmtPos();
             l = vertical.getSgmtCount();
-            wptAlt = vertical.getAltAtWpt(wpt);
+            wptAlt = pos.getAlt();
 
             if(thisSgmt.getVs() != 0){
                 // Adjust slope for takeoff / rotate segment
@@ -485,7 +527,7 @@ public class AircraftAxis {
             }
 
             // Adjust altitude by CATs (Clear Air Turbulence) effect
-            wptAlt += weather.getAltDeviationAtWpt(wpt);
+            wptAlt += pos.getAltDev();
 
             return wptAlt;
 
@@ -131,22 +131,33 @@ public class AircraftControl {
      * @return  Flaps position in degrees
      */
     public int getFlapsAtWpt(Waypoint wpt, int phase){
+        return this.getFlapsAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt), phase);
+    }
+
+    /**
+     * This method returns the aircraft's flaps position a given waypoint along the lateral track
+     *
+     * @param   pos     Position context of the waypoint along the lateral track
+     * @param   phase   Identifier for phase of flight, e.g. pushback, taxi, flight
+     * @return  Flaps position in degrees
+     */
+    public int getFlapsAtWpt(PositionContext pos, int phase){
         try{
             double vAs;
             int flapsDeg;
 
-            vAs = velocity.getVasAtWpt(wpt);
+            vAs = pos.getVas();
 
-            if(lateral.getDist(lateral.getStartWpt(),wpt) <= OUTBOUND_SECTION_DIST){
+            if(pos.getTrackDist() <= OUTBOUND_SECTION_DIST){
                 if(vAs > PerfCalc.convertKts(FLAPS_TAKEOFF_SPD, "kts") && vAs <= PerfCalc.convertKts(FLAPS_1_SPD, "kts"))
                     flapsDeg = 1;
                 else if(vAs <= PerfCalc.convertKts(FLAPS_TAKEOFF_SPD, "kts"))
                     //if(phase == 2 && lateral.getDist(lateral.getStartWpt(),wpt) < 0.01/4)
-                    if(phase == 2 && velocity.getTime(lateral.getStartWpt(),wpt) < 30)
+                    if(phase == 2 && velocity.getTime(lateral.getStartWpt(),pos.getWpt()) < 30)
                         flapsDeg = 0;
-                    else if(phase == 4 && lateral.getDist(lateral.getStartWpt(),wpt) >= FLAPS_UP_INBOUND_DIST)
+                    else if(phase == 4 && pos.getTrackDist() >= FLAPS_UP_INBOUND_DIST)
                         flapsDeg = 0;
-                    else if(phase == 4 && lateral.getDist(lateral.getStartWpt(),wpt) < FLAPS_UP_INBOUND_DIST)
+                    else if(phase == 4 && pos.getTrackDist() < FLAPS_UP_INBOUND_DIST)
                         flapsDeg = 30;
                     else if(phase == 5 || phase == 1)
                         flapsDeg = 0;
@@ -185,13 +196,24 @@ public class AircraftControl {
      * @return  Spoiler position in degrees, 0 (down), 1 (flt), or 2 (up)
      */
     public int getSpoilersAtWpt(Waypoint wpt, int phase){
+        return this.getSpoilersAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt), phase);
+    }
+
+    /**
+     * This method returns the aircraft's spoiler position at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @param   phase   Identifier for phase of flight, e.g. pushback, taxi, flight
+     * @return  Spoiler position in degrees, 0 (down), 1 (flt), or 2 (up)
+     */
+    public int getSpoilersAtWpt(PositionContext pos, int phase){
         try{
             int spoilersDeg;
 
             // Deploy Spoilers for landing
-            if(phase == 3 && vertical.getAltAtWpt(wpt) == vertical.getAltAtWpt(lateral.getEndWpt()) && lateral.getDist(wpt, lateral.getEndWpt()) <= INBOUND_SECTION_DIST)
+            if(phase == 3 && pos.getAlt() == pos.getDestAlt() && pos.getDistToEnd() <= INBOUND_SECTION_DIST)
                 spoilersDeg = 2;
-            else if(phase == 4 && vertical.getAltAtWpt(wpt) == vertical.getAltAtWpt(lateral.getEndWpt()) && lateral.getDist(lateral.getStartWpt(), wpt) <= (LIGHTS_LANDING_OFF_INBOUND_DIST - 5))
+            else if(phase == 4 && pos.getAlt() == pos.getDestAlt() && pos.getTrackDist() <= (LIGHTS_LANDING_OFF_INBOUND_DIST - 5))
                 spoilersDeg = 2;
             else
                 spoilersDeg = 0;
@@ -209,17 +231,27 @@ public class AircraftControl {
      * @return      Gear position down (1), or up (0)
      */
     public int getGearAtWpt(Waypoint wpt) {
+        return this.getGearAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt));
+    }
+
+    /**
+     * This method returns the aircraft's gear position along the flight track.
+     *
+     * @param pos   Position context of the aircraft along the flight track
+     * @return      Gear position down (1), or up (0)
+     */
+    public int getGearAtWpt(PositionContext pos) {
         try {
             double alt, depAlt, destAlt;
             int gearPos;
 
-            alt = vertical.getAltAtWpt(wpt);
-            depAlt = vertical.getAltAtWpt(lateral.getStartWpt());
-            destAlt = vertical.getAltAtWpt(lateral.getEndWpt());
+            alt = pos.getAlt();
+            depAlt = pos.getDepAlt();
+            destAlt = pos.getDestAlt();
 
-            if (lateral.getDist(lateral.getStartWpt(), wpt) <= OUTBOUND_SECTION_DIST && alt < (PerfCalc.convertFt(ALT_GEAR_UP, "ft") + depAlt)) {
+            if (pos.getTrackDist() <= OUTBOUND_SECTION_DIST && alt < (PerfCalc.convertFt(ALT_GEAR_UP, "ft") + depAlt)) {
                 gearPos = 1;
-            } else if (lateral.getDist(wpt, lateral.getEndWpt()) <= INBOUND_SECTION_DIST && alt < (PerfCalc.convertFt(ALT_GEAR_DOWN, "ft") + destAlt)) {
+            } else if (pos.getDistToEnd() <= INBOUND_SECTION_DIST && alt < (PerfCalc.convertFt(ALT_GEAR_DOWN, "ft") + destAlt)) {
                 gearPos = 1;
             } else
                 gearPos = 0;
@@ -237,13 +269,23 @@ public class AircraftControl {
      * @return      Postion of nose wheel in degrees (-90 to +90 deg.)
      */
     public double getNoseWheelAtWpt(Waypoint wpt){
+        return this.getNoseWheelAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt));
+    }
+
+    /**
+     * This method returns the aircraft's nose wheel position along the lateral track.
+     *
+     * @param pos   Position context of the aircraft along the flight track
+     * @return      Postion of nose wheel in degrees (-90 to +90 deg.)
+     */
+    public double getNoseWheelAtWpt(PositionContext pos){
         try{
             int sigmoidSlope = TURN_SIGM_SLOPE_0_25;
             double wptNwDeg, wptDist, wptT, sgmtDist, sgmtT, vAsu, degLimit, turnRate, turnT, sgmtAngle, targetAngle, scale, wheelbase;
             LateralSegment refSgmt;
 
             //Get segment from lateral track and check for turn segment
-            refSgmt = lateral.getWptSgmt(wpt);
+            refSgmt = pos.getLatSgmt();
 
             if(refSgmt instanceof TurnSegment){
 
@@ -257,7 +299,7 @@ public class AircraftControl {
                 targetAngle = toDegrees(asin(wheelbase/((TurnSegment) refSgmt).getRadius()));
 
                 // Calculate wpt specific performance values
-                wptDist = lateral.getDist(refSgmt.getStartPt(), wpt);
+                wptDist = lateral.getDist(refSgmt.getStartPt(), pos.getWpt());
                 wptT = wptDist/vAsu;
 
                 // Calculate nose wheel target angle for turn segment in degrees
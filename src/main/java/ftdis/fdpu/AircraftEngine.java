@@ -17,6 +17,7 @@ public class AircraftEngine {
     private Vertical vertical;
     private Weather weather;
     private double engineVal;
+    private PositionContext delayPos;
 
     /**
      * Constructor(s)
@@ -38,6 +39,7 @@ public class AircraftEngine {
      */
     public void assignLat(Lateral lateral){
         this.lateral = lateral;
+        this.delayPos = null;
     }
 
     /**
@@ -47,6 +49,7 @@ public class AircraftEngine {
      */
     public void assignVel(Velocity velocity){
         this.velocity = velocity;
+        this.delayPos = null;
     }
 
     /**
@@ -56,6 +59,7 @@ public class AircraftEngine {
      */
     public void assignVert(Vertical vertical){
         this.vertical = vertical;
+        this.delayPos = null;
     }
 
     /**
@@ -65,6 +69,7 @@ public class AircraftEngine {
      */
     public void assignWx(Weather wx){
         this.weather = wx;
+        this.delayPos = null;
     }
 
 
@@ -75,6 +80,16 @@ public class AircraftEngine {
      * @return  Engine target value in percent
      */
     public double getEngineTargetValAtWpt(Waypoint wpt){
+        return this.getEngineTargetValAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt));
+    }
+
+    /**
+     * This method returns the aircraft's engine target value at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @return  Engine target value in percent
+     */
+    public double getEngineTargetValAtWpt(PositionContext pos){
         try{
             VelocitySegment thisSgmt, nextSgmt;
             double alt, alpha, engineTargetVal, thrustRedAlt, gearDownAlt, transitionAlt, variationDelta, waitSpd = 1E-2;
@@ -87,8 +102,8 @@ public class AircraftEngine {
             variationDelta = ENG_VAR_APP;
 
             // Initialize variables
-            alt = vertical.getAltAtWpt(wpt);
-            alpha = vertical.getAlphaAtWpt(wpt);
+            alt = pos.getAlt();
+            alpha = pos.getAlpha();
 
             // Determine standard engine settings for climb, descent and cruise
             if(alpha > 0)
@@ -98,13 +113,13 @@ public class AircraftEngine {
                 // Descent
                 engineTargetVal = ENG_DESC_N1;
             else {
-                if ((lateral.getDist(lateral.getStartWpt(), wpt) <= OUTBOUND_SECTION_DIST && alt == vertical.getAltAtWpt(lateral.getStartWpt()))
-                        || (lateral.getDist(wpt, lateral.getEndWpt()) <= INBOUND_SECTION_DIST && alt == vertical.getAltAtWpt(lateral.getEndWpt()))) {
+                if ((pos.getTrackDist() <= OUTBOUND_SECTION_DIST && alt == pos.getDepAlt())
+                        || (pos.getDistToEnd() <= INBOUND_SECTION_DIST && alt == pos.getDestAlt())) {
                     // Taxi
                     engineTargetVal = ENG_TAXI_N1; // RANDOMIZE +/- 5%
 
                     // Check for acceleration during taxi
-                    thisSgmt = velocity.getWptSgmt(wpt);
+                    thisSgmt = pos.getVelSgmt();
                     thisSgmtPos = velocity.getSgmtPos(thisSgmt);
 
                     if(thisSgmtPos < velocity.getSgmtCount() - 1)
@@ -113,12 +128,12 @@ public class AircraftEngine {
                         nextSgmt = null;
 
                     // Normal acceleration
-                    if (velocity.getWptSgmt(wpt).getAcc() > 0)
+                    if (pos.getVelSgmt().getAcc() > 0)
                         engineTargetVal = ENG_TAXI_ACC_N1;
                     // Acceleration from stand still. Account for inertia (Fixed 3 seconds)
                     else if(nextSgmt != null && thisSgmt.getAcc() == 0 && thisSgmt.getVasf() == waitSpd && nextSgmt.getAcc() > 0) {
                         // Calculate remaining time
-                        if(velocity.getTime(wpt,thisSgmt.getEndPt()) < ENG_TAXI_INERTIA_DELAY)
+                        if(velocity.getTime(pos.getWpt(),thisSgmt.getEndPt()) < ENG_TAXI_INERTIA_DELAY)
                             engineTargetVal = ENG_TAXI_ACC_N1;
                     }
                 } else
@@ -127,15 +142,15 @@ public class AircraftEngine {
             }
 
             // Determine specific engine settings for takeoff, final approach and rollout
-            if(lateral.getDist(lateral.getStartWpt(),wpt) <= OUTBOUND_SECTION_DIST && velocity.getWptSgmt(wpt).getVasf() >= PerfCalc.convertKts(80,"kts") && (alt - vertical.getAltAtWpt(lateral.getStartWpt())) <= thrustRedAlt){
+            if(pos.getTrackDist() <= OUTBOUND_SECTION_DIST && pos.getVelSgmt().getVasf() >= PerfCalc.convertKts(80,"kts") && (alt - pos.getDepAlt()) <= thrustRedAlt){
                 // Takeoff
-                if(lateral.getDist(lateral.getStartWpt(),wpt) <= ENG_TAKEOFF_40_N1_DIST)
+                if(pos.getTrackDist() <= ENG_TAKEOFF_40_N1_DIST)
                     // 40%
                     engineTargetVal = ENG_TAKEOFF_40_N1;
                 else
                     // TO thrust
                     engineTargetVal = ENG_TAKEOFF_THRUST_N1;
-            } else if(lateral.getDist(wpt,lateral.getEndWpt()) <= INBOUND_SECTION_DIST && velocity.getVasAtWpt(wpt) >= PerfCalc.convertKts(80,"kts") && (alt - vertical.getAltAtWpt(lateral.getEndWpt())) <= gearDownAlt && (alt - vertical.getAltAtWpt(lateral.getEndWpt())) > 0){
+            } else if(pos.getDistToEnd() <= INBOUND_SECTION_DIST && pos.getVas() >= PerfCalc.convertKts(80,"kts") && (alt - pos.getDestAlt()) <= gearDownAlt && (alt - pos.getDestAlt()) > 0){
                 // Final approach
                 engineTargetVal = ENG_FINAL_APP_N1;
 
@@ -147,19 +162,19 @@ public class AircraftEngine {
                 //if(vertical.getSgmtPos(vertical.getWptSgmt(wpt)) == (vertical.getSgmtCount() - 3))
                 // *********************************************
                 //if(vertical.getAltAtWpt(wpt) <= PerfCalc.convertFt(ALT_FLARE,"ft"))
-                if ((alt - vertical.getAltAtWpt(lateral.getEndWpt())) < PerfCalc.convertFt(ALT_FLARE,"ft"))
+                if ((alt - pos.getDestAlt()) < PerfCalc.convertFt(ALT_FLARE,"ft"))
                     // Flare: Idle
                     engineTargetVal = ENG_IDLE_N1;
 
-            } else if(lateral.getDist(wpt, lateral.getEndWpt()) <= INBOUND_SECTION_DIST && velocity.getVasAtWpt(wpt) >= PerfCalc.convertKts(20,"kts") && (alt - vertical.getAltAtWpt(lateral.getEndWpt())) == 0){
+            } else if(pos.getDistToEnd() <= INBOUND_SECTION_DIST && pos.getVas() >= PerfCalc.convertKts(20,"kts") && (alt - pos.getDestAlt()) == 0){
                 // Rollout: Reverse
-                if(lateral.getDist(lateral.getWptSgmt(wpt).getStartPt(), wpt) > 50 && velocity.getVasAtWpt(wpt) >= PerfCalc.convertKts(80,"kts"))
+                if(lateral.getDist(pos.getLatSgmt().getStartPt(), pos.getWpt()) > 50 && pos.getVas() >= PerfCalc.convertKts(80,"kts"))
                     engineTargetVal = (1 + ENG_REVERSE_N1) * -1;
-                else if(lateral.getDist(lateral.getWptSgmt(wpt).getStartPt(), wpt) > 50 && velocity.getVasAtWpt(wpt) >= PerfCalc.convertKts(20,"kts"))
+                else if(lateral.getDist(pos.getLatSgmt().getStartPt(), pos.getWpt()) > 50 && pos.getVas() >= PerfCalc.convertKts(20,"kts"))
                     engineTargetVal = -1;
                 else
                     engineTargetVal = ENG_IDLE_N1;
-            } else if(lateral.getDist(wpt,lateral.getEndWpt()) <= INBOUND_SECTION_DIST && velocity.getVasAtWpt(wpt) >= PerfCalc.convertKts(80,"kts") && (alt - vertical.getAltAtWpt(lateral.getEndWpt())) > gearDownAlt && (alt - vertical.getAltAtWpt(lateral.getEndWpt())) <= transitionAlt && alpha == 0){
+            } else if(pos.getDistToEnd() <= INBOUND_SECTION_DIST && pos.getVas() >= PerfCalc.convertKts(80,"kts") && (alt - pos.getDestAlt()) > gearDownAlt && (alt - pos.getDestAlt()) <= transitionAlt && alpha == 0){
                 // Approach: Level
                 engineTargetVal = ENG_PRE_APP_N1;
             }
@@ -195,8 +210,20 @@ public class AircraftEngine {
      * @return  Engine  value in percent
      */
     public double getEngineValAtWpt(Waypoint wpt, double cycleLen){
+        return this.getEngineValAtWpt(new PositionContext(lateral, velocity, vertical, weather).set(wpt), cycleLen);
+    }
+
+    /**
+     * This method returns the aircraft's engine  value at a given waypoint along the lateral track
+     *
+     * @param   pos         Position context of the waypoint along the lateral track
+     * @param   cycleLen    Length of the processing cycle in seconds
+     * @return  Engine  value in percent
+     */
+    public double getEngineValAtWpt(PositionContext pos, double cycleLen){
         try{
             double engineVal, engineTargetVal, engineRate, thrustDelay;
+            Waypoint wpt;
 
             // *********************************************
             // Revised 08/12/18 Added logic to include delay between engine thrust
@@ -207,13 +234,19 @@ public class AircraftEngine {
             // Move wpt to include delay between set of thrust and start of acceleration
             thrustDelay = 3; // 3 second delay
 
-            if(vertical.getSgmtPos(vertical.getWptSgmt(wpt)) < vertical.getSgmtCount() - 2)
-                wpt = lateral.getItmWpt(wpt,velocity.getDist(wpt,thrustDelay));
+            if(pos.getVertSgmtPos() < vertical.getSgmtCount() - 2){
+                wpt = lateral.getItmWpt(pos.getWpt(),velocity.getDist(pos.getWpt(),thrustDelay));
+
+                if(this.delayPos == null)
+                    this.delayPos = new PositionContext(lateral, velocity, vertical, weather);
+
+                pos = this.delayPos.set(wpt);
+            }
 
             // Define parameters
             engineRate = ENG_RATE_N1;
             engineVal = this.getEngineVal();
-            engineTargetVal = this.getEngineTargetValAtWpt(wpt);
+            engineTargetVal = this.getEngineTargetValAtWpt(pos);
 
             // Bridge gap between engine idle and -1, i.e. start of reverse thrust
             if(engineTargetVal < -1 && engineVal >= 0)
@@ -170,6 +170,17 @@ public class AircraftSystem {
      * @return  Status fasten seatbelt sign 0 (Off), 1 (On)
      */
     public int getSeatSign(Waypoint wpt, int phase){
+        return this.getSeatSign(new PositionContext(lateral, velocity, vertical, null).set(wpt), phase);
+    }
+
+    /**
+     * This method returns the status of the fasten seatbelt sign at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @param   phase   Identifier for phase of flight, e.g. pushback, taxi, flight
+     * @return  Status fasten seatbelt sign 0 (Off), 1 (On)
+     */
+    public int getSeatSign(PositionContext pos, int phase){
         try {
             int sign = 0;
 
@@ -177,7 +188,7 @@ public class AircraftSystem {
             if(phase == 1 || phase == 2)
                 sign = 1;
             // Flight On/Off below/above transition altitude
-            else if (phase == 3 && PerfCalc.convertFt(vertical.getAltAtWpt(wpt),"m") <= (ALT_TRANSITION + 1000))
+            else if (phase == 3 && PerfCalc.convertFt(pos.getAlt(),"m") <= (ALT_TRANSITION + 1000))
                 sign = 1;
             // Taxi to gate
             else if (phase == 4 || phase == 5)
@@ -201,6 +212,18 @@ public class AircraftSystem {
         return 1;
     }
 
+    /**
+     * This method returns the status of the no smoking sign at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @param   phase   Identifier for phase of flight, e.g. pushback, taxi, flight
+     * @return  Status no smoking sign 0 (Off), 1 (On)
+     */
+    public int getSmkSign(PositionContext pos, int phase){
+        // For the moment on at all times
+        return 1;
+    }
+
     /**
      * This method returns the status of the cabin attention sign at a given waypoint along the lateral track
      *
@@ -209,22 +232,33 @@ public class AircraftSystem {
      * @return  Status cabin attention sign
      */
     public int getAttSign(Waypoint wpt, int phase){
+        return this.getAttSign(new PositionContext(lateral, velocity, vertical, null).set(wpt), phase);
+    }
+
+    /**
+     * This method returns the status of the cabin attention sign at a given waypoint along the lateral track
+     *
+     * @param   pos Position context of the waypoint along the lateral track
+     * @param   phase   Identifier for phase of flight, e.g. pushback, taxi, flight
+     * @return  Status cabin attention sign
+     */
+    public int getAttSign(PositionContext pos, int phase){
         try {
             int sign = 0;
 
             // Taxi onto Runway
-            if(phase == 2 && lateral.getDist(wpt,lateral.getEndWpt()) < LIGHTS_LANDING_ON_OUTBOUND_DIST)
+            if(phase == 2 && pos.getDistToEnd() < LIGHTS_LANDING_ON_OUTBOUND_DIST)
                 sign = 1;
             // After takeoff
-            else if (phase == 3 && PerfCalc.convertKts(velocity.getVasAtWpt(wpt),"ms") < FLAPS_1_SPD && lateral.getDist(lateral.getStartWpt(),wpt) < OUTBOUND_SECTION_DIST)
+            else if (phase == 3 && PerfCalc.convertKts(pos.getVas(),"ms") < FLAPS_1_SPD && pos.getTrackDist() < OUTBOUND_SECTION_DIST)
                 sign = 1;
-            else if (phase == 3 && PerfCalc.convertKts(velocity.getVasAtWpt(wpt),"ms") >= FLAPS_1_SPD)
+            else if (phase == 3 && PerfCalc.convertKts(pos.getVas(),"ms") >= FLAPS_1_SPD)
                 sign = 2;
             // Approach
-            else if (phase == 3 && PerfCalc.convertKts(velocity.getVasAtWpt(wpt),"ms") < FLAPS_1_SPD && lateral.getDist(wpt,lateral.getEndWpt()) < INBOUND_SECTION_DIST)
+            else if (phase == 3 && PerfCalc.convertKts(pos.getVas(),"ms") < FLAPS_1_SPD && pos.getDistToEnd() < INBOUND_SECTION_DIST)
                 sign = 3;
             // After landing
-            else if (phase == 4 && lateral.getDist(lateral.getStartWpt(),wpt) > (FLAPS_UP_INBOUND_DIST + 50))
+            else if (phase == 4 && pos.getTrackDist() > (FLAPS_UP_INBOUND_DIST + 50))
                 sign = 4;
             else if (phase == 5)
                 sign = 4;
@@ -1,15 +1,17 @@
 package ftdis.fdpu;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
 
-import static ftdis.fdpu.DOMUtil.*;
+import static ftdis.fdpu.StAXUtil.*;
 
 /**
  * The FDPU config class loads and sets all of the aircraft/flight specific variables required by
@@ -80,194 +82,262 @@ public class Config {
         try{
             int configId = 1;
 
-            // Parse config .xml file and load variables
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-            Document configXML = dBuilder.parse(new File(filePathName));
-
-            // normalize
-            configXML.getDocumentElement().normalize();
+            // Read config .xml file and load variables
+            Map<String, Map<String, Map<String, String>>> configXML = readConfig(filePathName);
 
             // Get fdpu config vars
-            Node fdpu = findNode(configXML.getDocumentElement().getChildNodes(),"fdpu");
-
-            LIGHTS_NAV_ON_OUTBOUND_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"LIGHTS_NAV_ON_OUTBOUND_DIST"),"val"));
-            LIGHTS_TAXI_ON_OUTBOUND_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"LIGHTS_TAXI_ON_OUTBOUND_DIST"),"val"));
-            LIGHTS_TAXI_OFF_INBOUND_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"LIGHTS_TAXI_OFF_INBOUND_DIST"),"val"));
-            LIGHTS_LANDING_ON_OUTBOUND_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"LIGHTS_LANDING_ON_OUTBOUND_DIST"),"val"));
-            LIGHTS_LANDING_OFF_INBOUND_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"LIGHTS_LANDING_OFF_INBOUND_DIST"),"val"));
-            LIGHTS_LANDING_ALT = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"LIGHTS_LANDING_ALT"),"val"));
-
-            CONTROL_TEST_TIME = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CONTROL_TEST_TIME"),"val"));
-            CONTROL_TEST_DUR = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CONTROL_TEST_DUR"),"val"));
-            CONTROL_TEST_BREAK = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CONTROL_TEST_BREAK"),"val"));
-
-            BANK_ANGLE_0_190 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"BANK_ANGLE_0_190"),"val"));
-            BANK_ANGLE_190_210 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"BANK_ANGLE_190_210"),"val"));
-            BANK_ANGLE_210_250 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"BANK_ANGLE_210_250"),"val"));
-            BANK_ANGLE_250_999 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"BANK_ANGLE_250_999"),"val"));
-
-            ROLL_RATE_0_190 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ROLL_RATE_0_190"),"val"));
-            ROLL_RATE_190_210 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ROLL_RATE_190_210"),"val"));
-            ROLL_RATE_210_250 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ROLL_RATE_210_250"),"val"));
-            ROLL_RATE_250_999 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ROLL_RATE_250_999"),"val"));
-
-            AILERON_RATE_0_190 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"AILERON_RATE_0_190"),"val"));
-            AILERON_RATE_190_210 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"AILERON_RATE_190_210"),"val"));
-            AILERON_RATE_210_250 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"AILERON_RATE_210_250"),"val"));
-            AILERON_RATE_250_999 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"AILERON_RATE_250_999"),"val"));
-
-            PITCH_CLIMB = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_CLIMB"),"val"));
-            PITCH_CRUISE = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_CRUISE"),"val"));
-            PITCH_RATE_TAKEOFF = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_TAKEOFF"),"val"));
-            PITCH_RATE_FLARE = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_FLARE"),"val"));
-            PITCH_RATE_RETARD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_RETARD"),"val"));
-            PITCH_RATE_GROUND = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_GROUND"),"val"));
-            PITCH_RATE_0_150 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_0_150"),"val"));
-            PITCH_RATE_150_190 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_150_190"),"val"));
-            PITCH_RATE_190_250 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_190_250"),"val"));
-            PITCH_RATE_250_310 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_250_310"),"val"));
-            PITCH_RATE_310_999 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RATE_310_999"),"val"));
-
-            CAT_MIN_DUR = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MIN_DUR"),"val"));
-            CAT_MAX_DUR = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MAX_DUR"),"val"));
-            CAT_MIN_PITCH = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MIN_PITCH"),"val"));
-            CAT_MAX_PITCH = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MAX_PITCH"),"val"));
-            CAT_MIN_BANK = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MIN_BANK"),"val"));
-            CAT_MAX_BANK = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MAX_BANK"),"val"));
-            CAT_MIN_ALT = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MIN_ALT"),"val"));
-            CAT_MAX_ALT = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"CAT_MAX_ALT"),"val"));
-
-            BANK_SIGM_SLOPE = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"BANK_SIGM_SLOPE"),"val"));
-            TURN_SIGM_SLOPE_0_25 = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"TURN_SIGM_SLOPE_0_25"),"val"));
-            TURN_SIGM_SLOPE_25_210 = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"TURN_SIGM_SLOPE_25_210"),"val"));
-            TURN_SIGM_SLOPE_210_250 = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"TURN_SIGM_SLOPE_210_250"),"val"));
-            TURN_SIGM_SLOPE_250_999 = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"TURN_SIGM_SLOPE_250_999"),"val"));
-
-            ALT_SIGM_SLOPE_DEF = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_SIGM_SLOPE_DEF"),"val"));
-            ALT_SIGM_SLOPE_TAKEOFF = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_SIGM_SLOPE_TAKEOFF"),"val"));
-            ALT_SIGM_SLOPE_FINAL_APP = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_SIGM_SLOPE_FINAL_APP"),"val"));
-            ALT_SIGM_SLOPE_RETARD = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_SIGM_SLOPE_RETARD"),"val"));
-            ALT_SIGM_SLOPE_FLARE = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_SIGM_SLOPE_FLARE"),"val"));
-
-            PITCH_SIGM_SLOPE = Integer.parseInt(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_SIGM_SLOPE"),"val"));
-            PITCH_GROUND = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_GROUND"),"val"));
-            PITCH_FINAL_APP = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_FINAL_APP"),"val"));
-            PITCH_RETARD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_RETARD"),"val"));
-            PITCH_FLARE = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"PITCH_FLARE"),"val"));
-
-            ALPHA_TAKEOFF_DEG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALPHA_TAKEOFF_DEG"),"val"));
-            ALPHA_CLIMB_TRANS_DEG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALPHA_CLIMB_TRANS_DEG"),"val"));
-            ALPHA_CLIMB_DEF_DEG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALPHA_CLIMB_DEF_DEG"),"val"));
-            ALPHA_DESC_DEF_DEG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALPHA_DESC_DEF_DEG"),"val"));
-            ALPHA_FINAL_APP_DEG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALPHA_FINAL_APP_DEG"),"val"));
-            ALPHA_RETARD_DEG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALPHA_RETARD_DEG"),"val"));
-            ALPHA_FLARE_DEG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALPHA_FLARE_DEG"),"val"));
-
-            FSX_AILERON_RNG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FSX_AILERON_RNG"),"val"));
-            FSX_SPOILER_RNG = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FSX_SPOILER_RNG"),"val"));
-
-            OUTBOUND_SECTION_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"OUTBOUND_SECTION_DIST"),"val"));
-            INBOUND_SECTION_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"INBOUND_SECTION_DIST"),"val"));
-            FLAPS_TAKEOFF_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_TAKEOFF_SPD"),"val"));
-            FLAPS_UP_INBOUND_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_UP_INBOUND_DIST"),"val"));
-            FLAPS_0_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_0_SPD"),"val"));
-            FLAPS_1_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_1_SPD"),"val"));
-            FLAPS_5_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_5_SPD"),"val"));
-            FLAPS_10_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_10_SPD"),"val"));
-            FLAPS_15_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_15_SPD"),"val"));
-            FLAPS_25_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_25_SPD"),"val"));
-            FLAPS_30_SPD = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLAPS_30_SPD"),"val"));
-
-            ALT_THRUST_RED = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_THRUST_RED"),"val"));
-            ALT_TRANSITION = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_TRANSITION"),"val"));
-            ALT_GEAR_UP = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_GEAR_UP"),"val"));
-            ALT_GEAR_DOWN = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ALT_GEAR_DOWN"),"val"));
-
-            ENG_VAR_APP = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_VAR_APP"),"val"));
-            ENG_IDLE_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_IDLE_N1"),"val"));
-            ENG_CLIMB_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_CLIMB_N1"),"val"));
-            ENG_DESC_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_DESC_N1"),"val"));
-            ENG_TAXI_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_TAXI_N1"),"val"));
-            ENG_TAXI_ACC_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_TAXI_ACC_N1"),"val"));
-            ENG_TAXI_INERTIA_DELAY = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_TAXI_INERTIA_DELAY"),"val"));
-            ENG_CRUISE_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_CRUISE_N1"),"val"));
-            ENG_TAKEOFF_40_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_TAKEOFF_40_N1"),"val"));
-            ENG_TAKEOFF_40_N1_DIST = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_TAKEOFF_40_N1_DIST"),"val"));
-            ENG_TAKEOFF_THRUST_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_TAKEOFF_THRUST_N1"),"val"));
-            ENG_FINAL_APP_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_FINAL_APP_N1"),"val"));
-            ENG_PRE_APP_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_PRE_APP_N1"),"val"));
-            ENG_REVERSE_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_REVERSE_N1"),"val"));
-            ENG_RATE_N1 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"ENG_RATE_N1"),"val"));
-
-            //TAXI_TURN_RAD_12_999 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"TAXI_TURN_RAD_12_999"),"val"));
-            //TAXI_TURN_RAD_8_12 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"TAXI_TURN_RAD_8_12"),"val"));
-            //TAXI_TURN_RAD_0_8 = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"TAXI_TURN_RAD_0_8"),"val"));
-
-            FLT_PROC_CYCLE_LN = Double.parseDouble(getAttributeValue(findNode(fdpu.getChildNodes(),"FLT_PROC_CYCLE_LN"),"val"));
+            Map<String, Map<String, String>> fdpu = getSection(configXML, "fdpu");
+
+            LIGHTS_NAV_ON_OUTBOUND_DIST = Double.parseDouble(getConfigValue(fdpu, "LIGHTS_NAV_ON_OUTBOUND_DIST", "val"));
+            LIGHTS_TAXI_ON_OUTBOUND_DIST = Double.parseDouble(getConfigValue(fdpu, "LIGHTS_TAXI_ON_OUTBOUND_DIST", "val"));
+            LIGHTS_TAXI_OFF_INBOUND_DIST = Double.parseDouble(getConfigValue(fdpu, "LIGHTS_TAXI_OFF_INBOUND_DIST", "val"));
+            LIGHTS_LANDING_ON_OUTBOUND_DIST = Double.parseDouble(getConfigValue(fdpu, "LIGHTS_LANDING_ON_OUTBOUND_DIST", "val"));
+            LIGHTS_LANDING_OFF_INBOUND_DIST = Double.parseDouble(getConfigValue(fdpu, "LIGHTS_LANDING_OFF_INBOUND_DIST", "val"));
+            LIGHTS_LANDING_ALT = Double.parseDouble(getConfigValue(fdpu, "LIGHTS_LANDING_ALT", "val"));
+
+            CONTROL_TEST_TIME = Double.parseDouble(getConfigValue(fdpu, "CONTROL_TEST_TIME", "val"));
+            CONTROL_TEST_DUR = Double.parseDouble(getConfigValue(fdpu, "CONTROL_TEST_DUR", "val"));
+            CONTROL_TEST_BREAK = Double.parseDouble(getConfigValue(fdpu, "CONTROL_TEST_BREAK", "val"));
+
+            BANK_ANGLE_0_190 = Double.parseDouble(getConfigValue(fdpu, "BANK_ANGLE_0_190", "val"));
+            BANK_ANGLE_190_210 = Double.parseDouble(getConfigValue(fdpu, "BANK_ANGLE_190_210", "val"));
+            BANK_ANGLE_210_250 = Double.parseDouble(getConfigValue(fdpu, "BANK_ANGLE_210_250", "val"));
+            BANK_ANGLE_250_999 = Double.parseDouble(getConfigValue(fdpu, "BANK_ANGLE_250_999", "val"));
+
+            ROLL_RATE_0_190 = Double.parseDouble(getConfigValue(fdpu, "ROLL_RATE_0_190", "val"));
+            ROLL_RATE_190_210 = Double.parseDouble(getConfigValue(fdpu, "ROLL_RATE_190_210", "val"));
+            ROLL_RATE_210_250 = Double.parseDouble(getConfigValue(fdpu, "ROLL_RATE_210_250", "val"));
+            ROLL_RATE_250_999 = Double.parseDouble(getConfigValue(fdpu, "ROLL_RATE_250_999", "val"));
+
+            AILERON_RATE_0_190 = Double.parseDouble(getConfigValue(fdpu, "AILERON_RATE_0_190", "val"));
+            AILERON_RATE_190_210 = Double.parseDouble(getConfigValue(fdpu, "AILERON_RATE_190_210", "val"));
+            AILERON_RATE_210_250 = Double.parseDouble(getConfigValue(fdpu, "AILERON_RATE_210_250", "val"));
+            AILERON_RATE_250_999 = Double.parseDouble(getConfigValue(fdpu, "AILERON_RATE_250_999", "val"));
+
+            PITCH_CLIMB = Double.parseDouble(getConfigValue(fdpu, "PITCH_CLIMB", "val"));
+            PITCH_CRUISE = Double.parseDouble(getConfigValue(fdpu, "PITCH_CRUISE", "val"));
+            PITCH_RATE_TAKEOFF = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_TAKEOFF", "val"));
+            PITCH_RATE_FLARE = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_FLARE", "val"));
+            PITCH_RATE_RETARD = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_RETARD", "val"));
+            PITCH_RATE_GROUND = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_GROUND", "val"));
+            PITCH_RATE_0_150 = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_0_150", "val"));
+            PITCH_RATE_150_190 = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_150_190", "val"));
+            PITCH_RATE_190_250 = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_190_250", "val"));
+            PITCH_RATE_250_310 = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_250_310", "val"));
+            PITCH_RATE_310_999 = Double.parseDouble(getConfigValue(fdpu, "PITCH_RATE_310_999", "val"));
+
+            CAT_MIN_DUR = Double.parseDouble(getConfigValue(fdpu, "CAT_MIN_DUR", "val"));
+            CAT_MAX_DUR = Double.parseDouble(getConfigValue(fdpu, "CAT_MAX_DUR", "val"));
+            CAT_MIN_PITCH = Double.parseDouble(getConfigValue(fdpu, "CAT_MIN_PITCH", "val"));
+            CAT_MAX_PITCH = Double.parseDouble(getConfigValue(fdpu, "CAT_MAX_PITCH", "val"));
+            CAT_MIN_BANK = Double.parseDouble(getConfigValue(fdpu, "CAT_MIN_BANK", "val"));
+            CAT_MAX_BANK = Double.parseDouble(getConfigValue(fdpu, "CAT_MAX_BANK", "val"));
+            CAT_MIN_ALT = Double.parseDouble(getConfigValue(fdpu, "CAT_MIN_ALT", "val"));
+            CAT_MAX_ALT = Double.parseDouble(getConfigValue(fdpu, "CAT_MAX_ALT", "val"));
+
+            BANK_SIGM_SLOPE = Integer.parseInt(getConfigValue(fdpu, "BANK_SIGM_SLOPE", "val"));
+            TURN_SIGM_SLOPE_0_25 = Integer.parseInt(getConfigValue(fdpu, "TURN_SIGM_SLOPE_0_25", "val"));
+            TURN_SIGM_SLOPE_25_210 = Integer.parseInt(getConfigValue(fdpu, "TURN_SIGM_SLOPE_25_210", "val"));
+            TURN_SIGM_SLOPE_210_250 = Integer.parseInt(getConfigValue(fdpu, "TURN_SIGM_SLOPE_210_250", "val"));
+            TURN_SIGM_SLOPE_250_999 = Integer.parseInt(getConfigValue(fdpu, "TURN_SIGM_SLOPE_250_999", "val"));
+
+            ALT_SIGM_SLOPE_DEF = Integer.parseInt(getConfigValue(fdpu, "ALT_SIGM_SLOPE_DEF", "val"));
+            ALT_SIGM_SLOPE_TAKEOFF = Integer.parseInt(getConfigValue(fdpu, "ALT_SIGM_SLOPE_TAKEOFF", "val"));
+            ALT_SIGM_SLOPE_FINAL_APP = Integer.parseInt(getConfigValue(fdpu, "ALT_SIGM_SLOPE_FINAL_APP", "val"));
+            ALT_SIGM_SLOPE_RETARD = Integer.parseInt(getConfigValue(fdpu, "ALT_SIGM_SLOPE_RETARD", "val"));
+            ALT_SIGM_SLOPE_FLARE = Integer.parseInt(getConfigValue(fdpu, "ALT_SIGM_SLOPE_FLARE", "val"));
+
+            PITCH_SIGM_SLOPE = Integer.parseInt(getConfigValue(fdpu, "PITCH_SIGM_SLOPE", "val"));
+            PITCH_GROUND = Double.parseDouble(getConfigValue(fdpu, "PITCH_GROUND", "val"));
+            PITCH_FINAL_APP = Double.parseDouble(getConfigValue(fdpu, "PITCH_FINAL_APP", "val"));
+            PITCH_RETARD = Double.parseDouble(getConfigValue(fdpu, "PITCH_RETARD", "val"));
+            PITCH_FLARE = Double.parseDouble(getConfigValue(fdpu, "PITCH_FLARE", "val"));
+
+            ALPHA_TAKEOFF_DEG = Double.parseDouble(getConfigValue(fdpu, "ALPHA_TAKEOFF_DEG", "val"));
+            ALPHA_CLIMB_TRANS_DEG = Double.parseDouble(getConfigValue(fdpu, "ALPHA_CLIMB_TRANS_DEG", "val"));
+            ALPHA_CLIMB_DEF_DEG = Double.parseDouble(getConfigValue(fdpu, "ALPHA_CLIMB_DEF_DEG", "val"));
+            ALPHA_DESC_DEF_DEG = Double.parseDouble(getConfigValue(fdpu, "ALPHA_DESC_DEF_DEG", "val"));
+            ALPHA_FINAL_APP_DEG = Double.parseDouble(getConfigValue(fdpu, "ALPHA_FINAL_APP_DEG", "val"));
+            ALPHA_RETARD_DEG = Double.parseDouble(getConfigValue(fdpu, "ALPHA_RETARD_DEG", "val"));
+            ALPHA_FLARE_DEG = Double.parseDouble(getConfigValue(fdpu, "ALPHA_FLARE_DEG", "val"));
+
+            FSX_AILERON_RNG = Double.parseDouble(getConfigValue(fdpu, "FSX_AILERON_RNG", "val"));
+            FSX_SPOILER_RNG = Double.parseDouble(getConfigValue(fdpu, "FSX_SPOILER_RNG", "val"));
+
+            OUTBOUND_SECTION_DIST = Double.parseDouble(getConfigValue(fdpu, "OUTBOUND_SECTION_DIST", "val"));
+            INBOUND_SECTION_DIST = Double.parseDouble(getConfigValue(fdpu, "INBOUND_SECTION_DIST", "val"));
+            FLAPS_TAKEOFF_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_TAKEOFF_SPD", "val"));
+            FLAPS_UP_INBOUND_DIST = Double.parseDouble(getConfigValue(fdpu, "FLAPS_UP_INBOUND_DIST", "val"));
+            FLAPS_0_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_0_SPD", "val"));
+            FLAPS_1_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_1_SPD", "val"));
+            FLAPS_5_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_5_SPD", "val"));
+            FLAPS_10_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_10_SPD", "val"));
+            FLAPS_15_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_15_SPD", "val"));
+            FLAPS_25_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_25_SPD", "val"));
+            FLAPS_30_SPD = Double.parseDouble(getConfigValue(fdpu, "FLAPS_30_SPD", "val"));
+
+            ALT_THRUST_RED = Double.parseDouble(getConfigValue(fdpu, "ALT_THRUST_RED", "val"));
+            ALT_TRANSITION = Double.parseDouble(getConfigValue(fdpu, "ALT_TRANSITION", "val"));
+            ALT_GEAR_UP = Double.parseDouble(getConfigValue(fdpu, "ALT_GEAR_UP", "val"));
+            ALT_GEAR_DOWN = Double.parseDouble(getConfigValue(fdpu, "ALT_GEAR_DOWN", "val"));
+
+            ENG_VAR_APP = Double.parseDouble(getConfigValue(fdpu, "ENG_VAR_APP", "val"));
+            ENG_IDLE_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_IDLE_N1", "val"));
+            ENG_CLIMB_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_CLIMB_N1", "val"));
+            ENG_DESC_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_DESC_N1", "val"));
+            ENG_TAXI_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_TAXI_N1", "val"));
+            ENG_TAXI_ACC_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_TAXI_ACC_N1", "val"));
+            ENG_TAXI_INERTIA_DELAY = Double.parseDouble(getConfigValue(fdpu, "ENG_TAXI_INERTIA_DELAY", "val"));
+            ENG_CRUISE_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_CRUISE_N1", "val"));
+            ENG_TAKEOFF_40_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_TAKEOFF_40_N1", "val"));
+            ENG_TAKEOFF_40_N1_DIST = Double.parseDouble(getConfigValue(fdpu, "ENG_TAKEOFF_40_N1_DIST", "val"));
+            ENG_TAKEOFF_THRUST_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_TAKEOFF_THRUST_N1", "val"));
+            ENG_FINAL_APP_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_FINAL_APP_N1", "val"));
+            ENG_PRE_APP_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_PRE_APP_N1", "val"));
+            ENG_REVERSE_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_REVERSE_N1", "val"));
+            ENG_RATE_N1 = Double.parseDouble(getConfigValue(fdpu, "ENG_RATE_N1", "val"));
+
+            //TAXI_TURN_RAD_12_999 = Double.parseDouble(getConfigValue(fdpu, "TAXI_TURN_RAD_12_999", "val"));
+            //TAXI_TURN_RAD_8_12 = Double.parseDouble(getConfigValue(fdpu, "TAXI_TURN_RAD_8_12", "val"));
+            //TAXI_TURN_RAD_0_8 = Double.parseDouble(getConfigValue(fdpu, "TAXI_TURN_RAD_0_8", "val"));
+
+            FLT_PROC_CYCLE_LN = Double.parseDouble(getConfigValue(fdpu, "FLT_PROC_CYCLE_LN", "val"));
 
             // Get fplu config vars
-            Node fplu = findNode(configXML.getDocumentElement().getChildNodes(),"fplu");
-
-            AIRCRAFT_TYPE = getAttributeValue(findNode(fplu.getChildNodes(),"AIRCRAFT_TYPE"),"val");
-            AIRCRAFT_WHEELBASE = Double.parseDouble(DOMUtil.getAttributeValue(DOMUtil.findNode(fplu.getChildNodes(), "AIRCRAFT_WHEELBASE"), "val"));
-            AIRCRAFT_WHEELBASE_TURNRATE = Double.parseDouble(DOMUtil.getAttributeValue(DOMUtil.findNode(fplu.getChildNodes(), "AIRCRAFT_WHEELBASE_TURNRATE"), "val"));
-            DEP_ICAO = getAttributeValue(findNode(fplu.getChildNodes(),"DEP_ICAO"),"val");
-            DEST_ICAO = getAttributeValue(findNode(fplu.getChildNodes(),"DEST_ICAO"),"val");
-
-            DECEL_APP_FIX_INIT_APP_SPEED_DIST = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"DECEL_APP_FIX_INIT_APP_SPEED_DIST"),"val"));
-            DECEL_APP_FIX_FINAL_APP_SPEED_DIST = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"DECEL_APP_FIX_FINAL_APP_SPEED_DIST"),"val"));
-            FINAL_APP_FIX_DIST = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"FINAL_APP_FIX_DIST"),"val"));
-            FINAL_APP_FIX_DESC_DIST = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"FINAL_APP_FIX_DESC_DIST"),"val"));
-
-            ALT_DEP = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_DEP"),"val"));
-            ALT_INIT_CRUISE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_INIT_CRUISE"),"val"));
-            ALT_MID_STEP_TIME = Integer.parseInt(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_MID_CRUISE"),"minutes"));
-            ALT_MID_CRUISE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_MID_CRUISE"),"val"));
-            ALT_FINAL_STEP_TIME = Integer.parseInt(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_FINAL_CRUISE"),"minutes"));
-            ALT_FINAL_CRUISE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_FINAL_CRUISE"),"val"));
-            ALT_RETARD = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_RETARD"),"val"));
-            ALT_FLARE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_FLARE"),"val"));
-            ALT_DEST = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ALT_DEST"),"val"));
-
-            SPD_PUSHBACK = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_PUSHBACK"),"val"));
-            SPD_TAXI = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_TAXI"),"val"));
-            SPD_ROTATE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_ROTATE"),"val"));
-            SPD_LIFTOFF = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_LIFTOFF"),"val"));
-            SPD_CLIMBOUT = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_CLIMBOUT"),"val"));
-            SPD_CLIMB_CRUISE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_CLIMB_CRUISE"),"val"));
-            SPD_CRUISE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_CRUISE"),"val"));
-            SPD_TRANS = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_TRANS"),"val"));
-            SPD_DESC = Double.parseDouble(DOMUtil.getAttributeValue(DOMUtil.findNode(fplu.getChildNodes(), "SPD_DESC"), "val"));
-            SPD_FINAL_APP_FIX = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_FINAL_APP_FIX"),"val"));
-            SPD_APP = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"SPD_APP"),"val"));
-
-            CAT_MAGN_TAKEOFF = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_MAGN_TAKEOFF"),"val"));
-            CAT_FREQ_TAKEOFF = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_FREQ_TAKEOFF"),"val"));
-            CAT_MAGN_CRUISE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_MAGN_CRUISE"),"val"));
-            CAT_FREQ_CRUISE = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_FREQ_CRUISE"),"val"));
-            CAT_MAGN_INIT_APP = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_MAGN_INIT_APP"),"val"));
-            CAT_FREQ_INIT_APP = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_FREQ_INIT_APP"),"val"));
-            CAT_MAGN_FINAL_APP = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_MAGN_FINAL_APP"),"val"));
-            CAT_FREQ_FINAL_APP = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"CAT_FREQ_FINAL_APP"),"val"));
-
-            ACC_PUSHBACK = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ACC_PUSHBACK"),"val"));
-            ACC_TAXI = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"ACC_TAXI"),"val"));
-            TAXI_TURN_BREAK_FRACT = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"TAXI_TURN_BREAK_FRACT"),"val"));
-
-            AIRCRAFT_PARK_TIME = Double.parseDouble(getAttributeValue(findNode(fplu.getChildNodes(),"AIRCRAFT_PARK_TIME"),"val"));
+            Map<String, Map<String, String>> fplu = getSection(configXML, "fplu");
+
+            AIRCRAFT_TYPE = getConfigValue(fplu, "AIRCRAFT_TYPE", "val");
+            AIRCRAFT_WHEELBASE = Double.parseDouble(getConfigValue(fplu, "AIRCRAFT_WHEELBASE", "val"));
+            AIRCRAFT_WHEELBASE_TURNRATE = Double.parseDouble(getConfigValue(fplu, "AIRCRAFT_WHEELBASE_TURNRATE", "val"));
+            DEP_ICAO = getConfigValue(fplu, "DEP_ICAO", "val");
+            DEST_ICAO = getConfigValue(fplu, "DEST_ICAO", "val");
+
+            DECEL_APP_FIX_INIT_APP_SPEED_DIST = Double.parseDouble(getConfigValue(fplu, "DECEL_APP_FIX_INIT_APP_SPEED_DIST", "val"));
+            DECEL_APP_FIX_FINAL_APP_SPEED_DIST = Double.parseDouble(getConfigValue(fplu, "DECEL_APP_FIX_FINAL_APP_SPEED_DIST", "val"));
+            FINAL_APP_FIX_DIST = Double.parseDouble(getConfigValue(fplu, "FINAL_APP_FIX_DIST", "val"));
+            FINAL_APP_FIX_DESC_DIST = Double.parseDouble(getConfigValue(fplu, "FINAL_APP_FIX_DESC_DIST", "val"));
+
+            ALT_DEP = Double.parseDouble(getConfigValue(fplu, "ALT_DEP", "val"));
+            ALT_INIT_CRUISE = Double.parseDouble(getConfigValue(fplu, "ALT_INIT_CRUISE", "val"));
+            ALT_MID_STEP_TIME = Integer.parseInt(getConfigValue(fplu, "ALT_MID_CRUISE", "minutes"));
+            ALT_MID_CRUISE = Double.parseDouble(getConfigValue(fplu, "ALT_MID_CRUISE", "val"));
+            ALT_FINAL_STEP_TIME = Integer.parseInt(getConfigValue(fplu, "ALT_FINAL_CRUISE", "minutes"));
+            ALT_FINAL_CRUISE = Double.parseDouble(getConfigValue(fplu, "ALT_FINAL_CRUISE", "val"));
+            ALT_RETARD = Double.parseDouble(getConfigValue(fplu, "ALT_RETARD", "val"));
+            ALT_FLARE = Double.parseDouble(getConfigValue(fplu, "ALT_FLARE", "val"));
+            ALT_DEST = Double.parseDouble(getConfigValue(fplu, "ALT_DEST", "val"));
+
+            SPD_PUSHBACK = Double.parseDouble(getConfigValue(fplu, "SPD_PUSHBACK", "val"));
+            SPD_TAXI = Double.parseDouble(getConfigValue(fplu, "SPD_TAXI", "val"));
+            SPD_ROTATE = Double.parseDouble(getConfigValue(fplu, "SPD_ROTATE", "val"));
+            SPD_LIFTOFF = Double.parseDouble(getConfigValue(fplu, "SPD_LIFTOFF", "val"));
+            SPD_CLIMBOUT = Double.parseDouble(getConfigValue(fplu, "SPD_CLIMBOUT", "val"));
+            SPD_CLIMB_CRUISE = Double.parseDouble(getConfigValue(fplu, "SPD_CLIMB_CRUISE", "val"));
+            SPD_CRUISE = Double.parseDouble(getConfigValue(fplu, "SPD_CRUISE", "val"));
+            SPD_TRANS = Double.parseDouble(getConfigValue(fplu, "SPD_TRANS", "val"));
+            SPD_DESC = Double.parseDouble(getConfigValue(fplu, "SPD_DESC", "val"));
+            SPD_FINAL_APP_FIX = Double.parseDouble(getConfigValue(fplu, "SPD_FINAL_APP_FIX", "val"));
+            SPD_APP = Double.parseDouble(getConfigValue(fplu, "SPD_APP", "val"));
+
+            CAT_MAGN_TAKEOFF = Double.parseDouble(getConfigValue(fplu, "CAT_MAGN_TAKEOFF", "val"));
+            CAT_FREQ_TAKEOFF = Double.parseDouble(getConfigValue(fplu, "CAT_FREQ_TAKEOFF", "val"));
+            CAT_MAGN_CRUISE = Double.parseDouble(getConfigValue(fplu, "CAT_MAGN_CRUISE", "val"));
+            CAT_FREQ_CRUISE = Double.parseDouble(getConfigValue(fplu, "CAT_FREQ_CRUISE", "val"));
+            CAT_MAGN_INIT_APP = Double.parseDouble(getConfigValue(fplu, "CAT_MAGN_INIT_APP", "val"));
+            CAT_FREQ_INIT_APP = Double.parseDouble(getConfigValue(fplu, "CAT_FREQ_INIT_APP", "val"));
+            CAT_MAGN_FINAL_APP = Double.parseDouble(getConfigValue(fplu, "CAT_MAGN_FINAL_APP", "val"));
+            CAT_FREQ_FINAL_APP = Double.parseDouble(getConfigValue(fplu, "CAT_FREQ_FINAL_APP", "val"));
+
+            ACC_PUSHBACK = Double.parseDouble(getConfigValue(fplu, "ACC_PUSHBACK", "val"));
+            ACC_TAXI = Double.parseDouble(getConfigValue(fplu, "ACC_TAXI", "val"));
+            TAXI_TURN_BREAK_FRACT = Double.parseDouble(getConfigValue(fplu, "TAXI_TURN_BREAK_FRACT", "val"));
+
+            AIRCRAFT_PARK_TIME = Double.parseDouble(getConfigValue(fplu, "AIRCRAFT_PARK_TIME", "val"));
 
             // Get util config vars
-            Node util = findNode(configXML.getDocumentElement().getChildNodes(),"util");
+            Map<String, Map<String, String>> util = getSection(configXML, "util");
 
-            SMTP_SERVER = getAttributeValue(findNode(util.getChildNodes(),"SMTP_SERVER"),"val");
-            SMTP_USER = getAttributeValue(findNode(util.getChildNodes(),"SMTP_USER"),"val");
-            SMTP_PW = getAttributeValue(findNode(util.getChildNodes(),"SMTP_PW"),"val");
-            SMTP_PORT = SMTP_PORT = getAttributeValue(findNode(util.getChildNodes(),"SMTP_PORT"),"val");
+            SMTP_SERVER = getConfigValue(util, "SMTP_SERVER", "val");
+            SMTP_USER = getConfigValue(util, "SMTP_USER", "val");
+            SMTP_PW = getConfigValue(util, "SMTP_PW", "val");
+            SMTP_PORT = SMTP_PORT = getConfigValue(util, "SMTP_PORT", "val");
 
         }catch(Exception e){
             //System.out.println(e.getMessage());
             throw new IllegalArgumentException(e.getMessage());
         }
     }
+
+    /**
+     * This method reads the config .xml file in a single forward pass, and returns the attributes of each config
+     * variable by section, i.e. fdpu, fplu and util.
+     *
+     * @param filePathName  Path and file name of local config .xml file
+     * @return              Attributes of the config variables by section and variable name
+     */
+    private static Map<String, Map<String, Map<String, String>>> readConfig(String filePathName) throws Exception {
+        Map<String, Map<String, Map<String, String>>> sections = new TreeMap<String, Map<String, Map<String, String>>>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Map<String, String>> section = null;
+        int depth = 0;
+
+        try(InputStream in = new BufferedInputStream(new FileInputStream(filePathName))){
+            XMLStreamReader reader = createReader(in);
+
+            try{
+                while(reader.hasNext()){
+                    int type = reader.next();
+
+                    if(type == XMLStreamConstants.START_ELEMENT){
+                        depth++;
+
+                        // Keep the first section and variable of a name, same as the dom lookup
+                        if(depth == 2){
+                            section = new TreeMap<String, Map<String, String>>(String.CASE_INSENSITIVE_ORDER);
+                            sections.putIfAbsent(reader.getLocalName(), section);
+                        }else if(depth == 3){
+                            section.putIfAbsent(reader.getLocalName(), getAttributes(reader));
+                        }
+                    }else if(type == XMLStreamConstants.END_ELEMENT){
+                        depth--;
+                    }
+                }
+            }finally{
+                reader.close();
+            }
+        }
+
+        return sections;
+    }
+
+    /**
+     * @param configXML     Config variables by section
+     * @param name          Name of the section, i.e. fdpu, fplu or util
+     * @return              Config variables of the section
+     */
+    private static Map<String, Map<String, String>> getSection(Map<String, Map<String, Map<String, String>>> configXML, String name) throws DOMUtilException {
+        Map<String, Map<String, String>> section = configXML.get(name);
+
+        if(section == null)
+            throw new DOMUtilException("No node " + name + " found!");
+
+        return section;
+    }
+
+    /**
+     * @param section       Config variables of a section
+     * @param name          Name of the config variable
+     * @param attrName      Name of the attribute, e.g. val
+     * @return              Value of the attribute
+     */
+    private static String getConfigValue(Map<String, Map<String, String>> section, String name, String attrName) throws DOMUtilException {
+        Map<String, String> attributes = section.get(name);
+
+        if(attributes == null)
+            throw new DOMUtilException("No node " + name + " found!");
+
+        if(attributes.get(attrName) == null)
+            throw new DOMUtilException("Attribute " + attrName + " not found!");
+
+        return attributes.get(attrName);
+    }
 }
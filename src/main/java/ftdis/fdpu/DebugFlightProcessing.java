@@ -98,6 +98,10 @@ public class DebugFlightProcessing {
             // Write to file
             BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(fos));
 
+            // Parse flight plan and event collection files once, all flight phases load from the same index
+            PlanIndex flightPlanIdx = new PlanIndex(flightPlanFile);
+            PlanIndex eventCollectionIdx = new PlanIndex(eventCollectionFile);
+
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 03 Process Flight Plan
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -122,14 +126,14 @@ public class DebugFlightProcessing {
             AircraftEngine arcrftEng = new AircraftEngine();
 
             // 01 Load flight plan and transform to lateral plan
-            latPlan.load(flightPlanFile, 3);
+            latPlan.load(flightPlanIdx, 3);
             latPlan.transform();
             latPlan.validate();
             System.out.println("Lateral Plan data: " + latPlan.dataValid);
 
             // 02 Load change velocity events and transform to velocity plan
             velPlan.assignLat(latPlan);
-            velPlan.load(eventCollectionFile, 3);
+            velPlan.load(eventCollectionIdx, 3);
             velPlan.transform();
             velPlan.validate();
             System.out.println("Velocity Plan data: " + velPlan.dataValid);
@@ -137,7 +141,7 @@ public class DebugFlightProcessing {
             // 03 Load change altitude events and transform to vertical plan
             vertPlan.assignLat(latPlan);
             vertPlan.assignVel(velPlan);
-            vertPlan.load(eventCollectionFile, 3);
+            vertPlan.load(eventCollectionIdx, 3);
             vertPlan.transform();
             vertPlan.validate();
             System.out.println("Vertical Plan data: " + vertPlan.dataValid);
@@ -145,7 +149,7 @@ public class DebugFlightProcessing {
             // 04 Load change weather events and transform to weather plan
             wxPlan.assignLat(latPlan);
             wxPlan.assignVel(velPlan);
-            wxPlan.load(eventCollectionFile, 3);
+            wxPlan.load(eventCollectionIdx, 3);
             wxPlan.transform();
             wxPlan.validate();
             System.out.println("Weather Plan data: " + wxPlan.dataValid);
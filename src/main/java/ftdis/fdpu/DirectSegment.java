@@ -240,6 +240,71 @@ public class DirectSegment implements LateralSegment, Serializable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The intermediate positions are calculated in line with the getItmWpt method, with the segment's length as
+     * well as the trigonometric values of the start and end points calculated once for all distances.
+     */
+    public void getItmPos(double[] dist, double startDist, double[] lat, double[] lon, double[] course, int from, int to){
+        try{
+            Waypoint startPt = this.getStartPt(), endPt = this.getEndPt();
+            double itmDist, distRad, sinDistRad, sinLat, sinLon, cosLon1, sinLon1, cosLon2, sinLon2;
+            double d, f, A, B, x, y, z, latRad, courseStart, courseEnd;
+
+            // Segment invariants
+            itmDist = abs(this.getDist(startPt, endPt));
+            sinLat = sin((startPt.getLatRad() - endPt.getLatRad())/2);
+            sinLon = sin((startPt.getLonRad() - endPt.getLonRad())/2);
+            distRad = 2 * asin(sqrt((sinLat * sinLat) + startPt.getCosLat() * endPt.getCosLat() * (sinLon * sinLon)));
+            sinDistRad = sin(distRad);
+
+            cosLon1 = cos(startPt.getLonRad());
+            sinLon1 = sin(startPt.getLonRad());
+            cosLon2 = cos(endPt.getLonRad());
+            sinLon2 = sin(endPt.getLonRad());
+
+            courseStart = (course != null) ? this.getCourseStart() : 0;
+            courseEnd = (course != null) ? this.getCourseEnd() : 0;
+
+            for(int i = from; i < to; i++){
+                d = dist[i] - startDist;
+
+                // Limit distance to start/end point
+                if(d <= 0){
+                    lat[i] = startPt.getLat();
+                    lon[i] = startPt.getLon();
+                }else{
+                    f = (!(d > itmDist)) ? d / itmDist : 1;
+
+                    A = sin((1 - f) * distRad)/sinDistRad;
+                    B = sin(f * distRad)/sinDistRad;
+
+                    x = A * startPt.getCosLat() * cosLon1 + B * endPt.getCosLat() * cosLon2;
+                    y = A * startPt.getCosLat() * sinLon1 + B * endPt.getCosLat() * sinLon2;
+                    z = A * startPt.getSinLat() + B * endPt.getSinLat();
+
+                    lat[i] = toDegrees(atan2(z,sqrt((x * x) + (y * y))));
+                    lon[i] = toDegrees(atan2(y,x));
+                }
+
+                // Course at position, i.e. heading directly towards the end point
+                if(course != null){
+                    if(d < 0.01)
+                        course[i] = courseStart;
+                    else if(itmDist - d < 0.01)
+                        course[i] = courseEnd;
+                    else{
+                        latRad = toRadians(lat[i]);
+                        course[i] = NavCalc.getInitBearing(toRadians(lon[i]), sin(latRad), cos(latRad), endPt.getLonRad(), endPt.getSinLat(), endPt.getCosLat());
+                    }
+                }
+            }
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
     /**
      * This method calculates and returns the error between a random waypoint and the lateral flight plan
      * of the direct segment.
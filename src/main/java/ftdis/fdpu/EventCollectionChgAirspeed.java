@@ -1,15 +1,8 @@
 package ftdis.fdpu;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import static ftdis.fdpu.DOMUtil.*;
-import static ftdis.fdpu.DOMUtil.getAttributeValue;
 import static ftdis.fdpu.Config.*;
 
 public class EventCollectionChgAirspeed extends EventCollection {
@@ -53,49 +46,46 @@ public class EventCollectionChgAirspeed extends EventCollection {
      * @param planID    ID of the plan to be loaded
      */
     public void load(String fileName, int planID){
+        try{
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method loads the holding points of a plan from a parsed flight plan xml file, creating and adding
+     * corresponding holding point event objects to the Event Collection class.
+     *
+     * @param index     Plan index of the flight plan xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
         try{
             EventChgAirspeed event;
+            List<Waypoint> waypoints;
+
+            try {
+                // get flight plan and loop through corresponding holding points
+                waypoints = index.getWaypoints(planID, PlanIndex.EVENTS);
+
+                for (int w = 0; w < waypoints.size(); w++) {
+                    event = new EventChgAirspeed(waypoints.get(w).id);
+
+                    event.setEndPt(waypoints.get(w).getLat(), waypoints.get(w).getLon());
+
+                    event.setOffset((Integer.parseInt(index.getWptAttribute(planID, PlanIndex.EVENTS, w, "timeOffset"))));
+
+                    event.setvAsf(0);
+
+                    event.setAcc(ACC_TAXI);
 
-            if(fileName != null && !fileName.isEmpty()){
-                // create Lateral Plan document and parse xml file
-                DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                Document flightPlanXML = dBuilder.parse(new File(fileName));
-
-                // normalize
-                flightPlanXML.getDocumentElement().normalize();
-
-                try {
-                    // get flight plan and loop through corresponding waypoints
-                    Node plan = findNode(findNode(flightPlanXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(planID)).getChildNodes(), "Events");
-                    List<Node> waypoints = getChildElementsByTagName(plan, "Waypoint");
-
-                    for (Node node : waypoints) {
-                        // get reference to new waypoint and set latitude and longitude coordinates
-                        event = new EventChgAirspeed((Integer.parseInt(getAttributeValue(node, "ID"))));
-
-                        event.setEndPt(Double.parseDouble(
-                                getElementValue(
-                                        findNode(node.getChildNodes(), "Latitude", "unit", "dec"))),
-                                Double.parseDouble(
-                                        getElementValue(
-                                                findNode(node.getChildNodes(), "Longitude", "unit", "dec"))));
-
-                        event.setOffset((Integer.parseInt(getAttributeValue(node, "timeOffset"))));
-
-                        event.setvAsf(0);
-
-                        event.setAcc(ACC_TAXI);
-
-                        // add event to event collection
-                        this.addEvent(event);
-                    }
-                    // sort waypoint list by waypoint id
-                    //if(! this.events.isEmpty())
-                    //    Collections.sort(events, new EventChgAirspeed());
-                } catch(Exception e){
-                    // NA
+                    // add event to event collection
+                    this.addEvent(event);
                 }
+            } catch(Exception e){
+                // NA
             }
         }catch(Exception e){
             System.out.println(e.getMessage());
@@ -404,6 +404,10 @@ public class ExportFlightKMLProcessing {
 
 
 
+            // Parse flight plan and event collection files once, all flight phases load from the same index
+            PlanIndex flightPlanIdx = new PlanIndex(flightPlanFile);
+            PlanIndex eventCollectionIdx = new PlanIndex(eventCollectionFile);
+
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 01 Process Pushback
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -423,14 +427,14 @@ public class ExportFlightKMLProcessing {
             AircraftSystem arcrftSyst = new AircraftSystem();
 
             // 01 Load pushback plan and transform to lateral plan
-            latPlan.load(flightPlanFile, 1);
+            latPlan.load(flightPlanIdx, 1);
             latPlan.transform();
             latPlan.validate();
             System.out.println("Pushback Plan data: " + latPlan.dataValid);
 
             // 02 Load change velocity events and transform to velocity plan
             velPlan.assignLat(latPlan);
-            velPlan.load(eventCollectionFile, 1);
+            velPlan.load(eventCollectionIdx, 1);
             velPlan.transform();
             velPlan.validate();
             System.out.println("Velocity Plan data: " + velPlan.dataValid);
@@ -438,7 +442,7 @@ public class ExportFlightKMLProcessing {
             // 03 Load change altitude events and transform to vertical plan
             vertPlan.assignLat(latPlan);
             vertPlan.assignVel(velPlan);
-            vertPlan.load(eventCollectionFile, 2);
+            vertPlan.load(eventCollectionIdx, 2);
             vertPlan.transform();
             vertPlan.validate();
             System.out.println("Vertical Plan data: " + vertPlan.dataValid);
@@ -537,14 +541,14 @@ public class ExportFlightKMLProcessing {
             arcrftCtrl = new AircraftControl();
 
             // 01 Load taxi plan and transform to lateral plan
-            latPlan.load(flightPlanFile, 2);
+            latPlan.load(flightPlanIdx, 2);
             latPlan.transform();
             latPlan.validate();
             System.out.println("Taxi to Runway Plan data: " + latPlan.dataValid);
 
             // 02 Load change velocity events and transform to velocity plan
             velPlan.assignLat(latPlan);
-            velPlan.load(eventCollectionFile, 2);
+            velPlan.load(eventCollectionIdx, 2);
             velPlan.transform();
             velPlan.validate();
             System.out.println("Velocity Plan data: " + velPlan.dataValid);
@@ -552,7 +556,7 @@ public class ExportFlightKMLProcessing {
             // 03 Load change altitude events and transform to vertical plan
             vertPlan.assignLat(latPlan);
             vertPlan.assignVel(velPlan);
-            vertPlan.load(eventCollectionFile, 2);
+            vertPlan.load(eventCollectionIdx, 2);
             vertPlan.transform();
             vertPlan.validate();
             System.out.println("Vertical Plan data: " + vertPlan.dataValid);
@@ -669,14 +673,14 @@ public class ExportFlightKMLProcessing {
             AircraftEngine arcrftEng = new AircraftEngine();
 
             // 01 Load flight plan and transform to lateral plan
-            latPlan.load(flightPlanFile, 3);
+            latPlan.load(flightPlanIdx, 3);
             latPlan.transform();
             latPlan.validate();
             System.out.println("Lateral Plan data: " + latPlan.dataValid);
 
             // 02 Load change velocity events and transform to velocity plan
             velPlan.assignLat(latPlan);
-            velPlan.load(eventCollectionFile, 3);
+            velPlan.load(eventCollectionIdx, 3);
             velPlan.transform();
             velPlan.validate();
             System.out.println("Velocity Plan data: " + velPlan.dataValid);
@@ -684,7 +688,7 @@ public class ExportFlightKMLProcessing {
             // 03 Load change altitude events and transform to vertical plan
             vertPlan.assignLat(latPlan);
             vertPlan.assignVel(velPlan);
-            vertPlan.load(eventCollectionFile, 3);
+            vertPlan.load(eventCollectionIdx, 3);
             vertPlan.transform();
             vertPlan.validate();
             System.out.println("Vertical Plan data: " + vertPlan.dataValid);
@@ -692,7 +696,7 @@ public class ExportFlightKMLProcessing {
             // 04 Load change weather events and transform to weather plan
             wxPlan.assignLat(latPlan);
             wxPlan.assignVel(velPlan);
-            wxPlan.load(eventCollectionFile, 3);
+            wxPlan.load(eventCollectionIdx, 3);
             wxPlan.transform();
             wxPlan.validate();
             System.out.println("Weather Plan data: " + wxPlan.dataValid);
@@ -846,14 +850,14 @@ public class ExportFlightKMLProcessing {
             arcrftAxis = new AircraftAxis();
 
             // 01 Load taxi plan and transform to lateral plan
-            latPlan.load(flightPlanFile, 4);
+            latPlan.load(flightPlanIdx, 4);
             latPlan.transform();
             latPlan.validate();
             System.out.println("Taxi to Gate Plan data: " + latPlan.dataValid);
 
             // 02 Load change velocity events and transform to velocity plan
             velPlan.assignLat(latPlan);
-            velPlan.load(eventCollectionFile, 4);
+            velPlan.load(eventCollectionIdx, 4);
             velPlan.transform();
             velPlan.validate();
             System.out.println("Velocity Plan data: " + velPlan.dataValid);
@@ -861,7 +865,7 @@ public class ExportFlightKMLProcessing {
             // 03 Load change altitude events and transform to vertical plan
             vertPlan.assignLat(latPlan);
             vertPlan.assignVel(velPlan);
-            vertPlan.load(eventCollectionFile, 4);
+            vertPlan.load(eventCollectionIdx, 4);
             vertPlan.transform();
             vertPlan.validate();
             System.out.println("Vertical Plan data: " + vertPlan.dataValid);
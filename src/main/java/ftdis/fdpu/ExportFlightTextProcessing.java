@@ -0,0 +1,134 @@
+package ftdis.fdpu;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Convert a binary (.fdb) or compressed (.fdz) FlightData file to the FlightData text format.
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class ExportFlightTextProcessing {
+
+    /**
+     * Conversion of a binary FlightData file to a .txt file
+     */
+    public static void main(String[] args) {
+        try{
+            double timeStart = 0, timeEnd = 99999;
+            String ioDir, binaryFile, textFile;
+            long rows;
+
+            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            // Set processing parameters
+            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            final String os = System.getProperty("os.name");
+
+            Path localDir = Paths.get("").toAbsolutePath().getParent().getParent();
+            if (os.contains("Windows"))
+            {
+                ioDir = "\\IO\\";
+            }
+            else
+            {
+                ioDir = "/IO/";
+            }
+
+            // Set input file
+            if(args.length < 1) {
+                System.out.println("Binary flight data file required");
+                return;
+            }
+
+            binaryFile = localDir + ioDir + args[0];
+            textFile = localDir + ioDir + args[0].split("\\.(?=[^\\.]+$)")[0] + ".txt";
+
+            // Set start and end time
+            if(args.length >= 6) {
+                if (!Double.isNaN(Double.parseDouble(args[3])))
+                    timeStart = Double.parseDouble(args[3]);
+
+                if (!Double.isNaN(Double.parseDouble(args[5])))
+                    timeEnd = Double.parseDouble(args[5]);
+            }
+
+            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            // Convert file
+            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            if(binaryFile.endsWith(".fdz"))
+                rows = convert(new FlightProcessingDeltaDecoder(new BufferedInputStream(new FileInputStream(binaryFile), 1 << 16)), new File(textFile), timeStart, timeEnd);
+            else
+                rows = convert(new FlightProcessingBinaryReader(new File(binaryFile)), new File(textFile), timeStart, timeEnd);
+
+            System.out.println(rows + " rows written to " + textFile);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method writes the rows of a binary FlightData file within a time window to a text file.
+     *
+     * @param reader    The binary FlightData file
+     * @param textFile  The output file, an existing file is overwritten
+     * @param timeStart Start time of the time window in seconds
+     * @param timeEnd   End time of the time window in seconds
+     * @return          Number of rows written
+     */
+    public static long convert(FlightProcessingBinaryReader reader, File textFile, double timeStart, double timeEnd) throws IOException {
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder(new FileOutputStream(textFile).getChannel(), 1 << 20);
+        long startRow = reader.findRow(timeStart), row;
+
+        // Seek to the first row of the time window
+        for(row = startRow; row < reader.size(); row++){
+            reader.getRow(row, lineItem);
+
+            if(lineItem.timeAtWpt > timeEnd)
+                break;
+
+            rowEncoder.write(lineItem);
+        }
+
+        rowEncoder.close();
+
+        return row - startRow;
+    }
+
+    /**
+     * This method writes the rows of a compressed FlightData stream within a time window to a text file.
+     *
+     * @param decoder   The compressed FlightData stream
+     * @param textFile  The output file, an existing file is overwritten
+     * @param timeStart Start time of the time window in seconds
+     * @param timeEnd   End time of the time window in seconds
+     * @return          Number of rows written
+     */
+    public static long convert(FlightProcessingDeltaDecoder decoder, File textFile, double timeStart, double timeEnd) throws IOException {
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder(new FileOutputStream(textFile).getChannel(), 1 << 20);
+        long rows = 0;
+
+        while(decoder.read(lineItem)){
+            if(lineItem.timeAtWpt < timeStart)
+                continue;
+
+            if(lineItem.timeAtWpt > timeEnd)
+                break;
+
+            rowEncoder.write(lineItem);
+            rows++;
+        }
+
+        decoder.close();
+        rowEncoder.close();
+
+        return rows;
+    }
+}
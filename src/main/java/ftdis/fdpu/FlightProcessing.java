@@ -1,9 +1,9 @@
 package ftdis.fdpu;
 
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
@@ -11,6 +11,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static ftdis.fdpu.Config.*;
 import static java.lang.Math.abs;
@@ -23,38 +24,125 @@ import static java.lang.Math.abs;
  */
 
 /**
- * Callable classes to enable parallel flight plan processing
+ * Fork/join task to enable parallel flight plan processing. The flight is split into small time chunks, which the
+ * workers of the pool claim in time order, so that workers finishing short cruise chunks early pick up the remaining
+ * chunks. A worker only claims a chunk when the number of chunks, which have been claimed but not yet written to the
+ * output file, is below the in-flight limit. Workers wait for the in-flight limit as managed blockers of the pool.
  */
 
 
-class FlightProcessingThreadCallable implements Callable<Void> {
+class FlightProcessingChunkTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
 
     private FlightProcessingThread flightProcessingThread;
-    private int threadId;
-    private Vector<FlightProcessingLineItem> lineItems;
+    private FlightProcessingLineItemStore[] lineItems;
+    private FlightProcessingProgress progress;
     private Vector<FlightProcessingPlanSet> processedPlans;
+    private FlightProcessingSeekIndex seekIdx;
     private String flightPlanFile;
     private String eventCollectionFile;
-    private double timeStart;
-    private double timeEnd;
+    private long[][] chunks;
+    private long[] chunkTime;
+    private AtomicInteger nextChunk;
+    private Semaphore inFlight;
+    private CountDownLatch[] chunkDone;
+    private boolean offHeap;
+    private int workers;
     private double absDuration;
 
-    public FlightProcessingThreadCallable(FlightProcessingThread flightProcessingThread, int threadId, Vector<FlightProcessingLineItem> lineItems, Vector<FlightProcessingPlanSet> processedPlans, String flightPlanFile, String eventCollectionFile, double timeStart, double timeEnd, double absDuration){
+    /**
+     * Constructor
+     *
+     * @param lineItems     Line item store of each chunk, set by the worker processing the chunk
+     * @param progress      Progress of the processing, updated by all workers
+     * @param chunks        Chunks to be processed, each defined by phase, first cycle and cycle after the chunk
+     * @param chunkTime     Processing time of each chunk in nanoseconds, populated on completion of the chunk
+     * @param nextChunk     Number of the next chunk to be claimed, shared by all workers
+     * @param inFlight      Permits for chunks claimed but not yet written, released by the writer
+     * @param chunkDone     Completion signal of each chunk
+     * @param offHeap       Store line items outside of the heap
+     * @param workers       Number of workers to be started by the task
+     */
+    FlightProcessingChunkTask(FlightProcessingThread flightProcessingThread, FlightProcessingLineItemStore[] lineItems, FlightProcessingProgress progress, Vector<FlightProcessingPlanSet> processedPlans, FlightProcessingSeekIndex seekIdx, String flightPlanFile, String eventCollectionFile, long[][] chunks, long[] chunkTime, AtomicInteger nextChunk, Semaphore inFlight, CountDownLatch[] chunkDone, boolean offHeap, int workers, double absDuration){
         this.flightProcessingThread = flightProcessingThread;
-        this.threadId = threadId;
         this.lineItems = lineItems;
+        this.progress = progress;
         this.processedPlans = processedPlans;
+        this.seekIdx = seekIdx;
         this.flightPlanFile = flightPlanFile;
         this.eventCollectionFile = eventCollectionFile;
-        this.timeStart = timeStart;
-        this.timeEnd = timeEnd;
+        this.chunks = chunks;
+        this.chunkTime = chunkTime;
+        this.nextChunk = nextChunk;
+        this.inFlight = inFlight;
+        this.chunkDone = chunkDone;
+        this.offHeap = offHeap;
+        this.workers = workers;
         this.absDuration = absDuration;
     }
 
     @Override
-    public Void call() throws Exception {
-        this.flightProcessingThread.processFile(threadId, lineItems, processedPlans, flightPlanFile, eventCollectionFile, timeStart, timeEnd, absDuration);
-        return null;
+    protected void compute() {
+        int c;
+        long chunkStart;
+        List<FlightProcessingChunkTask> tasks;
+
+        // Start workers
+        if(workers > 1){
+            tasks = new ArrayList<>();
+
+            for(int w = 0; w < workers; w++)
+                tasks.add(new FlightProcessingChunkTask(flightProcessingThread, lineItems, progress, processedPlans, seekIdx, flightPlanFile, eventCollectionFile, chunks, chunkTime, nextChunk, inFlight, chunkDone, offHeap, 1, absDuration));
+
+            invokeAll(tasks);
+            return;
+        }
+
+        // Claim and process chunks in time order until all chunks have been claimed
+        while(true){
+            // Wait for a permit as managed blocker, which allows the pool to compensate for the blocked worker
+            try{
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    private boolean acquired = false;
+
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        if(!acquired){
+                            inFlight.acquire();
+                            acquired = true;
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return acquired || (acquired = inFlight.tryAcquire());
+                    }
+                });
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            c = nextChunk.getAndIncrement();
+
+            if(c >= chunks.length){
+                inFlight.release();
+                return;
+            }
+
+            // Process chunk and record processing time
+            try{
+                chunkStart = System.nanoTime();
+                lineItems[c] = new FlightProcessingLineItemStore(offHeap);
+                progress.beginChunk(seekIdx.getTime(chunks[c][1]), seekIdx.getTime(chunks[c][2] - 1));
+                this.flightProcessingThread.processFile(c + 1, lineItems[c], progress, processedPlans, seekIdx, flightPlanFile, eventCollectionFile, chunks[c][1], chunks[c][2], absDuration);
+                chunkTime[c] = System.nanoTime() - chunkStart;
+            }finally{
+                progress.endChunk();
+                chunkDone[c].countDown();
+            }
+        }
     }
 }
 
@@ -68,11 +156,12 @@ public class FlightProcessing {
      */
     public static void main(String[] args) {
         try{
-            int noOfThreads = 1, lineItems = 0;
-            double cycleLn = FLT_PROC_CYCLE_LN, timeStart = 0, timeEnd = 99999, trackLn, trackT = 0;
+            int noOfThreads = 1, maxInFlight;
+            boolean offHeap = false, binaryOut = false, compressedOut = false, cachePlans = true;
+            double cycleLn = FLT_PROC_CYCLE_LN, chunkLn = 300, progrLn = 0.5, timeStart = 0, timeEnd = 99999, trackLn, trackT = 0;
+            double[] phaseT = new double[4];
             String ioDir, clsCmd, inputFileName ="", flightPlanFile, eventCollectionFile;
 
-            Vector<FlightProcessingLineItem> multiThreadReturnlist = new Vector<>();
             Vector<FlightProcessingPlanSet> processedPlans = new Vector<>();
             //FlightProcessingPlanSet planSet;
 
@@ -118,7 +207,7 @@ public class FlightProcessing {
             }
 
             // Set number of threads ( default 25)
-            if(args.length == 8) {
+            if(args.length >= 8) {
                 try{
                     noOfThreads = Integer.parseInt(args[7]);
                 } catch (NumberFormatException e) {
@@ -127,6 +216,60 @@ public class FlightProcessing {
 
             }
 
+            // Set length of time chunks in seconds (default 300)
+            if(args.length >= 10) {
+                try{
+                    chunkLn = Double.parseDouble(args[9]);
+                } catch (NumberFormatException e) {
+                    chunkLn = 300;
+                }
+
+                if(chunkLn < cycleLn)
+                    chunkLn = cycleLn;
+            }
+
+            // Set storage of processed line items outside of the heap (default false)
+            if(args.length >= 12)
+                offHeap = Boolean.parseBoolean(args[11]);
+
+            // Set maximum number of chunks processed ahead of the output file (default 2 per thread)
+            maxInFlight = 2 * noOfThreads;
+
+            if(args.length >= 14) {
+                try{
+                    maxInFlight = Integer.parseInt(args[13]);
+                } catch (NumberFormatException e) {
+                    maxInFlight = 2 * noOfThreads;
+                }
+            }
+
+            if(maxInFlight < noOfThreads)
+                maxInFlight = noOfThreads;
+
+            // Set interval of progress reports on the console in seconds (default 0.5)
+            if(args.length >= 16) {
+                try{
+                    progrLn = Double.parseDouble(args[15]);
+                } catch (NumberFormatException e) {
+                    progrLn = 0.5;
+                }
+
+                if(progrLn < 0.01)
+                    progrLn = 0.01;
+            }
+
+            // Set additional output to binary FlightData file (default false)
+            if(args.length >= 18)
+                binaryOut = Boolean.parseBoolean(args[17]);
+
+            // Set additional output to compressed FlightData file (default false)
+            if(args.length >= 20)
+                compressedOut = Boolean.parseBoolean(args[19]);
+
+            // Set reuse of prepared plans from the plan cache (default true)
+            if(args.length >= 22)
+                cachePlans = Boolean.parseBoolean(args[21]);
+
 
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 02 Configure output file
@@ -143,144 +286,70 @@ public class FlightProcessing {
             File fout = new File(localDir + ioDir + fileName);
             FileOutputStream fos = new FileOutputStream(fout);
 
-            // Write to file
-            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(fos));
+            // Write to file through a 1 MB buffer
+            FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder(fos.getChannel(), 1 << 20);
+
+            // Write to binary file
+            FlightProcessingBinaryWriter binaryWriter = null;
+
+            if(binaryOut)
+                binaryWriter = new FlightProcessingBinaryWriter(new File(localDir + ioDir + inputFileName + " FlightData " + dateFormat.format(date) + ".fdb"), cycleLn);
+
+            // Write to compressed file
+            FlightProcessingDeltaEncoder deltaEncoder = null;
+
+            if(compressedOut)
+                deltaEncoder = new FlightProcessingDeltaEncoder(new BufferedOutputStream(new FileOutputStream(localDir + ioDir + inputFileName + " FlightData " + dateFormat.format(date) + ".fdz"), 1 << 16));
 
 
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 03 Load and Prepare Data for Processing
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-            LateralPlan latPlan; //= new LateralPlan();
-            LateralTrack latTrack; //= new LateralTrack();
+            LateralTrack latTrack;
+            VelocityTrack velTrack;
+            FlightProcessingPlanSet planSet;
+            FlightProcessingPlanSet[] planSets = new FlightProcessingPlanSet[4];
 
-            VelocityPlan velPlan; //= new VelocityPlan();
-            VelocityTrack velTrack; //= new VelocityTrack();
+            // Reload prepared plan sets from the plan cache, if the input files and configuration are unchanged
+            FlightProcessingPlanCache planCache = null;
+            Vector<FlightProcessingPlanSet> cachedPlans = null;
 
-            VerticalPlan vertPlan; //= new VerticalPlan();
-            VerticalTrack vertTrack; //= new VerticalTrack();
+            if(cachePlans){
+                planCache = new FlightProcessingPlanCache(localDir + ioDir + "PlanCache", flightPlanFile, eventCollectionFile);
+                cachedPlans = planCache.load();
 
-            WeatherPlan wxPlan; //= new WeatherPlan();
-            WeatherTrack wxTrack; //= new WeatherTrack();
+                if(cachedPlans != null)
+                    System.out.println("Plans loaded from cache: " + planCache.getFile().getName());
+            }
 
-            //AircraftAxis arcrftAxis; //= new AircraftAxis();
-            //AircraftControl arcrftCtrl; //= new AircraftControl();
+            if(cachedPlans == null){
+                // Parse flight plan and event collection files once, all flight phases load from the same index
+                PlanIndex flightPlanIdx = new PlanIndex(flightPlanFile);
+                PlanIndex eventCollectionIdx = new PlanIndex(eventCollectionFile);
 
-            //AircraftEngine arcrftEng; //= new AircraftEngine();
-            //AircraftSystem arcrftSyst; //= new AircraftSystem();
+                // Prepare the flight phases concurrently, as a dependency graph of preparation steps
+                FlightProcessingPlanGraph planGraph = new FlightProcessingPlanGraph();
 
+                for (int i = 1; i <= 4; i++)
+                    planSets[i - 1] = addPlanSteps(planGraph, i, flightPlanIdx, eventCollectionIdx);
 
+                planGraph.run(noOfThreads);
 
+                // Report preparation time per step
+                planGraph.printStepTimes();
+            }else
+                cachedPlans.toArray(planSets);
 
-            // Loop through flight phases and prepare data
+            // Loop through flight phases and calculate track times
             for (int i = 1; i <= 4; i++){
                 // 00 Initialize
                 trackLn = 0;
-                FlightProcessingPlanSet planSet = new FlightProcessingPlanSet();
-                planSet.phase = i;
-
-                latPlan = new LateralPlan();
-                latTrack = new LateralTrack();
+                planSet = planSets[i - 1];
 
-                velPlan = new VelocityPlan();
-                velTrack = new VelocityTrack();
+                latTrack = planSet.latTrack;
+                velTrack = planSet.velTrack;
 
-                vertPlan = new VerticalPlan();
-                vertTrack = new VerticalTrack();
-
-                wxPlan = new WeatherPlan();
-                wxTrack = new WeatherTrack();
-
-                //arcrftAxis = new AircraftAxis();
-                //arcrftCtrl = new AircraftControl();
-
-                //arcrftEng = new AircraftEngine();
-                //arcrftSyst = new AircraftSystem();
-
-                // 01 Load flight plan and transform to lateral plan
-                latPlan.load(flightPlanFile, i);
-                latPlan.transform();
-                latPlan.validate();
-                planSet.latPlan = latPlan;
-
-                // 02 Load change velocity events and transform to velocity plan
-                velPlan.assignLat(latPlan);
-                velPlan.load(eventCollectionFile, i);
-                velPlan.transform();
-                velPlan.validate();
-                planSet.velPlan = velPlan;
-
-                // 03 Load change altitude events and transform to vertical plan
-                vertPlan.assignLat(latPlan);
-                vertPlan.assignVel(velPlan);
-                vertPlan.load(eventCollectionFile, i);
-                vertPlan.transform();
-                vertPlan.validate();
-                planSet.vertPlan = vertPlan;
-
-                // 04 Load change weather events and transform to weather plan
-                wxPlan.assignLat(latPlan);
-                wxPlan.assignVel(velPlan);
-                wxPlan.load(eventCollectionFile, i);
-                wxPlan.transform();
-                wxPlan.validate();
-                planSet.wxPlan = wxPlan;
-
-                // 05 Transform lateral plan to lateral track and validate
-                latTrack.assignVel(velPlan);
-                latTrack.transform(latPlan);
-                latTrack.validate();
-                planSet.latTrack = latTrack;
-
-                // 06 Transform lateral ground track to velocity track and validate
-                velTrack.assignLat(latTrack);
-                velTrack.transform(velPlan);
-                velTrack.validate();
-                planSet.velTrack = velTrack;
-
-                // 07 Transform vertical plan to vertical track and validate
-                vertTrack.assignLat(latTrack);
-                vertTrack.assignVel(velTrack);
-                vertTrack.transform(vertPlan);
-                vertTrack.validate();
-                planSet.vertTrack = vertTrack;
-
-                // 08 Transform weather plan to vertical track and validate
-                wxTrack.assignLat(latTrack);
-                wxTrack.assignVel(velTrack);
-                wxTrack.transform(wxPlan);
-                wxTrack.validate();
-                planSet.wxTrack = wxTrack;
-
-                /*
-                // 09 Prepare Aircraft Axis
-                arcrftAxis.assignLat(latTrack);
-                arcrftAxis.assignVel(velTrack);
-                arcrftAxis.assignVert(vertTrack);
-                arcrftAxis.assignWx(wxTrack);
-                arcrftAxis.assignControl(arcrftCtrl);
-                planSet.arcrftAxis = arcrftAxis;
-
-                // 10 Prepare Aircraft Control
-                arcrftCtrl.assignLat(latTrack);
-                arcrftCtrl.assignVel(velTrack);
-                arcrftCtrl.assignVert(vertTrack);
-                arcrftCtrl.assignWx(wxTrack);
-                planSet.arcrftCtrl = arcrftCtrl;
-
-                // 11 Prepare Aircraft Propulsion
-                arcrftEng.assignLat(latTrack);
-                arcrftEng.assignVel(velTrack);
-                arcrftEng.assignVert(vertTrack);
-                arcrftEng.assignWx(wxTrack);
-                planSet.arcrftEng = arcrftEng;
-
-                // 12 Prepare Aircraft Systems
-                arcrftSyst.assignLat(latTrack);
-                arcrftSyst.assignVel(velTrack);
-                arcrftSyst.assignVert(vertTrack);
-                planSet.arcrftSyst = arcrftSyst;
-                */
                 processedPlans.add(planSet);
 
 
@@ -288,6 +357,9 @@ public class FlightProcessing {
                 trackLn = latTrack.getDist(latTrack.getStartWpt(),latTrack.getEndWpt());
                 trackT += trackLn / velTrack.getVasu(latTrack.getStartWpt(),latTrack.getEndWpt());
 
+                // Save time to complete the track of the flight phase for the seek index
+                phaseT[i - 1] = trackLn / velTrack.getVasu(latTrack.getStartWpt(),latTrack.getEndWpt());
+
                 // Add parking time at destination gate to track time
                 trackT += AIRCRAFT_PARK_TIME;
 
@@ -295,108 +367,92 @@ public class FlightProcessing {
                     trackT = timeEnd;
             }
 
+            // Store prepared plan sets for later runs of the same flight
+            if(planCache != null && cachedPlans == null)
+                planCache.save(processedPlans);
+
 
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 04 Process Data
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             FlightProcessingThread flightProcessingThread = new FlightProcessingThread();
             MonitorUtil ftdisMonitor = new MonitorUtil();
-            int progrLn = 2;
-            double threadStart = timeStart;
-            double threadEnd = 0.0;
-            double progress = 0.0;
+            long progrNs = (long) (progrLn * 1.0E9), printNs = 0;
             double absDuration = trackT - timeStart;
-            int threadDuration = (int)absDuration / noOfThreads;
-            ExecutorService es = Executors.newFixedThreadPool(noOfThreads);
+            FlightProcessingSeekIndex seekIdx = new FlightProcessingSeekIndex(phaseT, cycleLn);
 
-            for (int i = 1; i <= noOfThreads; i++){
+            // Split the cycles of the processing time window into chunks, aligned to the start of each flight phase
+            long[][] chunks = createChunks(seekIdx, seekIdx.getRow(timeStart), seekIdx.getRow(Math.nextUp(timeEnd)), Math.max(1, Math.round(chunkLn / cycleLn)));
+            long[] chunkTime = new long[chunks.length];
 
-                if(i != noOfThreads)
-                    threadEnd = threadStart + threadDuration;
-                else
-                    threadEnd = trackT;
+            FlightProcessingLineItemStore[] multiThreadReturnlist = new FlightProcessingLineItemStore[chunks.length];
+            CountDownLatch[] chunkDone = new CountDownLatch[chunks.length];
+            Semaphore inFlight = new Semaphore(maxInFlight);
 
-                es.submit(new FlightProcessingThreadCallable(flightProcessingThread, i, multiThreadReturnlist, processedPlans, flightPlanFile, eventCollectionFile, threadStart, threadEnd, absDuration));
+            for(int c = 0; c < chunks.length; c++)
+                chunkDone[c] = new CountDownLatch(1);
 
-                threadStart = threadEnd + cycleLn;
+            // Report progress at a fixed interval while the workers are running
+            FlightProcessingProgress progress = new FlightProcessingProgress(seekIdx, timeStart, trackT, cycleLn);
+            progress.start(progrLn, ftdisMonitor, execStartDateTime);
 
-                System.out.println("Starting thread... " + i);
-            }
+            ForkJoinPool fjp = new ForkJoinPool(noOfThreads);
 
-            // Initiate shut down and wait for threads to complete / terminate
+            System.out.println("Starting " + chunks.length + " chunks on " + noOfThreads + " threads...");
+            ForkJoinTask<Void> processing = fjp.submit(new FlightProcessingChunkTask(flightProcessingThread, multiThreadReturnlist, progress, processedPlans, seekIdx, flightPlanFile, eventCollectionFile, chunks, chunkTime, new AtomicInteger(0), inFlight, chunkDone, offHeap, noOfThreads, absDuration));
+
+            // Initiate shut down, threads terminate once all chunks have been processed
             System.out.println("Processing........ \n");
-            es.shutdown();
-
-            // Print progress to console while threads are processing
-            while(!es.isTerminated()) {
-
-                if(multiThreadReturnlist.size() != lineItems){
-                    lineItems = multiThreadReturnlist.size();
-                    if (Duration.between(progrStartDateTime, LocalDateTime.now()).getSeconds() >= (long)progrLn) {
-                        progress = (double)lineItems / (1.0D / cycleLn) / absDuration * 100.0D;
-                        ftdisMonitor.logProgress(execStartDateTime, progress);
-                        System.out.println("Progress... " + String.format(Locale.US, "%10.3f", progress) + " %");
-                        progrStartDateTime = LocalDateTime.now();
-                    }
+            fjp.shutdown();
+
+            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            // 05 Write Data to Output File
+            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+
+            // Write each chunk as soon as it and all previous chunks have been processed
+            for (int c = 0; c < chunks.length; c++)
+            {
+                // Wait for the chunk, stop if all workers have terminated without processing the chunk
+                while(!chunkDone[c].await(1, TimeUnit.SECONDS)) {
+                    if(processing.isDone() && chunkDone[c].getCount() > 0)
+                        processing.get();
                 }
 
+                // Write data to file
+                writeRows(multiThreadReturnlist[c], lineItem, rowEncoder, binaryWriter, deltaEncoder);
+
+                // Print write progress to console, at most once per progress interval
+                if(System.nanoTime() - printNs >= progrNs || c == chunks.length - 1){
+                    System.out.println("Writing to file... " + String.format(Locale.US, "%10.2f", seekIdx.getTime(chunks[c][2] - 1)));
+                    printNs = System.nanoTime();
+                }
 
+                // Release chunk and allow workers to claim the next chunk
+                multiThreadReturnlist[c] = null;
+                inFlight.release();
             }
 
             // Wait until all threads have been terminated
-            es.awaitTermination(7, TimeUnit.DAYS);
+            processing.get();
+            fjp.awaitTermination(7, TimeUnit.DAYS);
+            progress.stop();
+
+            // Report processing time per chunk
+            printChunkTimes(seekIdx, chunks, chunkTime);
 
             // Send out completion notice
             //ftdisMonitor.sendProgressMail(100);
 
-            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-            // 05 Write Data to Output File
-            ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-            System.out.println("Sorting...");
-            Collections.sort(multiThreadReturnlist);
+            // Close file
+            rowEncoder.close();
 
-            for (FlightProcessingLineItem lineItem : multiThreadReturnlist)
-            {
+            if(binaryWriter != null)
+                binaryWriter.close();
+
+            if(deltaEncoder != null)
+                deltaEncoder.close();
 
-                // Write data to file
-                bw.write(// Position Vars: Lat, Long, Alt, Heading, Speed
-                        String.format(Locale.US, "%10.15f", lineItem.latitude) + "," +
-                        String.format(Locale.US, "%10.15f", lineItem.longitude) + "," +
-                        String.format(Locale.US, "%10.6f", lineItem.altAtWpt) + "," +
-                        String.format(Locale.US, "%10.6f", lineItem.headingAtWpt) + "," +
-                        String.format(Locale.US, "%10.2f", lineItem.ktsAtWpt) + "," +
-                        // Axis Vars: Pitch, Bank
-                        String.format(Locale.US, "%10.6f", lineItem.pitchAtWpt) + "," +
-                        String.format(Locale.US, "%10.6f", lineItem.bankAtWpt) + "," +
-                        // Control Vars: Ailerons, Flaps, Spoilers, Gear, Throttle
-                        String.format(Locale.US, "%10.2f", lineItem.aileronAtWpt) + "," +
-                        lineItem.flapsAtWpt + "," +
-                        lineItem.spoilersAtWpt + "," +
-                        lineItem.gearAtWpt + "," +
-                        String.format(Locale.US, "%10.2f", lineItem.throttleAtWpt) + "," +
-                        String.format(Locale.US, "%10.2f", lineItem.noseWheelAtWpt) + "," +
-                        // System Vars: Lights, Cabin
-                        lineItem.lightsAtWpt[0] + "," +
-                        lineItem.lightsAtWpt[1] + "," +
-                        lineItem.lightsAtWpt[2] + "," +
-                        lineItem.lightsAtWpt[3] + "," +
-                        lineItem.lightsAtWpt[4] + "," +
-                        lineItem.lightsAtWpt[5] + "," +
-                        lineItem.lightsAtWpt[6] + "," +
-                        lineItem.lightsAtWpt[7] + "," +
-                        lineItem.signSmk + "," +
-                        lineItem.signSeat + "," +
-                        lineItem.signAtt + "," +
-                        // Phase & Time Stamp
-                        lineItem.fltPhase + "," +
-                        String.format(Locale.US, "%10.2f", lineItem.timeAtWpt));
-                    bw.newLine();
-
-                    System.out.println("Writing to file... " + String.format(Locale.US, "%10.2f", lineItem.timeAtWpt));
-                    //Runtime.getRuntime().exec(clsCmd);
-            }
-            // Close file
-            bw.close();
             System.out.println("File saved!");
 
         }catch(Exception e){
@@ -404,6 +460,213 @@ public class FlightProcessing {
         }
     }
 
-}
+    /**
+     * This method writes the rows of a chunk to the output files.
+     *
+     * @param lineItemStore Line items of the chunk
+     * @param lineItem      Line item to read the rows into
+     * @param rowEncoder    Encoder of the text file
+     * @param binaryWriter  Writer of the binary file, optional
+     * @param deltaEncoder  Encoder of the compressed file, optional
+     */
+    static void writeRows(FlightProcessingLineItemStore lineItemStore, FlightProcessingLineItem lineItem, FlightProcessingRowEncoder rowEncoder, FlightProcessingBinaryWriter binaryWriter, FlightProcessingDeltaEncoder deltaEncoder) throws IOException {
+        for (int row = 0; row < lineItemStore.size(); row++)
+        {
+            lineItemStore.getRow(row, lineItem);
+
+            rowEncoder.write(lineItem);
+
+            if(binaryWriter != null)
+                binaryWriter.write(lineItem);
+
+            if(deltaEncoder != null)
+                deltaEncoder.write(lineItem);
+        }
+    }
+
+    /**
+     * This method splits the cycles of the processing time window into chunks of a set number of cycles. A chunk
+     * doesn't extend across the start of a flight phase.
+     *
+     * @param seekIdx   Seek index of the flight phases
+     * @param rowStart  First cycle of the processing time window
+     * @param rowEnd    Cycle after the processing time window
+     * @param chunkRows Number of cycles per chunk
+     * @return          Chunks, each defined by phase, first cycle and cycle after the chunk
+     */
+    static long[][] createChunks(FlightProcessingSeekIndex seekIdx, long rowStart, long rowEnd, long chunkRows){
+        List<long[]> chunkList = new ArrayList<>();
+        long chunkEnd;
+        int phase;
+
+        for(long chunkStart = rowStart; chunkStart < rowEnd; chunkStart = chunkEnd){
+            phase = seekIdx.getPhase(chunkStart);
+            chunkEnd = Math.min(chunkStart + chunkRows, rowEnd);
+
+            if(phase < FlightProcessingSeekIndex.PHASES)
+                chunkEnd = Math.min(chunkEnd, seekIdx.getRowStart(phase + 1));
+
+            chunkList.add(new long[]{phase, chunkStart, chunkEnd});
+        }
+
+        return chunkList.toArray(new long[0][]);
+    }
+
+    /**
+     * Prints the processing time of each chunk, as well as the total and the slowest chunk, to the console.
+     *
+     * @param seekIdx       Seek index of the flight phases
+     * @param chunks        Chunks, each defined by phase, first cycle and cycle after the chunk
+     * @param chunkTime     Processing time of each chunk in nanoseconds
+     */
+    static void printChunkTimes(FlightProcessingSeekIndex seekIdx, long[][] chunks, long[] chunkTime){
+        try{
+            long totalTime = 0;
+            int slowest = 0;
+
+            System.out.println("Chunk     Phase      Start        End       Time [ms]");
+
+            for(int c = 0; c < chunks.length; c++){
+                System.out.println(String.format(Locale.US, "%5d %9d %10.1f %10.1f %15.1f", c + 1, (int) chunks[c][0], seekIdx.getTime(chunks[c][1]), seekIdx.getTime(chunks[c][2] - 1), chunkTime[c] / 1.0E6));
+
+                totalTime += chunkTime[c];
+                if(chunkTime[c] > chunkTime[slowest])
+                    slowest = c;
+            }
+
+            if(chunks.length > 0)
+                System.out.println("Chunks: " + chunks.length
+                        + ", total " + String.format(Locale.US, "%.1f", totalTime / 1.0E6) + " ms"
+                        + ", avg " + String.format(Locale.US, "%.1f", totalTime / 1.0E6 / chunks.length) + " ms"
+                        + ", slowest chunk " + (slowest + 1) + " " + String.format(Locale.US, "%.1f", chunkTime[slowest] / 1.0E6) + " ms");
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
 
+    /**
+     * This method adds the steps to load, transform and validate the plans and tracks of a flight phase to the plan
+     * graph. The velocity track adjusts segments of the velocity plan, which is assigned to the other plans, and is
+     * therefore prepared once the vertical and weather plans have been completed.
+     *
+     * @param planGraph             The plan graph
+     * @param phase                 The flight phase, i.e. 1 to 4
+     * @param flightPlanIdx         Index of the flight plan file
+     * @param eventCollectionIdx    Index of the event collection file
+     * @return                      The plan set of the flight phase, complete once the graph has been run
+     */
+    static FlightProcessingPlanSet addPlanSteps(FlightProcessingPlanGraph planGraph, final int phase, final PlanIndex flightPlanIdx, final PlanIndex eventCollectionIdx){
+        final FlightProcessingPlanSet planSet = new FlightProcessingPlanSet();
+        planSet.phase = phase;
+
+        final LateralPlan latPlan = new LateralPlan();
+        final LateralTrack latTrack = new LateralTrack();
+
+        final VelocityPlan velPlan = new VelocityPlan();
+        final VelocityTrack velTrack = new VelocityTrack();
+
+        final VerticalPlan vertPlan = new VerticalPlan();
+        final VerticalTrack vertTrack = new VerticalTrack();
+
+        final WeatherPlan wxPlan = new WeatherPlan();
+        final WeatherTrack wxTrack = new WeatherTrack();
+
+        planSet.latPlan = latPlan;
+        planSet.latTrack = latTrack;
+        planSet.velPlan = velPlan;
+        planSet.velTrack = velTrack;
+        planSet.vertPlan = vertPlan;
+        planSet.vertTrack = vertTrack;
+        planSet.wxPlan = wxPlan;
+        planSet.wxTrack = wxTrack;
+
+        // 01 Load flight plan and transform to lateral plan
+        FlightProcessingPlanGraph.Step latPlanStep = planGraph.addStep("Lateral plan", phase, new Runnable() {
+            @Override
+            public void run() {
+                latPlan.load(flightPlanIdx, phase);
+                latPlan.transform();
+                latPlan.validate();
+            }
+        });
+
+        // 02 Load change velocity events and transform to velocity plan
+        FlightProcessingPlanGraph.Step velPlanStep = planGraph.addStep("Velocity plan", phase, new Runnable() {
+            @Override
+            public void run() {
+                velPlan.assignLat(latPlan);
+                velPlan.load(eventCollectionIdx, phase);
+                velPlan.transform();
+                velPlan.validate();
+            }
+        }, latPlanStep);
+
+        // 03 Load change altitude events and transform to vertical plan
+        FlightProcessingPlanGraph.Step vertPlanStep = planGraph.addStep("Vertical plan", phase, new Runnable() {
+            @Override
+            public void run() {
+                vertPlan.assignLat(latPlan);
+                vertPlan.assignVel(velPlan);
+                vertPlan.load(eventCollectionIdx, phase);
+                vertPlan.transform();
+                vertPlan.validate();
+            }
+        }, velPlanStep);
+
+        // 04 Load change weather events and transform to weather plan
+        FlightProcessingPlanGraph.Step wxPlanStep = planGraph.addStep("Weather plan", phase, new Runnable() {
+            @Override
+            public void run() {
+                wxPlan.assignLat(latPlan);
+                wxPlan.assignVel(velPlan);
+                wxPlan.load(eventCollectionIdx, phase);
+                wxPlan.transform();
+                wxPlan.validate();
+            }
+        }, velPlanStep);
+
+        // 05 Transform lateral plan to lateral track and validate
+        FlightProcessingPlanGraph.Step latTrackStep = planGraph.addStep("Lateral track", phase, new Runnable() {
+            @Override
+            public void run() {
+                latTrack.assignVel(velPlan);
+                latTrack.transform(latPlan);
+                latTrack.validate();
+            }
+        }, velPlanStep);
+
+        // 06 Transform lateral ground track to velocity track and validate
+        FlightProcessingPlanGraph.Step velTrackStep = planGraph.addStep("Velocity track", phase, new Runnable() {
+            @Override
+            public void run() {
+                velTrack.assignLat(latTrack);
+                velTrack.transform(velPlan);
+                velTrack.validate();
+            }
+        }, latTrackStep, vertPlanStep, wxPlanStep);
 
+        // 07 Transform vertical plan to vertical track and validate
+        planGraph.addStep("Vertical track", phase, new Runnable() {
+            @Override
+            public void run() {
+                vertTrack.assignLat(latTrack);
+                vertTrack.assignVel(velTrack);
+                vertTrack.transform(vertPlan);
+                vertTrack.validate();
+            }
+        }, velTrackStep);
+
+        // 08 Transform weather plan to vertical track and validate
+        planGraph.addStep("Weather track", phase, new Runnable() {
+            @Override
+            public void run() {
+                wxTrack.assignLat(latTrack);
+                wxTrack.assignVel(velTrack);
+                wxTrack.transform(wxPlan);
+                wxTrack.validate();
+            }
+        }, velTrackStep);
+
+        return planSet;
+    }
+}
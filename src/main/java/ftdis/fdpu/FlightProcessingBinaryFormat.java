@@ -0,0 +1,190 @@
+package ftdis.fdpu;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The Flight Processing Binary Format class defines the layout of the binary FlightData file, i.e. a header followed
+ * by fixed width, little endian rows, one per line item.
+ *
+ * Header:
+ *  0   Magic "FTDB"
+ *  4   Version (int)
+ *  8   Header size in bytes (int)
+ *  12  Row size in bytes (int)
+ *  16  Number of rows (long)
+ *  24  Processing cycle length in seconds (double)
+ *  32  First row of flight phase 1 to 5 (long each, -1 if the file holds no row of the phase)
+ *  72  Number of fields (int)
+ *  76  Field descriptors, i.e. name (16 bytes, ASCII), type (byte: 'D' double, 'S' short, 'B' byte), number of
+ *      decimals in the text format (byte) and offset within the row (short)
+ *
+ * The rows start at the header size, which is a multiple of 8.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+final class FlightProcessingBinaryFormat {
+    static final byte[] MAGIC = {'F', 'T', 'D', 'B'};
+    static final int VERSION = 1;
+    static final int PHASES = 5;
+
+    // Header fields
+    static final int HDR_VERSION = 4, HDR_SIZE = 8, HDR_ROW_SIZE = 12, HDR_ROWS = 16, HDR_CYCLE_LN = 24,
+            HDR_PHASE_ROW = 32, HDR_FIELDS = 72, HDR_FIELD_DESC = 76, FIELD_DESC_SIZE = 20, FIELD_NAME_SIZE = 16;
+
+    // Row fields: name, type, decimals, offset
+    static final String[] FIELD_NAMES = {"latitude", "longitude", "altitude", "heading", "kts", "pitch", "bank",
+            "aileron", "throttle", "noseWheel", "time", "flaps", "spoilers", "phase", "gear", "signSmk", "signSeat",
+            "signAtt", "lights"};
+    static final byte[] FIELD_TYPES = {'D', 'D', 'D', 'D', 'D', 'D', 'D', 'D', 'D', 'D', 'D', 'S', 'S', 'B', 'B', 'B',
+            'B', 'B', 'B'};
+    static final byte[] FIELD_DECIMALS = {15, 15, 6, 6, 2, 6, 6, 2, 2, 2, 2, 0, 0, 0, 0, 0, 0, 0, 0};
+
+    static final int LAT = 0, LON = 8, ALT = 16, HEADING = 24, KTS = 32, PITCH = 40, BANK = 48, AILERON = 56,
+            THROTTLE = 64, NOSE_WHEEL = 72, TIME = 80, FLAPS = 88, SPOILERS = 90, PHASE = 92, GEAR = 93,
+            SIGN_SMK = 94, SIGN_SEAT = 95, SIGN_ATT = 96, LIGHTS = 97;
+    static final short[] FIELD_OFFSETS = {LAT, LON, ALT, HEADING, KTS, PITCH, BANK, AILERON, THROTTLE, NOSE_WHEEL,
+            TIME, FLAPS, SPOILERS, PHASE, GEAR, SIGN_SMK, SIGN_SEAT, SIGN_ATT, LIGHTS};
+
+    // Rows are padded to a multiple of 8 bytes
+    static final int ROW_SIZE = 104;
+    static final int HEADER_SIZE = ((HDR_FIELD_DESC + FIELD_NAMES.length * FIELD_DESC_SIZE + 7) / 8) * 8;
+
+    private FlightProcessingBinaryFormat(){
+    }
+
+    /**
+     * This method writes the header to a little endian buffer, starting at position 0.
+     *
+     * @param buf       The buffer
+     * @param rows      Number of rows
+     * @param cycleLn   Processing cycle length in seconds
+     * @param phaseRow  First row of each flight phase
+     */
+    static void putHeader(ByteBuffer buf, long rows, double cycleLn, long[] phaseRow){
+        for(int i = 0; i < MAGIC.length; i++)
+            buf.put(i, MAGIC[i]);
+
+        buf.putInt(HDR_VERSION, VERSION);
+        buf.putInt(HDR_SIZE, HEADER_SIZE);
+        buf.putInt(HDR_ROW_SIZE, ROW_SIZE);
+        buf.putLong(HDR_ROWS, rows);
+        buf.putDouble(HDR_CYCLE_LN, cycleLn);
+
+        for(int p = 0; p < PHASES; p++)
+            buf.putLong(HDR_PHASE_ROW + p * 8, phaseRow[p]);
+
+        buf.putInt(HDR_FIELDS, FIELD_NAMES.length);
+
+        for(int f = 0; f < FIELD_NAMES.length; f++){
+            int pos = HDR_FIELD_DESC + f * FIELD_DESC_SIZE;
+
+            for(int c = 0; c < FIELD_NAME_SIZE; c++)
+                buf.put(pos + c, (c < FIELD_NAMES[f].length()) ? (byte) FIELD_NAMES[f].charAt(c) : 0);
+
+            buf.put(pos + FIELD_NAME_SIZE, FIELD_TYPES[f]);
+            buf.put(pos + FIELD_NAME_SIZE + 1, FIELD_DECIMALS[f]);
+            buf.putShort(pos + FIELD_NAME_SIZE + 2, FIELD_OFFSETS[f]);
+        }
+    }
+
+    /**
+     * This method validates the header of a little endian buffer, starting at position 0.
+     *
+     * @param buf   The buffer
+     */
+    static void checkHeader(ByteBuffer buf) throws IOException {
+        for(int i = 0; i < MAGIC.length; i++)
+            if(buf.get(i) != MAGIC[i])
+                throw new IOException("Not a binary flight data file");
+
+        if(buf.getInt(HDR_VERSION) != VERSION)
+            throw new IOException("Unsupported binary flight data version " + buf.getInt(HDR_VERSION));
+
+        if(buf.getInt(HDR_ROW_SIZE) != ROW_SIZE || buf.getInt(HDR_SIZE) != HEADER_SIZE)
+            throw new IOException("Unsupported binary flight data layout");
+    }
+
+    /**
+     * This method writes a line item to a little endian buffer.
+     *
+     * @param buf   The buffer
+     * @param pos   Position of the row within the buffer
+     * @param item  The line item
+     */
+    static void putRow(ByteBuffer buf, int pos, FlightProcessingLineItem item){
+        int lights = 0;
+
+        buf.putDouble(pos + LAT, item.latitude);
+        buf.putDouble(pos + LON, item.longitude);
+        buf.putDouble(pos + ALT, item.altAtWpt);
+        buf.putDouble(pos + HEADING, item.headingAtWpt);
+        buf.putDouble(pos + KTS, item.ktsAtWpt);
+        buf.putDouble(pos + PITCH, item.pitchAtWpt);
+        buf.putDouble(pos + BANK, item.bankAtWpt);
+        buf.putDouble(pos + AILERON, item.aileronAtWpt);
+        buf.putDouble(pos + THROTTLE, item.throttleAtWpt);
+        buf.putDouble(pos + NOSE_WHEEL, item.noseWheelAtWpt);
+        buf.putDouble(pos + TIME, item.timeAtWpt);
+
+        buf.putShort(pos + FLAPS, (short) item.flapsAtWpt);
+        buf.putShort(pos + SPOILERS, (short) item.spoilersAtWpt);
+
+        // Pack light flags, one bit per light
+        for(int l = 0; l < 8; l++)
+            if(item.lightsAtWpt[l] != 0)
+                lights |= 1 << l;
+
+        buf.put(pos + PHASE, (byte) item.fltPhase);
+        buf.put(pos + GEAR, (byte) item.gearAtWpt);
+        buf.put(pos + SIGN_SMK, (byte) item.signSmk);
+        buf.put(pos + SIGN_SEAT, (byte) item.signSeat);
+        buf.put(pos + SIGN_ATT, (byte) item.signAtt);
+        buf.put(pos + LIGHTS, (byte) lights);
+    }
+
+    /**
+     * This method copies a row of a little endian buffer to a line item.
+     *
+     * @param buf   The buffer
+     * @param pos   Position of the row within the buffer
+     * @param item  The line item to be populated
+     * @return      The line item
+     */
+    static FlightProcessingLineItem getRow(ByteBuffer buf, int pos, FlightProcessingLineItem item){
+        int lights;
+
+        item.latitude = buf.getDouble(pos + LAT);
+        item.longitude = buf.getDouble(pos + LON);
+        item.altAtWpt = buf.getDouble(pos + ALT);
+        item.headingAtWpt = buf.getDouble(pos + HEADING);
+        item.ktsAtWpt = buf.getDouble(pos + KTS);
+        item.pitchAtWpt = buf.getDouble(pos + PITCH);
+        item.bankAtWpt = buf.getDouble(pos + BANK);
+        item.aileronAtWpt = buf.getDouble(pos + AILERON);
+        item.throttleAtWpt = buf.getDouble(pos + THROTTLE);
+        item.noseWheelAtWpt = buf.getDouble(pos + NOSE_WHEEL);
+        item.timeAtWpt = buf.getDouble(pos + TIME);
+
+        item.flapsAtWpt = buf.getShort(pos + FLAPS);
+        item.spoilersAtWpt = buf.getShort(pos + SPOILERS);
+
+        item.fltPhase = buf.get(pos + PHASE);
+        item.gearAtWpt = buf.get(pos + GEAR);
+        item.signSmk = buf.get(pos + SIGN_SMK);
+        item.signSeat = buf.get(pos + SIGN_SEAT);
+        item.signAtt = buf.get(pos + SIGN_ATT);
+
+        // Unpack light flags
+        lights = buf.get(pos + LIGHTS);
+
+        if(item.lightsAtWpt == null || item.lightsAtWpt.length != 8)
+            item.lightsAtWpt = new int[8];
+
+        for(int l = 0; l < 8; l++)
+            item.lightsAtWpt[l] = (lights >> l) & 1;
+
+        return item;
+    }
+}
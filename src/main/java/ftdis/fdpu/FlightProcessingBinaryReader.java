@@ -0,0 +1,134 @@
+package ftdis.fdpu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static ftdis.fdpu.FlightProcessingBinaryFormat.*;
+
+/**
+ * The Flight Processing Binary Reader class maps a binary FlightData file, as defined by FlightProcessingBinaryFormat,
+ * into memory and provides random access to its rows, by row number, time stamp or flight phase.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingBinaryReader {
+    private static final int SEGMENT_ROWS = Integer.MAX_VALUE / ROW_SIZE;
+
+    private MappedByteBuffer[] segments;
+    private double cycleLn;
+    private long[] phaseRow;
+    private long rows;
+
+    /**
+     * Constructor
+     *
+     * @param file  The binary FlightData file
+     */
+    public FlightProcessingBinaryReader(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        try{
+            MappedByteBuffer header;
+            long segRows;
+
+            if(channel.size() < HEADER_SIZE)
+                throw new IOException("Not a binary flight data file");
+
+            // Read header
+            header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            checkHeader(header);
+
+            this.rows = header.getLong(HDR_ROWS);
+            this.cycleLn = header.getDouble(HDR_CYCLE_LN);
+            this.phaseRow = new long[PHASES];
+
+            for(int p = 0; p < PHASES; p++)
+                this.phaseRow[p] = header.getLong(HDR_PHASE_ROW + p * 8);
+
+            if(channel.size() < HEADER_SIZE + rows * ROW_SIZE)
+                throw new IOException("Binary flight data file is incomplete");
+
+            // Map rows, in segments of less than 2 GB each
+            this.segments = new MappedByteBuffer[(int) ((rows + SEGMENT_ROWS - 1) / SEGMENT_ROWS)];
+
+            for(int s = 0; s < segments.length; s++){
+                segRows = Math.min(SEGMENT_ROWS, rows - (long) s * SEGMENT_ROWS);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + (long) s * SEGMENT_ROWS * ROW_SIZE, segRows * ROW_SIZE);
+                segments[s].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }finally{
+            // Mappings remain valid after the channel has been closed
+            channel.close();
+        }
+    }
+
+    /**
+     * @return The number of rows in the file
+     */
+    public long size(){
+        return this.rows;
+    }
+
+    /**
+     * @return The processing cycle length in seconds
+     */
+    public double getCycleLn(){
+        return this.cycleLn;
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @return      The first row of the flight phase, or -1 if the file holds no row of the phase
+     */
+    public long getPhaseRow(int phase){
+        return this.phaseRow[phase - 1];
+    }
+
+    /**
+     * This method copies the values of a row to a line item.
+     *
+     * @param row   Number of the row, index starts with 0
+     * @param item  The line item to be populated
+     * @return      The line item
+     */
+    public FlightProcessingLineItem getRow(long row, FlightProcessingLineItem item){
+        return FlightProcessingBinaryFormat.getRow(segments[(int) (row / SEGMENT_ROWS)],
+                (int) (row % SEGMENT_ROWS) * ROW_SIZE, item);
+    }
+
+    /**
+     * @param row   Number of the row, index starts with 0
+     * @return      Time stamp of the row in seconds
+     */
+    public double getTime(long row){
+        return segments[(int) (row / SEGMENT_ROWS)].getDouble((int) (row % SEGMENT_ROWS) * ROW_SIZE + TIME);
+    }
+
+    /**
+     * This method returns the first row at or after a point in time, based on a binary search of the time stamps.
+     *
+     * @param time  Time in seconds
+     * @return      Number of the row, or the number of rows if all rows precede the time
+     */
+    public long findRow(double time){
+        long lo = 0, hi = rows, mid;
+
+        while(lo < hi){
+            mid = (lo + hi) >>> 1;
+
+            if(getTime(mid) < time)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        return lo;
+    }
+}
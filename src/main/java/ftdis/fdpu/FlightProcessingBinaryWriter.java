@@ -0,0 +1,101 @@
+package ftdis.fdpu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static ftdis.fdpu.FlightProcessingBinaryFormat.*;
+
+/**
+ * The Flight Processing Binary Writer class writes the line items of the flight processing to a binary FlightData
+ * file, as defined by FlightProcessingBinaryFormat. Rows are copied to memory mapped windows of the file, the header,
+ * including the number of rows and the first row of each flight phase, is written on close.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingBinaryWriter {
+    public static final int WINDOW_ROWS = 65536;
+
+    private FileChannel channel;
+    private MappedByteBuffer window;
+    private double cycleLn;
+    private long[] phaseRow;
+    private long rows, windowStart;
+
+    /**
+     * Constructor
+     *
+     * @param file      The output file, an existing file is overwritten
+     * @param cycleLn   Processing cycle length in seconds
+     */
+    public FlightProcessingBinaryWriter(File file, double cycleLn) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.cycleLn = cycleLn;
+        this.phaseRow = new long[PHASES];
+        this.rows = 0;
+        this.windowStart = 0;
+
+        Arrays.fill(this.phaseRow, -1);
+    }
+
+    /**
+     * This method writes a line item to the file.
+     *
+     * @param item  The line item
+     */
+    public void write(FlightProcessingLineItem item) throws IOException {
+        // Map next window
+        if(window == null || rows - windowStart >= WINDOW_ROWS){
+            windowStart = rows;
+            window = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + windowStart * ROW_SIZE,
+                    (long) WINDOW_ROWS * ROW_SIZE);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        putRow(window, (int) (rows - windowStart) * ROW_SIZE, item);
+
+        // Register first row of flight phase
+        if(item.fltPhase >= 1 && item.fltPhase <= PHASES && phaseRow[item.fltPhase - 1] < 0)
+            phaseRow[item.fltPhase - 1] = rows;
+
+        rows++;
+    }
+
+    /**
+     * @return The number of rows written
+     */
+    public long size(){
+        return this.rows;
+    }
+
+    /**
+     * This method writes the header, truncates the file to the rows written and closes the file.
+     */
+    public void close() throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        putHeader(header, rows, cycleLn, phaseRow);
+        header.force();
+
+        if(window != null)
+            window.force();
+
+        // Remove unused part of the last window. Platforms that can't truncate a mapped file keep it, since readers
+        // rely on the number of rows in the header.
+        try{
+            channel.truncate(HEADER_SIZE + rows * ROW_SIZE);
+        }catch(IOException e){
+            System.out.println(e.getMessage());
+        }
+
+        window = null;
+        channel.close();
+    }
+}
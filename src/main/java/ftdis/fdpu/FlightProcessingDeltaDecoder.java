@@ -0,0 +1,202 @@
+package ftdis.fdpu;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static ftdis.fdpu.FlightProcessingDeltaEncoder.*;
+
+/**
+ * The Flight Processing Delta Decoder class reads the line items of a compressed FlightData stream, as written by
+ * FlightProcessingDeltaEncoder. The stream is decoded one block at a time, i.e. memory use is independent of the
+ * length of the flight.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingDeltaDecoder {
+    private InputStream in;
+    private double[][] cont;
+    private int[][] disc;
+    private int rows, row;
+    private boolean end;
+
+    /**
+     * Constructor
+     *
+     * @param in    The input stream, preferably buffered
+     */
+    public FlightProcessingDeltaDecoder(InputStream in) throws IOException {
+        this.in = in;
+        this.cont = new double[CONT_COLS][BLOCK_ROWS];
+        this.disc = new int[DISC_COLS][BLOCK_ROWS];
+        this.rows = 0;
+        this.row = 0;
+        this.end = false;
+
+        // Stream header
+        for(byte b : MAGIC)
+            if(readByte() != b)
+                throw new IOException("Not a compressed flight data stream");
+
+        if(readByte() != VERSION)
+            throw new IOException("Unsupported compressed flight data version");
+
+        if(readByte() != CONT_COLS)
+            throw new IOException("Unsupported compressed flight data layout");
+
+        for(int d : DECIMALS)
+            if(readByte() != d)
+                throw new IOException("Unsupported compressed flight data layout");
+    }
+
+    /**
+     * This method reads the next line item of the stream.
+     *
+     * @param item  The line item to be populated
+     * @return      True if a line item has been read, false at the end of the stream
+     */
+    public boolean read(FlightProcessingLineItem item) throws IOException {
+        int lights;
+
+        if(row == rows){
+            if(end || !readBlock())
+                return false;
+        }
+
+        item.latitude = cont[0][row];
+        item.longitude = cont[1][row];
+        item.altAtWpt = cont[2][row];
+        item.headingAtWpt = cont[3][row];
+        item.ktsAtWpt = cont[4][row];
+        item.pitchAtWpt = cont[5][row];
+        item.bankAtWpt = cont[6][row];
+        item.aileronAtWpt = cont[7][row];
+        item.throttleAtWpt = cont[8][row];
+        item.noseWheelAtWpt = cont[9][row];
+        item.timeAtWpt = cont[10][row];
+
+        item.flapsAtWpt = disc[0][row];
+        item.spoilersAtWpt = disc[1][row];
+        item.gearAtWpt = disc[2][row];
+        lights = disc[3][row];
+        item.signSmk = disc[4][row];
+        item.signSeat = disc[5][row];
+        item.signAtt = disc[6][row];
+        item.fltPhase = disc[7][row];
+
+        // Unpack light flags
+        if(item.lightsAtWpt == null || item.lightsAtWpt.length != 8)
+            item.lightsAtWpt = new int[8];
+
+        for(int l = 0; l < 8; l++)
+            item.lightsAtWpt[l] = (lights >> l) & 1;
+
+        row++;
+
+        return true;
+    }
+
+    /**
+     * This method closes the input stream.
+     */
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Decodes the next block of the stream.
+     *
+     * @return True if a block has been decoded, false at the end marker
+     */
+    private boolean readBlock() throws IOException {
+        long token, fixed, prev = 0, prevDelta = 0, pred;
+        int n, run, val;
+
+        rows = (int) readVarLong();
+        row = 0;
+
+        if(rows == 0){
+            end = true;
+            return false;
+        }
+
+        if(rows > BLOCK_ROWS)
+            throw new IOException("Corrupt compressed flight data stream");
+
+        // Continuous columns
+        for(int c = 0; c < CONT_COLS; c++){
+            n = 0;
+
+            for(int r = 0; r < rows; r++){
+                token = readVarLong();
+
+                // Raw value
+                if((token & 1) != 0){
+                    cont[c][r] = Double.longBitsToDouble(readLong());
+                    n = 0;
+                    continue;
+                }
+
+                pred = (n == 0) ? 0 : (n == 1) ? prev : prev + prevDelta;
+                fixed = pred + unzigzag(token >>> 1);
+                cont[c][r] = FlightProcessingRowEncoder.toDouble(fixed, DECIMALS[c]);
+
+                prevDelta = (n == 0) ? 0 : fixed - prev;
+                prev = fixed;
+                n++;
+            }
+        }
+
+        // Discrete columns
+        for(int c = 0; c < DISC_COLS; c++){
+            for(int r = 0; r < rows; r += run){
+                run = (int) readVarLong();
+                val = (int) unzigzag(readVarLong());
+
+                if(run <= 0 || r + run > rows)
+                    throw new IOException("Corrupt compressed flight data stream");
+
+                for(int i = r; i < r + run; i++)
+                    disc[c][i] = val;
+            }
+        }
+
+        return true;
+    }
+
+    private static long unzigzag(long val){
+        return (val >>> 1) ^ -(val & 1);
+    }
+
+    private long readVarLong() throws IOException {
+        long val = 0;
+        int b, shift = 0;
+
+        do{
+            b = readByte();
+            val |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }while((b & 0x80) != 0 && shift < 64);
+
+        return val;
+    }
+
+    private long readLong() throws IOException {
+        long val = 0;
+
+        for(int i = 0; i < 8; i++)
+            val |= (long) readByte() << (8 * i);
+
+        return val;
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+
+        if(b < 0)
+            throw new EOFException("Unexpected end of compressed flight data stream");
+
+        return b;
+    }
+}
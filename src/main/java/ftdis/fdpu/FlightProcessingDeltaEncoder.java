@@ -0,0 +1,206 @@
+package ftdis.fdpu;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The Flight Processing Delta Encoder class writes the line items of the flight processing to a compressed
+ * FlightData stream. Line items are collected in blocks of up to BLOCK_ROWS rows, which are encoded column by column:
+ *
+ *  - Continuous values are quantized to the decimals of the text format and stored as difference to a linear
+ *    prediction from the previous two rows, zigzag and varint encoded. Values the quantization can't reproduce, e.g.
+ *    NaN, are stored as raw 8 byte doubles instead.
+ *  - Discrete values, i.e. flaps, spoilers, gear, lights, signs and flight phase, are run length encoded.
+ *
+ * Stream:      Magic "FTDZ", version (byte), number of continuous columns (byte), decimals of each column (byte),
+ *              blocks, end marker (varint 0)
+ * Block:       Number of rows (varint), continuous columns, discrete columns
+ * Continuous:  Per row: varint of (zigzag(value - prediction) << 1), or varint 1 followed by a raw double
+ * Discrete:    Runs of varint run length and zigzag varint value, until all rows of the block are covered
+ *
+ * The predictor of each column restarts at the beginning of each block and after a raw value, so that blocks can be
+ * decoded independently.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingDeltaEncoder {
+    public static final int BLOCK_ROWS = 4096;
+
+    static final byte[] MAGIC = {'F', 'T', 'D', 'Z'};
+    static final int VERSION = 1;
+
+    // Continuous columns: latitude, longitude, altitude, heading, kts, pitch, bank, aileron, throttle, nose wheel, time
+    static final int[] DECIMALS = {15, 15, 6, 6, 2, 6, 6, 2, 2, 2, 2};
+    static final int CONT_COLS = DECIMALS.length;
+
+    // Discrete columns: flaps, spoilers, gear, lights (packed), sign smoking, sign seat belts, sign attendants, phase
+    static final int DISC_COLS = 8;
+
+    private OutputStream out;
+    private FlightProcessingRowEncoder rowEncoder;
+    private double[][] cont;
+    private int[][] disc;
+    private byte[] buf;
+    private int rows, len;
+
+    /**
+     * Constructor
+     *
+     * @param out   The output stream, preferably buffered
+     */
+    public FlightProcessingDeltaEncoder(OutputStream out) throws IOException {
+        this.out = out;
+        this.rowEncoder = new FlightProcessingRowEncoder();
+        this.cont = new double[CONT_COLS][BLOCK_ROWS];
+        this.disc = new int[DISC_COLS][BLOCK_ROWS];
+        this.buf = new byte[BLOCK_ROWS * 64];
+        this.rows = 0;
+        this.len = 0;
+
+        // Stream header
+        for(byte b : MAGIC)
+            buf[len++] = b;
+
+        buf[len++] = (byte) VERSION;
+        buf[len++] = (byte) CONT_COLS;
+
+        for(int d : DECIMALS)
+            buf[len++] = (byte) d;
+
+        out.write(buf, 0, len);
+        len = 0;
+    }
+
+    /**
+     * This method adds a line item to the current block. The block is encoded once full.
+     *
+     * @param item  The line item
+     */
+    public void write(FlightProcessingLineItem item) throws IOException {
+        int lights = 0;
+
+        cont[0][rows] = item.latitude;
+        cont[1][rows] = item.longitude;
+        cont[2][rows] = item.altAtWpt;
+        cont[3][rows] = item.headingAtWpt;
+        cont[4][rows] = item.ktsAtWpt;
+        cont[5][rows] = item.pitchAtWpt;
+        cont[6][rows] = item.bankAtWpt;
+        cont[7][rows] = item.aileronAtWpt;
+        cont[8][rows] = item.throttleAtWpt;
+        cont[9][rows] = item.noseWheelAtWpt;
+        cont[10][rows] = item.timeAtWpt;
+
+        // Pack light flags, one bit per light
+        for(int l = 0; l < 8; l++)
+            if(item.lightsAtWpt[l] != 0)
+                lights |= 1 << l;
+
+        disc[0][rows] = item.flapsAtWpt;
+        disc[1][rows] = item.spoilersAtWpt;
+        disc[2][rows] = item.gearAtWpt;
+        disc[3][rows] = lights;
+        disc[4][rows] = item.signSmk;
+        disc[5][rows] = item.signSeat;
+        disc[6][rows] = item.signAtt;
+        disc[7][rows] = item.fltPhase;
+
+        if(++rows == BLOCK_ROWS)
+            this.flush();
+    }
+
+    /**
+     * This method encodes the current block and writes it to the output stream.
+     */
+    public void flush() throws IOException {
+        long fixed, prev = 0, prevDelta = 0, pred;
+        int n, run;
+
+        if(rows == 0)
+            return;
+
+        len = 0;
+        putVarLong(rows);
+
+        // Continuous columns
+        for(int c = 0; c < CONT_COLS; c++){
+            n = 0;
+
+            for(int r = 0; r < rows; r++){
+                fixed = rowEncoder.toFixed(cont[c][r], DECIMALS[c]);
+
+                // Raw value, if the quantized value doesn't reproduce the text format
+                if(fixed == Long.MIN_VALUE || rowEncoder.toFixed(FlightProcessingRowEncoder.toDouble(fixed, DECIMALS[c]), DECIMALS[c]) != fixed){
+                    ensureCapacity(9);
+                    buf[len++] = 1;
+                    putLong(Double.doubleToRawLongBits(cont[c][r]));
+                    n = 0;
+                    continue;
+                }
+
+                // Linear prediction from the previous two values
+                pred = (n == 0) ? 0 : (n == 1) ? prev : prev + prevDelta;
+
+                putVarLong(zigzag(fixed - pred) << 1);
+
+                prevDelta = (n == 0) ? 0 : fixed - prev;
+                prev = fixed;
+                n++;
+            }
+        }
+
+        // Discrete columns
+        for(int c = 0; c < DISC_COLS; c++){
+            for(int r = 0; r < rows; r += run){
+                for(run = 1; r + run < rows && disc[c][r + run] == disc[c][r]; run++);
+
+                putVarLong(run);
+                putVarLong(zigzag(disc[c][r]));
+            }
+        }
+
+        out.write(buf, 0, len);
+        rows = 0;
+        len = 0;
+    }
+
+    /**
+     * This method encodes the current block, writes the end marker and closes the output stream.
+     */
+    public void close() throws IOException {
+        this.flush();
+        out.write(0);
+        out.close();
+    }
+
+    static long zigzag(long val){
+        return (val << 1) ^ (val >> 63);
+    }
+
+    private void putVarLong(long val){
+        ensureCapacity(10);
+
+        while((val & ~0x7FL) != 0){
+            buf[len++] = (byte) ((val & 0x7F) | 0x80);
+            val >>>= 7;
+        }
+
+        buf[len++] = (byte) val;
+    }
+
+    private void putLong(long val){
+        for(int i = 0; i < 8; i++)
+            buf[len++] = (byte) (val >>> (8 * i));
+    }
+
+    private void ensureCapacity(int bytes){
+        byte[] newBuf;
+
+        if(len + bytes > buf.length){
+            newBuf = new byte[buf.length * 2];
+            System.arraycopy(buf, 0, newBuf, 0, len);
+            buf = newBuf;
+        }
+    }
+}
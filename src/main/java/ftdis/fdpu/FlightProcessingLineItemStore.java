@@ -0,0 +1,193 @@
+package ftdis.fdpu;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Flight Processing Line Item Store class holds the line items of the flight processing in columnar form, i.e.
+ * one primitive column per field instead of one object per processing cycle. The store grows in blocks of a fixed
+ * number of rows, each of which is a single byte buffer on the heap or, optionally, outside of the heap. The eight
+ * light flags of a line item are packed into a single byte.
+ *
+ * Line items are added and read through FlightProcessingLineItem objects, which serve as a row view and can be
+ * reused from row to row.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingLineItemStore {
+    public static final int BLOCK_ROWS = 4096;
+
+    // Double columns
+    private static final int LAT = 0, LON = 1, ALT = 2, HEADING = 3, KTS = 4, PITCH = 5, BANK = 6, THROTTLE = 7,
+            AILERON = 8, NOSE_WHEEL = 9, TIME = 10, DOUBLE_COLS = 11;
+
+    // Short columns
+    private static final int FLAPS = 0, SPOILERS = 1, SHORT_COLS = 2;
+
+    // Byte columns
+    private static final int PHASE = 0, GEAR = 1, SIGN_SMK = 2, SIGN_SEAT = 3, SIGN_ATT = 4, LIGHTS = 5, BYTE_COLS = 6;
+
+    private static final int SHORT_OFFSET = DOUBLE_COLS * BLOCK_ROWS * 8;
+    private static final int BYTE_OFFSET = SHORT_OFFSET + SHORT_COLS * BLOCK_ROWS * 2;
+    private static final int BLOCK_SIZE = BYTE_OFFSET + BYTE_COLS * BLOCK_ROWS;
+
+    private List<ByteBuffer> blocks;
+    private boolean offHeap;
+    private int size;
+
+    /**
+     * Constructor(s)
+     *
+     * @param offHeap   Store line items outside of the heap
+     */
+    public FlightProcessingLineItemStore(boolean offHeap){
+        this.blocks = new ArrayList<ByteBuffer>();
+        this.offHeap = offHeap;
+        this.size = 0;
+    }
+
+    public FlightProcessingLineItemStore(){
+        this(false);
+    }
+
+    /**
+     * This method adds a line item to the store. The values of the line item are copied, i.e. the line item can be
+     * reused for the next row.
+     *
+     * @param item  The line item
+     */
+    public void add(FlightProcessingLineItem item){
+        ByteBuffer block;
+        int r = size % BLOCK_ROWS, lights = 0;
+
+        // Add new block
+        if(r == 0){
+            block = offHeap ? ByteBuffer.allocateDirect(BLOCK_SIZE) : ByteBuffer.allocate(BLOCK_SIZE);
+            blocks.add(block.order(ByteOrder.nativeOrder()));
+        }
+
+        block = blocks.get(size / BLOCK_ROWS);
+
+        putDouble(block, LAT, r, item.latitude);
+        putDouble(block, LON, r, item.longitude);
+        putDouble(block, ALT, r, item.altAtWpt);
+        putDouble(block, HEADING, r, item.headingAtWpt);
+        putDouble(block, KTS, r, item.ktsAtWpt);
+        putDouble(block, PITCH, r, item.pitchAtWpt);
+        putDouble(block, BANK, r, item.bankAtWpt);
+        putDouble(block, THROTTLE, r, item.throttleAtWpt);
+        putDouble(block, AILERON, r, item.aileronAtWpt);
+        putDouble(block, NOSE_WHEEL, r, item.noseWheelAtWpt);
+        putDouble(block, TIME, r, item.timeAtWpt);
+
+        block.putShort(SHORT_OFFSET + (FLAPS * BLOCK_ROWS + r) * 2, (short) item.flapsAtWpt);
+        block.putShort(SHORT_OFFSET + (SPOILERS * BLOCK_ROWS + r) * 2, (short) item.spoilersAtWpt);
+
+        // Pack light flags, one bit per light
+        for(int l = 0; l < 8; l++)
+            if(item.lightsAtWpt[l] != 0)
+                lights |= 1 << l;
+
+        putByte(block, PHASE, r, item.fltPhase);
+        putByte(block, GEAR, r, item.gearAtWpt);
+        putByte(block, SIGN_SMK, r, item.signSmk);
+        putByte(block, SIGN_SEAT, r, item.signSeat);
+        putByte(block, SIGN_ATT, r, item.signAtt);
+        putByte(block, LIGHTS, r, lights);
+
+        size++;
+    }
+
+    /**
+     * This method copies the values of a row to a line item.
+     *
+     * @param row   Number of the row, index starts with 0
+     * @param item  The line item to be populated
+     * @return      The line item
+     */
+    public FlightProcessingLineItem getRow(int row, FlightProcessingLineItem item){
+        ByteBuffer block = blocks.get(row / BLOCK_ROWS);
+        int r = row % BLOCK_ROWS, lights;
+
+        item.latitude = getDouble(block, LAT, r);
+        item.longitude = getDouble(block, LON, r);
+        item.altAtWpt = getDouble(block, ALT, r);
+        item.headingAtWpt = getDouble(block, HEADING, r);
+        item.ktsAtWpt = getDouble(block, KTS, r);
+        item.pitchAtWpt = getDouble(block, PITCH, r);
+        item.bankAtWpt = getDouble(block, BANK, r);
+        item.throttleAtWpt = getDouble(block, THROTTLE, r);
+        item.aileronAtWpt = getDouble(block, AILERON, r);
+        item.noseWheelAtWpt = getDouble(block, NOSE_WHEEL, r);
+        item.timeAtWpt = getDouble(block, TIME, r);
+
+        item.flapsAtWpt = block.getShort(SHORT_OFFSET + (FLAPS * BLOCK_ROWS + r) * 2);
+        item.spoilersAtWpt = block.getShort(SHORT_OFFSET + (SPOILERS * BLOCK_ROWS + r) * 2);
+
+        item.fltPhase = getByte(block, PHASE, r);
+        item.gearAtWpt = getByte(block, GEAR, r);
+        item.signSmk = getByte(block, SIGN_SMK, r);
+        item.signSeat = getByte(block, SIGN_SEAT, r);
+        item.signAtt = getByte(block, SIGN_ATT, r);
+
+        // Unpack light flags
+        lights = getByte(block, LIGHTS, r);
+
+        if(item.lightsAtWpt == null || item.lightsAtWpt.length != 8)
+            item.lightsAtWpt = new int[8];
+
+        for(int l = 0; l < 8; l++)
+            item.lightsAtWpt[l] = (lights >> l) & 1;
+
+        return item;
+    }
+
+    /**
+     * @param row   Number of the row, index starts with 0
+     * @return      New line item holding the values of the row
+     */
+    public FlightProcessingLineItem getRow(int row){
+        return this.getRow(row, new FlightProcessingLineItem());
+    }
+
+    /**
+     * @param row   Number of the row, index starts with 0
+     * @return      Time stamp of the row in seconds
+     */
+    public double getTime(int row){
+        return getDouble(blocks.get(row / BLOCK_ROWS), TIME, row % BLOCK_ROWS);
+    }
+
+    /**
+     * @return The number of rows in the store
+     */
+    public int size(){
+        return this.size;
+    }
+
+    /**
+     * @return The number of bytes allocated by the store
+     */
+    public long getBytes(){
+        return (long) blocks.size() * BLOCK_SIZE;
+    }
+
+    private static void putDouble(ByteBuffer block, int col, int r, double val){
+        block.putDouble((col * BLOCK_ROWS + r) * 8, val);
+    }
+
+    private static double getDouble(ByteBuffer block, int col, int r){
+        return block.getDouble((col * BLOCK_ROWS + r) * 8);
+    }
+
+    private static void putByte(ByteBuffer block, int col, int r, int val){
+        block.put(BYTE_OFFSET + col * BLOCK_ROWS + r, (byte) val);
+    }
+
+    private static int getByte(ByteBuffer block, int col, int r){
+        return block.get(BYTE_OFFSET + col * BLOCK_ROWS + r);
+    }
+}
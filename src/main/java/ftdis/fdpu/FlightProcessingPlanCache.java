@@ -0,0 +1,615 @@
+package ftdis.fdpu;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * The Flight Processing Plan Cache class stores the prepared plan sets of a flight, i.e. the transformed and
+ * validated lateral, velocity, vertical and weather plans and tracks of each flight phase, in a compact binary file,
+ * so that later runs of the same flight skip the preparation.
+ *
+ * The cache is content addressed: the file name is the SHA-256 hash of the input files, of the configuration values
+ * and of the field layout of the cached classes, so that any change of the flight plan, the event collection, the
+ * config file or of the fields of the plans, tracks and segments leads to a new entry. The cache holds the most
+ * recently used entries only, older entries are deleted when a new entry is saved.
+ *
+ * File layout (big endian):
+ *  Magic "FTPC", version (int), key (32 bytes), number of plan sets (int), followed by each plan set, i.e. phase
+ *  (int), lateral plan and track, velocity plan and track, vertical plan and track, weather plan and track.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingPlanCache {
+    static final byte[] MAGIC = {'F', 'T', 'P', 'C'};
+
+    // Version of the cache entries. The field layout of the cached classes is part of the key, but changes which
+    // don't alter any field aren't detected: increase the version whenever the binary layout written by
+    // writePlanSet/readPlanSet, or the preparation of the plans, i.e. the steps of FlightProcessing.addPlanSteps,
+    // change. Entries of other versions are ignored and eventually evicted.
+    static final int VERSION = 1;
+
+    // Number of entries kept in the cache directory
+    static final int MAX_ENTRIES = 8;
+
+    // Classes stored in the cache entries, see getClassLayout()
+    private static final Class<?>[] CACHED_CLASSES = {FlightProcessingPlanSet.class, LateralPlan.class,
+            LateralTrack.class, DirectSegment.class, TurnSegment.class, Waypoint.class, VelocityPlan.class,
+            VelocityTrack.class, VelocitySegment.class, VerticalPlan.class, VerticalTrack.class, VerticalSegment.class,
+            WeatherPlan.class, WeatherTrack.class, WeatherSegment.class, WeatherSegment.Cat.class};
+
+    private static final byte DIRECT_SGMT = 'D', TURN_SGMT = 'T';
+    private static final String[] CAT_TYPES = {"pitch", "bank", "alt"};
+
+    private final File cacheFile;
+    private final byte[] key;
+
+    /**
+     * Constructor
+     *
+     * @param cacheDir      Directory of the cache files
+     * @param inputFiles    Complete path and file names of the input files, i.e. flight plan and event collection
+     */
+    public FlightProcessingPlanCache(String cacheDir, String... inputFiles) throws Exception {
+        this.key = createKey(inputFiles);
+        this.cacheFile = new File(cacheDir, toHex(this.key) + ".fpc");
+    }
+
+    /**
+     * @return The cache file of the input files and configuration values
+     */
+    public File getFile(){
+        return this.cacheFile;
+    }
+
+    /**
+     * This method calculates the key of a cache entry, i.e. the SHA-256 hash of the version, the content of the
+     * input files, the configuration values and the field layout of the cached classes.
+     *
+     * @param inputFiles    Complete path and file names of the input files
+     * @return              The key
+     */
+    static byte[] createKey(String... inputFiles) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] content;
+
+        digest.update(MAGIC);
+        digest.update(intBytes(VERSION));
+
+        // Content of input files
+        for(String inputFile : inputFiles){
+            content = Files.readAllBytes(new File(inputFile).toPath());
+            digest.update(intBytes(content.length));
+            digest.update(content);
+        }
+
+        // Configuration values, sorted by name
+        digest.update(getConfigValues().getBytes(StandardCharsets.UTF_8));
+
+        // Field layout of the cached classes
+        digest.update(getClassLayout().getBytes(StandardCharsets.UTF_8));
+
+        return digest.digest();
+    }
+
+    /**
+     * @return Names and types of all instance fields of the cached classes and their super classes, sorted by name
+     */
+    static String getClassLayout(){
+        Set<String> fields = new TreeSet<String>();
+        StringBuilder layout = new StringBuilder();
+
+        for(Class<?> cls : CACHED_CLASSES)
+            for(Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass())
+                for(Field field : c.getDeclaredFields())
+                    if(!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                        fields.add(c.getName() + '.' + field.getName() + ':' + field.getType().getName());
+
+        for(String field : fields)
+            layout.append(field).append('\n');
+
+        return layout.toString();
+    }
+
+    /**
+     * @return Names and values of all public static fields of the Config class, sorted by name
+     */
+    static String getConfigValues() throws IllegalAccessException {
+        Map<String, String> values = new TreeMap<String, String>();
+        StringBuilder config = new StringBuilder();
+
+        for(Field field : Config.class.getFields())
+            if(Modifier.isStatic(field.getModifiers()))
+                values.put(field.getName(), Arrays.deepToString(new Object[]{field.get(null)}));
+
+        for(Map.Entry<String, String> value : values.entrySet())
+            config.append(value.getKey()).append('=').append(value.getValue()).append('\n');
+
+        return config.toString();
+    }
+
+    /**
+     * This method loads the plan sets from the cache file and assigns the plans and tracks to each other, in the same
+     * way as the preparation of the flight processing.
+     *
+     * @return  The plan sets sorted by flight phase, or null if the cache holds no valid entry for the input files
+     */
+    public Vector<FlightProcessingPlanSet> load(){
+        if(!this.cacheFile.isFile())
+            return null;
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.cacheFile), 1 << 16))){
+            Vector<FlightProcessingPlanSet> planSets = new Vector<>();
+            byte[] header = new byte[MAGIC.length], fileKey = new byte[this.key.length];
+            int count;
+
+            in.readFully(header);
+            if(!Arrays.equals(header, MAGIC) || in.readInt() != VERSION)
+                return null;
+
+            in.readFully(fileKey);
+            if(!Arrays.equals(fileKey, this.key))
+                return null;
+
+            count = in.readInt();
+
+            for(int p = 0; p < count; p++)
+                planSets.add(readPlanSet(in));
+
+            // Mark entry as recently used
+            this.cacheFile.setLastModified(System.currentTimeMillis());
+
+            return planSets;
+        }catch(Exception e){
+            // Incomplete or corrupt entry, prepare plans again
+            System.out.println("Plan cache entry " + this.cacheFile.getName() + " could not be read: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * This method saves the plan sets to the cache file. The file is written to a temporary file first and then
+     * moved in place, so that concurrent or interrupted runs never leave an incomplete entry.
+     *
+     * @param planSets  The plan sets sorted by flight phase
+     */
+    public void save(List<FlightProcessingPlanSet> planSets){
+        File tmpFile = null;
+
+        try{
+            Files.createDirectories(this.cacheFile.getAbsoluteFile().getParentFile().toPath());
+            tmpFile = File.createTempFile("PlanCache", ".tmp", this.cacheFile.getAbsoluteFile().getParentFile());
+
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile), 1 << 16))){
+                out.write(MAGIC);
+                out.writeInt(VERSION);
+                out.write(this.key);
+                out.writeInt(planSets.size());
+
+                for(FlightProcessingPlanSet planSet : planSets)
+                    writePlanSet(out, planSet);
+            }
+
+            try{
+                Files.move(tmpFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }catch(AtomicMoveNotSupportedException e){
+                Files.move(tmpFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            evict(MAX_ENTRIES);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+
+            if(tmpFile != null)
+                tmpFile.delete();
+        }
+    }
+
+    /**
+     * This method deletes the least recently used entries of the cache directory, i.e. the entries loaded or saved
+     * least recently, until the number of entries is within the limit. The entry of this cache is always kept.
+     *
+     * @param maxEntries    Maximum number of entries
+     */
+    void evict(int maxEntries){
+        File[] entries = this.cacheFile.getAbsoluteFile().getParentFile().listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(".fpc") && !file.equals(cacheFile.getAbsoluteFile());
+            }
+        });
+
+        if(entries == null || entries.length < maxEntries)
+            return;
+
+        // Most recently used first
+        Arrays.sort(entries, new Comparator<File>() {
+            @Override
+            public int compare(File f1, File f2) {
+                return Long.compare(f2.lastModified(), f1.lastModified());
+            }
+        });
+
+        for(int e = Math.max(0, maxEntries - 1); e < entries.length; e++)
+            if(!entries[e].delete())
+                System.out.println("Plan cache entry " + entries[e].getName() + " could not be deleted");
+    }
+
+    /**
+     * This method writes a plan set, i.e. the segments of each plan and track, which remain after the preparation.
+     * The events of the plans are only used to prepare the segments and aren't stored.
+     *
+     * @param out       The output stream
+     * @param planSet   The plan set
+     */
+    static void writePlanSet(DataOutputStream out, FlightProcessingPlanSet planSet) throws IOException {
+        out.writeInt(planSet.phase);
+
+        // Lateral plan and track
+        writeId(out, planSet.latPlan.id);
+        out.writeBoolean(planSet.latPlan.dataValid);
+        out.writeInt(planSet.latPlan.getWptSize());
+
+        for(int w = 0; w < planSet.latPlan.getWptSize(); w++){
+            out.writeInt(planSet.latPlan.getWpt(w).id);
+            writeWpt(out, planSet.latPlan.getWpt(w));
+        }
+
+        out.writeInt(planSet.latPlan.getSgmtCount());
+
+        for(int s = 0; s < planSet.latPlan.getSgmtCount(); s++)
+            writeDirectSgmt(out, (DirectSegment) planSet.latPlan.getSgmt(s));
+
+        writeId(out, planSet.latTrack.id);
+        out.writeBoolean(planSet.latTrack.dataValid);
+        out.writeInt(planSet.latTrack.getSgmtCount());
+
+        for(int s = 0; s < planSet.latTrack.getSgmtCount(); s++){
+            if(planSet.latTrack.getSgmt(s) instanceof TurnSegment){
+                out.writeByte(TURN_SGMT);
+                writeTurnSgmt(out, (TurnSegment) planSet.latTrack.getSgmt(s));
+            }else{
+                out.writeByte(DIRECT_SGMT);
+                writeDirectSgmt(out, (DirectSegment) planSet.latTrack.getSgmt(s));
+            }
+        }
+
+        // Velocity plan and track, the track shadows the valid flag of the plan
+        writeId(out, planSet.velPlan.id);
+        out.writeBoolean(planSet.velPlan.dataValid);
+        writeVelSgmts(out, planSet.velPlan);
+
+        writeId(out, planSet.velTrack.id);
+        out.writeBoolean(((VelocityPlan) planSet.velTrack).dataValid);
+        out.writeBoolean(planSet.velTrack.dataValid);
+        writeVelSgmts(out, planSet.velTrack);
+
+        // Vertical plan and track
+        out.writeInt(planSet.vertPlan.id);
+        out.writeBoolean(planSet.vertPlan.dataValid);
+        writeVertSgmts(out, planSet.vertPlan);
+
+        out.writeInt(planSet.vertTrack.id);
+        out.writeBoolean(((VerticalPlan) planSet.vertTrack).dataValid);
+        out.writeBoolean(planSet.vertTrack.dataValid);
+        writeVertSgmts(out, planSet.vertTrack);
+
+        // Weather plan and track
+        out.writeInt(planSet.wxPlan.id);
+        out.writeBoolean(planSet.wxPlan.dataValid);
+        writeWxSgmts(out, planSet.wxPlan);
+
+        out.writeInt(planSet.wxTrack.id);
+        out.writeBoolean(((WeatherPlan) planSet.wxTrack).dataValid);
+        out.writeBoolean(planSet.wxTrack.dataValid);
+        writeWxSgmts(out, planSet.wxTrack);
+    }
+
+    /**
+     * This method reads a plan set and assigns the plans and tracks to each other. The interval indexes and the
+     * velocity profile of the tracks are rebuilt, the plans remain without, as after the preparation.
+     *
+     * @param in    The input stream
+     * @return      The plan set
+     */
+    static FlightProcessingPlanSet readPlanSet(DataInputStream in) throws IOException {
+        FlightProcessingPlanSet planSet = new FlightProcessingPlanSet();
+        Waypoint wpt;
+        int count;
+
+        planSet.phase = in.readInt();
+
+        // Lateral plan and track
+        planSet.latPlan.id = readId(in);
+        planSet.latPlan.dataValid = in.readBoolean();
+        count = in.readInt();
+
+        for(int w = 0; w < count; w++){
+            wpt = new Waypoint(in.readInt());
+            readWpt(in, wpt);
+            planSet.latPlan.addWpt(wpt);
+        }
+
+        count = in.readInt();
+
+        for(int s = 0; s < count; s++)
+            planSet.latPlan.addSgmt(readDirectSgmt(in));
+
+        planSet.latTrack.id = readId(in);
+        planSet.latTrack.dataValid = in.readBoolean();
+        count = in.readInt();
+
+        for(int s = 0; s < count; s++){
+            if(in.readByte() == TURN_SGMT)
+                planSet.latTrack.addSgmt(readTurnSgmt(in));
+            else
+                planSet.latTrack.addSgmt(readDirectSgmt(in));
+        }
+
+        planSet.latTrack.assignLat(planSet.latPlan);
+        planSet.latTrack.assignVel(planSet.velPlan);
+        planSet.latTrack.buildIndex();
+
+        // Velocity plan and track
+        planSet.velPlan.id = readId(in);
+        planSet.velPlan.dataValid = in.readBoolean();
+        planSet.velPlan.assignLat(planSet.latPlan);
+        readVelSgmts(in, planSet.velPlan);
+
+        planSet.velTrack.id = readId(in);
+        ((VelocityPlan) planSet.velTrack).dataValid = in.readBoolean();
+        planSet.velTrack.dataValid = in.readBoolean();
+        planSet.velTrack.assignLat(planSet.latTrack);
+        readVelSgmts(in, planSet.velTrack);
+        planSet.velTrack.buildProfile();
+        planSet.velTrack.buildIndex();
+
+        // Vertical plan and track
+        planSet.vertPlan.id = in.readInt();
+        planSet.vertPlan.dataValid = in.readBoolean();
+        planSet.vertPlan.assignLat(planSet.latPlan);
+        planSet.vertPlan.assignVel(planSet.velPlan);
+        readVertSgmts(in, planSet.vertPlan);
+
+        planSet.vertTrack.id = in.readInt();
+        ((VerticalPlan) planSet.vertTrack).dataValid = in.readBoolean();
+        planSet.vertTrack.dataValid = in.readBoolean();
+        planSet.vertTrack.assignLat(planSet.latTrack);
+        planSet.vertTrack.assignVel(planSet.velTrack);
+        readVertSgmts(in, planSet.vertTrack);
+        planSet.vertTrack.buildIndex();
+
+        // Weather plan and track
+        planSet.wxPlan.id = in.readInt();
+        planSet.wxPlan.dataValid = in.readBoolean();
+        planSet.wxPlan.assignLat(planSet.latPlan);
+        planSet.wxPlan.assignVel(planSet.velPlan);
+        readWxSgmts(in, planSet.wxPlan);
+
+        planSet.wxTrack.id = in.readInt();
+        ((WeatherPlan) planSet.wxTrack).dataValid = in.readBoolean();
+        planSet.wxTrack.dataValid = in.readBoolean();
+        planSet.wxTrack.assignLat(planSet.latTrack);
+        planSet.wxTrack.assignVel(planSet.velTrack);
+        readWxSgmts(in, planSet.wxTrack);
+        planSet.wxTrack.buildIndex();
+
+        return planSet;
+    }
+
+    /**
+     * Write and read the segments of the plans and tracks
+     */
+    private static void writeVelSgmts(DataOutputStream out, VelocityPlan velPlan) throws IOException {
+        VelocitySegment sgmt;
+
+        out.writeInt(velPlan.getSgmtCount());
+
+        for(int s = 0; s < velPlan.getSgmtCount(); s++){
+            sgmt = velPlan.getSgmt(s);
+            out.writeInt(sgmt.id);
+            writeWpt(out, sgmt.getStartPt());
+            writeWpt(out, sgmt.getEndPt());
+            out.writeDouble(sgmt.getVasi());
+            out.writeDouble(sgmt.getVasf());
+            out.writeDouble(sgmt.getAcc());
+            out.writeDouble(sgmt.getOffset());
+            out.writeDouble(sgmt.getDist());
+        }
+    }
+
+    private static void readVelSgmts(DataInputStream in, VelocityPlan velPlan) throws IOException {
+        VelocitySegment sgmt;
+        int count = in.readInt();
+
+        for(int s = 0; s < count; s++){
+            sgmt = new VelocitySegment(in.readInt());
+            readWpt(in, sgmt.getStartPt());
+            readWpt(in, sgmt.getEndPt());
+            sgmt.setVasi(in.readDouble());
+            sgmt.setVasf(in.readDouble());
+            sgmt.setAcc(in.readDouble());
+            sgmt.setOffset(in.readDouble());
+            sgmt.setDist(in.readDouble());
+            velPlan.addSgmt(sgmt);
+        }
+    }
+
+    private static void writeVertSgmts(DataOutputStream out, VerticalPlan vertPlan) throws IOException {
+        VerticalSegment sgmt;
+
+        out.writeInt(vertPlan.getSgmtCount());
+
+        for(int s = 0; s < vertPlan.getSgmtCount(); s++){
+            sgmt = vertPlan.getSgmt(s);
+            out.writeInt(sgmt.id);
+            writeWpt(out, sgmt.getStartPt());
+            writeWpt(out, sgmt.getEndPt());
+            out.writeDouble(sgmt.getAlti());
+            out.writeDouble(sgmt.getAltf());
+            out.writeDouble(sgmt.getVs());
+            out.writeDouble(sgmt.getAlpha());
+            out.writeDouble(sgmt.getDist());
+        }
+    }
+
+    private static void readVertSgmts(DataInputStream in, VerticalPlan vertPlan) throws IOException {
+        VerticalSegment sgmt;
+        int count = in.readInt();
+
+        for(int s = 0; s < count; s++){
+            sgmt = new VerticalSegment(in.readInt());
+            readWpt(in, sgmt.getStartPt());
+            readWpt(in, sgmt.getEndPt());
+            sgmt.setAlti(in.readDouble());
+            sgmt.setAltf(in.readDouble());
+            sgmt.setVs(in.readDouble());
+            sgmt.setAlpha(in.readDouble());
+            sgmt.setDist(in.readDouble());
+            vertPlan.addSgmt(sgmt);
+        }
+    }
+
+    private static void writeWxSgmts(DataOutputStream out, WeatherPlan wxPlan) throws IOException {
+        WeatherSegment sgmt;
+        List<WeatherSegment.Cat> cats;
+
+        out.writeInt(wxPlan.getSgmtCount());
+
+        for(int s = 0; s < wxPlan.getSgmtCount(); s++){
+            sgmt = wxPlan.getSgmt(s);
+            out.writeInt(sgmt.id);
+            writeWpt(out, sgmt.getStartPt());
+            writeWpt(out, sgmt.getEndPt());
+            out.writeDouble(sgmt.getDist());
+            out.writeDouble(sgmt.getCatMagn());
+            out.writeDouble(sgmt.getCatFreq());
+            out.writeDouble(sgmt.getWindDir());
+            out.writeDouble(sgmt.getWindSpd());
+
+            // Random CATs of the segment
+            for(String type : CAT_TYPES){
+                cats = sgmt.getCatList(type);
+                out.writeInt(cats.size());
+
+                for(WeatherSegment.Cat cat : cats){
+                    out.writeInt(cat.id);
+                    out.writeDouble(cat.startDist);
+                    out.writeDouble(cat.endDist);
+                    out.writeDouble(cat.dist);
+                    out.writeDouble(cat.value);
+                }
+            }
+        }
+    }
+
+    private static void readWxSgmts(DataInputStream in, WeatherPlan wxPlan) throws IOException {
+        WeatherSegment sgmt;
+        WeatherSegment.Cat cat;
+        List<WeatherSegment.Cat> cats;
+        int count = in.readInt(), catCount;
+
+        for(int s = 0; s < count; s++){
+            sgmt = new WeatherSegment(in.readInt());
+            readWpt(in, sgmt.getStartPt());
+            readWpt(in, sgmt.getEndPt());
+            sgmt.setDist(in.readDouble());
+            sgmt.setCat(in.readDouble(), in.readDouble());
+            sgmt.setWind(in.readDouble(), in.readDouble());
+
+            for(String type : CAT_TYPES){
+                cats = sgmt.getCatList(type);
+                catCount = in.readInt();
+
+                for(int c = 0; c < catCount; c++){
+                    cat = sgmt.new Cat(in.readInt());
+                    cat.startDist = in.readDouble();
+                    cat.endDist = in.readDouble();
+                    cat.dist = in.readDouble();
+                    cat.value = in.readDouble();
+                    cats.add(cat);
+                }
+            }
+
+            wxPlan.addSgmt(sgmt);
+        }
+    }
+
+    private static void writeDirectSgmt(DataOutputStream out, DirectSegment sgmt) throws IOException {
+        out.writeInt(sgmt.id);
+        writeWpt(out, sgmt.getStartPt());
+        writeWpt(out, sgmt.getEndPt());
+    }
+
+    private static DirectSegment readDirectSgmt(DataInputStream in) throws IOException {
+        DirectSegment sgmt = new DirectSegment(in.readInt());
+
+        sgmt.setStartPt(in.readDouble(), in.readDouble());
+        sgmt.setEndPt(in.readDouble(), in.readDouble());
+
+        return sgmt;
+    }
+
+    private static void writeTurnSgmt(DataOutputStream out, TurnSegment sgmt) throws IOException {
+        out.writeInt(sgmt.id);
+        writeWpt(out, sgmt.getStartPt());
+        writeWpt(out, sgmt.getTurnPt());
+        writeWpt(out, sgmt.getEndPt());
+        out.writeDouble(sgmt.getCourseStart());
+        out.writeDouble(sgmt.getCourseEnd());
+    }
+
+    private static TurnSegment readTurnSgmt(DataInputStream in) throws IOException {
+        TurnSegment sgmt = new TurnSegment(in.readInt());
+
+        sgmt.setStartPt(in.readDouble(), in.readDouble());
+        sgmt.setTurnPt(in.readDouble(), in.readDouble());
+        sgmt.setEndPt(in.readDouble(), in.readDouble());
+        sgmt.setCourseStart(in.readDouble());
+        sgmt.setCourseEnd(in.readDouble());
+
+        return sgmt;
+    }
+
+    private static void writeWpt(DataOutputStream out, Waypoint wpt) throws IOException {
+        out.writeDouble(wpt.getLat());
+        out.writeDouble(wpt.getLon());
+    }
+
+    private static void readWpt(DataInputStream in, Waypoint wpt) throws IOException {
+        wpt.setLat(in.readDouble());
+        wpt.setLon(in.readDouble());
+    }
+
+    private static void writeId(DataOutputStream out, Integer id) throws IOException {
+        out.writeBoolean(id != null);
+        out.writeInt((id != null) ? id : 0);
+    }
+
+    private static Integer readId(DataInputStream in) throws IOException {
+        boolean hasId = in.readBoolean();
+        int id = in.readInt();
+
+        return hasId ? id : null;
+    }
+
+    private static byte[] intBytes(int value){
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    private static String toHex(byte[] bytes){
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+
+        for(byte b : bytes)
+            hex.append(String.format("%02x", b));
+
+        return hex.toString();
+    }
+}
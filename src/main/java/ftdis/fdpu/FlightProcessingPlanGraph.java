@@ -0,0 +1,210 @@
+package ftdis.fdpu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Flight Processing Plan Graph class runs the preparation of the plans as a dependency graph of steps on a thread
+ * pool. A step is started as soon as all of its predecessors have completed, so that independent steps, e.g. the
+ * flight phases or the vertical and weather plans of a phase, are prepared concurrently.
+ *
+ * If a step fails, its successors are skipped and run() throws the exception of the first failed step. The start
+ * and end time of each step are recorded and can be printed once the graph has been run.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingPlanGraph {
+    private final List<Step> steps = new ArrayList<Step>();
+    private volatile Throwable failure;
+    private ExecutorService pool;
+    private CountDownLatch done;
+    private long startNs, endNs;
+
+    /**
+     * This method adds a step to the graph. The predecessors must have been added before, so that the graph can't
+     * contain cycles.
+     *
+     * @param name          Name of the step
+     * @param phase         Flight phase of the step
+     * @param action        The action of the step
+     * @param predecessors  Steps, which must be completed before the step is started
+     * @return              The step
+     */
+    public Step addStep(String name, int phase, Runnable action, Step... predecessors){
+        Step step = new Step(name, phase, action);
+
+        for(Step predecessor : predecessors){
+            predecessor.successors.add(step);
+            step.waitFor++;
+        }
+
+        this.steps.add(step);
+        return step;
+    }
+
+    /**
+     * This method runs all steps of the graph and waits for their completion.
+     *
+     * @param threads   Number of threads of the pool
+     */
+    public void run(int threads) throws Exception {
+        this.failure = null;
+        this.done = new CountDownLatch(this.steps.size());
+        this.pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, this.steps.size())), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "FlightProcessingPlanGraph-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        try{
+            this.startNs = System.nanoTime();
+
+            for(Step step : this.steps){
+                step.remaining.set(step.waitFor);
+                step.startNs = step.endNs = 0;
+                step.skipped = false;
+            }
+
+            // Start steps without predecessors
+            for(Step step : this.steps)
+                if(step.waitFor == 0)
+                    this.pool.execute(step);
+
+            this.done.await();
+            this.endNs = System.nanoTime();
+        }finally{
+            this.pool.shutdown();
+        }
+
+        if(this.failure instanceof Exception)
+            throw (Exception) this.failure;
+        else if(this.failure != null)
+            throw new ExecutionException(this.failure);
+    }
+
+    /**
+     * Prints the start, end and duration of each step, relative to the start of the graph, and the total time of the
+     * graph vs. the sum of the step times to the console.
+     */
+    public void printStepTimes(){
+        try{
+            long totalTime = 0;
+
+            System.out.println("Step                Phase      Start [ms]        End [ms]       Time [ms]  Thread");
+
+            for(Step step : this.steps){
+                System.out.println(String.format(Locale.US, "%-18s %6d %15.1f %15.1f %15.1f  %s", step.name, step.phase,
+                        (step.startNs - this.startNs) / 1.0E6, (step.endNs - this.startNs) / 1.0E6, step.getTime() / 1.0E6,
+                        step.skipped ? "skipped" : step.thread));
+
+                totalTime += step.getTime();
+            }
+
+            System.out.println("Steps: " + this.steps.size()
+                    + ", total " + String.format(Locale.US, "%.1f", totalTime / 1.0E6) + " ms"
+                    + ", elapsed " + String.format(Locale.US, "%.1f", (this.endNs - this.startNs) / 1.0E6) + " ms");
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * @return The steps of the graph, in the order they have been added
+     */
+    public List<Step> getSteps(){
+        return this.steps;
+    }
+
+    /**
+     * The nested Step class represents a step of the graph, i.e. an action and the steps depending on it.
+     */
+    public class Step implements Runnable {
+        private final String name;
+        private final int phase;
+        private final Runnable action;
+        private final List<Step> successors = new ArrayList<Step>();
+        private final AtomicInteger remaining = new AtomicInteger();
+        private int waitFor;
+        private volatile long startNs, endNs;
+        private volatile String thread;
+        private volatile boolean skipped;
+
+        Step(String name, int phase, Runnable action){
+            this.name = name;
+            this.phase = phase;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            try{
+                this.startNs = System.nanoTime();
+                this.thread = Thread.currentThread().getName();
+
+                // Skip the action once a step has failed
+                if(failure == null)
+                    this.action.run();
+                else
+                    this.skipped = true;
+            }catch(Throwable e){
+                synchronized(FlightProcessingPlanGraph.this){
+                    if(failure == null)
+                        failure = e;
+                }
+            }finally{
+                this.endNs = System.nanoTime();
+
+                // Start successors, whose predecessors have all completed
+                for(Step successor : this.successors)
+                    if(successor.remaining.decrementAndGet() == 0)
+                        pool.execute(successor);
+
+                done.countDown();
+            }
+        }
+
+        /**
+         * @return Name of the step
+         */
+        public String getName(){
+            return this.name;
+        }
+
+        /**
+         * @return Flight phase of the step
+         */
+        public int getPhase(){
+            return this.phase;
+        }
+
+        /**
+         * @return Start of the step in nanoseconds, as per System.nanoTime()
+         */
+        public long getStartNs(){
+            return this.startNs;
+        }
+
+        /**
+         * @return End of the step in nanoseconds, as per System.nanoTime()
+         */
+        public long getEndNs(){
+            return this.endNs;
+        }
+
+        /**
+         * @return Duration of the step in nanoseconds
+         */
+        public long getTime(){
+            return this.endNs - this.startNs;
+        }
+    }
+}
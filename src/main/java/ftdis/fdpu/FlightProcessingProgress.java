@@ -0,0 +1,281 @@
+package ftdis.fdpu;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Flight Processing Progress class counts the processing cycles completed by the workers of the flight
+ * processing, per flight phase. Workers update striped counters, i.e. without contention, and a scheduled reporter
+ * prints the progress, the throughput in cycles per second, the estimated time to completion and the completion of
+ * each flight phase at a fixed interval. Each report is also published to the progress monitor.
+ *
+ * Each worker thread further records the time stamp of its last cycle within the chunk it is processing, which is
+ * reported as the progress of the thread.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingProgress implements Runnable {
+    public static final int PHASES = 5;
+
+    private LongAdder[] cycles;
+    private ThreadLocal<double[]> worker;
+    private List<double[]> workers;
+    private long[] totalCycles;
+    private long total, startNs, lastNs, lastCycles;
+    private ScheduledExecutorService reporter;
+    private MonitorUtil monitor;
+    private LocalDateTime execStart;
+
+    /**
+     * Constructor
+     *
+     * @param seekIdx   Seek index of the flight phases
+     * @param timeStart Start time of the processing in seconds
+     * @param timeEnd   End time of the processing in seconds
+     * @param cycleLn   Length of a processing cycle in seconds
+     */
+    FlightProcessingProgress(FlightProcessingSeekIndex seekIdx, double timeStart, double timeEnd, double cycleLn){
+        double start, end;
+
+        this.cycles = new LongAdder[PHASES];
+        this.workers = new CopyOnWriteArrayList<double[]>();
+        this.worker = new ThreadLocal<double[]>() {
+            @Override
+            protected double[] initialValue() {
+                // Start, end and time stamp of the last cycle of the current chunk
+                double[] w = {Double.NaN, Double.NaN, Double.NaN};
+                workers.add(w);
+                return w;
+            }
+        };
+        this.totalCycles = new long[PHASES];
+        this.total = 0;
+
+        // Expected number of cycles per flight phase within the processing time window
+        for(int p = 1; p <= PHASES; p++){
+            cycles[p - 1] = new LongAdder();
+
+            start = Math.max(timeStart, seekIdx.getPhaseStart(p));
+            end = (p < PHASES) ? Math.min(timeEnd, seekIdx.getPhaseEnd(p)) : timeEnd;
+
+            if(end > start)
+                totalCycles[p - 1] = (long) Math.ceil((end - start) / cycleLn);
+
+            total += totalCycles[p - 1];
+        }
+    }
+
+    /**
+     * This method registers the start of a chunk by the current worker thread.
+     *
+     * @param start Start time of the chunk in seconds
+     * @param end   End time of the chunk in seconds
+     */
+    public void beginChunk(double start, double end){
+        double[] w = worker.get();
+
+        w[0] = start;
+        w[1] = end;
+        w[2] = start;
+    }
+
+    /**
+     * This method registers the completion of the chunk of the current worker thread.
+     */
+    public void endChunk(){
+        double[] w = worker.get();
+
+        w[0] = w[1] = w[2] = Double.NaN;
+    }
+
+    /**
+     * This method registers a completed processing cycle.
+     *
+     * @param phase The flight phase, i.e. 1 to 5
+     * @param time  Time stamp of the cycle in seconds
+     */
+    public void increment(int phase, double time){
+        cycles[phase - 1].increment();
+        worker.get()[2] = time;
+    }
+
+    /**
+     * @return The number of processing cycles completed in all flight phases
+     */
+    public long getCycles(){
+        long sum = 0;
+
+        for(LongAdder c : cycles)
+            sum += c.sum();
+
+        return sum;
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @return      The completion of the flight phase in percent
+     */
+    public double getPhaseProgress(int phase){
+        if(totalCycles[phase - 1] == 0)
+            return 100.0;
+
+        return Math.min(100.0, 100.0 * cycles[phase - 1].sum() / totalCycles[phase - 1]);
+    }
+
+    /**
+     * @return The completion of the current chunk of each worker thread in percent, 100 if the worker is idle
+     */
+    public double[] getThreadProgress(){
+        double[] progress = new double[workers.size()];
+        double[] w;
+
+        for(int t = 0; t < progress.length; t++){
+            w = workers.get(t);
+
+            if(Double.isNaN(w[0]) || !(w[1] > w[0]))
+                progress[t] = 100.0;
+            else
+                progress[t] = Math.max(0.0, Math.min(100.0, 100.0 * (w[2] - w[0]) / (w[1] - w[0])));
+        }
+
+        return progress;
+    }
+
+    /**
+     * @return The first flight phase, which hasn't been completed
+     */
+    public int getPhase(){
+        for(int p = 1; p < PHASES; p++)
+            if(getPhaseProgress(p) < 100.0)
+                return p;
+
+        return PHASES;
+    }
+
+    /**
+     * @return The completion of the flight processing in percent
+     */
+    public double getProgress(){
+        if(total == 0)
+            return 100.0;
+
+        return Math.min(100.0, 100.0 * getCycles() / total);
+    }
+
+    /**
+     * This method starts reporting the progress at a fixed interval.
+     *
+     * @param interval  Reporting interval in seconds
+     * @param monitor   Monitor to log the progress to, optional
+     * @param execStart Start date and time of the processing
+     */
+    public void start(double interval, MonitorUtil monitor, LocalDateTime execStart){
+        long intervalNs = Math.max(1, (long) (interval * 1.0E9));
+
+        this.monitor = monitor;
+        this.execStart = execStart;
+        this.startNs = this.lastNs = System.nanoTime();
+        this.lastCycles = getCycles();
+
+        // Report on a daemon thread, which doesn't keep the JVM alive
+        this.reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "FlightProcessingProgress");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        this.reporter.scheduleAtFixedRate(this, intervalNs, intervalNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * This method stops reporting and prints the final progress.
+     */
+    public void stop(){
+        if(reporter != null){
+            reporter.shutdownNow();
+
+            try{
+                reporter.awaitTermination(1, TimeUnit.SECONDS);
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+
+            this.run();
+
+            if(monitor != null)
+                monitor.logProgress(this.getStatus(0), MonitorStatus.STATE_DONE);
+        }
+    }
+
+    /**
+     * @param rate  Throughput in cycles per second
+     * @return      The progress as status for the progress monitor
+     */
+    private Monitor getStatus(double rate){
+        double[] phaseProgress = new double[PHASES];
+
+        for(int p = 1; p <= PHASES; p++)
+            phaseProgress[p - 1] = getPhaseProgress(p);
+
+        return new Monitor(execStart, getProgress(), rate, getPhase(), phaseProgress, getThreadProgress(), false, 0);
+    }
+
+    /**
+     * Reports the progress to the console and the monitor.
+     */
+    @Override
+    public void run() {
+        try{
+            long nowNs = System.nanoTime(), done = getCycles();
+            double rate, avgRate, eta;
+            StringBuilder phases = new StringBuilder();
+
+            // Throughput since the last report and average throughput since start
+            rate = (nowNs > lastNs) ? (done - lastCycles) / ((nowNs - lastNs) / 1.0E9) : 0;
+            avgRate = (nowNs > startNs) ? done / ((nowNs - startNs) / 1.0E9) : 0;
+            eta = (avgRate > 0) ? Math.max(0, total - done) / avgRate : Double.NaN;
+
+            lastNs = nowNs;
+            lastCycles = done;
+
+            for(int p = 1; p <= PHASES; p++)
+                phases.append(String.format(Locale.US, "%4.0f", getPhaseProgress(p))).append((p < PHASES) ? "/" : " %");
+
+            System.out.println("Progress... " + String.format(Locale.US, "%10.3f", getProgress()) + " %" +
+                    String.format(Locale.US, "%12.1f", rate) + " cycles/s" +
+                    "   ETA " + formatDuration(eta) +
+                    "   Phases" + phases);
+
+            if(monitor != null)
+                monitor.logProgress(this.getStatus(rate), MonitorStatus.STATE_PROCESSING);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * @param seconds   Duration in seconds
+     * @return          The duration formatted as hh:mm:ss
+     */
+    static String formatDuration(double seconds){
+        long s;
+
+        if(Double.isNaN(seconds) || Double.isInfinite(seconds))
+            return "--:--:--";
+
+        s = (long) Math.ceil(seconds);
+
+        return String.format(Locale.US, "%02d:%02d:%02d", s / 3600, (s / 60) % 60, s % 60);
+    }
+}
@@ -0,0 +1,452 @@
+package ftdis.fdpu;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+
+/**
+ * The Flight Processing Row Encoder class writes the line items of the flight processing to the FlightData text
+ * file. Each row is encoded directly into a reusable byte array, with the same column layout and number format as
+ * String.format(Locale.US, "%10.15f", ...) etc., and the rows are written to the file channel through a large
+ * buffer.
+ *
+ * Fixed decimal numbers are written from the value scaled by the number of decimals and rounded to a long, without
+ * any intermediate objects. java.util.Formatter rounds the decimal digits of Double.toString half up instead, which
+ * only yields a different result if the scaled value lies close to a rounding boundary or beyond the exact integer
+ * range of a double. Such values are rounded from the decimal digits of Double.toString, as by Formatter.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingRowEncoder {
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private byte[] row;
+    private static final double[] POW10 = new double[23];
+    private static final double SCALED_MAX = 1L << 52;
+
+    private byte[] digits;
+    private int len, nd, intLen;
+
+    static {
+        POW10[0] = 1;
+        for(int i = 1; i < POW10.length; i++)
+            POW10[i] = POW10[i - 1] * 10;
+    }
+
+    /**
+     * Constructor(s)
+     *
+     * @param channel       File channel of the output file
+     * @param bufferSize    Size of the output buffer in bytes
+     */
+    public FlightProcessingRowEncoder(FileChannel channel, int bufferSize){
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.row = new byte[512];
+        this.digits = new byte[32];
+        this.len = 0;
+    }
+
+    public FlightProcessingRowEncoder(){
+        this(null, 1024);
+    }
+
+    /**
+     * This method encodes a line item and writes the row to the output buffer. The buffer is written to the file
+     * channel when full.
+     *
+     * @param item  The line item
+     */
+    public void write(FlightProcessingLineItem item) throws IOException {
+        this.encode(item);
+
+        if(buffer.remaining() < len)
+            this.flush();
+
+        buffer.put(row, 0, len);
+    }
+
+    /**
+     * This method writes the content of the output buffer to the file channel.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+
+        while(buffer.hasRemaining())
+            channel.write(buffer);
+
+        buffer.clear();
+    }
+
+    /**
+     * This method writes the remaining content of the output buffer to the file channel and closes the channel.
+     */
+    public void close() throws IOException {
+        this.flush();
+        channel.close();
+    }
+
+    /**
+     * This method encodes a line item into the row array, including the line separator.
+     *
+     * @param item  The line item
+     * @return      Length of the row in bytes
+     */
+    public int encode(FlightProcessingLineItem item){
+        len = 0;
+
+        // Position Vars: Lat, Long, Alt, Heading, Speed
+        putFixed(item.latitude, 10, 15);
+        putFixed(item.longitude, 10, 15);
+        putFixed(item.altAtWpt, 10, 6);
+        putFixed(item.headingAtWpt, 10, 6);
+        putFixed(item.ktsAtWpt, 10, 2);
+
+        // Axis Vars: Pitch, Bank
+        putFixed(item.pitchAtWpt, 10, 6);
+        putFixed(item.bankAtWpt, 10, 6);
+
+        // Control Vars: Ailerons, Flaps, Spoilers, Gear, Throttle
+        putFixed(item.aileronAtWpt, 10, 2);
+        putInt(item.flapsAtWpt);
+        putInt(item.spoilersAtWpt);
+        putInt(item.gearAtWpt);
+        putFixed(item.throttleAtWpt, 10, 2);
+        putFixed(item.noseWheelAtWpt, 10, 2);
+
+        // System Vars: Lights, Cabin
+        for(int l = 0; l < 8; l++)
+            putInt(item.lightsAtWpt[l]);
+
+        putInt(item.signSmk);
+        putInt(item.signSeat);
+        putInt(item.signAtt);
+
+        // Phase & Time Stamp
+        putInt(item.fltPhase);
+
+        ensureCapacity(32);
+        putFixedVal(item.timeAtWpt, 10, 2);
+
+        for(byte b : LINE_SEPARATOR)
+            row[len++] = b;
+
+        return len;
+    }
+
+    /**
+     * @return The row array, valid up to the length returned by the last call of encode
+     */
+    public byte[] getRow(){
+        return this.row;
+    }
+
+    /**
+     * Appends a fixed decimal number and a column separator to the row.
+     */
+    private void putFixed(double val, int width, int decimals){
+        putFixedVal(val, width, decimals);
+        row[len++] = ',';
+    }
+
+    /**
+     * Appends an integer and a column separator to the row.
+     */
+    private void putInt(int val){
+        int start;
+        long v = val;
+
+        ensureCapacity(16);
+
+        if(v < 0){
+            row[len++] = '-';
+            v = -v;
+        }
+
+        // Write digits in reverse order and flip
+        start = len;
+        do{
+            row[len++] = (byte) ('0' + (v % 10));
+            v /= 10;
+        }while(v > 0);
+
+        reverse(start, len - 1);
+        row[len++] = ',';
+    }
+
+    /**
+     * This method returns a value rounded half up to a number of decimals as unscaled value, i.e. the digits of the
+     * text format without the decimal point. Values that are not finite, round to negative zero or have more than
+     * 18 digits are not supported.
+     *
+     * @param val       The value
+     * @param decimals  Number of decimals
+     * @return          The unscaled value, or Long.MIN_VALUE if the value is not supported
+     */
+    long toFixed(double val, int decimals){
+        boolean neg;
+        long fixed;
+
+        if(Double.isNaN(val) || Double.isInfinite(val))
+            return Long.MIN_VALUE;
+
+        fixed = roundScaled(val, decimals);
+
+        if(fixed >= 0){
+            if(fixed == 0 && Double.doubleToRawLongBits(val) < 0)
+                return Long.MIN_VALUE;
+
+            return (val < 0) ? -fixed : fixed;
+        }
+
+        fixed = 0;
+        neg = roundDigits(val, decimals);
+
+        if(intLen + decimals > 18)
+            return Long.MIN_VALUE;
+
+        for(int k = 0; k < intLen + decimals; k++)
+            fixed = fixed * 10 + ((k < nd) ? digits[k] : 0);
+
+        if(neg && fixed == 0)
+            return Long.MIN_VALUE;
+
+        return neg ? -fixed : fixed;
+    }
+
+    /**
+     * This method returns the double value closest to an unscaled value with a number of decimals. Formatted to the
+     * number of decimals, the double value yields the same text as the unscaled value, as long as the unscaled value
+     * is below 2^52 or the original value needed no rounding.
+     *
+     * @param fixed     The unscaled value
+     * @param decimals  Number of decimals, up to 18
+     * @return          The double value
+     */
+    static double toDouble(long fixed, int decimals){
+        StringBuilder str;
+
+        // Exact division of exact operands
+        if(Math.abs(fixed) < (1L << 52) && decimals <= 22)
+            return fixed / POW10[decimals];
+
+        str = new StringBuilder(Long.toString(Math.abs(fixed)));
+
+        while(str.length() <= decimals)
+            str.insert(0, '0');
+
+        str.insert(str.length() - decimals, '.');
+
+        return (fixed < 0) ? -Double.parseDouble(str.toString()) : Double.parseDouble(str.toString());
+    }
+
+    /**
+     * Appends a number with a fixed number of decimals, right aligned to the width, to the row.
+     */
+    private void putFixedVal(double val, int width, int decimals){
+        String str;
+        int start = len, pad, i, k;
+        long fixed;
+        boolean neg;
+
+        // NaN and infinite values
+        if(Double.isNaN(val) || Double.isInfinite(val)){
+            str = String.format(Locale.US, "%" + width + "." + decimals + "f", val);
+            ensureCapacity(str.length() + 1);
+            for(i = 0; i < str.length(); i++)
+                row[len++] = (byte) str.charAt(i);
+            return;
+        }
+
+        // Digits of the scaled value
+        fixed = roundScaled(val, decimals);
+
+        if(fixed >= 0){
+            putUnscaled(fixed, Double.doubleToRawLongBits(val) < 0, width, decimals);
+            return;
+        }
+
+        neg = roundDigits(val, decimals);
+
+        ensureCapacity(Math.max(intLen, 1) + decimals + width + 4);
+
+        if(neg)
+            row[len++] = '-';
+
+        // Integer digits
+        if(intLen <= 0)
+            row[len++] = '0';
+        else
+            for(k = 0; k < intLen; k++)
+                row[len++] = (byte) ('0' + (k < nd ? digits[k] : 0));
+
+        // Decimals
+        row[len++] = '.';
+
+        for(k = intLen; k < intLen + decimals; k++)
+            row[len++] = (byte) ('0' + ((k >= 0 && k < nd) ? digits[k] : 0));
+
+        // Right align to width
+        pad = width - (len - start);
+
+        if(pad > 0){
+            System.arraycopy(row, start, row, start + pad, len - start);
+            for(k = start; k < start + pad; k++)
+                row[k] = ' ';
+            len += pad;
+        }
+    }
+
+    /**
+     * Appends an unscaled value with a fixed number of decimals, right aligned to the width, to the row. The digits
+     * are written backwards from the last decimal.
+     */
+    private void putUnscaled(long fixed, boolean neg, int width, int decimals){
+        int digitCount = 1, length, pad, pos, k;
+
+        for(long f = fixed / 10; f > 0; f /= 10)
+            digitCount++;
+
+        // At least one integer digit
+        digitCount = Math.max(digitCount, decimals + 1);
+        length = (neg ? 1 : 0) + digitCount + 1;
+        pad = Math.max(0, width - length);
+
+        ensureCapacity(pad + length + 1);
+
+        for(k = 0; k < pad; k++)
+            row[len++] = ' ';
+
+        if(neg)
+            row[len++] = '-';
+
+        len += digitCount + 1;
+        pos = len - 1;
+
+        for(k = 0; k < digitCount; k++){
+            if(k == decimals)
+                row[pos--] = '.';
+
+            row[pos--] = (byte) ('0' + (fixed % 10));
+            fixed /= 10;
+        }
+    }
+
+    /**
+     * This method rounds the absolute value of a finite value half up to a number of decimals, from the value scaled
+     * by the number of decimals. The scaled value deviates from the exact product by up to half its ulp, the decimal
+     * digits of Double.toString from the value by up to half the value's ulp. As long as the scaled value lies further
+     * from the next rounding boundary, the result is the same as rounding the decimal digits of Double.toString.
+     *
+     * @param val       The value
+     * @param decimals  Number of decimals
+     * @return          The unscaled absolute value, or -1 if the value has to be rounded from its decimal digits
+     */
+    private static long roundScaled(double val, int decimals){
+        double abs = Math.abs(val), scaled, frac;
+
+        if(decimals >= POW10.length)
+            return -1;
+
+        scaled = abs * POW10[decimals];
+
+        // Beyond the exact integer range, not finite or NaN
+        if(!(scaled < SCALED_MAX))
+            return -1;
+
+        frac = scaled - Math.floor(scaled);
+
+        if(Math.abs(frac - 0.5) <= Math.ulp(scaled) + POW10[decimals] * Math.ulp(abs))
+            return -1;
+
+        return (long) scaled + ((frac > 0.5) ? 1 : 0);
+    }
+
+    /**
+     * Collects the decimal digits of a finite value and rounds them half up to a number of decimals. The digits are
+     * held in digits[0..nd-1], with intLen digits before the decimal point.
+     *
+     * @return True if the value is negative
+     */
+    private boolean roundDigits(double val, int decimals){
+        String str = Double.toString(val);
+        int dot = 0, exp = 0, keep, i, k;
+        boolean neg = false, expNeg = false;
+
+        nd = 0;
+
+        // Collect decimal digits, position of the decimal point and exponent
+        for(i = 0; i < str.length(); i++){
+            char c = str.charAt(i);
+
+            if(c == '-' && i == 0)
+                neg = true;
+            else if(c == '.')
+                dot = nd;
+            else if(c == 'E'){
+                for(i++; i < str.length(); i++){
+                    if(str.charAt(i) == '-')
+                        expNeg = true;
+                    else
+                        exp = exp * 10 + (str.charAt(i) - '0');
+                }
+                if(expNeg)
+                    exp = -exp;
+            }else
+                digits[nd++] = (byte) (c - '0');
+        }
+
+        // Number of integer digits and digits to keep
+        intLen = dot + exp;
+        keep = intLen + decimals;
+
+        // Round half up
+        if(keep < 0){
+            nd = 0;
+        }else if(keep < nd){
+            boolean up = digits[keep] >= 5;
+            nd = keep;
+
+            if(up){
+                for(k = keep - 1; k >= 0 && digits[k] == 9; k--)
+                    digits[k] = 0;
+
+                if(k >= 0)
+                    digits[k]++;
+                else{
+                    // Carry beyond first digit
+                    System.arraycopy(digits, 0, digits, 1, nd);
+                    digits[0] = 1;
+                    nd++;
+                    intLen++;
+                }
+            }
+        }
+
+        return neg;
+    }
+
+    private void reverse(int from, int to){
+        byte b;
+
+        while(from < to){
+            b = row[from];
+            row[from++] = row[to];
+            row[to--] = b;
+        }
+    }
+
+    private void ensureCapacity(int bytes){
+        byte[] newRow;
+
+        if(len + bytes + LINE_SEPARATOR.length > row.length){
+            newRow = new byte[(len + bytes + LINE_SEPARATOR.length) * 2];
+            System.arraycopy(row, 0, newRow, 0, len);
+            row = newRow;
+        }
+    }
+}
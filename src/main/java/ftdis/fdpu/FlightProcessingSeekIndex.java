@@ -0,0 +1,213 @@
+package ftdis.fdpu;
+
+import java.util.Arrays;
+
+import static java.lang.Math.*;
+
+/**
+ * The Flight Processing Seek Index class enumerates the processing cycles of the end to end flight, i.e. the rows of
+ * the output file, and maps each of them to the flight phase, the cycle within the phase and its time stamp. The
+ * processing loops and the time chunks of the workers are both defined by cycle numbers, so that a thread assigned to
+ * a later chunk can jump to the first cycle of its chunk instead of stepping through all earlier cycles, and each row
+ * is processed by exactly one chunk.
+ *
+ * The time stamp of a cycle is calculated from its number, i.e. start + cycle * cycleLn, instead of being accumulated
+ * from cycle to cycle. The last cycle of each track phase is the end of the track, its time stamp is the time required
+ * to complete the track. The next phase starts one cycle after the end of the track and its first cycle is processed
+ * one cycle later.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingSeekIndex {
+    public static final int PHASES = 5;
+    public static final double PARK_TIME = 60;
+
+    private double cycleLn;
+    private double[] timeMrk, timeStmp, trackEnd;
+    private int[] cycles;
+    private long[] rowMrk;
+
+    /**
+     * Constructor
+     *
+     * @param trackT    Time required to complete the track of each flight phase, i.e. pushback, taxi to runway,
+     *                  flight and taxi to gate, in seconds
+     * @param cycleLn   Length of a processing cycle in seconds
+     */
+    FlightProcessingSeekIndex(double[] trackT, double cycleLn){
+        int tracks = trackT.length, n;
+
+        this.cycleLn = cycleLn;
+        this.timeMrk = new double[tracks + 2];
+        this.timeStmp = new double[tracks + 1];
+        this.trackEnd = new double[tracks];
+        this.cycles = new int[tracks + 1];
+        this.rowMrk = new long[tracks + 2];
+
+        for(int p = 0; p < tracks; p++){
+            // The first phase starts at time stamp 0, all subsequent phases one cycle later
+            timeStmp[p] = (p == 0) ? 0 : cycleLn;
+
+            if(trackT[p] > 0 && timeStmp[p] <= trackT[p]){
+                // Cycles before the end of the track, followed by the end of the track
+                n = (int) ceil((trackT[p] - timeStmp[p]) / cycleLn);
+
+                while(n > 0 && timeStmp[p] + (n - 1) * cycleLn >= trackT[p])
+                    n--;
+                while(timeStmp[p] + n * cycleLn < trackT[p])
+                    n++;
+
+                cycles[p] = n + 1;
+                trackEnd[p] = trackT[p];
+                timeMrk[p + 1] = timeMrk[p] + trackEnd[p] + cycleLn;
+            }else{
+                // No cycle falls into the phase
+                trackEnd[p] = timeStmp[p];
+                timeMrk[p + 1] = timeMrk[p] + timeStmp[p];
+            }
+
+            rowMrk[p + 1] = rowMrk[p] + cycles[p];
+        }
+
+        // Park at gate
+        timeStmp[tracks] = cycleLn;
+        cycles[tracks] = (int) floor(PARK_TIME / cycleLn + 1.0E-9) + 1;
+        timeMrk[tracks + 1] = timeMrk[tracks] + timeStmp[tracks] + cycles[tracks] * cycleLn;
+        rowMrk[tracks + 1] = rowMrk[tracks] + cycles[tracks];
+    }
+
+    /**
+     * @param time  Time in seconds
+     * @return      The flight phase, i.e. 1 to 4, or 5 if the time lies beyond the last track
+     */
+    public int getPhase(double time){
+        int p = Arrays.binarySearch(timeMrk, 1, timeMrk.length - 1, time);
+
+        if(p < 0)
+            p = -p - 1;
+
+        return p;
+    }
+
+    /**
+     * @param row   Number of the cycle of the end to end flight
+     * @return      The flight phase of the cycle, i.e. 1 to 5
+     */
+    public int getPhase(long row){
+        for(int p = 1; p < PHASES; p++)
+            if(row < rowMrk[p])
+                return p;
+
+        return PHASES;
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @return      Time in seconds at which the flight phase starts
+     */
+    public double getPhaseStart(int phase){
+        return timeMrk[phase - 1];
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @return      Time in seconds at which the flight phase ends
+     */
+    public double getPhaseEnd(int phase){
+        return timeMrk[phase];
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 4
+     * @return      Time in seconds required to complete the track of the flight phase
+     */
+    public double getTrackEnd(int phase){
+        return trackEnd[phase - 1];
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @return      Number of the first cycle of the flight phase in the end to end flight
+     */
+    public long getRowStart(int phase){
+        return rowMrk[phase - 1];
+    }
+
+    /**
+     * @return  Number of cycles of the end to end flight
+     */
+    public long getRows(){
+        return rowMrk[PHASES];
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @return      Number of cycles of the flight phase, including the end of the track
+     */
+    public int getCycles(int phase){
+        return cycles[phase - 1];
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @param cycle The cycle within the flight phase
+     * @return      Time stamp of the cycle in seconds, relative to the start of the flight phase
+     */
+    public double getTimeStmp(int phase, int cycle){
+        if(phase < PHASES && cycle == cycles[phase - 1] - 1)
+            return trackEnd[phase - 1];
+
+        return timeStmp[phase - 1] + cycle * cycleLn;
+    }
+
+    /**
+     * @param phase The flight phase, i.e. 1 to 5
+     * @param cycle The cycle within the flight phase
+     * @return      Time stamp of the cycle in seconds
+     */
+    public double getTime(int phase, int cycle){
+        return timeMrk[phase - 1] + getTimeStmp(phase, cycle);
+    }
+
+    /**
+     * @param row   Number of the cycle of the end to end flight
+     * @return      Time stamp of the cycle in seconds
+     */
+    public double getTime(long row){
+        int phase = getPhase(row);
+        return getTime(phase, (int) (row - rowMrk[phase - 1]));
+    }
+
+    /**
+     * @param time  Time in seconds
+     * @return      Number of the first cycle at or after the time, or the number of cycles of the end to end flight
+     *              if no cycle follows the time
+     */
+    public long getRow(double time){
+        long lo = 0, hi = getRows(), mid;
+
+        while(lo < hi){
+            mid = (lo + hi) >>> 1;
+
+            if(getTime(mid) < time)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        return lo;
+    }
+
+    /**
+     * This method returns the number of cycles of a flight phase, which precede the first cycle of a chunk and can
+     * therefore be skipped.
+     *
+     * @param phase     The flight phase, i.e. 1 to 5
+     * @param rowStart  Number of the first cycle of the chunk in the end to end flight
+     * @return          Number of cycles to skip
+     */
+    public int getSkipCycles(int phase, long rowStart){
+        return (int) max(0, min(rowStart - rowMrk[phase - 1], cycles[phase - 1]));
+    }
+}
@@ -23,17 +23,18 @@ public class FlightProcessingThread {
     /**
      * End to end flight data processing
      */
-    public static void processFile(int threadId, Vector<FlightProcessingLineItem> lineItems, Vector<FlightProcessingPlanSet> processedPlans, String flightPlanFile, String eventCollectionFile, double timeStart, double timeEnd, double absDuration) {
+    public static void processFile(int threadId, FlightProcessingLineItemStore lineItems, FlightProcessingProgress progress, Vector<FlightProcessingPlanSet> processedPlans, FlightProcessingSeekIndex seekIdx, String flightPlanFile, String eventCollectionFile, long rowStart, long rowEnd, double absDuration) {
         try{
-            FlightProcessingLineItem lineItem;
+            FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
 
             Waypoint pos, prevPos;
+            TrackCursor trackCrsr;
+            PositionContext posCtx;
             double ailerons, altAtWpt, vasAtWpt, pitchAtWpt, bankAtWpt, headingAtWpt;
-            double cycleLn, timeStmp = 0, timeMrk = 0, timeFile = 0, timeProc, trackLn, trackT, prevTrackDist, throttle, lights, varBank, varBankMax = 0.1, varBankRate = 0.005,
-                    varPitch, varPitchMax = 0.5, varPitchRate = 0.010, trackDistTMP;
-            int flaps, spoilers, gear, signSmk = 0, signSeat = 0, signAtt = 0;
+            double cycleLn, timeStmp = 0, timeFile = 0, timeProc, trackLn, trackDist, throttle, lights, varBank, varBankMax = 0.1, varBankRate = 0.005,
+                    varPitch, varPitchMax = 0.5, varPitchRate = 0.010, varScale, engWarmUpT = 60, trackDistTMP;
+            int flaps, spoilers, gear, signSmk = 0, signSeat = 0, signAtt = 0, skip, cycles;
             int[] arcrftLights = new int[8];;
-            boolean inProcess;
 
             // Load config file and set vars
             cycleLn = FLT_PROC_CYCLE_LN;
@@ -148,39 +149,45 @@ public class FlightProcessingThread {
 
             // Process and Write Data
             trackLn = latTrack.getDist(latTrack.getStartWpt(),latTrack.getEndWpt());
-            trackT = trackLn / velTrack.getVasu(latTrack.getStartWpt(),latTrack.getEndWpt());
+            trackCrsr = new TrackCursor(latTrack, velTrack, vertTrack, wxTrack);
+            posCtx = new PositionContext(latTrack, velTrack, vertTrack, wxTrack);
             prevPos = null; //latTrack.getStartWpt();
-            inProcess = false;
 
-            for(double trackDist = 0; trackDist < trackLn && (timeStmp <= trackT || inProcess); timeStmp += cycleLn){
+            // Skip cycles preceding the chunk
+            skip = seekIdx.getSkipCycles(1, rowStart);
+            cycles = seekIdx.getCycles(1);
 
-                if((timeStmp + timeMrk) >= timeStart && (timeStmp + timeMrk) <= timeEnd) {
+            // Integrate the travelled distance up to the chunk, as if the preceding cycles had been processed
+            if(skip < cycles)
+                prevPos = replayTrack(trackCrsr, latTrack, velTrack, seekIdx, 1, skip, trackLn, cycleLn);
+
+            for(int cycle = skip; cycle < cycles; cycle++){
+
+                // Time stamps of the cycle
+                timeStmp = seekIdx.getTimeStmp(1, cycle);
+                timeFile = seekIdx.getTime(1, cycle);
+                timeProc = cycle * cycleLn;
+
+                if(seekIdx.getRowStart(1) + cycle < rowEnd) {
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
                     // 01 Calculations
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-                    inProcess = true;
-
                     // Calculate travelled distance on flight track
                     //trackDistTMP = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
 
-                    if(prevPos != null && latTrack.getDist(latTrack.getStartWpt(),prevPos) > 0)
-                        trackDist = latTrack.getDist(latTrack.getStartWpt(),prevPos) + velTrack.getDist(prevPos,cycleLn);
-                    else
-                        trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
-
-                    // Check if end of track has been reached
-                    if ((trackLn - trackDist) <= 1.0E-4) {
+                    // The last cycle of the phase is the end of the track, its time stamp is the time required to reach it
+                    if(cycle == cycles - 1)
                         trackDist = trackLn;
-                        // Ajdust time stamp to match time required to reach end of track
-                        timeStmp = (timeStmp - cycleLn) + latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                        timeFile += latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                    }else
-                        timeFile += cycleLn;
+                    else if(prevPos != null && trackCrsr.getDist() > 0)
+                        trackDist = Math.min(trackCrsr.getDist() + trackCrsr.getDist(cycleLn), trackLn);
+                    else
+                        trackDist = Math.min(velTrack.getDist(latTrack.getStartWpt(), timeStmp), trackLn);
 
                     // Get position and save position for calculations in next cycle
-                    pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                    pos = trackCrsr.moveTo(trackDist);
+                    posCtx.set(pos);
                     prevPos = pos;
 
                     // Set gear position
@@ -197,25 +204,15 @@ public class FlightProcessingThread {
 
                     arcrftLights = arcrftSyst.getLights((int) lights);
 
-                    // Random/variable bank movements during taxi
-                    if(PerfCalc.convertKts(velTrack.getVasAtWpt(pos),"ms") >= 5){
-                        varBank += randDbl(varBankRate*-1,varBankRate);
-                        if(varBank > varBankMax)
-                            varBank = varBankMax;
-                        else if (varBank < varBankMax * -1)
-                            varBank = varBankMax * -1;
-
-                        varPitch += randDbl(varPitchRate*-1,varPitchRate);
-                        if(varPitch > varPitchMax)
-                            varPitch = varPitchMax;
-                        else if (varPitch < varPitchMax * -1)
-                            varPitch = varPitchMax * -1; 
-                    }
+                    // Random/variable bank and pitch movements during taxi. Derived from the cycle's time stamp, so that the
+                    // values don't depend on the start of the time window, and faded out below 5 kts
+                    varScale = Math.min(1, PerfCalc.convertKts(posCtx.getVas(),"ms") / 5);
+                    varBank = varDbl(2, timeStmp, cycleLn, varBankMax, varBankRate) * varScale;
+                    varPitch = varDbl(3, timeStmp, cycleLn, varPitchMax, varPitchRate) * varScale;
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    // 02 Write Data to Vector
+                    // 02 Write Data to Store
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    lineItem = new FlightProcessingLineItem();
 
                     // Phase & Time Stamp
                     lineItem.timeAtWpt = timeFile;
@@ -225,9 +222,9 @@ public class FlightProcessingThread {
                     lineItem.latitude = pos.getLat();
                     lineItem.longitude = pos.getLon();
 
-                    lineItem.altAtWpt = arcrftAxis.getAltAtWpt(pos);
-                    lineItem.headingAtWpt = NavCalc.getNewCourse(arcrftAxis.getHeadingAtWpt(pos), 180);
-                    lineItem.ktsAtWpt = PerfCalc.convertKts(velTrack.getVasAtWpt(pos),"ms");
+                    lineItem.altAtWpt = arcrftAxis.getAltAtWpt(posCtx);
+                    lineItem.headingAtWpt = NavCalc.getNewCourse(arcrftAxis.getHeadingAtWpt(posCtx), 180);
+                    lineItem.ktsAtWpt = PerfCalc.convertKts(posCtx.getVas(),"ms");
 
                     // Axis Vars: Pitch, Bank
                     lineItem.pitchAtWpt = 0.0;// + varPitch;
@@ -235,33 +232,29 @@ public class FlightProcessingThread {
 
                     // Control Vars: Ailerons, Flaps, Spoilers, Gear, Throttle
                     lineItem.aileronAtWpt = arcrftCtrl.getAileron();
-                    lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(pos,1);
-                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(pos,1);
+                    lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(posCtx,1);
+                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(posCtx,1);
                     lineItem.gearAtWpt = gear;
                     lineItem.throttleAtWpt = throttle;
-                    lineItem.noseWheelAtWpt = arcrftCtrl.getNoseWheelAtWpt(pos) * -1;
+                    lineItem.noseWheelAtWpt = arcrftCtrl.getNoseWheelAtWpt(posCtx) * -1;
 
                     // System Vars: Lights, Cabin
                     lineItem.lightsAtWpt = arcrftLights;
-                    lineItem.signSeat = arcrftSyst.getSeatSign(pos,1);
-                    lineItem.signSmk = arcrftSyst.getSmkSign(pos,1);
-                    lineItem.signAtt = arcrftSyst.getAttSign(pos,1);
+                    lineItem.signSeat = arcrftSyst.getSeatSign(posCtx,1);
+                    lineItem.signSmk = arcrftSyst.getSmkSign(posCtx,1);
+                    lineItem.signAtt = arcrftSyst.getAttSign(posCtx,1);
 
                     lineItems.add(lineItem);
+                    progress.increment(1, timeFile);
                     //System.out.println("Progress... " + String.format(Locale.US, "%10.3f", (lineItems.size()/(1/cycleLn))/absDuration * 100) + " %");
                     //System.out.println("Processing " + threadId + " " + String.format(Locale.US, "%10.2f", timeFile));
 
-                    timeProc += cycleLn;
                 } else{
-                    inProcess = false;
-                    timeFile += cycleLn;
+                    // Stop processing once the chunk has been passed
+                    return;
                 }
             }
 
-            // Save time stamp for next processing step and reset
-            timeMrk += timeStmp;
-            timeStmp = cycleLn;
-
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 02 Process Taxi to Runway
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -373,15 +366,29 @@ public class FlightProcessingThread {
 
             // Process and Write Data
             trackLn = latTrack.getDist(latTrack.getStartWpt(),latTrack.getEndWpt());
-            trackT = trackLn / velTrack.getVasu(latTrack.getStartWpt(),latTrack.getEndWpt());
+            trackCrsr = new TrackCursor(latTrack, velTrack, vertTrack, wxTrack);
+            posCtx = new PositionContext(latTrack, velTrack, vertTrack, wxTrack);
             prevPos = null; //latTrack.getStartWpt();
-            inProcess = false;
 
-            for(double trackDist = 0; trackDist < trackLn && (timeStmp <= trackT || inProcess); timeStmp += cycleLn){
+            // Skip cycles preceding the chunk
+            skip = seekIdx.getSkipCycles(2, rowStart);
+            cycles = seekIdx.getCycles(2);
 
-                inProcess = true;
+            // Integrate the travelled distance up to the chunk, as if the preceding cycles had been processed
+            if(skip < cycles)
+                prevPos = replayTrack(trackCrsr, latTrack, velTrack, seekIdx, 2, skip, trackLn, cycleLn);
 
-                if((timeStmp + timeMrk) >= timeStart && (timeStmp + timeMrk) <= timeEnd) {
+            // Reconstruct engine state at the start of the chunk
+            warmUpEngine(arcrftEng, latTrack, velTrack, vertTrack, wxTrack, cycleLn, seekIdx.getTimeStmp(2, skip), engWarmUpT, cycleLn);
+
+            for(int cycle = skip; cycle < cycles; cycle++){
+
+                // Time stamps of the cycle
+                timeStmp = seekIdx.getTimeStmp(2, cycle);
+                timeFile = seekIdx.getTime(2, cycle);
+                timeProc = cycle * cycleLn;
+
+                if(seekIdx.getRowStart(2) + cycle < rowEnd) {
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
                     // 01 Calculations
@@ -389,37 +396,32 @@ public class FlightProcessingThread {
 
                     // Calculate travelled distance on flight track
                     //trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
-                    if(prevPos != null && latTrack.getDist(latTrack.getStartWpt(),prevPos) > 0)
-                        trackDist = latTrack.getDist(latTrack.getStartWpt(),prevPos) + velTrack.getDist(prevPos,cycleLn);
-                    else
-                        trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
-
-                    // Check if end of track has been reached
-                    if ((trackLn - trackDist) <= 1.0E-4) {
+                    // The last cycle of the phase is the end of the track, its time stamp is the time required to reach it
+                    if(cycle == cycles - 1)
                         trackDist = trackLn;
-                        // Ajdust time stamp to match time required to reach end of track
-                        timeStmp = (timeStmp - cycleLn) + latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                        timeFile += latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                    }else
-                        timeFile += cycleLn;
+                    else if(prevPos != null && trackCrsr.getDist() > 0)
+                        trackDist = Math.min(trackCrsr.getDist() + trackCrsr.getDist(cycleLn), trackLn);
+                    else
+                        trackDist = Math.min(velTrack.getDist(latTrack.getStartWpt(), timeStmp), trackLn);
 
                     // Get position and save position for calculations in next cycle
-                    pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                    pos = trackCrsr.moveTo(trackDist);
+                    posCtx.set(pos);
                     prevPos = pos;
 
                     // Set gear position
                     gear = 1;
 
                     // Set throttle. Avoid using getEngineValAtWpt during first 10 seconds to avoid engine rev up inbetween thread breaks
-                    throttle = arcrftEng.getEngineValAtWpt(pos,cycleLn);
+                    throttle = arcrftEng.getEngineValAtWpt(posCtx,cycleLn);
 
                     if (timeProc <= 10)
-                        throttle = arcrftEng.getEngineTargetValAtWpt(pos);
+                        throttle = arcrftEng.getEngineTargetValAtWpt(posCtx);
 
                     // Set lights
                     if (trackDist < LIGHTS_TAXI_ON_OUTBOUND_DIST)
                         lights = arcrftSyst.NAVLIGHT;
-                    else if (trackDist >= LIGHTS_TAXI_ON_OUTBOUND_DIST && latTrack.getDist(pos,latTrack.getEndWpt()) > LIGHTS_LANDING_ON_OUTBOUND_DIST)
+                    else if (trackDist >= LIGHTS_TAXI_ON_OUTBOUND_DIST && posCtx.getDistToEnd() > LIGHTS_LANDING_ON_OUTBOUND_DIST)
                         lights = arcrftSyst.TAXILIGHT;
                     else
                         lights = arcrftSyst.LANDINGLIGHT;
@@ -427,20 +429,11 @@ public class FlightProcessingThread {
                     arcrftLights = arcrftSyst.getLights((int) lights);
 
 
-                    // Random/variable bank and pitch movements during taxi
-                    if(PerfCalc.convertKts(velTrack.getVasAtWpt(pos),"ms") >= 5){
-                        varBank += randDbl(varBankRate*-1,varBankRate);
-                        if(varBank > varBankMax)
-                            varBank = varBankMax;
-                        else if (varBank < varBankMax * -1)
-                            varBank = varBankMax * -1;
-
-                        varPitch += randDbl(varPitchRate*-1,varPitchRate);
-                        if(varPitch > varPitchMax)
-                            varPitch = varPitchMax;
-                        else if (varPitch < varPitchMax * -1)
-                            varPitch = varPitchMax * -1;
-                    }
+                    // Random/variable bank and pitch movements during taxi. Derived from the cycle's time stamp, so that the
+                    // values don't depend on the start of the time window, and faded out below 5 kts
+                    varScale = Math.min(1, PerfCalc.convertKts(posCtx.getVas(),"ms") / 5);
+                    varBank = varDbl(4, timeStmp, cycleLn, varBankMax, varBankRate) * varScale;
+                    varPitch = varDbl(5, timeStmp, cycleLn, varPitchMax, varPitchRate) * varScale;
 
                     // Conduct control test before taxi
                     if (timeStmp >= CONTROL_TEST_TIME) {
@@ -448,9 +441,8 @@ public class FlightProcessingThread {
                     }
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    // 02 Write Data to Vector
+                    // 02 Write Data to Store
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    lineItem = new FlightProcessingLineItem();
                     lineItem.fltPhase = 2;
 
                     // Phase & Time Stamp
@@ -459,9 +451,9 @@ public class FlightProcessingThread {
                     // Position Vars: Lat, Long, Alt, Heading, Speed
                     lineItem.latitude = pos.getLat();
                     lineItem.longitude = pos.getLon();
-                    lineItem.altAtWpt = arcrftAxis.getAltAtWpt(pos);
-                    lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(pos);
-                    lineItem.ktsAtWpt = PerfCalc.convertKts(velTrack.getVasAtWpt(pos),"ms");
+                    lineItem.altAtWpt = arcrftAxis.getAltAtWpt(posCtx);
+                    lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(posCtx);
+                    lineItem.ktsAtWpt = PerfCalc.convertKts(posCtx.getVas(),"ms");
 
                     // Axis Vars: Pitch, Bank
                     lineItem.pitchAtWpt = 0.0; // + varPitch;
@@ -469,33 +461,29 @@ public class FlightProcessingThread {
 
                     // Control Vars: Ailerons, Flaps, Spoilers, Gear, Throttle
                     lineItem.aileronAtWpt = arcrftCtrl.getAileron();
-                    lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(pos,2);
-                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(pos,2);
+                    lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(posCtx,2);
+                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(posCtx,2);
                     lineItem.gearAtWpt = gear;
                     lineItem.throttleAtWpt = throttle;
-                    lineItem.noseWheelAtWpt = arcrftCtrl.getNoseWheelAtWpt(pos);
+                    lineItem.noseWheelAtWpt = arcrftCtrl.getNoseWheelAtWpt(posCtx);
 
                     // System Vars: Lights, Cabin
                     lineItem.lightsAtWpt = arcrftLights;
-                    lineItem.signSeat = arcrftSyst.getSeatSign(pos,2);
-                    lineItem.signSmk = arcrftSyst.getSmkSign(pos,2);
-                    lineItem.signAtt = arcrftSyst.getAttSign(pos,2);
+                    lineItem.signSeat = arcrftSyst.getSeatSign(posCtx,2);
+                    lineItem.signSmk = arcrftSyst.getSmkSign(posCtx,2);
+                    lineItem.signAtt = arcrftSyst.getAttSign(posCtx,2);
 
                     lineItems.add(lineItem);
+                    progress.increment(2, timeFile);
 
                     //System.out.println("Progress... " + String.format(Locale.US, "%10.3f", (lineItems.size()/(1/cycleLn))/absDuration * 100) + " %");
 
-                    timeProc += cycleLn;
                 } else{
-                    inProcess = false;
-                    timeFile += cycleLn;
+                    // Stop processing once the chunk has been passed
+                    return;
                 }
         }
 
-            // Save time stamp for next processing step and reset
-            timeMrk += timeStmp;
-            timeStmp = cycleLn;
-
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 03 Process Flight Plan
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -604,23 +592,36 @@ public class FlightProcessingThread {
 
             // Process and Write Data
             trackLn = latTrack.getDist(latTrack.getStartWpt(),latTrack.getEndWpt());
-            trackT = trackLn / velTrack.getVasu(latTrack.getStartWpt(),latTrack.getEndWpt());
+            trackCrsr = new TrackCursor(latTrack, velTrack, vertTrack, wxTrack);
+            posCtx = new PositionContext(latTrack, velTrack, vertTrack, wxTrack);
             prevPos = latTrack.getStartWpt();
-            prevTrackDist = 0;
-            inProcess = false;
 
-            for(double trackDist = 0; trackDist < trackLn && (timeStmp <= trackT || inProcess); timeStmp += cycleLn){
+            // Skip cycles preceding the chunk
+            skip = seekIdx.getSkipCycles(3, rowStart);
+            cycles = seekIdx.getCycles(3);
+
+            // Reconstruct engine state at the start of the chunk
+            warmUpEngine(arcrftEng, latTrack, velTrack, vertTrack, wxTrack, cycleLn, seekIdx.getTimeStmp(3, skip), engWarmUpT, cycleLn);
+
+            for(int cycle = skip; cycle < cycles; cycle++){
 
-                if((timeStmp + timeMrk) >= timeStart && (timeStmp + timeMrk) <= timeEnd) {
+                // Time stamps of the cycle
+                timeStmp = seekIdx.getTimeStmp(3, cycle);
+                timeFile = seekIdx.getTime(3, cycle);
+                timeProc = cycle * cycleLn;
+
+                if(seekIdx.getRowStart(3) + cycle < rowEnd) {
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
                     // 01 Calculations
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-                    inProcess = true;
-
                     // Calculate travelled distance on flight track
-                    trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
+                    // The last cycle of the phase is the end of the track, its time stamp is the time required to reach it
+                    if(cycle == cycles - 1)
+                        trackDist = trackLn;
+                    else
+                        trackDist = Math.min(velTrack.getDist(latTrack.getStartWpt(), timeStmp), trackLn);
                     /*
                     if(prevPos != null && latTrack.getDist(latTrack.getStartWpt(),prevPos) > 0)
                         trackDist = latTrack.getDist(latTrack.getStartWpt(),prevPos) + velTrack.getDist(prevPos,cycleLn);
@@ -628,34 +629,23 @@ public class FlightProcessingThread {
                         trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
                      */
 
-                    // Check if end of track has been reached
-                    //if ((trackLn - trackDist) <= 1.0E-4) {
-                    if ((trackLn - trackDist) <= 0.01 || (trackDist == prevTrackDist && (trackLn - trackDist) <= 1.0)) {
-                        trackDist = trackLn;
-                        // Ajdust time stamp to matc  h time required to reach end of track
-                        timeStmp = (timeStmp - cycleLn) + latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                        timeFile += latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                    }else{
-                        timeFile += cycleLn;
-                        prevTrackDist = trackDist;
-                    }
-
                     // Get position and save position for calculations in next cycle
-                    pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                    pos = trackCrsr.moveTo(trackDist);
+                    posCtx.set(pos);
                     prevPos = pos;
 
-                    altAtWpt  = arcrftAxis.getAltAtWpt(pos);
-                    vasAtWpt = velTrack.getVasAtWpt(pos);
-                    flaps = arcrftCtrl.getFlapsAtWpt(pos,3);
+                    altAtWpt  = arcrftAxis.getAltAtWpt(posCtx);
+                    vasAtWpt = posCtx.getVas();
+                    flaps = arcrftCtrl.getFlapsAtWpt(posCtx,3);
 
                     // Set gear position
-                    gear = arcrftCtrl.getGearAtWpt(pos);
+                    gear = arcrftCtrl.getGearAtWpt(posCtx);
 
                     // Set throttle. Avoid using getEngineValAtWpt during first 10 seconds to avoid engine rev up inbetween thread breaks
-                    throttle = arcrftEng.getEngineValAtWpt(pos,cycleLn);
+                    throttle = arcrftEng.getEngineValAtWpt(posCtx,cycleLn);
 
                     if (timeProc <= 20)
-                        throttle = arcrftEng.getEngineTargetValAtWpt(pos);
+                        throttle = arcrftEng.getEngineTargetValAtWpt(posCtx);
 
                     // Set lights and map to XPlights
                     if (altAtWpt <= LIGHTS_LANDING_ALT)
@@ -667,9 +657,8 @@ public class FlightProcessingThread {
 
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    // 02 Write Data to Vector
+                    // 02 Write Data to Store
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    lineItem = new FlightProcessingLineItem();
 
                     // Phase & Time Stamp
                     lineItem.timeAtWpt = timeFile;
@@ -679,42 +668,38 @@ public class FlightProcessingThread {
                     lineItem.latitude = pos.getLat();
                     lineItem.longitude = pos.getLon();
                     lineItem.altAtWpt = altAtWpt;
-                    lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(pos);
+                    lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(posCtx);
                     lineItem.ktsAtWpt = PerfCalc.convertKts(vasAtWpt,"ms");
 
                     // Axis Vars: Pitch, Bank
-                    lineItem.pitchAtWpt = arcrftAxis.getPitchAngleAtWpt(pos);// + varPitch;
-                    lineItem.bankAtWpt = arcrftAxis.getBankAngleAtWpt(pos);// + varBank;
+                    lineItem.pitchAtWpt = arcrftAxis.getPitchAngleAtWpt(posCtx);// + varPitch;
+                    lineItem.bankAtWpt = arcrftAxis.getBankAngleAtWpt(posCtx);// + varBank;
 
                     // Control Vars: Ailerons, Flaps, Spoilers, Gear, Throttle
                     lineItem.aileronAtWpt = arcrftCtrl.getAileron();
                     lineItem.flapsAtWpt = flaps;
-                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(pos,3);
+                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(posCtx,3);
                     lineItem.gearAtWpt = gear;
                     lineItem.throttleAtWpt = throttle;
                     lineItem.noseWheelAtWpt = 0;
 
                     // System Vars: Lights, Cabin
                     lineItem.lightsAtWpt = arcrftLights;
-                    lineItem.signSeat = arcrftSyst.getSeatSign(pos,3);
-                    lineItem.signSmk = arcrftSyst.getSmkSign(pos,3);
-                    lineItem.signAtt = arcrftSyst.getAttSign(pos,3);
+                    lineItem.signSeat = arcrftSyst.getSeatSign(posCtx,3);
+                    lineItem.signSmk = arcrftSyst.getSmkSign(posCtx,3);
+                    lineItem.signAtt = arcrftSyst.getAttSign(posCtx,3);
 
                     lineItems.add(lineItem);
+                    progress.increment(3, timeFile);
 
                     //System.out.println("Progress... " + String.format(Locale.US, "%10.3f", (lineItems.size()/(1/cycleLn))/absDuration * 100) + " %");
 
-                    timeProc += cycleLn;
                 } else{
-                    inProcess = false;
-                    timeFile += cycleLn;
+                    // Stop processing once the chunk has been passed
+                    return;
                 }
             }
 
-            // Save time stamp for next processing step and reset
-            timeMrk += timeStmp;
-            timeStmp = cycleLn;
-
 
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 04 Process Taxi to the Gate
@@ -826,15 +811,29 @@ public class FlightProcessingThread {
 
             // Process and Write Data
             trackLn = latTrack.getDist(latTrack.getStartWpt(),latTrack.getEndWpt());
-            trackT = trackLn / velTrack.getVasu(latTrack.getStartWpt(),latTrack.getEndWpt());
+            trackCrsr = new TrackCursor(latTrack, velTrack, vertTrack, wxTrack);
+            posCtx = new PositionContext(latTrack, velTrack, vertTrack, wxTrack);
             prevPos = null; //latTrack.getStartWpt();
-            inProcess = false;
 
-            for(double trackDist = 0; trackDist < trackLn && (timeStmp <= trackT || inProcess); timeStmp += cycleLn){
+            // Skip cycles preceding the chunk
+            skip = seekIdx.getSkipCycles(4, rowStart);
+            cycles = seekIdx.getCycles(4);
 
-                inProcess = true;
+            // Integrate the travelled distance up to the chunk, as if the preceding cycles had been processed
+            if(skip < cycles)
+                prevPos = replayTrack(trackCrsr, latTrack, velTrack, seekIdx, 4, skip, trackLn, cycleLn);
 
-                if((timeStmp + timeMrk) >= timeStart && (timeStmp + timeMrk) <= timeEnd) {
+            // Reconstruct engine state at the start of the chunk
+            warmUpEngine(arcrftEng, latTrack, velTrack, vertTrack, wxTrack, cycleLn, seekIdx.getTimeStmp(4, skip), engWarmUpT, cycleLn);
+
+            for(int cycle = skip; cycle < cycles; cycle++){
+
+                // Time stamps of the cycle
+                timeStmp = seekIdx.getTimeStmp(4, cycle);
+                timeFile = seekIdx.getTime(4, cycle);
+                timeProc = cycle * cycleLn;
+
+                if(seekIdx.getRowStart(4) + cycle < rowEnd) {
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
                     // 01 Calculations
@@ -842,22 +841,17 @@ public class FlightProcessingThread {
 
                     // Calculate travelled distance on flight track
                     //trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
-                    if(prevPos != null && latTrack.getDist(latTrack.getStartWpt(),prevPos) > 0)
-                        trackDist = latTrack.getDist(latTrack.getStartWpt(),prevPos) + velTrack.getDist(prevPos,cycleLn);
-                    else
-                        trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
-
-                    // Check if end of track has been reached
-                    if ((trackLn - trackDist) <= 1.0E-4) {
+                    // The last cycle of the phase is the end of the track, its time stamp is the time required to reach it
+                    if(cycle == cycles - 1)
                         trackDist = trackLn;
-                        // Ajdust time stamp to match time required to reach end of track
-                        timeStmp = (timeStmp - cycleLn) + latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                        timeFile += latTrack.getDist(prevPos, latTrack.getEndWpt()) / velTrack.getVasu(prevPos, latTrack.getEndWpt());
-                    }else
-                        timeFile += cycleLn;
+                    else if(prevPos != null && trackCrsr.getDist() > 0)
+                        trackDist = Math.min(trackCrsr.getDist() + trackCrsr.getDist(cycleLn), trackLn);
+                    else
+                        trackDist = Math.min(velTrack.getDist(latTrack.getStartWpt(), timeStmp), trackLn);
 
                     // Get position and save position for calculations in next cycle
-                    pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                    pos = trackCrsr.moveTo(trackDist);
+                    posCtx.set(pos);
                     //pos = latTrack.getItmWpt(prevPos, velTrack.getDist(prevPos, cycleLn));
                     prevPos = pos;
 
@@ -865,16 +859,16 @@ public class FlightProcessingThread {
                     gear = 1;
 
                     // Set throttle. Avoid using getEngineValAtWpt during first 10 seconds to avoid engine rev up inbetween thread breaks
-                    throttle = arcrftEng.getEngineValAtWpt(pos,cycleLn);
+                    throttle = arcrftEng.getEngineValAtWpt(posCtx,cycleLn);
 
                     if (timeProc <= 10)
-                        throttle = arcrftEng.getEngineTargetValAtWpt(pos);
+                        throttle = arcrftEng.getEngineTargetValAtWpt(posCtx);
 
                     // Set lights and map to XP lights
-                    if(trackDist >= LIGHTS_LANDING_OFF_INBOUND_DIST && latTrack.getDist(pos,latTrack.getEndWpt()) > LIGHTS_TAXI_OFF_INBOUND_DIST)
+                    if(trackDist >= LIGHTS_LANDING_OFF_INBOUND_DIST && posCtx.getDistToEnd() > LIGHTS_TAXI_OFF_INBOUND_DIST)
                         lights = arcrftSyst.TAXILIGHT;
-                    else if(trackDist >= LIGHTS_LANDING_OFF_INBOUND_DIST && latTrack.getDist(pos,latTrack.getEndWpt()) <= LIGHTS_TAXI_OFF_INBOUND_DIST){
-                        if(velTrack.getSgmtPos(velTrack.getWptSgmt(pos)) < (velTrack.getSgmtCount()-1))
+                    else if(trackDist >= LIGHTS_LANDING_OFF_INBOUND_DIST && posCtx.getDistToEnd() <= LIGHTS_TAXI_OFF_INBOUND_DIST){
+                        if(velTrack.getSgmtPos(posCtx.getVelSgmt()) < (velTrack.getSgmtCount()-1))
                             lights = arcrftSyst.NAVLIGHT;
                         else
                             lights = arcrftSyst.PARKLIGHT;
@@ -884,25 +878,15 @@ public class FlightProcessingThread {
                     arcrftLights = arcrftSyst.getLights((int) lights);
 
 
-                    // Random/variable bank movements during taxi
-                    if(PerfCalc.convertKts(velTrack.getVasAtWpt(pos),"ms") >= 5){
-                        varBank += randDbl(varBankRate*-1,varBankRate);
-                        if(varBank > varBankMax)
-                            varBank = varBankMax;
-                        else if (varBank < varBankMax * -1)
-                            varBank = varBankMax * -1;
-
-                        varPitch += randDbl(varPitchRate*-1,varPitchRate);
-                        if(varPitch > varPitchMax)
-                            varPitch = varPitchMax;
-                        else if (varPitch < varPitchMax * -1)
-                            varPitch = varPitchMax * -1;
-                    }
+                    // Random/variable bank and pitch movements during taxi. Derived from the cycle's time stamp, so that the
+                    // values don't depend on the start of the time window, and faded out below 5 kts
+                    varScale = Math.min(1, PerfCalc.convertKts(posCtx.getVas(),"ms") / 5);
+                    varBank = varDbl(8, timeStmp, cycleLn, varBankMax, varBankRate) * varScale;
+                    varPitch = varDbl(9, timeStmp, cycleLn, varPitchMax, varPitchRate) * varScale;
 
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    // 02 Write Data to Vector
+                    // 02 Write Data to Store
                     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                    lineItem = new FlightProcessingLineItem();
 
                     // Phase & Time Stamp
                     lineItem.timeAtWpt = timeFile;
@@ -911,9 +895,9 @@ public class FlightProcessingThread {
                     // Position Vars: Lat, Long, Alt, Heading, Speed
                     lineItem.latitude = pos.getLat();
                     lineItem.longitude = pos.getLon();
-                    lineItem.altAtWpt = arcrftAxis.getAltAtWpt(pos);
-                    lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(pos);
-                    lineItem.ktsAtWpt = PerfCalc.convertKts(velTrack.getVasAtWpt(pos),"ms");
+                    lineItem.altAtWpt = arcrftAxis.getAltAtWpt(posCtx);
+                    lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(posCtx);
+                    lineItem.ktsAtWpt = PerfCalc.convertKts(posCtx.getVas(),"ms");
 
                     // Axis Vars: Pitch, Bank
                     lineItem.pitchAtWpt = 0.0;// + varPitch;
@@ -921,57 +905,60 @@ public class FlightProcessingThread {
 
                     // Control Vars: Ailerons, Flaps, Spoilers, Gear, Throttle
                     lineItem.aileronAtWpt = arcrftCtrl.getAileron();
-                    lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(pos,4);
-                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(pos,4);
+                    lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(posCtx,4);
+                    lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(posCtx,4);
                     lineItem.gearAtWpt = gear;
                     lineItem.throttleAtWpt = throttle;
-                    lineItem.noseWheelAtWpt = arcrftCtrl.getNoseWheelAtWpt(pos);
+                    lineItem.noseWheelAtWpt = arcrftCtrl.getNoseWheelAtWpt(posCtx);
 
                     // System Vars: Lights, Cabin
                     lineItem.lightsAtWpt = arcrftLights;
-                    lineItem.signSeat = arcrftSyst.getSeatSign(pos,4);
-                    lineItem.signSmk = arcrftSyst.getSmkSign(pos,4);
-                    lineItem.signAtt = arcrftSyst.getAttSign(pos,4);
+                    lineItem.signSeat = arcrftSyst.getSeatSign(posCtx,4);
+                    lineItem.signSmk = arcrftSyst.getSmkSign(posCtx,4);
+                    lineItem.signAtt = arcrftSyst.getAttSign(posCtx,4);
 
                     lineItems.add(lineItem);
+                    progress.increment(4, timeFile);
 
                     //System.out.println("Progress... " + String.format(Locale.US, "%10.3f", (lineItems.size()/(1/cycleLn))/absDuration * 100) + " %");
 
-                    timeProc += cycleLn;
                 } else{
-                    inProcess = false;
-                    timeFile += cycleLn;
+                    // Stop processing once the chunk has been passed
+                    return;
                 }
             }
 
-            // Save time stamp for next processing step and reset
-            timeMrk += timeStmp;
-            timeStmp = cycleLn;
-
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 05  PARK AT GATE ENGINE SHUTDOWN ETC.
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-            for(double elapsedTime = 0; elapsedTime <= 60; elapsedTime += cycleLn){
+            skip = seekIdx.getSkipCycles(5, rowStart);
+            cycles = seekIdx.getCycles(5);
+
+            for(int cycle = skip; cycle < cycles; cycle++){
+                double elapsedTime = cycle * cycleLn;
+
+                // Time stamps of the cycle
+                timeStmp = seekIdx.getTimeStmp(5, cycle);
+                timeFile = seekIdx.getTime(5, cycle);
 
-                if((timeStmp + timeMrk) >= timeStart && (timeStmp + timeMrk) <= timeEnd) {
+                if(seekIdx.getRowStart(5) + cycle < rowEnd) {
 
                 ////////////////////////////////////////////////////////////////////////////////////////////////////////////
                 // 01 Calculations
                 ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                timeStmp += cycleLn;
-                timeFile += cycleLn;
                 pos = latTrack.getEndWpt();
+                posCtx.set(pos);
 
                 // Turn engines off after 5 seconds
                 if(elapsedTime <= 7)
-                    throttle = arcrftEng.getEngineTargetValAtWpt(pos);
+                    throttle = arcrftEng.getEngineTargetValAtWpt(posCtx);
                 else
                     throttle = -99.0;
 
                 // Turn fasten seatbelt signs and beacon off after 10 seconds
                 if(elapsedTime <= 12) {
                     lights = arcrftSyst.NAVLIGHT;
-                    signSeat = arcrftSyst.getSeatSign(pos, 5);
+                    signSeat = arcrftSyst.getSeatSign(posCtx, 5);
                 } else {
                     lights = arcrftSyst.PARKLIGHT;
                     signSeat = 0;
@@ -980,9 +967,8 @@ public class FlightProcessingThread {
                 arcrftLights = arcrftSyst.getLights((int) lights);
 
                 ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                // 02 Write Data to Vector
+                // 02 Write Data to Store
                 ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-                lineItem = new FlightProcessingLineItem();
 
                 // Phase & Time Stamp
                 lineItem.timeAtWpt = timeFile;
@@ -991,8 +977,8 @@ public class FlightProcessingThread {
                 // Position Vars: Lat, Long, Alt, Heading, Speed
                 lineItem.latitude = pos.getLat();
                 lineItem.longitude = pos.getLon();
-                lineItem.altAtWpt = arcrftAxis.getAltAtWpt(pos);
-                lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(pos);
+                lineItem.altAtWpt = arcrftAxis.getAltAtWpt(posCtx);
+                lineItem.headingAtWpt = arcrftAxis.getHeadingAtWpt(posCtx);
                 lineItem.ktsAtWpt = 0.0;
 
                 // Axis Vars: Pitch, Bank
@@ -1001,8 +987,8 @@ public class FlightProcessingThread {
 
                 // Control Vars: Ailerons, Flaps, Spoilers, Gear, Throttle
                 lineItem.aileronAtWpt = arcrftCtrl.getAileron();
-                lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(pos,5);
-                lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(pos,5);
+                lineItem.flapsAtWpt = arcrftCtrl.getFlapsAtWpt(posCtx,5);
+                lineItem.spoilersAtWpt = arcrftCtrl.getSpoilersAtWpt(posCtx,5);
                 lineItem.gearAtWpt = 1;
                 lineItem.throttleAtWpt = throttle;
                 lineItem.noseWheelAtWpt = 0;
@@ -1010,14 +996,16 @@ public class FlightProcessingThread {
                 // System Vars: Lights, Cabin
                 lineItem.lightsAtWpt = arcrftLights;
                 lineItem.signSeat = signSeat;
-                lineItem.signSmk = arcrftSyst.getSmkSign(pos,5);
-                lineItem.signAtt = arcrftSyst.getAttSign(pos,5);
+                lineItem.signSmk = arcrftSyst.getSmkSign(posCtx,5);
+                lineItem.signAtt = arcrftSyst.getAttSign(posCtx,5);
 
                 lineItems.add(lineItem);
+                progress.increment(5, timeFile);
 
                 //System.out.println("Progress... " + String.format(Locale.US, "%10.3f", (lineItems.size()/(1/cycleLn))/absDuration * 100) + " %");
                 } else {
-                    timeFile += cycleLn;
+                    // Stop processing once the chunk has been passed
+                    return;
                 }
             }
 
@@ -1026,6 +1014,129 @@ public class FlightProcessingThread {
         }
     }
 
+    /**
+     * This method reconstructs the state of the aircraft's engine at the start of a time window within a flight phase.
+     * The engine value is rate-limited by the value of the previous cycle, hence the engine is processed over the
+     * cycles of a warm-up period preceding the time window. If the warm-up period reaches back to the start of the
+     * flight phase, the engine is processed from the start of the phase, otherwise it starts at its target value.
+     *
+     * @param arcrftEng     Reference to the aircraft's engine
+     * @param latTrack      Reference to the lateral track of the flight phase
+     * @param velTrack      Reference to the velocity track of the flight phase
+     * @param vertTrack     Reference to the vertical track of the flight phase
+     * @param wxTrack       Reference to the weather track of the flight phase
+     * @param timeStmp      Time stamp of the first cycle of the flight phase in seconds
+     * @param windowStmp    Time stamp of the start of the time window relative to the flight phase in seconds
+     * @param warmUpT       Maximum length of the warm-up period in seconds
+     * @param cycleLn       Length of a processing cycle in seconds
+     */
+    static void warmUpEngine(AircraftEngine arcrftEng, LateralTrack latTrack, VelocityTrack velTrack, VerticalTrack vertTrack, WeatherTrack wxTrack, double timeStmp, double windowStmp, double warmUpT, double cycleLn){
+        try{
+            int start;
+            double trackLn, trackDist;
+            PositionContext pos;
+
+            if(windowStmp <= timeStmp)
+                return;
+
+            trackLn = latTrack.getLength();
+            pos = new PositionContext(latTrack, velTrack, vertTrack, wxTrack);
+            start = (int) Math.max(0, Math.ceil((windowStmp - warmUpT - timeStmp) / cycleLn));
+
+            for(int c = start; (timeStmp + c * cycleLn) < windowStmp; c++){
+                trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp + c * cycleLn);
+
+                if(trackDist >= trackLn)
+                    break;
+
+                pos.set(latTrack.getItmWpt(latTrack.getStartWpt(), trackDist));
+
+                if(c == start && start > 0)
+                    arcrftEng.setEngineVal(arcrftEng.getEngineTargetValAtWpt(pos));
+
+                arcrftEng.getEngineValAtWpt(pos, cycleLn);
+            }
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method moves the track cursor through the cycles of a flight phase, which precede the chunk. The travelled
+     * distance is integrated from cycle to cycle as by the processing loop, so that the first cycle of the chunk
+     * continues from the same distance as if all preceding cycles had been processed by the same thread.
+     *
+     * @param trackCrsr     Track cursor of the flight phase, at the start of the track
+     * @param latTrack      Reference to the lateral track of the flight phase
+     * @param velTrack      Reference to the velocity track of the flight phase
+     * @param seekIdx       Seek index of the flight phases
+     * @param phase         The flight phase, i.e. 1 to 4
+     * @param skip          Number of cycles preceding the chunk, excluding the end of the track
+     * @param trackLn       Length of the track in meters
+     * @param cycleLn       Length of a processing cycle in seconds
+     * @return              Position of the last cycle preceding the chunk, null if the chunk starts with the phase
+     */
+    static Waypoint replayTrack(TrackCursor trackCrsr, LateralTrack latTrack, VelocityTrack velTrack, FlightProcessingSeekIndex seekIdx, int phase, int skip, double trackLn, double cycleLn){
+        Waypoint pos = null;
+        double trackDist;
+
+        for(int cycle = 0; cycle < skip; cycle++){
+            if(pos != null && trackCrsr.getDist() > 0)
+                trackDist = Math.min(trackCrsr.getDist() + trackCrsr.getDist(cycleLn), trackLn);
+            else
+                trackDist = Math.min(velTrack.getDist(latTrack.getStartWpt(), seekIdx.getTimeStmp(phase, cycle)), trackLn);
+
+            pos = trackCrsr.moveTo(trackDist);
+        }
+
+        return pos;
+    }
+
+    /**
+     * Returns a pseudo-random variation between -max and max for a given time stamp. The variation is interpolated
+     * between pseudo-random values, which are spaced so that the variation doesn't change by more than the rate per
+     * cycle. The same seed and time stamp always return the same variation.
+     *
+     * @param seed      Seed of the variation
+     * @param timeStmp  Time stamp in seconds
+     * @param cycleLn   Length of a processing cycle in seconds
+     * @param max       Maximum variation
+     * @param rate      Maximum change of the variation per cycle
+     * @return          Double value between -max and max, inclusive.
+     */
+    public static double varDbl(long seed, double timeStmp, double cycleLn, double max, double rate) {
+        double knotLn, knot, frac, v0, v1;
+        long k;
+
+        // Spacing of the pseudo-random values in cycles, the smoothstep interpolation has a maximum slope of 1.5
+        knotLn = 3 * max / rate;
+        knot = Math.round(timeStmp / cycleLn) / knotLn;
+        k = (long) Math.floor(knot);
+        frac = knot - k;
+
+        v0 = hashDbl(seed, k);
+        v1 = hashDbl(seed, k + 1);
+
+        return max * (v0 + (v1 - v0) * frac * frac * (3 - 2 * frac));
+    }
+
+    /**
+     * Returns a pseudo-random number between -1 and 1 for a given seed and key.
+     *
+     * @param seed  Seed
+     * @param key   Key
+     * @return      Double value between -1 and 1
+     */
+    private static double hashDbl(long seed, long key) {
+        long h = seed * 0x9E3779B97F4A7C15L + key;
+
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h = h ^ (h >>> 31);
+
+        return (h >>> 11) * 0x1.0p-53 * 2 - 1;
+    }
+
     /**
      * Returns a pseudo-random number between min and max, inclusive.
      *
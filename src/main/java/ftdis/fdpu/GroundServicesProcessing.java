@@ -121,6 +121,10 @@ public class GroundServicesProcessing {
 
 
 
+            // Parse flight plan and event collection files once, all flight phases load from the same index
+            PlanIndex flightPlanIdx = new PlanIndex(flightPlanFile);
+            PlanIndex eventCollectionIdx = new PlanIndex(eventCollectionFile);
+
             // Loop through flight phases and prepare data
             for (int i = 1; i <= 4; i++){
                 // 00 Initialize
@@ -147,14 +151,14 @@ public class GroundServicesProcessing {
                 //arcrftSyst = new AircraftSystem();
 
                 // 01 Load flight plan and transform to lateral plan
-                latPlan.load(flightPlanFile, i);
+                latPlan.load(flightPlanIdx, i);
                 latPlan.transform();
                 latPlan.validate();
                 planSet.latPlan = latPlan;
 
                 // 02 Load change velocity events and transform to velocity plan
                 velPlan.assignLat(latPlan);
-                velPlan.load(eventCollectionFile, i);
+                velPlan.load(eventCollectionIdx, i);
                 velPlan.transform();
                 velPlan.validate();
                 planSet.velPlan = velPlan;
@@ -162,7 +166,7 @@ public class GroundServicesProcessing {
                 // 03 Load change altitude events and transform to vertical plan
                 vertPlan.assignLat(latPlan);
                 vertPlan.assignVel(velPlan);
-                vertPlan.load(eventCollectionFile, i);
+                vertPlan.load(eventCollectionIdx, i);
                 vertPlan.transform();
                 vertPlan.validate();
                 planSet.vertPlan = vertPlan;
@@ -170,7 +174,7 @@ public class GroundServicesProcessing {
                 // 04 Load change weather events and transform to weather plan
                 wxPlan.assignLat(latPlan);
                 wxPlan.assignVel(velPlan);
-                wxPlan.load(eventCollectionFile, i);
+                wxPlan.load(eventCollectionIdx, i);
                 wxPlan.transform();
                 wxPlan.validate();
                 planSet.wxPlan = wxPlan;
@@ -0,0 +1,117 @@
+package ftdis.fdpu;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The Interval Index class maps the along track distance of a waypoint to the corresponding segment of a
+ * velocity, vertical or weather plan/track. The index holds the along track distances of the start and end
+ * points of each segment on the assigned lateral plan/track, and finds the segment of a waypoint by a binary search.
+ *
+ * Waypoints that aren't positioned on the lateral plan/track, or that are positioned close to the start/end points
+ * of a segment, are not resolved by the index. In these cases the plan error of each segment must be evaluated.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class IntervalIndex {
+    private static final double BOUNDARY_TOLERANCE_M = 1.0;
+    private static final double TRACK_ERROR_TOLERANCE_M = 0.1;
+    private Lateral lateral;
+    private Waypoint startWpt;
+    private double[] startDist, endDist;
+    private Map<Object,Integer> sgmtPos;
+    private int sgmtCount;
+    private boolean sorted = true;
+
+    /**
+     * Constructor
+     *
+     * @param lateral   Reference to the lateral plan/track
+     * @param sgmtCount Total number of segments
+     */
+    IntervalIndex(Lateral lateral, int sgmtCount){
+        this.lateral = lateral;
+        this.startWpt = lateral.getStartWpt();
+        this.startDist = new double[sgmtCount];
+        this.endDist = new double[sgmtCount];
+        this.sgmtPos = new IdentityHashMap<Object,Integer>();
+    }
+
+    /**
+     * This method adds the next segment to the index.
+     *
+     * @param sgmt      The segment
+     * @param startPt   Start waypoint of the segment
+     * @param endPt     End waypoint of the segment
+     */
+    void add(Object sgmt, Waypoint startPt, Waypoint endPt){
+        int s = this.sgmtCount;
+
+        this.startDist[s] = lateral.getDist(this.startWpt, startPt);
+        this.endDist[s] = lateral.getDist(this.startWpt, endPt);
+        this.sgmtPos.putIfAbsent(sgmt, s);
+
+        // Segments must be consecutive and must not overlap
+        if(this.endDist[s] < this.startDist[s] || (s > 0 && this.startDist[s] < this.endDist[s - 1]) || Double.isNaN(this.endDist[s]))
+            this.sorted = false;
+
+        this.sgmtCount++;
+    }
+
+    /**
+     * This method returns the position of a segment in the index.
+     *
+     * @param sgmt  The segment
+     * @return      The position of the segment, index starts at 0. -1 if the segment isn't indexed
+     */
+    int getSgmtPos(Object sgmt){
+        Integer s = this.sgmtPos.get(sgmt);
+        return (s != null) ? s : -1;
+    }
+
+    /**
+     * This method finds the position of the segment of a waypoint positioned on the lateral plan/track.
+     *
+     * @param wpt   Waypoint
+     * @return      The position of the segment, index starts at 0. -1 if the waypoint can't be resolved by the index
+     */
+    int getWptSgmtPos(Waypoint wpt){
+        try{
+            double wptDist;
+            int lo = 0, hi = this.sgmtCount - 1, mid;
+
+            if(!this.sorted || this.sgmtCount == 0)
+                return -1;
+
+            // Waypoints off the lateral plan/track aren't covered
+            if(lateral.getWptError(wpt) > TRACK_ERROR_TOLERANCE_M)
+                return -1;
+
+            // Find last segment starting before the waypoint
+            wptDist = lateral.getDist(this.startWpt, wpt);
+
+            if(!(wptDist - this.startDist[0] > BOUNDARY_TOLERANCE_M))
+                return -1;
+
+            while(lo < hi){
+                mid = (lo + hi + 1) >>> 1;
+                if(this.startDist[mid] <= wptDist)
+                    lo = mid;
+                else
+                    hi = mid - 1;
+            }
+
+            // Waypoints close to the start/end points of a segment aren't covered
+            if(wptDist - this.startDist[lo] <= BOUNDARY_TOLERANCE_M)
+                return -1;
+            if(lo < this.sgmtCount - 1 && this.endDist[lo] - wptDist <= BOUNDARY_TOLERANCE_M)
+                return -1;
+
+            return lo;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return -1;
+        }
+    }
+}
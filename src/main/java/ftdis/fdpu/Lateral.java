@@ -94,6 +94,19 @@ public interface Lateral {
      */
     Waypoint getItmWpt(Waypoint wpt, double dist);
 
+    /**
+     * This method calculates the positions and courses at a range of along track distances, measured from the
+     * start waypoint of the flight plan/track. The distances should be sorted in ascending order, and distances
+     * beyond the bounds of the flight plan/track are limited to the start/end waypoint.
+     *
+     * @param dist      Along track distances in meters
+     * @param lat       Latitudes of the positions in decimal degrees
+     * @param lon       Longitudes of the positions in decimal degrees
+     * @param course    Courses at the positions in degrees, optional
+     * @param count     Number of distances
+     */
+    void getItmPos(double[] dist, double[] lat, double[] lon, double[] course, int count);
+
     /**
      * This method calculates and returns the error between a random waypoint and the lateral flight plan/track.
      *
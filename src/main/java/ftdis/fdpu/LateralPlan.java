@@ -1,12 +1,8 @@
 package ftdis.fdpu;
 
-import org.w3c.dom.*;
-import javax.xml.parsers.*;
-import java.io.File;
 import java.io.Serializable;
 import java.util.*;
 import static java.lang.Math.*;
-import static ftdis.fdpu.DOMUtil.*;
 
 /**
  * The Lateral Plan class represents the the lateral flight plan that is defined in an xml file.
@@ -317,6 +313,37 @@ public class LateralPlan implements Lateral, Serializable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Consecutive distances covered by the same segment are passed to the segment in a single block.
+     */
+    public void getItmPos(double[] dist, double[] lat, double[] lon, double[] course, int count){
+        try{
+            DirectSegment thisSgmt;
+            double sgmtStartDist = 0.0, sgmtEndDist;
+            int s = 0, from = 0, to;
+
+            while(from < count && s < this.directSegments.size()){
+                thisSgmt = this.directSegments.get(s);
+                sgmtEndDist = sgmtStartDist + thisSgmt.getDist(thisSgmt.getStartPt(), thisSgmt.getEndPt());
+
+                // Find consecutive distances covered by this segment, the last segment covers all remaining distances
+                to = from;
+                while(to < count && (dist[to] <= sgmtEndDist || s == this.directSegments.size() - 1))
+                    to++;
+
+                thisSgmt.getItmPos(dist, sgmtStartDist, lat, lon, course, from, to);
+
+                from = to;
+                sgmtStartDist = sgmtEndDist;
+                s++;
+            }
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
     /**
      * This method calculates and returns the plan error between a random waypoint
      * and the lateral flight plan.
@@ -398,40 +425,29 @@ public class LateralPlan implements Lateral, Serializable {
      */
     public void load(String fileName, int planID){
         try{
-            Waypoint waypoint;
-
-            if(fileName != null && !fileName.isEmpty()){
-                // create Lateral Plan document and parse xml file
-                DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                Document flightPlanXML = dBuilder.parse(new File(fileName));
-
-                // normalize
-                flightPlanXML.getDocumentElement().normalize();
-
-                // get flight plan and loop through corresponding waypoints
-                Node plan = findNode(findNode(flightPlanXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(planID)).getChildNodes(),"Waypoints");
-                List<Node> waypoints = getChildElementsByTagName(plan, "Waypoint");
-
-                 for(Node node : waypoints){
-                     // get reference to new waypoint and set latitude and longitude coordinates
-                     waypoint = new Waypoint((Integer.parseInt(getAttributeValue(node,"ID"))));
-
-                     waypoint.setLat(Double.parseDouble(
-                             getElementValue(
-                                     findNode(node.getChildNodes(), "Latitude", "unit", "dec"))));
-
-                     waypoint.setLon(Double.parseDouble(
-                             getElementValue(
-                                     findNode(node.getChildNodes(), "Longitude", "unit", "dec"))));
-
-                     // add waypoint reference to flight plan
-                     this.addWpt(waypoint);
-                 }
-                 // sort waypoint list by waypoint id
-                 if(! this.waypoints.isEmpty())
-                     Collections.sort(this.waypoints, new Waypoint());
-            }
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method loads the waypoints of a plan from a parsed flight plan xml file, creating and adding
+     * corresponding Waypoint objects to the Lateral Plan class.
+     *
+     * @param index     Plan index of the flight plan xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
+        try{
+            // add waypoints to flight plan
+            for(Waypoint waypoint : index.getWaypoints(planID))
+                this.addWpt(waypoint);
+
+            // sort waypoint list by waypoint id
+            if(! this.waypoints.isEmpty())
+                Collections.sort(this.waypoints, new Waypoint());
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
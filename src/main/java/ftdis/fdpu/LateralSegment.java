@@ -82,6 +82,21 @@ public interface LateralSegment {
      */
     Waypoint getItmWpt(Waypoint wpt, double dist);
 
+    /**
+     * This method calculates the positions and courses at a range of distances along the segment's track in a
+     * single pass. The distances are measured from the segment's start point, offset by the along track distance of
+     * the start point, and are limited to the start/end points of the segment.
+     *
+     * @param dist      Along track distances in meters
+     * @param startDist Along track distance of the segment's start point in meters
+     * @param lat       Latitudes of the positions in decimal degrees
+     * @param lon       Longitudes of the positions in decimal degrees
+     * @param course    Courses at the positions in degrees, optional
+     * @param from      Index of the first distance, inclusive
+     * @param to        Index of the last distance, exclusive
+     */
+    void getItmPos(double[] dist, double startDist, double[] lat, double[] lon, double[] course, int from, int to);
+
     /**
      * This method calculates and returns the variation between a random waypoint
      * and the flight plan of the lateral segment.
@@ -19,6 +19,14 @@ public class LateralTrack implements Lateral {
     private List<LateralSegment> latSegments;
     private List<DirectSegment> directSegments;
     private List<TurnSegment> turnSegments;
+    private volatile TrackIndex trackIndex;
+    private static final int WPT_LOCATION_CACHE_SIZE = 16;
+    private final ThreadLocal<WptLocation[]> wptLocations = new ThreadLocal<WptLocation[]>(){
+        @Override
+        protected WptLocation[] initialValue(){
+            return new WptLocation[WPT_LOCATION_CACHE_SIZE];
+        }
+    };
 
     /**
      * Constructors
@@ -43,6 +51,16 @@ public class LateralTrack implements Lateral {
         this.velocityPlan = velPlan;
     }
 
+    /**
+     * This method assigns the lateral plan to the lateral track, without transforming it, e.g. when the track
+     * segments are restored from the plan cache.
+     *
+     * @param latPlan   Reference to the lateral plan
+     */
+    void assignLat(Lateral latPlan){
+        this.lateralPlan = latPlan;
+    }
+
     /**
      * This method adds a segment to the flight plan's direct segment list
      *
@@ -50,6 +68,7 @@ public class LateralTrack implements Lateral {
      */
     public void addSgmt(LateralSegment sgm){
         this.latSegments.add(sgm);
+        this.trackIndex = null;
     }
 
     /**
@@ -75,7 +94,13 @@ public class LateralTrack implements Lateral {
      * @return The number of the lateral segment in the list, index starts with 0
      */
     public int getSgmtPos(LateralSegment sgm){
-        return ListUtil.getListItemNum(sgm, this.latSegments);
+        try{
+            Integer pos = getTrackIndex().sgmtPos.get(sgm);
+            return (pos != null) ? pos : -1;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return -1;
+        }
     }
 
     /**
@@ -112,58 +137,30 @@ public class LateralTrack implements Lateral {
      */
     public double getDist(Waypoint wpt1, Waypoint wpt2){
         try{
-            LateralSegment strtSgmt, thisSgmt, endSgmt;
-            boolean endPointReached = false;
-            int s;
-            double dist = 0.0;
+            TrackIndex idx = getTrackIndex();
+            LateralSegment strtSgmt, endSgmt;
+            int s1, s2;
+            double dist;
 
             // find segments for start and end waypoints
-            strtSgmt = getWptSgmt(wpt1);
-            endSgmt = getWptSgmt(wpt2);
-            s = getSgmtPos(strtSgmt);
+            s1 = getWptSgmtPos(wpt1, idx);
+            s2 = getWptSgmtPos(wpt2, idx);
+            strtSgmt = this.latSegments.get(s1);
+            endSgmt = this.latSegments.get(s2);
 
-            // in case start and end waypoint are in the same segment, get direct distance
-            if(strtSgmt == endSgmt){
+            if(s1 == s2){
+                // in case start and end waypoint are in the same segment, get direct distance
                 dist = strtSgmt.getDist(wpt1, wpt2);
-                endPointReached = true;
-            }
-
-            // in case start and end waypoints are in different segments, loop through each segment and accumulate distance
-            while(!endPointReached && ListUtil.inBound(s,this.latSegments)){
-                thisSgmt = this.latSegments.get(s);
-                // get distance between w1 and start/end of start segment
-                if(thisSgmt == strtSgmt){
-                    if(getSgmtPos(strtSgmt) < getSgmtPos(endSgmt)){
-                        // moving forwards: Dist = w1 -> end of start segment
-                        dist += thisSgmt.getDist(wpt1, thisSgmt.getEndPt());
-                        s++;
-                    } else {
-                        // moving backwards: Dist = start of start segment <- w1
-                        dist += thisSgmt.getDist(wpt1, thisSgmt.getStartPt());
-                        s--;
-                    }
-                // get distance between w2 and start/end of end segment
-                }else if(thisSgmt == endSgmt){
-                    if(getSgmtPos(strtSgmt) < getSgmtPos(endSgmt))
-                        // moving forwards: Dist = start of end segment -> w2
-                        dist += thisSgmt.getDist(thisSgmt.getStartPt(), wpt2);
-                    else
-                        // moving backwards: Dist = w2 <- end of end segment
-                        dist += thisSgmt.getDist(thisSgmt.getEndPt(), wpt2);
-                    endPointReached = true;
-                // get distance of all segments inbetween start and end segments
-                }else {
-                    if(getSgmtPos(strtSgmt) < getSgmtPos(endSgmt)){
-                        // moving forward
-                        dist += thisSgmt.getDist(thisSgmt.getStartPt(), thisSgmt.getEndPt());
-                        s++;
-                    }
-                    else {
-                        // moving backwards
-                        dist -= thisSgmt.getDist(thisSgmt.getStartPt(), thisSgmt.getEndPt());
-                        s--;
-                    }
-                }
+            }else if(s1 < s2){
+                // moving forwards: w1 -> end of start segment, segments inbetween, start of end segment -> w2
+                dist = strtSgmt.getDist(wpt1, strtSgmt.getEndPt())
+                        + (idx.sgmtStartDist[s2] - idx.sgmtStartDist[s1 + 1])
+                        + endSgmt.getDist(endSgmt.getStartPt(), wpt2);
+            }else{
+                // moving backwards: start of start segment <- w1, segments inbetween, w2 <- end of end segment
+                dist = strtSgmt.getDist(wpt1, strtSgmt.getStartPt())
+                        - (idx.sgmtStartDist[s1] - idx.sgmtStartDist[s2 + 1])
+                        + endSgmt.getDist(endSgmt.getEndPt(), wpt2);
             }
 
             // Set non relevant/measurable distances to zero. Otherwise small deviations in calculations
@@ -178,6 +175,148 @@ public class LateralTrack implements Lateral {
         }
     }
 
+    /**
+     * This method returns the along track distance of a waypoint positioned on the flight track,
+     * measured from the start waypoint of the lateral track.
+     *
+     * @param wpt   Waypoint positioned on the flight track
+     * @return      The along track distance of the waypoint in meters.
+     */
+    public double getWptDist(Waypoint wpt){
+        try{
+            TrackIndex idx = getTrackIndex();
+            int s = getWptSgmtPos(wpt, idx);
+            LateralSegment thisSgmt = this.latSegments.get(s);
+
+            return idx.sgmtStartDist[s] + thisSgmt.getDist(thisSgmt.getStartPt(), wpt);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * This method returns the waypoint positioned on the flight track at a specific along track distance,
+     * measured from the start waypoint of the lateral track. The segment is found by a binary search on the
+     * cumulative segment distances. Distances beyond the bounds of the track return the start or end waypoint.
+     *
+     * @param dist  Along track distance in meters
+     * @return      A waypoint positioned on the flight track
+     */
+    public Waypoint getWptAtDist(double dist){
+        try{
+            TrackIndex idx = getTrackIndex();
+            int s;
+
+            if(dist <= 0)
+                return this.getStartWpt();
+            if(dist >= idx.sgmtStartDist[idx.sgmtStartDist.length - 1])
+                return this.getEndWpt();
+
+            s = findSgmtAtDist(idx, dist);
+            return locateWpt(s, this.latSegments.get(s).getItmWpt(this.latSegments.get(s).getStartPt(), dist - idx.sgmtStartDist[s]), idx);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Consecutive distances covered by the same segment are passed to the segment in a single block, i.e. the
+     * segment invariants are calculated once per block rather than once per position.
+     */
+    public void getItmPos(double[] dist, double[] lat, double[] lon, double[] course, int count){
+        try{
+            TrackIndex idx = getTrackIndex();
+            double[] sgmtStartDist = idx.sgmtStartDist;
+            double trackLn = sgmtStartDist[sgmtStartDist.length - 1];
+            int s = 0, lastSgmt = this.latSegments.size() - 1, from = 0, to;
+
+            while(from < count){
+                s = getSgmtAtDist(dist[from], s);
+
+                // Find consecutive distances covered by the same segment, in line with getSgmtAtDist
+                to = from + 1;
+                while(to < count && (s == 0 || dist[to] > sgmtStartDist[s]) && (s == lastSgmt || dist[to] <= sgmtStartDist[s + 1]))
+                    to++;
+
+                this.latSegments.get(s).getItmPos(dist, sgmtStartDist[s], lat, lon, course, from, to);
+                from = to;
+            }
+
+            // Distances beyond the end of the track are limited to the end waypoint
+            for(int i = count - 1; i >= 0 && dist[i] >= trackLn; i--){
+                lat[i] = this.getEndWpt().getLat();
+                lon[i] = this.getEndWpt().getLon();
+            }
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method returns the waypoint positioned on a specific segment at a specific along track distance,
+     * measured from the start waypoint of the lateral track.
+     *
+     * @param dist  Along track distance in meters
+     * @param sgmt  Number of the segment covering the along track distance, index starts with 0
+     * @return      A waypoint positioned on the flight track
+     */
+    Waypoint getWptAtDist(double dist, int sgmt){
+        try{
+            TrackIndex idx = getTrackIndex();
+            LateralSegment thisSgmt = this.latSegments.get(sgmt);
+
+            return locateWpt(sgmt, thisSgmt.getItmWpt(thisSgmt.getStartPt(), dist - idx.sgmtStartDist[sgmt]), idx);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * This method returns the number of the segment that covers a specific along track distance. The search starts
+     * at a given segment and moves forwards/backwards, i.e. for sequential queries the cost is constant.
+     *
+     * @param dist  Along track distance in meters
+     * @param sgmt  Number of the segment to start the search from, index starts with 0
+     * @return      The number of the segment, index starts with 0
+     */
+    int getSgmtAtDist(double dist, int sgmt){
+        try{
+            double[] sgmtStartDist = getTrackIndex().sgmtStartDist;
+            int s = max(0, min(sgmt, sgmtStartDist.length - 2));
+
+            while(s < sgmtStartDist.length - 2 && dist > sgmtStartDist[s + 1])
+                s++;
+            while(s > 0 && dist <= sgmtStartDist[s])
+                s--;
+
+            return s;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * This method returns the along track distance at the start of a specific segment, measured from the
+     * start waypoint of the lateral track.
+     *
+     * @param sgmt  Number of the segment, index starts with 0
+     * @return      The along track distance in meters
+     */
+    double getSgmtStartDist(int sgmt){
+        try{
+            return getTrackIndex().sgmtStartDist[sgmt];
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return 0;
+        }
+    }
+
     /**
      * This method returns the bearing at a specific waypoint that is positioned
      * along the lateral segment's flight track. The method assumes that the object
@@ -239,46 +378,48 @@ public class LateralTrack implements Lateral {
      */
     public Waypoint getItmWpt(Waypoint wpt, double dist){
         try{
-            Waypoint thisWpt;
+            TrackIndex idx = getTrackIndex();
             LateralSegment thisSgmt;
-            boolean endPointReached = false;
-            int s;
-
-            // find segment number of start waypoint and set this waypoint to start waypoint
-            s = ListUtil.getListItemNum(getWptSgmt(wpt), this.latSegments);
-            thisWpt = wpt;
-
-            // iterate through segments (forwards/backwards) and accumulate distance
-            while(!endPointReached && ListUtil.inBound(s, this.latSegments)){
-                thisSgmt = this.latSegments.get(s);
-
-                if(dist >= 0){
-                    // moving forwards: Check if distance between this  waypoint and end of this segment is larger than remaining distance
-                    if(thisSgmt.getDist(thisWpt, thisSgmt.getEndPt()) >= dist){
-                        // return intermediary waypoint on direct segment based on remaining distance from this waypoint
-                        thisWpt = thisSgmt.getItmWpt(thisWpt, dist);
-                        endPointReached = true;
-                    }else{
-                        // calculate remaining distance between this waypoint and end of segment and move to next segment
-                        dist -= thisSgmt.getDist(thisWpt, thisSgmt.getEndPt());
-                        thisWpt = thisSgmt.getEndPt();
-                        s++;
-                    }
-                }else{
-                    // moving backwards: Check if distance between intermediary waypoint and start of this segment is larger than remaining distance
-                    if(abs(thisSgmt.getDist(thisWpt, thisSgmt.getStartPt())) >= abs(dist)){
-                        // return intermediary waypoint on direct segment based on remaining distance from this waypoint
-                        thisWpt = thisSgmt.getItmWpt(thisWpt, dist);
-                        endPointReached = true;
-                    }else{
-                        // calculate remaining distance between this waypoint and start of segment and move to next segment
-                        dist -= thisSgmt.getDist(thisWpt, thisSgmt.getStartPt());
-                        thisWpt = thisSgmt.getStartPt();
-                        s--;
-                    }
-                }
+            double trackDist;
+            int s, t;
+
+            // find segment number of start waypoint
+            s = getWptSgmtPos(wpt, idx);
+            thisSgmt = this.latSegments.get(s);
+
+            if(dist >= 0){
+                // moving forwards: Check if distance between waypoint and end of this segment is larger than distance
+                if(thisSgmt.getDist(wpt, thisSgmt.getEndPt()) >= dist)
+                    return locateWpt(s, thisSgmt.getItmWpt(wpt, dist), idx);
+
+                // get along track distance of the target position based on remaining distance from end of this segment
+                trackDist = idx.sgmtStartDist[s + 1] + dist - thisSgmt.getDist(wpt, thisSgmt.getEndPt());
+
+                // beyond the end of the track, return end waypoint
+                if(trackDist >= idx.sgmtStartDist[idx.sgmtStartDist.length - 1] || s + 1 >= this.latSegments.size())
+                    return this.getEndWpt();
+
+                // find target segment and return intermediary waypoint based on remaining distance from its start
+                t = max(findSgmtAtDist(idx, trackDist), s + 1);
+                thisSgmt = this.latSegments.get(t);
+                return locateWpt(t, thisSgmt.getItmWpt(thisSgmt.getStartPt(), trackDist - idx.sgmtStartDist[t]), idx);
+            }else{
+                // moving backwards: Check if distance between waypoint and start of this segment is larger than distance
+                if(abs(thisSgmt.getDist(wpt, thisSgmt.getStartPt())) >= abs(dist))
+                    return locateWpt(s, thisSgmt.getItmWpt(wpt, dist), idx);
+
+                // get along track distance of the target position based on remaining distance from start of this segment
+                trackDist = idx.sgmtStartDist[s] + dist - thisSgmt.getDist(wpt, thisSgmt.getStartPt());
+
+                // beyond the start of the track, return start waypoint
+                if(trackDist <= 0 || s == 0)
+                    return this.getStartWpt();
+
+                // find target segment and return intermediary waypoint based on remaining distance from its end
+                t = min(findSgmtAtDist(idx, trackDist), s - 1);
+                thisSgmt = this.latSegments.get(t);
+                return locateWpt(t, thisSgmt.getItmWpt(thisSgmt.getEndPt(), trackDist - idx.sgmtStartDist[t + 1]), idx);
             }
-            return thisWpt;
         }catch(Exception e){
             System.out.println(e.getMessage());
             return null;
@@ -334,38 +475,147 @@ public class LateralTrack implements Lateral {
      */
     public LateralSegment getWptSgmt(Waypoint wpt){
         try{
-            // loop through each direct segment and calculate track error
-            int sgmt;
-            double smlst, trckError, plnError;
-            double[] trackError = new double[this.latSegments.size()];
-
-            for(int i = 0; i < this.latSegments.size(); i++){
-                if(this.latSegments.get(i) instanceof TurnSegment){
-                    trckError = this.latSegments.get(i).getTrackError(wpt);
-                    plnError = this.latSegments.get(i).getPlanError(wpt);
-
-                    if(trckError < plnError)
-                        trackError[i] = trckError;
-                    else
-                        trackError[i] = plnError;
-                }else
-                    trackError[i] = this.latSegments.get(i).getTrackError(wpt);
-            }
+            return this.latSegments.get(getWptSgmtPos(wpt, getTrackIndex()));
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return null;
+        }
+    }
 
-            // find index of segment with smallest track error
-            smlst = trackError[0];
-            sgmt = 0;
-            for(int i = 0; i < trackError.length; i++) {
-                if(smlst > trackError[i]) {
-                    smlst = trackError[i];
-                    sgmt = i;
-                }
+    /**
+     * This method returns the segment number of a waypoint along the flight track. Segment end points and
+     * waypoints recently returned/located by the track are resolved from the track index and the waypoint
+     * location cache of the current thread, any other waypoint is resolved by searching the segment with the
+     * smallest track error.
+     *
+     * @param wpt   Waypoint
+     * @param idx   Track index
+     * @return      The number of the corresponding lateral segment, index starts with 0
+     */
+    private int getWptSgmtPos(Waypoint wpt, TrackIndex idx){
+        Integer pos;
+        WptLocation[] locs;
+        WptLocation loc;
+        int sgmt, slot;
+
+        // check segment end points and the waypoints recently located by this thread
+        pos = idx.wptPos.get(wpt);
+        if(pos != null)
+            return pos;
+
+        locs = this.wptLocations.get();
+        slot = System.identityHashCode(wpt) & (WPT_LOCATION_CACHE_SIZE - 1);
+        loc = locs[slot];
+        if(loc != null && loc.idx == idx && loc.wpt == wpt && loc.lat == wpt.getLat() && loc.lon == wpt.getLon())
+            return loc.sgmt;
+
+        // find segment with smallest track error
+        sgmt = findWptSgmt(wpt);
+        locs[slot] = new WptLocation(wpt, sgmt, idx);
+
+        return sgmt;
+    }
+
+    /**
+     * This method finds the number of the lateral segment with the smallest track error for a waypoint.
+     *
+     * Contrary to the direct segments, the plan and track for turn segments does not overlap. As a workaround for
+     * finding the correct turn segment, e.g. when adjusting waypoints of a lateral plan, the method returns the smaller
+     * error, i.e. either plan or track error, for turn segments.
+     *
+     * @param wpt   Waypoint
+     * @return      The number of the corresponding lateral segment, index starts with 0
+     */
+    private int findWptSgmt(Waypoint wpt){
+        // loop through each direct segment and calculate track error
+        int sgmt;
+        double smlst, trckError, plnError;
+        double[] trackError = new double[this.latSegments.size()];
+
+        for(int i = 0; i < this.latSegments.size(); i++){
+            if(this.latSegments.get(i) instanceof TurnSegment){
+                trckError = this.latSegments.get(i).getTrackError(wpt);
+                plnError = this.latSegments.get(i).getPlanError(wpt);
+
+                if(trckError < plnError)
+                    trackError[i] = trckError;
+                else
+                    trackError[i] = plnError;
+            }else
+                trackError[i] = this.latSegments.get(i).getTrackError(wpt);
+        }
+
+        // find index of segment with smallest track error
+        smlst = trackError[0];
+        sgmt = 0;
+        for(int i = 0; i < trackError.length; i++) {
+            if(smlst > trackError[i]) {
+                smlst = trackError[i];
+                sgmt = i;
             }
-            // return segment
-            return this.latSegments.get(sgmt);
+        }
+        return sgmt;
+    }
+
+    /**
+     * This method registers a waypoint calculated on a specific segment in the waypoint location cache of
+     * the current thread, so that subsequent queries for the waypoint don't require a segment search.
+     *
+     * @param sgmt  Number of the segment the waypoint is positioned on
+     * @param wpt   Waypoint
+     * @param idx   Track index
+     * @return      The waypoint
+     */
+    private Waypoint locateWpt(int sgmt, Waypoint wpt, TrackIndex idx){
+        if(wpt != null && !idx.wptPos.containsKey(wpt))
+            this.wptLocations.get()[System.identityHashCode(wpt) & (WPT_LOCATION_CACHE_SIZE - 1)] = new WptLocation(wpt, sgmt, idx);
+        return wpt;
+    }
+
+    /**
+     * This method performs a binary search on the cumulative segment distances and returns the number
+     * of the segment that covers a specific along track distance.
+     *
+     * @param idx   Track index
+     * @param dist  Along track distance in meters
+     * @return      The number of the segment, index starts with 0
+     */
+    private static int findSgmtAtDist(TrackIndex idx, double dist){
+        int lo = 0, hi = idx.sgmtStartDist.length - 2, mid;
+
+        while(lo < hi){
+            mid = (lo + hi + 1) >>> 1;
+            if(idx.sgmtStartDist[mid] < dist)
+                lo = mid;
+            else
+                hi = mid - 1;
+        }
+        return lo;
+    }
+
+    /**
+     * This method returns the track index and builds it in case the segments have been modified.
+     *
+     * @return  The track index
+     */
+    private TrackIndex getTrackIndex(){
+        TrackIndex idx = this.trackIndex;
+        if(idx == null){
+            idx = new TrackIndex(this.latSegments);
+            this.trackIndex = idx;
+        }
+        return idx;
+    }
+
+    /**
+     * This method (re)builds the track index, i.e. the cumulative along track distance at the start of each
+     * segment, as well as the lookup tables for segments and segment end points.
+     */
+    public void buildIndex(){
+        try{
+            this.trackIndex = new TrackIndex(this.latSegments);
         }catch(Exception e){
             System.out.println(e.getMessage());
-            return null;
         }
     }
 
@@ -583,6 +833,8 @@ public class LateralTrack implements Lateral {
             // Add final direct segment
             this.latSegments.add(this.directSegments.get(this.directSegments.size() - 1));
 
+            // Build track index
+            buildIndex();
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
@@ -674,6 +926,9 @@ public class LateralTrack implements Lateral {
                 }
                 s++;
             }
+
+            // Rebuild track index for adjusted segments
+            buildIndex();
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
@@ -698,4 +953,48 @@ public class LateralTrack implements Lateral {
             return false;
         }
     }
+
+    /**
+     * The Track Index class holds the cumulative along track distance at the start of each segment,
+     * as well as the segment numbers of the segments and their start/end points.
+     */
+    private static final class TrackIndex {
+        final double[] sgmtStartDist;
+        final Map<LateralSegment,Integer> sgmtPos;
+        final Map<Waypoint,Integer> wptPos;
+
+        TrackIndex(List<LateralSegment> latSegments){
+            LateralSegment thisSgmt;
+
+            this.sgmtStartDist = new double[latSegments.size() + 1];
+            this.sgmtPos = new IdentityHashMap<LateralSegment,Integer>();
+            this.wptPos = new IdentityHashMap<Waypoint,Integer>();
+
+            for(int s = 0; s < latSegments.size(); s++){
+                thisSgmt = latSegments.get(s);
+                this.sgmtStartDist[s + 1] = this.sgmtStartDist[s] + thisSgmt.getDist(thisSgmt.getStartPt(), thisSgmt.getEndPt());
+                this.sgmtPos.putIfAbsent(thisSgmt, s);
+                this.wptPos.putIfAbsent(thisSgmt.getStartPt(), s);
+                this.wptPos.putIfAbsent(thisSgmt.getEndPt(), s);
+            }
+        }
+    }
+
+    /**
+     * The Waypoint Location class holds the segment number of a waypoint located by a thread.
+     */
+    private static final class WptLocation {
+        final Waypoint wpt;
+        final double lat, lon;
+        final int sgmt;
+        final TrackIndex idx;
+
+        WptLocation(Waypoint wpt, int sgmt, TrackIndex idx){
+            this.wpt = wpt;
+            this.lat = wpt.getLat();
+            this.lon = wpt.getLon();
+            this.sgmt = sgmt;
+            this.idx = idx;
+        }
+    }
 }
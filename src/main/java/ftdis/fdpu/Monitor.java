@@ -6,10 +6,32 @@ import java.time.LocalDateTime;
 public class Monitor implements Serializable {
     private LocalDateTime startDateTime;
     private double progrPerc;
+    private double cyclesPerSec;
+    private int phase;
+    private double[] phaseProgress;
+    private double[] threadProgress;
+    private boolean done;
+    private long seq;
+    private int checksum;
 
     public Monitor(LocalDateTime startDateTime, double progrPerc) {
+        this(startDateTime, progrPerc, 0, 0, new double[0], new double[0], false, 0);
+    }
+
+    public Monitor(LocalDateTime startDateTime, double progrPerc, double cyclesPerSec, int phase, double[] phaseProgress, double[] threadProgress, boolean done, long seq) {
+        this(startDateTime, progrPerc, cyclesPerSec, phase, phaseProgress, threadProgress, done, seq, 0);
+    }
+
+    public Monitor(LocalDateTime startDateTime, double progrPerc, double cyclesPerSec, int phase, double[] phaseProgress, double[] threadProgress, boolean done, long seq, int checksum) {
         this.startDateTime = startDateTime;
         this.progrPerc = progrPerc;
+        this.cyclesPerSec = cyclesPerSec;
+        this.phase = phase;
+        this.phaseProgress = phaseProgress;
+        this.threadProgress = threadProgress;
+        this.done = done;
+        this.seq = seq;
+        this.checksum = checksum;
     }
 
     public LocalDateTime getStartDateTime(){
@@ -28,4 +50,32 @@ public class Monitor implements Serializable {
         }
     }
 
+    public double getCyclesPerSec(){
+        return cyclesPerSec;
+    }
+
+    public int getPhase(){
+        return phase;
+    }
+
+    public double[] getPhaseProgress(){
+        return phaseProgress;
+    }
+
+    public double[] getThreadProgress(){
+        return threadProgress;
+    }
+
+    public boolean isDone(){
+        return done;
+    }
+
+    public long getSeq(){
+        return seq;
+    }
+
+    public int getChecksum(){
+        return checksum;
+    }
+
 }
@@ -1,49 +1,37 @@
 package ftdis.fdpu;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Duration;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
 public class MonitorProgress {
     public static void main(String[] args) {
-        String startDateTimeLog, runTimeLog, ioDir, logFile, progrBar = "[..........]";
+        String startDateTimeLog, runTimeLog, progrBar = "[..........]";
         double progrLog;
-        long runTime;
-        int progrLn = 2;
+        long runTime, seq = -1;
+        int progrLn = 500;
         boolean monitorActive = true;
-        LocalDateTime MonitorStartTimeDate;
+        MonitorStatus status;
         DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
-        // Set input directories
-        final String os = System.getProperty("os.name");
-
-        Path localDir = Paths.get("").toAbsolutePath().getParent().getParent();
-
-        if (os.contains("Windows"))
-            ioDir = "\\IO\\";
-        else
-            ioDir = "/IO/";
-
-        logFile = localDir + ioDir + "log.dat";
-
-        // Initialize monitor
-        MonitorStartTimeDate = LocalDateTime.now();
+        // Map status region shared with the flight processing
+        try {
+            status = new MonitorStatus(MonitorUtil.getStatusFile(), false);
+        } catch (IOException e) {
+            System.out.println("No Data Found!");
+            return;
+        }
 
         // Monitor and report progress as per interval
         while(monitorActive){
+            try {
+                Monitor log = status.read();
 
-            if(Duration.between(MonitorStartTimeDate, LocalDateTime.now()).getSeconds() >= progrLn){
-                try (FileInputStream fis = new FileInputStream(logFile);
-                     ObjectInputStream ois = new ObjectInputStream(fis)) {
-
-                    Monitor log = (Monitor) ois.readObject();
+                // Refresh on update only, accept snapshots with matching checksum
+                if(log != null && log.getSeq() != seq && MonitorStatus.isValid(log)){
+                    seq = log.getSeq();
 
                     startDateTimeLog = dateFormat.format(log.getStartDateTime());
 
@@ -77,22 +65,32 @@ public class MonitorProgress {
 
                     // Print progress information
                     System.out.println("Start: " + startDateTimeLog + "     Run Time: " + runTimeLog);
-                    System.out.println(progrBar + "  " + String.format(Locale.US, "%10.3f", progrLog)  + " %");
-
-                    MonitorStartTimeDate = LocalDateTime.now();
-
-                } catch (IOException | ClassNotFoundException e) {
-                    System.out.println("No Data Found!");
-                    monitorActive = false;
+                    System.out.println(progrBar + "  " + String.format(Locale.US, "%10.3f", progrLog)  + " %" +
+                            String.format(Locale.US, "%12.1f", log.getCyclesPerSec()) + " cycles/s     Phase " + log.getPhase());
+
+                    // Progress per flight phase and thread
+                    StringBuilder phases = new StringBuilder("Phases: ");
+                    for(double p : log.getPhaseProgress())
+                        phases.append(String.format(Locale.US, "%6.1f", p));
+                    System.out.println(phases + " %");
+
+                    StringBuilder threads = new StringBuilder("Threads:");
+                    for(int t = 0; t < log.getThreadProgress().length; t++){
+                        if(t > 0 && t % 10 == 0)
+                            threads.append(System.lineSeparator()).append("        ");
+                        threads.append(String.format(Locale.US, "%6.1f", log.getThreadProgress()[t]));
+                    }
+                    System.out.println(threads + " %");
+
+                    if(log.isDone())
+                        monitorActive = false;
                 }
-            }
-
-
 
+                Thread.sleep(progrLn);
 
+            } catch (InterruptedException e) {
+                monitorActive = false;
+            }
         }
-
-
-
     }
 }
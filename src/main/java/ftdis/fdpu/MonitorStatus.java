@@ -0,0 +1,268 @@
+package ftdis.fdpu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * The Monitor Status class shares the progress of the flight processing with the progress monitor through a small,
+ * memory mapped status region. The flight processing updates the region with plain memory writes, the monitor reads
+ * consistent snapshots of it, guarded by a sequence lock: the writer makes the sequence number odd before and even
+ * after each update, the reader retries until it has read the same even sequence number before and after copying the
+ * values. The sequence number is an aligned long, which is read and written in one access, and the accesses before
+ * and after each sequence number update are ordered by a full fence.
+ *
+ * The fence orders the accesses within the writing process only, the mapped file gives no such guarantee to the
+ * reading process. The writer therefore also stores a checksum of the values inside each update, and the reader
+ * discards a snapshot unless the checksum matches the values read. The checksum is kept with the snapshot, so that
+ * the progress monitor can verify it before accepting the snapshot.
+ *
+ * Layout (little endian):
+ *  0   Magic "FTMS" (int)
+ *  4   Version (int)
+ *  8   Sequence number (long)
+ *  16  Start date and time in epoch milliseconds (long)
+ *  24  Progress in percent (double)
+ *  32  Throughput in cycles per second (double)
+ *  40  Current flight phase (int)
+ *  44  Number of threads (int)
+ *  48  State, 1 processing, 2 done (int)
+ *  52  CRC32 checksum of the values (int)
+ *  56  Progress of each flight phase in percent (double, PHASES)
+ *  96  Progress of each thread in percent (double, MAX_THREADS)
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class MonitorStatus {
+    public static final int PHASES = 5, MAX_THREADS = 64, SIZE = 1024;
+    public static final int STATE_PROCESSING = 1, STATE_DONE = 2;
+
+    private static final int MAGIC = 0x534D5446, VERSION = 2;
+    private static final int OFS_MAGIC = 0, OFS_VERSION = 4, OFS_SEQ = 8, OFS_START = 16, OFS_PROGRESS = 24,
+            OFS_RATE = 32, OFS_PHASE = 40, OFS_THREADS = 44, OFS_STATE = 48, OFS_CHECKSUM = 52, OFS_PHASE_PROGRESS = 56,
+            OFS_THREAD_PROGRESS = OFS_PHASE_PROGRESS + PHASES * 8;
+
+    // Fence, see fullFence()
+    private static volatile int fence;
+
+    private MappedByteBuffer region;
+    private long seq;
+
+    /**
+     * Constructor
+     *
+     * @param file      The status file
+     * @param writer    True to create the status region for writing, false to map an existing region for reading
+     */
+    public MonitorStatus(File file, boolean writer) throws IOException {
+        FileChannel channel;
+
+        if(writer){
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }else{
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+            if(channel.size() < SIZE){
+                channel.close();
+                throw new IOException("No status region found");
+            }
+        }
+
+        try{
+            region = channel.map(writer ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, SIZE);
+            region.order(ByteOrder.LITTLE_ENDIAN);
+        }finally{
+            // Mappings remain valid after the channel has been closed
+            channel.close();
+        }
+
+        if(writer){
+            // Continue sequence of a previous run, so that readers never see a sequence number twice
+            seq = region.getInt(OFS_MAGIC) == MAGIC ? (region.getLong(OFS_SEQ) + 1) & ~1L : 0;
+
+            region.putLong(OFS_SEQ, seq + 1);
+            fullFence();
+            for(int i = OFS_SEQ + 8; i < SIZE; i++)
+                region.put(i, (byte) 0);
+            region.putInt(OFS_MAGIC, MAGIC);
+            region.putInt(OFS_VERSION, VERSION);
+            region.putInt(OFS_CHECKSUM, checksum(getLocalMillis(toDateTime(0)), 0, 0, 0, 0, new double[0], new double[0], 0));
+            fullFence();
+            region.putLong(OFS_SEQ, seq += 2);
+        }else if(region.getInt(OFS_MAGIC) != MAGIC || region.getInt(OFS_VERSION) != VERSION){
+            throw new IOException("No status region found");
+        }
+    }
+
+    /**
+     * This method updates the status region. Only a single thread may write to the region.
+     *
+     * @param status    The status
+     * @param state     The state of the processing, i.e. STATE_PROCESSING or STATE_DONE
+     */
+    public void write(Monitor status, int state){
+        double[] phaseProgress = status.getPhaseProgress(), threadProgress = status.getThreadProgress();
+        int threads = Math.min(threadProgress.length, MAX_THREADS);
+        long start = status.getStartDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // Checksum of the values as read by the reader
+        int checksum = checksum(getLocalMillis(toDateTime(start)), status.getProgress(), status.getCyclesPerSec(),
+                status.getPhase(), state, phaseProgress, threadProgress, threads);
+
+        // Mark update in progress
+        region.putLong(OFS_SEQ, seq + 1);
+        fullFence();
+
+        region.putLong(OFS_START, start);
+        region.putDouble(OFS_PROGRESS, status.getProgress());
+        region.putDouble(OFS_RATE, status.getCyclesPerSec());
+        region.putInt(OFS_PHASE, status.getPhase());
+        region.putInt(OFS_THREADS, threads);
+        region.putInt(OFS_STATE, state);
+        region.putInt(OFS_CHECKSUM, checksum);
+
+        for(int p = 0; p < PHASES; p++)
+            region.putDouble(OFS_PHASE_PROGRESS + p * 8, (p < phaseProgress.length) ? phaseProgress[p] : 0);
+
+        for(int t = 0; t < threads; t++)
+            region.putDouble(OFS_THREAD_PROGRESS + t * 8, threadProgress[t]);
+
+        // Publish update
+        seq += 2;
+        fullFence();
+        region.putLong(OFS_SEQ, seq);
+    }
+
+    /**
+     * This method reads a consistent snapshot of the status region.
+     *
+     * @return  The status, or null if no consistent snapshot could be read, e.g. while the writer is restarting
+     */
+    public Monitor read(){
+        long s1, s2, start;
+        double progress, rate;
+        double[] phaseProgress = new double[PHASES], threadProgress;
+        int phase, threads, state, checksum;
+        LocalDateTime startDateTime;
+
+        for(int attempt = 0; attempt < 10000; attempt++){
+            s1 = region.getLong(OFS_SEQ);
+            fullFence();
+
+            if((s1 & 1) == 0){
+                start = region.getLong(OFS_START);
+                progress = region.getDouble(OFS_PROGRESS);
+                rate = region.getDouble(OFS_RATE);
+                phase = region.getInt(OFS_PHASE);
+                threads = Math.max(0, Math.min(region.getInt(OFS_THREADS), MAX_THREADS));
+                state = region.getInt(OFS_STATE);
+                checksum = region.getInt(OFS_CHECKSUM);
+
+                for(int p = 0; p < PHASES; p++)
+                    phaseProgress[p] = region.getDouble(OFS_PHASE_PROGRESS + p * 8);
+
+                threadProgress = new double[threads];
+                for(int t = 0; t < threads; t++)
+                    threadProgress[t] = region.getDouble(OFS_THREAD_PROGRESS + t * 8);
+
+                // Discard snapshot if the writer has updated the region in the meantime, or if the values read don't
+                // match the checksum, i.e. the writer's updates haven't all been visible to the reader
+                fullFence();
+                s2 = region.getLong(OFS_SEQ);
+                startDateTime = toDateTime(start);
+
+                if(s1 == s2 && checksum == checksum(getLocalMillis(startDateTime), progress, rate, phase, state, phaseProgress, threadProgress, threads))
+                    return new Monitor(startDateTime, progress, rate, phase, phaseProgress, threadProgress,
+                            state == STATE_DONE, s1, checksum);
+            }
+
+            Thread.yield();
+        }
+
+        return null;
+    }
+
+    /**
+     * This method verifies the checksum of a snapshot read from the status region.
+     *
+     * @param status    The status
+     * @return          True if the checksum of the status matches its values
+     */
+    public static boolean isValid(Monitor status){
+        double[] threadProgress = status.getThreadProgress();
+
+        return status.getChecksum() == checksum(getLocalMillis(status.getStartDateTime()), status.getProgress(),
+                status.getCyclesPerSec(), status.getPhase(), status.isDone() ? STATE_DONE : STATE_PROCESSING,
+                status.getPhaseProgress(), threadProgress, Math.min(threadProgress.length, MAX_THREADS));
+    }
+
+    /**
+     * This method calculates the CRC32 checksum of the values of the status region.
+     *
+     * @param start             Start date and time in local milliseconds, see getLocalMillis
+     * @param progress          Progress in percent
+     * @param rate              Throughput in cycles per second
+     * @param phase             Current flight phase
+     * @param state             State of the processing
+     * @param phaseProgress     Progress of each flight phase in percent, missing phases count as 0
+     * @param threadProgress    Progress of each thread in percent
+     * @param threads           Number of threads
+     * @return                  The checksum
+     */
+    private static int checksum(long start, double progress, double rate, int phase, int state, double[] phaseProgress, double[] threadProgress, int threads){
+        ByteBuffer values = ByteBuffer.allocate(40 + (PHASES + threads) * 8).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+
+        values.putLong(start).putDouble(progress).putDouble(rate).putInt(phase).putInt(threads).putInt(state);
+
+        for(int p = 0; p < PHASES; p++)
+            values.putDouble((p < phaseProgress.length) ? phaseProgress[p] : 0);
+
+        for(int t = 0; t < threads; t++)
+            values.putDouble(threadProgress[t]);
+
+        crc.update(values.array(), 0, values.position());
+
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @param millis    Epoch milliseconds
+     * @return          The local date and time
+     */
+    private static LocalDateTime toDateTime(long millis){
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * @param dateTime  Local date and time
+     * @return          The local date and time in milliseconds, independent of the time zone, i.e. unaffected by
+     *                  daylight saving time changes
+     */
+    private static long getLocalMillis(LocalDateTime dateTime){
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1000000;
+    }
+
+    /**
+     * Orders all memory accesses before the fence against all memory accesses after it. A volatile write can't be
+     * reordered with earlier accesses, a volatile read can't be reordered with later accesses and the two volatile
+     * accesses can't be reordered with each other.
+     *
+     * @return  Value of the volatile read
+     */
+    private static int fullFence(){
+        fence = 0;
+        return fence;
+    }
+}
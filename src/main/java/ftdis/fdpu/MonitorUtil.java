@@ -1,8 +1,7 @@
 package ftdis.fdpu;
 
-import java.io.FileOutputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -17,10 +16,37 @@ import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
 
 public class MonitorUtil {
+    private MonitorStatus status;
+
     public MonitorUtil() {
     }
 
     public void logProgress(LocalDateTime startTimeDate, double progrPerc) {
+        this.logProgress(new Monitor(startTimeDate, progrPerc), MonitorStatus.STATE_PROCESSING);
+    }
+
+    /**
+     * This method publishes the progress to the status region shared with the progress monitor. The region is mapped
+     * on first use, all subsequent updates are plain memory writes.
+     *
+     * @param progress  The progress
+     * @param state     The state of the processing, i.e. MonitorStatus.STATE_PROCESSING or STATE_DONE
+     */
+    public void logProgress(Monitor progress, int state) {
+        try {
+            if (status == null)
+                status = new MonitorStatus(getStatusFile(), true);
+
+            status.write(progress, state);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return The status file shared with the progress monitor
+     */
+    public static File getStatusFile() {
         String os = System.getProperty("os.name");
         Path localDir = Paths.get("").toAbsolutePath().getParent().getParent();
         String ioDir;
@@ -30,43 +56,7 @@ public class MonitorUtil {
             ioDir = "/IO/";
         }
 
-        String logFile = localDir + ioDir + "log.dat";
-
-        try {
-            FileOutputStream fos = new FileOutputStream(logFile);
-
-            try {
-                ObjectOutputStream oos = new ObjectOutputStream(fos);
-
-                try {
-                    Monitor log = new Monitor(startTimeDate, progrPerc);
-                    oos.writeObject(log);
-                } catch (Throwable var14) {
-                    try {
-                        oos.close();
-                    } catch (Throwable var13) {
-                        var14.addSuppressed(var13);
-                    }
-
-                    throw var14;
-                }
-
-                oos.close();
-            } catch (Throwable var15) {
-                try {
-                    fos.close();
-                } catch (Throwable var12) {
-                    var15.addSuppressed(var12);
-                }
-
-                throw var15;
-            }
-
-            fos.close();
-        } catch (IOException var16) {
-            var16.printStackTrace();
-        }
-
+        return new File(localDir + ioDir + "status.dat");
     }
 
     /*
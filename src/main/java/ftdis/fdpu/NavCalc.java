@@ -5,6 +5,10 @@ import static java.lang.Math.*;
 /**
  * The NavCalc class contains a set of methods that perform aviation and navigation calculations.
  *
+ * Each calculation is available for waypoints as well as for raw lat/lon coordinates. Calculations based on
+ * waypoints use the waypoint's cached radians and sine/cosine of the lat, and methods returning a position
+ * assign the result to a waypoint supplied by the caller, so that repeated calls don't create any objects.
+ *
  * @author windowSeatFSX@gmail.com
  * @version 0.1
  */
@@ -22,31 +26,50 @@ public class NavCalc {
      */
     public static double getDirectDist(Waypoint w1, Waypoint w2){
         try{
-            double dist;
-
-            // Alternative A: Law of cos
-            /*
-            dist  = acos(sin(toRadians(w1.getLat())) * sin(toRadians(w2.getLat())) +
-                    cos(toRadians(w1.getLat())) * cos(toRadians(w2.getLat())) * cos(toRadians(w2.getLon()-w1.getLon())))
-                    * RADIUS_EARTH_FSX_M;
-            */
-
-            // Alternative B: Haversine
-            Double latDistance = toRadians(w2.getLat() - w1.getLat());
-            Double lonDistance = toRadians(w2.getLon() - w1.getLon());
-            Double a = sin(latDistance / 2) * sin(latDistance / 2) +
-                    cos(toRadians(w1.getLat())) * cos(toRadians(w2.getLat())) *
-                            sin(lonDistance / 2) * sin(lonDistance / 2);
-            Double c = 2 * atan2(sqrt(a), sqrt(1-a));
-
-            dist = RADIUS_EARTH_FSX_M * c;
-
-            return dist;
+            return getDirectDist(w1.getLat(), w1.getLon(), w1.getCosLat(), w2.getLat(), w2.getLon(), w2.getCosLat());
         }catch(Exception e){
             return 0;
         }
     }
 
+    /**
+     * This method uses the ‘haversine’ formula to calculate the great-circle distance between two positions given
+     * the positions' lat and lon.
+     *
+     * @param lat1  Latitude of the 1st position in decimal degrees
+     * @param lon1  Longitude of the 1st position in decimal degrees
+     * @param lat2  Latitude of the 2nd position in decimal degrees
+     * @param lon2  Longitude of the 2nd position in decimal degrees
+     * @return      The direct great circle distance between two positions in m.
+     */
+    public static double getDirectDist(double lat1, double lon1, double lat2, double lon2){
+        return getDirectDist(lat1, lon1, cos(toRadians(lat1)), lat2, lon2, cos(toRadians(lat2)));
+    }
+
+    /**
+     * Haversine formula based on the positions' lat, lon and the cosine of the lat.
+     */
+    static double getDirectDist(double lat1, double lon1, double cosLat1, double lat2, double lon2, double cosLat2){
+        double latDistance, lonDistance, sinLat, sinLon, a, c;
+
+        // Alternative A: Law of cos
+        /*
+        dist  = acos(sin(toRadians(w1.getLat())) * sin(toRadians(w2.getLat())) +
+                cos(toRadians(w1.getLat())) * cos(toRadians(w2.getLat())) * cos(toRadians(w2.getLon()-w1.getLon())))
+                * RADIUS_EARTH_FSX_M;
+        */
+
+        // Alternative B: Haversine
+        latDistance = toRadians(lat2 - lat1);
+        lonDistance = toRadians(lon2 - lon1);
+        sinLat = sin(latDistance / 2);
+        sinLon = sin(lonDistance / 2);
+        a = sinLat * sinLat + cosLat1 * cosLat2 * sinLon * sinLon;
+        c = 2 * atan2(sqrt(a), sqrt(1-a));
+
+        return RADIUS_EARTH_FSX_M * c;
+    }
+
 
     /**
      * This method returns an intersection of two tracks given the tracks' lat, lon and bearings
@@ -130,21 +153,42 @@ public class NavCalc {
      *              two waypoints in degrees.
      */
     public static double getInitBearing(Waypoint w1, Waypoint w2){
-        double bearing;
         try{
-            bearing = toDegrees(atan2((sin(toRadians(w2.getLon()) - toRadians(w1.getLon())) * cos(toRadians(w2.getLat()))),
-                    (cos(toRadians(w1.getLat())) * sin(toRadians(w2.getLat())) - sin(toRadians(w1.getLat())) * cos(toRadians(w2.getLat()))
-                            * cos(toRadians(w2.getLon()) - toRadians(w1.getLon())))));
-
-            if(bearing < 0)
-                bearing = 360 + bearing;
-
-            return bearing;
+            return getInitBearing(w1.getLonRad(), w1.getSinLat(), w1.getCosLat(), w2.getLonRad(), w2.getSinLat(), w2.getCosLat());
         }catch(Exception e){
             return 0;
         }
     }
 
+    /**
+     * This method calculates an object's initial bearing at the first position on a direct great
+     * circle route between two positions given the positions' lat and lon.
+     *
+     * @param lat1  Latitude of the 1st position in decimal degrees
+     * @param lon1  Longitude of the 1st position in decimal degrees
+     * @param lat2  Latitude of the 2nd position in decimal degrees
+     * @param lon2  Longitude of the 2nd position in decimal degrees
+     * @return      The initial bearing at the first position in degrees.
+     */
+    public static double getInitBearing(double lat1, double lon1, double lat2, double lon2){
+        return getInitBearing(toRadians(lon1), sin(toRadians(lat1)), cos(toRadians(lat1)), toRadians(lon2), sin(toRadians(lat2)), cos(toRadians(lat2)));
+    }
+
+    /**
+     * Initial bearing based on the positions' lon in radians and the sine and cosine of the lat.
+     */
+    static double getInitBearing(double lonRad1, double sinLat1, double cosLat1, double lonRad2, double sinLat2, double cosLat2){
+        double bearing;
+
+        bearing = toDegrees(atan2((sin(lonRad2 - lonRad1) * cosLat2),
+                (cosLat1 * sinLat2 - sinLat1 * cosLat2 * cos(lonRad2 - lonRad1))));
+
+        if(bearing < 0)
+            bearing = 360 + bearing;
+
+        return bearing;
+    }
+
     /**
      * This method returns an object's new course after the execution of a course change
      *
@@ -191,29 +235,74 @@ public class NavCalc {
      * @return      Intermediate waypoint along the great circle track between the start and end waypoint
      */
     public static Waypoint getItmWpt(Waypoint wpt1, Waypoint wpt2, double f){
-        Waypoint itmWpt = new Waypoint(1);
-        double A,B,x,y,z,distRad;
-        try{
-            distRad = 2 * asin(sqrt((pow(sin((toRadians(wpt1.getLat()) - toRadians(wpt2.getLat()))/2),2))
-                    + cos(toRadians(wpt1.getLat())) * cos(toRadians(wpt2.getLat())) * (pow(sin((toRadians(wpt1.getLon())
-                    - toRadians(wpt2.getLon()))/2),2))));
-
-            A = sin((1 - f) * distRad)/sin(distRad);
-            B = sin(f * distRad)/sin(distRad);
-
-            x = A * cos(toRadians(wpt1.getLat())) * cos(toRadians(wpt1.getLon())) + B * cos(toRadians(wpt2.getLat())) * cos(toRadians(wpt2.getLon()));
-            y = A * cos(toRadians(wpt1.getLat())) * sin(toRadians(wpt1.getLon())) + B * cos(toRadians(wpt2.getLat())) * sin(toRadians(wpt2.getLon()));
-            z = A * sin(toRadians(wpt1.getLat())) + B * sin(toRadians(wpt2.getLat()));
+        return getItmWpt(wpt1, wpt2, f, new Waypoint(1));
+    }
 
-            itmWpt.setLat(toDegrees(atan2(z,sqrt(pow(x,2) + pow(y,2)))));
-            itmWpt.setLon(toDegrees(atan2(y,x)));
+    /**
+     * This method calculates a waypoint on a great circle track between two waypoints, based on it's
+     * distance, expressed as a fraction of the track's overall length, from the start point of the track.
+     * The coordinates are assigned to an existing waypoint, which may be one of the input waypoints.
+     *
+     * @param wpt1      Start waypoint
+     * @param wpt2      End waypoint
+     * @param f         Fraction of distance between start and end waypoint, i.e. w1 = 0, w2 = 1
+     * @param itmWpt    Waypoint to which the coordinates of the intermediate waypoint are assigned
+     * @return          Intermediate waypoint along the great circle track between the start and end waypoint
+     */
+    public static Waypoint getItmWpt(Waypoint wpt1, Waypoint wpt2, double f, Waypoint itmWpt){
+        try{
+            return getItmWpt(wpt1.getLatRad(), wpt1.getLonRad(), wpt1.getSinLat(), wpt1.getCosLat(),
+                    wpt2.getLatRad(), wpt2.getLonRad(), wpt2.getSinLat(), wpt2.getCosLat(), f, itmWpt);
+        }catch(Exception e){
+            return null;
+        }
+    }
 
-            return itmWpt;
+    /**
+     * This method calculates a position on a great circle track between two positions given the positions'
+     * lat and lon. The coordinates are assigned to an existing waypoint.
+     *
+     * @param lat1      Latitude of the start position in decimal degrees
+     * @param lon1      Longitude of the start position in decimal degrees
+     * @param lat2      Latitude of the end position in decimal degrees
+     * @param lon2      Longitude of the end position in decimal degrees
+     * @param f         Fraction of distance between start and end position, i.e. w1 = 0, w2 = 1
+     * @param itmWpt    Waypoint to which the coordinates of the intermediate position are assigned
+     * @return          Intermediate waypoint along the great circle track between the start and end position
+     */
+    public static Waypoint getItmWpt(double lat1, double lon1, double lat2, double lon2, double f, Waypoint itmWpt){
+        try{
+            return getItmWpt(toRadians(lat1), toRadians(lon1), sin(toRadians(lat1)), cos(toRadians(lat1)),
+                    toRadians(lat2), toRadians(lon2), sin(toRadians(lat2)), cos(toRadians(lat2)), f, itmWpt);
         }catch(Exception e){
             return null;
         }
     }
 
+    /**
+     * Intermediate position based on the positions' lat and lon in radians and the sine and cosine of the lat.
+     */
+    static Waypoint getItmWpt(double latRad1, double lonRad1, double sinLat1, double cosLat1,
+                                      double latRad2, double lonRad2, double sinLat2, double cosLat2, double f, Waypoint itmWpt){
+        double A,B,x,y,z,sinLat,sinLon,distRad;
+
+        sinLat = sin((latRad1 - latRad2)/2);
+        sinLon = sin((lonRad1 - lonRad2)/2);
+        distRad = 2 * asin(sqrt((sinLat * sinLat) + cosLat1 * cosLat2 * (sinLon * sinLon)));
+
+        A = sin((1 - f) * distRad)/sin(distRad);
+        B = sin(f * distRad)/sin(distRad);
+
+        x = A * cosLat1 * cos(lonRad1) + B * cosLat2 * cos(lonRad2);
+        y = A * cosLat1 * sin(lonRad1) + B * cosLat2 * sin(lonRad2);
+        z = A * sinLat1 + B * sinLat2;
+
+        itmWpt.setLat(toDegrees(atan2(z,sqrt((x * x) + (y * y)))));
+        itmWpt.setLon(toDegrees(atan2(y,x)));
+
+        return itmWpt;
+    }
+
     /**
      * This method returns a waypoint based on the distance and radial from a reference
      * waypoint.
@@ -224,30 +313,70 @@ public class NavCalc {
      * @return          Waypoint based on distance and radial from reference point
      */
     public static Waypoint getRadWpt(Waypoint startWpt, double dist, double radial){
-        Waypoint endWpt = new Waypoint();
-        double lat, lon, dlon;
+        return getRadWpt(startWpt, dist, radial, new Waypoint());
+    }
+
+    /**
+     * This method calculates a waypoint based on the distance and radial from a reference waypoint. The
+     * coordinates are assigned to an existing waypoint, which may be the reference waypoint.
+     *
+     * @param startWpt  Start waypoint
+     * @param dist      Distance from start waypoint in meters
+     * @param radial    Radial from start waypoint in degrees
+     * @param endWpt    Waypoint to which the coordinates are assigned
+     * @return          Waypoint based on distance and radial from reference point
+     */
+    public static Waypoint getRadWpt(Waypoint startWpt, double dist, double radial, Waypoint endWpt){
+        try{
+            return getRadWpt(startWpt.getLonRad(), startWpt.getSinLat(), startWpt.getCosLat(), dist, radial, endWpt);
+        }catch(Exception e){
+            return endWpt;
+        }
+    }
+
+    /**
+     * This method calculates a position based on the distance and radial from a reference position given the
+     * position's lat and lon. The coordinates are assigned to an existing waypoint.
+     *
+     * @param lat       Latitude of the reference position in decimal degrees
+     * @param lon       Longitude of the reference position in decimal degrees
+     * @param dist      Distance from reference position in meters
+     * @param radial    Radial from reference position in degrees
+     * @param endWpt    Waypoint to which the coordinates are assigned
+     * @return          Waypoint based on distance and radial from reference position
+     */
+    public static Waypoint getRadWpt(double lat, double lon, double dist, double radial, Waypoint endWpt){
         try{
-            /** FORMULA
-             *  lat =asin(sin(lat1)*cos(d)+cos(lat1)*sin(d)*cos(tc))
-             *
-             *  dlon=atan2(sin(tc)*sin(d)*cos(lat1),cos(d)-sin(lat1)*sin(lat))
-             *  lon=mod( lon1 + dlon +pi,2*pi )-pi
-             *
-             */
+            return getRadWpt(toRadians(lon), sin(toRadians(lat)), cos(toRadians(lat)), dist, radial, endWpt);
+        }catch(Exception e){
+            return endWpt;
+        }
+    }
 
-            dist = dist / RADIUS_EARTH_FSX_M;
+    /**
+     * Radial position based on the reference position's lon in radians and the sine and cosine of the lat.
+     */
+    static Waypoint getRadWpt(double lonRad, double sinLat, double cosLat, double dist, double radial, Waypoint endWpt){
+        double lat, lon, dlon;
 
-            lat = asin((sin(toRadians(startWpt.getLat())) * cos(dist)) + (cos(toRadians(startWpt.getLat())) * sin(dist) * cos(toRadians(radial))));
+        /** FORMULA
+         *  lat =asin(sin(lat1)*cos(d)+cos(lat1)*sin(d)*cos(tc))
+         *
+         *  dlon=atan2(sin(tc)*sin(d)*cos(lat1),cos(d)-sin(lat1)*sin(lat))
+         *  lon=mod( lon1 + dlon +pi,2*pi )-pi
+         *
+         */
 
-            dlon = atan2(sin(toRadians(radial)) * sin(dist) * cos(toRadians(startWpt.getLat())), cos(dist) - (sin(toRadians(startWpt.getLat())) * sin(lat)));
-            lon = ((toRadians(startWpt.getLon()) + dlon + PI) % (2 * PI)) - PI;
+        dist = dist / RADIUS_EARTH_FSX_M;
 
-            endWpt.setLat(toDegrees(lat));
-            endWpt.setLon(toDegrees(lon));
+        lat = asin((sinLat * cos(dist)) + (cosLat * sin(dist) * cos(toRadians(radial))));
 
-            return endWpt;
-        }catch(Exception e){
-            return endWpt;
-        }
+        dlon = atan2(sin(toRadians(radial)) * sin(dist) * cosLat, cos(dist) - (sinLat * sin(lat)));
+        lon = ((lonRad + dlon + PI) % (2 * PI)) - PI;
+
+        endWpt.setLat(toDegrees(lat));
+        endWpt.setLon(toDegrees(lon));
+
+        return endWpt;
     }
 }
@@ -12,6 +12,54 @@ import static ftdis.fdpu.Config.*;
  * @version 0.1
  */
 public class PerfCalc {
+    // Number of lookup table intervals per percent of the value range of a curve
+    static final int CRV_STEPS = 16;
+
+    // Sigmoid, acceleration and deceleration curves per slope, null if the slope isn't defined
+    private static final Curve[] SIGMOID_CRVS = new Curve[951];
+    private static final Curve[] ACC_CRVS = new Curve[61];
+    private static final Curve[] DEC_CRVS = new Curve[36];
+
+    static {
+        // Sigmoid curves, base of the exponential function per slope
+        SIGMOID_CRVS[925] = Curve.sigmoid(925, 2.931568512);
+        SIGMOID_CRVS[950] = Curve.sigmoid(950, 2.0411743572);
+        SIGMOID_CRVS[1] = Curve.sigmoid(1, 1.7753639511);
+        SIGMOID_CRVS[2] = Curve.sigmoid(2, 1.6214832573);
+        SIGMOID_CRVS[5] = Curve.sigmoid(5, 1.3312550618);
+        SIGMOID_CRVS[10] = Curve.sigmoid(10, 1.2060383272);
+        SIGMOID_CRVS[15] = Curve.sigmoid(15, 1.1567306549);
+        SIGMOID_CRVS[20] = Curve.sigmoid(20, 1.1297507209);
+        SIGMOID_CRVS[22] = Curve.sigmoid(22, 1.1220784817);
+        SIGMOID_CRVS[25] = Curve.sigmoid(25, 1.1127066511);
+        SIGMOID_CRVS[30] = Curve.sigmoid(30, 1.1011005683);
+        SIGMOID_CRVS[35] = Curve.sigmoid(35, 1.0929162338);
+        SIGMOID_CRVS[40] = Curve.sigmoid(40, 1.0871679816);
+        SIGMOID_CRVS[45] = Curve.sigmoid(45, 1.0834337842);
+        SIGMOID_CRVS[50] = Curve.sigmoid(50, 1.0818420047);
+
+        // Acceleration curves
+        ACC_CRVS[2] = Curve.acc(2, 1.6197354377);
+        ACC_CRVS[5] = Curve.acc(5, 1.3279252240);
+        ACC_CRVS[10] = Curve.acc(10, 1.2015381168);
+        ACC_CRVS[15] = Curve.acc(15, 1.1514091555);
+        ACC_CRVS[20] = Curve.acc(20, 1.1236789900);
+        ACC_CRVS[25] = Curve.acc(25, 1.1057903460);
+        ACC_CRVS[35] = Curve.acc(35, 1.0838607950);
+        ACC_CRVS[45] = Curve.acc(45, 1.0718542203);
+        ACC_CRVS[50] = Curve.acc(50, 1.0669279229);
+        ACC_CRVS[55] = Curve.acc(55, 1.0629480360);
+        ACC_CRVS[60] = Curve.acc(60, 1.0596560229);
+
+        // Deceleration curves
+        DEC_CRVS[2] = Curve.dec(2, 1.6197353593);
+        DEC_CRVS[5] = Curve.dec(5, 1.3277650267);
+        DEC_CRVS[10] = Curve.dec(10, 1.2015668098);
+        DEC_CRVS[15] = Curve.dec(15, 1.1514057149);
+        DEC_CRVS[20] = Curve.dec(20, 1.1235881177);
+        DEC_CRVS[25] = Curve.dec(25, 1.1057500002);
+        DEC_CRVS[35] = Curve.dec(35, 1.0838598369);
+    }
 
     /**
      * This method realigns a given linear value to a custom sigmoid curve. The curve is characterized by an
@@ -20,6 +68,8 @@ public class PerfCalc {
      * which spans across a set interval of the overall range at the end of the curve to decrease the curve's
      * slope back to 0.
      *
+     * The curve adjustment factor is read from the precomputed curve of the slope, see the Curve class.
+     *
      * @param rngSize   Size of total value range
      * @param value     Linear value
      * @param slope     Curve 5,10,15,20,25,30,35 or 40 percent
@@ -27,86 +77,17 @@ public class PerfCalc {
      */
     public static double getSigmoidVal(double rngSize, double value, int slope){
         try{
-            double x, x1, x2, y, y1, y2, a, m, n, crvAdjustFct;
+            Curve crv;
 
             if(value == 0)
                 return 0;
 
-            // Set variables for exponential function
-            switch (slope) {
-                case 925:
-                    a = 2.931568512;
-                    break;
-                case 950:
-                    a =2.0411743572;
-                    break;
-                case 1:
-                    a = 1.7753639511;
-                    break;
-                case 2:
-                    a = 1.6214832573;
-                    break;
-                case 5:
-                    a = 1.3312550618;
-                    break;
-                case 10:
-                    a = 1.2060383272;
-                    break;
-                case 15:
-                    a = 1.1567306549;
-                    break;
-                case 20:
-                    a = 1.1297507209;
-                    break;
-                case 22:
-                    a = 1.1220784817;
-                    break;
-                case 25:
-                    a = 1.1127066511;
-                    break;
-                case 30:
-                    a = 1.1011005683;
-                    break;
-                case 35:
-                    a = 1.0929162338;
-                    break;
-                case 40:
-                    a = 1.0871679816;
-                    break;
-                case 45:
-                    a = 1.0834337842;
-                    break;
-                case 50:
-                    a = 1.0818420047;
-                    break;
-                default:
-                    return value;
-            }
-
-            // Calculate slope m and y-intercept n of linear function
-            x1 = slope;
-            y1 = pow(a, x1) - 1.0000;
-            x2 = 100 - slope;
-            y2 = 100 - (1 / pow(a,(x2 - 100)) - 1.0000);
+            // Unknown slopes leave the value unchanged
+            if(slope < 0 || slope >= SIGMOID_CRVS.length || (crv = SIGMOID_CRVS[slope]) == null)
+                return value;
 
-            m = (y2 - y1)/(x2 - x1);
-            n = y1 - m * x1;
-
-            // Calculate percent of x value in value range
-            x = abs(value) / abs(rngSize) * 100;
-
-            // Calculate curve adjustment factor
-            if(x <= slope){
-                y = pow(a,x) - 1.0000;
-            }else if(x >= 100 - slope){
-                y = 100 - (1 / pow(a,(x - 100)) - 1.0000);
-            }else{
-                y = m * x + n;
-            }
-
-            crvAdjustFct = y/x;
-
-            return value * crvAdjustFct;
+            // Apply curve adjustment factor at percent of x value in value range
+            return value * crv.getFct(abs(value) / abs(rngSize) * 100);
         }catch(Exception e){
             System.out.println(e.getMessage());
             return 0;
@@ -126,71 +107,15 @@ public class PerfCalc {
      */
     public static double getAccVal(double rngSize, double value, int slope){
         try{
-            double x, x1, x2, y, y1, y2, a, m, n, crvAdjustFct;
+            Curve crv;
 
             if(value == 0)
                 return 0;
 
-            switch (slope) {
-                case 2:
-                    a = 1.6197354377;
-                    break;
-                case 5:
-                    a = 1.3279252240;
-                    break;
-                case 10:
-                    a = 1.2015381168;
-                    break;
-                case 15:
-                    a = 1.1514091555;
-                    break;
-                case 20:
-                    a = 1.1236789900;
-                    break;
-                case 25:
-                    a = 1.1057903460;
-                    break;
-                case 35:
-                    a = 1.0838607950;
-                    break;
-                case 45:
-                    a = 1.0718542203;
-                    break;
-                case 50:
-                    a = 1.0669279229;
-                    break;
-                case 55:
-                    a = 1.0629480360;
-                    break;
-                case 60:
-                    a = 1.0596560229;
-                    break;
-                default:
-                    return value;
-            }
-
-            // Calculate slope m and y-intercept n of linear function
-            x1 = slope - 1;
-            y1 = pow(a, x1) - 1.0000;
-            x2 = 100;
-            y2 = 100;
+            if(slope < 0 || slope >= ACC_CRVS.length || (crv = ACC_CRVS[slope]) == null)
+                return value;
 
-            m = (y2 - y1)/(x2 - x1);
-            n = y1 - m * x1;
-
-            // Calculate percent of x value in value range
-            x = abs(value) / abs(rngSize) * 100;
-
-            // Calculate curve adjustment factor
-            if(x <= slope){
-                y = pow(a,x) - 1.0000;
-            }else{
-                y = m * x + n;
-            }
-
-            crvAdjustFct = y/x;
-
-            return value * crvAdjustFct;
+            return value * crv.getFct(abs(value) / abs(rngSize) * 100);
         }catch(Exception e){
             System.out.println(e.getMessage());
             return 0;
@@ -209,58 +134,15 @@ public class PerfCalc {
      */
     public static double getDecVal(double rngSize, double value, int slope){
         try{
-            double x, x1, x2, y, y1, y2, a, m, n, crvAdjustFct;
+            Curve crv;
 
             if(value == 0)
                 return 0;
 
-            switch (slope) {
-                case 2:
-                    a= 1.6197353593;
-                    break;
-                case 5:
-                    a = 1.3277650267;
-                    break;
-                case 10:
-                    a = 1.2015668098;
-                    break;
-                case 15:
-                    a = 1.1514057149;
-                    break;
-                case 20:
-                    a = 1.1235881177;
-                    break;
-                case 25:
-                    a = 1.1057500002;
-                    break;
-                case 35:
-                    a = 1.0838598369;
-                    break;
-                default:
-                    return value;
-            }
-
-            // Calculate slope m and y-intercept n of linear function
-            x1 = 0;
-            y1 = 0;
-            x2 = 100 - slope;
-            y2 = 100 - (1 / pow(a,(x2 - 100)) - 1.0000);
-
-            m = (y2 - y1)/(x2 - x1);
-            n = y1 - m * x1;
-
-            // Calculate percent of x value in value range
-            x = abs(value) / abs(rngSize) * 100;
+            if(slope < 0 || slope >= DEC_CRVS.length || (crv = DEC_CRVS[slope]) == null)
+                return value;
 
-            // Calculate curve adjustment factor
-            if(x >= 100 - slope)
-                y = 100 - (1 / pow(a,(x - 100)) - 1.0000);
-            else
-                y = m * x + n;
-
-            crvAdjustFct = y/x;
-
-            return value * crvAdjustFct;
+            return value * crv.getFct(abs(value) / abs(rngSize) * 100);
         }catch(Exception e){
             System.out.println(e.getMessage());
             return 0;
@@ -454,4 +336,149 @@ public class PerfCalc {
             return Double.NaN;
         }
     }
+
+    /**
+     * The nested Curve class holds the precomputed constants of a sigmoid, acceleration or deceleration curve of a
+     * given slope, i.e. the slope m and y-intercept n of the linear segment, and lookup tables of the curve
+     * adjustment factor y/x across the exponential initiation and termination segments of the curve.
+     *
+     * The tables hold the coefficients of a cubic Hermite polynomial per interval of 1/CRV_STEPS percent, based on
+     * the exact values and derivatives of the curve adjustment factor at both ends of the interval. Values outside
+     * of the value range of the curve are calculated exactly.
+     */
+    private static final class Curve {
+        private final double a, lnA, m, n, initEnd, termStart;
+        private final double[] initTbl, termTbl;
+
+        /**
+         * @param a         Base of the exponential function
+         * @param x1        x value of the start of the linear segment
+         * @param y1        y value of the start of the linear segment
+         * @param x2        x value of the end of the linear segment
+         * @param y2        y value of the end of the linear segment
+         * @param initEnd   Percent at which the initiation segment ends, negative infinity if none
+         * @param termStart Percent at which the termination segment starts, positive infinity if none
+         */
+        private Curve(double a, double x1, double y1, double x2, double y2, double initEnd, double termStart){
+            this.a = a;
+            this.lnA = log(a);
+            this.m = (y2 - y1)/(x2 - x1);
+            this.n = y1 - this.m * x1;
+            this.initEnd = initEnd;
+            this.termStart = termStart;
+
+            // Initiation segment from 0 to its end, termination segment from its start to 100 percent
+            this.initTbl = (initEnd > 0) ? createTbl(0, min(initEnd, 100), true) : null;
+            this.termTbl = (termStart < 100 && termStart >= min(initEnd, 100)) ? createTbl(termStart, 100, false) : null;
+        }
+
+        static Curve sigmoid(int slope, double a){
+            return new Curve(a, slope, pow(a, slope) - 1.0000, 100 - slope, 100 - (1 / pow(a, -slope) - 1.0000),
+                    slope, 100 - slope);
+        }
+
+        static Curve acc(int slope, double a){
+            return new Curve(a, slope - 1, pow(a, slope - 1) - 1.0000, 100, 100,
+                    slope, Double.POSITIVE_INFINITY);
+        }
+
+        static Curve dec(int slope, double a){
+            return new Curve(a, 0, 0, 100 - slope, 100 - (1 / pow(a, -slope) - 1.0000),
+                    Double.NEGATIVE_INFINITY, 100 - slope);
+        }
+
+        /**
+         * @param x Percent of x value in value range
+         * @return  Curve adjustment factor y/x
+         */
+        double getFct(double x){
+            double pos, t;
+            int k;
+
+            // Outside of the value range
+            if(!(x > 0 && x <= 100))
+                return calcFct(x);
+
+            if(x <= this.initEnd){
+                pos = x * CRV_STEPS;
+                k = min((int) pos, this.initTbl.length / 4 - 1);
+                t = pos - k;
+                k *= 4;
+                return this.initTbl[k] + t * (this.initTbl[k + 1] + t * (this.initTbl[k + 2] + t * this.initTbl[k + 3]));
+            }else if(x >= this.termStart){
+                pos = (x - this.termStart) * CRV_STEPS;
+                k = min((int) pos, this.termTbl.length / 4 - 1);
+                t = pos - k;
+                k *= 4;
+                return this.termTbl[k] + t * (this.termTbl[k + 1] + t * (this.termTbl[k + 2] + t * this.termTbl[k + 3]));
+            }else{
+                return (this.m * x + this.n) / x;
+            }
+        }
+
+        /**
+         * @param x Percent of x value in value range
+         * @return  Curve adjustment factor y/x, calculated exactly
+         */
+        double calcFct(double x){
+            double y;
+
+            if(x <= this.initEnd){
+                y = pow(this.a, x) - 1.0000;
+            }else if(x >= this.termStart){
+                y = 100 - (1 / pow(this.a, (x - 100)) - 1.0000);
+            }else{
+                y = this.m * x + this.n;
+            }
+
+            return y/x;
+        }
+
+        /**
+         * @param start Percent at which the table starts
+         * @param end   Percent at which the table ends
+         * @param init  True for the initiation segment, false for the termination segment
+         * @return      Hermite coefficients, four per interval
+         */
+        private double[] createTbl(double start, double end, boolean init){
+            int intervals = max(1, (int) ceil((end - start) * CRV_STEPS));
+            double[] tbl = new double[intervals * 4];
+            double h = 1.0 / CRV_STEPS, x0, x1, f0, f1, d0, d1;
+
+            for(int i = 0; i < intervals; i++){
+                x0 = start + i * h;
+                x1 = x0 + h;
+                f0 = init ? initFct(x0) : termFct(x0);
+                f1 = init ? initFct(x1) : termFct(x1);
+                d0 = init ? initDrv(x0) : termDrv(x0);
+                d1 = init ? initDrv(x1) : termDrv(x1);
+
+                tbl[i * 4] = f0;
+                tbl[i * 4 + 1] = h * d0;
+                tbl[i * 4 + 2] = 3 * (f1 - f0) - h * (2 * d0 + d1);
+                tbl[i * 4 + 3] = 2 * (f0 - f1) + h * (d0 + d1);
+            }
+
+            return tbl;
+        }
+
+        // Curve adjustment factor (a^x - 1)/x of the initiation segment and its derivative
+        private double initFct(double x){
+            return (x == 0) ? this.lnA : expm1(x * this.lnA) / x;
+        }
+
+        private double initDrv(double x){
+            return (x == 0) ? this.lnA * this.lnA / 2 : (this.lnA * x * exp(x * this.lnA) - expm1(x * this.lnA)) / (x * x);
+        }
+
+        // Curve adjustment factor (101 - a^(100 - x))/x of the termination segment and its derivative
+        private double termFct(double x){
+            return (101 - exp((100 - x) * this.lnA)) / x;
+        }
+
+        private double termDrv(double x){
+            double b = exp((100 - x) * this.lnA);
+            return (this.lnA * b * x - (101 - b)) / (x * x);
+        }
+    }
 }
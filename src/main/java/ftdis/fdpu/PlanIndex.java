@@ -0,0 +1,390 @@
+package ftdis.fdpu;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.*;
+
+import static ftdis.fdpu.StAXUtil.*;
+
+/**
+ * The Plan Index class holds the plans of a flight plan.xml, master plan.xml or event collection.xml file in memory.
+ * The file is read in a single forward pass, the waypoints are indexed by plan ID and waypoint list, i.e. Waypoints
+ * and Events, the events by plan ID and event type, i.e. chgAirspeed, chgAltitude and chgWeather. The lateral,
+ * velocity, vertical and weather plans of all flight phases load from the same index, instead of parsing the file
+ * for each plan and flight phase.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class PlanIndex {
+    public static final String CHG_AIRSPEED = "chgAirspeed", CHG_ALTITUDE = "chgAltitude", CHG_WEATHER = "chgWeather";
+    public static final String WAYPOINTS = "Waypoints", EVENTS = "Events";
+
+    private Map<Integer, Plan> plans;
+
+    /**
+     * Constructor, creates an empty index
+     */
+    PlanIndex(){
+        this.plans = new HashMap<Integer, Plan>();
+    }
+
+    /**
+     * Constructor, reads a flight plan.xml, master plan.xml or event collection.xml file
+     *
+     * @param fileName  The complete path and file name of the xml file
+     */
+    public PlanIndex(String fileName) throws Exception {
+        this();
+
+        try(InputStream in = new BufferedInputStream(new FileInputStream(fileName))){
+            XMLStreamReader reader = createReader(in);
+
+            try{
+                this.read(reader);
+            }finally{
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * This method reads the plans of an xml file in a single forward pass. Only the current plan, waypoint list,
+     * waypoint and event are held while reading, the document tree is not built.
+     *
+     * @param reader    Stream reader of the xml file
+     */
+    private void read(XMLStreamReader reader) throws Exception {
+        Integer planID = null;
+        String wptList = null, name;
+        Event event = null;
+        Waypoint waypoint = null;
+        Map<String, String> wptAttributes = null;
+        boolean latSet = false, lonSet = false;
+        int depth = 0;
+
+        while(reader.hasNext()){
+            int type = reader.next();
+
+            if(type == XMLStreamConstants.START_ELEMENT){
+                depth++;
+                name = reader.getLocalName();
+
+                if(depth == 2 && name.equalsIgnoreCase("Plan")){
+                    // Plan
+                    planID = Integer.parseInt(getAttributeValue(reader, "ID"));
+                    addPlan(planID);
+                }else if(planID == null){
+                    continue;
+                }else if(depth == 3 && name.equalsIgnoreCase("Event")){
+                    // Event of an event collection
+                    event = new Event(getAttributeValue(reader, "type"));
+                }else if(depth == 3){
+                    // Waypoint list of a plan, i.e. Waypoints or Events
+                    wptList = name;
+                }else if(name.equalsIgnoreCase("Waypoint") && (event != null || wptList != null)){
+                    waypoint = new Waypoint(Integer.parseInt(getAttributeValue(reader, "ID")));
+                    wptAttributes = (event == null) ? getAttributes(reader) : null;
+                    latSet = false;
+                    lonSet = false;
+                }else if(waypoint != null && name.equalsIgnoreCase("Latitude")){
+                    // Read element text, the reader moves to the end element
+                    if(!latSet && "dec".equalsIgnoreCase(reader.getAttributeValue(null, "unit"))){
+                        waypoint.setLat(Double.parseDouble(reader.getElementText()));
+                        latSet = true;
+                        depth--;
+                    }
+                }else if(waypoint != null && name.equalsIgnoreCase("Longitude")){
+                    if(!lonSet && "dec".equalsIgnoreCase(reader.getAttributeValue(null, "unit"))){
+                        waypoint.setLon(Double.parseDouble(reader.getElementText()));
+                        lonSet = true;
+                        depth--;
+                    }
+                }else if(event != null && name.equalsIgnoreCase("Var")){
+                    String unit = reader.getAttributeValue(null, "unit");
+                    String varType = getAttributeValue(reader, "type");
+
+                    event.addVar(varType, Double.parseDouble(reader.getElementText()), (unit != null) ? unit : "");
+                    depth--;
+                }
+            }else if(type == XMLStreamConstants.END_ELEMENT){
+                name = reader.getLocalName();
+
+                if(depth == 2 && name.equalsIgnoreCase("Plan")){
+                    planID = null;
+                }else if(planID != null && depth == 3){
+                    if(event != null)
+                        addEvent(planID, event);
+
+                    event = null;
+                    wptList = null;
+                }else if(waypoint != null && name.equalsIgnoreCase("Waypoint")){
+                    if(!latSet)
+                        throw new DOMUtilException("No node Latitude and attribute unit=dec found!");
+
+                    if(!lonSet)
+                        throw new DOMUtilException("No node Longitude and attribute unit=dec found!");
+
+                    if(event != null){
+                        // Waypoint 1 is the start, waypoint 2 the end point of the event
+                        if(waypoint.id == 1)
+                            event.startPt = waypoint;
+                        else if(waypoint.id == 2)
+                            event.endPt = waypoint;
+                    }else{
+                        addWpt(planID, wptList, waypoint, wptAttributes);
+                    }
+
+                    waypoint = null;
+                }
+
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * This method adds an empty plan to the index
+     *
+     * @param planID    ID of the plan
+     */
+    void addPlan(int planID){
+        if(!plans.containsKey(planID))
+            plans.put(planID, new Plan());
+    }
+
+    /**
+     * This method adds a waypoint to the waypoints list of a plan
+     *
+     * @param planID    ID of the plan
+     * @param wpt       The waypoint
+     */
+    void addWpt(int planID, Waypoint wpt){
+        addWpt(planID, WAYPOINTS, wpt, Collections.<String, String>emptyMap());
+    }
+
+    /**
+     * This method adds a waypoint and its xml attributes to a waypoint list of a plan
+     *
+     * @param planID        ID of the plan
+     * @param wptList       Name of the waypoint list, i.e. WAYPOINTS or EVENTS
+     * @param wpt           The waypoint
+     * @param attributes    The xml attributes of the waypoint, e.g. spd or timeOffset
+     */
+    void addWpt(int planID, String wptList, Waypoint wpt, Map<String, String> attributes){
+        String key = wptList.toLowerCase(Locale.ROOT);
+        Plan plan;
+
+        addPlan(planID);
+        plan = plans.get(planID);
+
+        if(!plan.wpts.containsKey(key)){
+            plan.wpts.put(key, new ArrayList<Waypoint>());
+            plan.wptAttributes.put(key, new ArrayList<Map<String, String>>());
+        }
+
+        plan.wpts.get(key).add(wpt);
+        plan.wptAttributes.get(key).add(attributes);
+    }
+
+    /**
+     * This method adds an event to a plan of the index
+     *
+     * @param planID    ID of the plan
+     * @param event     The event
+     */
+    void addEvent(int planID, Event event){
+        String key = event.type.toLowerCase(Locale.ROOT);
+        Plan plan;
+
+        addPlan(planID);
+        plan = plans.get(planID);
+
+        if(!plan.events.containsKey(key))
+            plan.events.put(key, new ArrayList<Event>());
+
+        plan.events.get(key).add(event);
+    }
+
+    /**
+     * @param planID    ID of the plan
+     * @return          True if the index contains the plan
+     */
+    public boolean hasPlan(int planID){
+        return plans.containsKey(planID);
+    }
+
+    /**
+     * @param planID    ID of the plan
+     * @return          The plan
+     */
+    private Plan getPlan(int planID) throws DOMUtilException {
+        if(!hasPlan(planID))
+            throw new DOMUtilException("No node Plan and attribute ID=" + planID + " found!");
+
+        return plans.get(planID);
+    }
+
+    /**
+     * This method returns copies of the waypoints of a plan, in the order of the xml file.
+     *
+     * @param planID    ID of the plan
+     * @return          The waypoints of the plan
+     */
+    public List<Waypoint> getWaypoints(int planID) throws DOMUtilException {
+        return getWaypoints(planID, WAYPOINTS);
+    }
+
+    /**
+     * This method returns copies of the waypoints of a waypoint list of a plan, in the order of the xml file.
+     *
+     * @param planID    ID of the plan
+     * @param wptList   Name of the waypoint list, i.e. WAYPOINTS or EVENTS
+     * @return          The waypoints, an empty list if the plan doesn't contain the waypoint list
+     */
+    public List<Waypoint> getWaypoints(int planID, String wptList) throws DOMUtilException {
+        List<Waypoint> wpts = new ArrayList<Waypoint>(), listWpts;
+
+        listWpts = getPlan(planID).wpts.get(wptList.toLowerCase(Locale.ROOT));
+
+        if(listWpts != null){
+            for(Waypoint wpt : listWpts){
+                Waypoint copy = new Waypoint(wpt.id);
+                copy.setLat(wpt.getLat());
+                copy.setLon(wpt.getLon());
+                wpts.add(copy);
+            }
+        }
+
+        return wpts;
+    }
+
+    /**
+     * This method returns the value of an xml attribute of a waypoint, e.g. spd or timeOffset.
+     *
+     * @param planID    ID of the plan
+     * @param wptList   Name of the waypoint list, i.e. WAYPOINTS or EVENTS
+     * @param wptPos    Position of the waypoint in the waypoint list
+     * @param attrName  Name of the attribute
+     * @return          The value of the attribute
+     */
+    public String getWptAttribute(int planID, String wptList, int wptPos, String attrName) throws DOMUtilException {
+        List<Map<String, String>> attributes = getPlan(planID).wptAttributes.get(wptList.toLowerCase(Locale.ROOT));
+        String attrVal = null;
+
+        if(attributes != null && wptPos >= 0 && wptPos < attributes.size())
+            attrVal = attributes.get(wptPos).get(attrName);
+
+        if(attrVal == null)
+            throw new DOMUtilException("Attribute " + attrName + " not found!");
+
+        return attrVal;
+    }
+
+    /**
+     * This method returns the events of a specific type of a plan, in the order of the xml file.
+     *
+     * @param planID    ID of the plan
+     * @param type      Type of the events, i.e. CHG_AIRSPEED, CHG_ALTITUDE or CHG_WEATHER
+     * @return          The events, an empty list if the plan doesn't contain events of the type
+     */
+    public List<Event> getEvents(int planID, String type) throws DOMUtilException {
+        List<Event> typeEvents = getPlan(planID).events.get(type.toLowerCase(Locale.ROOT));
+
+        return (typeEvents != null) ? Collections.unmodifiableList(typeEvents) : Collections.<Event>emptyList();
+    }
+
+    /**
+     * The Plan class holds the waypoint lists and events of a plan.
+     */
+    private static class Plan {
+        private Map<String, List<Waypoint>> wpts = new HashMap<String, List<Waypoint>>();
+        private Map<String, List<Map<String, String>>> wptAttributes = new HashMap<String, List<Map<String, String>>>();
+        private Map<String, List<Event>> events = new HashMap<String, List<Event>>();
+    }
+
+    /**
+     * The Event class holds the start and end points and the variables of an event, as defined in the event
+     * collection.xml file.
+     */
+    public static class Event {
+        private String type;
+        private Waypoint startPt, endPt;
+        private Map<String, Double> values;
+        private Map<String, String> units;
+
+        /**
+         * Constructor
+         *
+         * @param type  Type of the event, i.e. chgAirspeed, chgAltitude or chgWeather
+         */
+        Event(String type){
+            this.type = type;
+            this.values = new HashMap<String, Double>();
+            this.units = new HashMap<String, String>();
+        }
+
+        /**
+         * This method adds a variable to the event
+         *
+         * @param varType   Type of the variable, e.g. init or target
+         * @param value     Value of the variable
+         * @param unit      Unit of the variable, empty if not defined
+         */
+        void addVar(String varType, double value, String unit){
+            // Keep the first definition of a variable, same as the dom lookup
+            values.putIfAbsent(varType.toLowerCase(Locale.ROOT), value);
+            units.putIfAbsent(varType.toLowerCase(Locale.ROOT), unit);
+        }
+
+        /**
+         * @return Type of the event
+         */
+        public String getType(){
+            return this.type;
+        }
+
+        /**
+         * @return Start point of the event, null if not defined
+         */
+        public Waypoint getStartPt(){
+            return this.startPt;
+        }
+
+        /**
+         * @return End point of the event, null if not defined
+         */
+        public Waypoint getEndPt(){
+            return this.endPt;
+        }
+
+        /**
+         * @param varType   Type of the variable, e.g. init or target
+         * @return          Value of the variable
+         */
+        public double getVar(String varType) throws DOMUtilException {
+            Double value = values.get(varType.toLowerCase(Locale.ROOT));
+
+            if(value == null)
+                throw new DOMUtilException("No node Var and attribute type=" + varType + " found!");
+
+            return value;
+        }
+
+        /**
+         * @param varType   Type of the variable, e.g. init or target
+         * @return          Unit of the variable, empty if not defined
+         */
+        public String getUnit(String varType) throws DOMUtilException {
+            String unit = units.get(varType.toLowerCase(Locale.ROOT));
+
+            if(unit == null)
+                throw new DOMUtilException("No node Var and attribute type=" + varType + " found!");
+
+            return unit;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package ftdis.fdpu;
+
+/**
+ * The Position Context class holds the values that the aircraft's axis, control, engine and system models query
+ * for the aircraft's position in a processing cycle, i.e. the lateral, velocity and vertical segments, the along
+ * track distance, the distance to the end of the track, the airspeed, the altitude and the weather deviations.
+ *
+ * Each value is calculated once on first request and then reused by all models until the context is set to the
+ * next position. The values correspond 1:1 to the results of the underlying plan/track methods.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class PositionContext {
+    private Lateral lateral;
+    private Velocity velocity;
+    private Vertical vertical;
+    private Weather weather;
+    private Waypoint wpt;
+    private LateralSegment latSgmt;
+    private VelocitySegment velSgmt;
+    private VerticalSegment vertSgmt;
+    private int vertSgmtPos;
+    private double trackDist, distToEnd, course, vAs, alt, alpha, depAlt, destAlt, bankDev, pitchDev, altDev;
+
+    /**
+     * Constructor
+     *
+     * @param lateral   Reference to the lateral plan/track
+     * @param velocity  Reference to the velocity plan/track
+     * @param vertical  Reference to the vertical plan/track
+     * @param weather   Reference to the weather plan/track, optional
+     */
+    PositionContext(Lateral lateral, Velocity velocity, Vertical vertical, Weather weather){
+        this.lateral = lateral;
+        this.velocity = velocity;
+        this.vertical = vertical;
+        this.weather = weather;
+        this.depAlt = Double.NaN;
+        this.destAlt = Double.NaN;
+    }
+
+    /**
+     * This method sets the context to a new position and discards the values of the previous position.
+     *
+     * @param wpt   Position of the aircraft along the flight track
+     * @return      Reference to the context
+     */
+    public PositionContext set(Waypoint wpt){
+        this.wpt = wpt;
+        this.latSgmt = null;
+        this.velSgmt = null;
+        this.vertSgmt = null;
+        this.vertSgmtPos = -1;
+        this.trackDist = Double.NaN;
+        this.distToEnd = Double.NaN;
+        this.course = Double.NaN;
+        this.vAs = Double.NaN;
+        this.alt = Double.NaN;
+        this.alpha = Double.NaN;
+        this.bankDev = Double.NaN;
+        this.pitchDev = Double.NaN;
+        this.altDev = Double.NaN;
+        return this;
+    }
+
+    /**
+     * @return The position of the aircraft along the flight track
+     */
+    public Waypoint getWpt(){
+        return this.wpt;
+    }
+
+    /**
+     * @return The lateral segment at the position
+     */
+    public LateralSegment getLatSgmt(){
+        if(this.latSgmt == null)
+            this.latSgmt = lateral.getWptSgmt(this.wpt);
+        return this.latSgmt;
+    }
+
+    /**
+     * @return The velocity segment at the position
+     */
+    public VelocitySegment getVelSgmt(){
+        if(this.velSgmt == null)
+            this.velSgmt = velocity.getWptSgmt(this.wpt);
+        return this.velSgmt;
+    }
+
+    /**
+     * @return The vertical segment at the position
+     */
+    public VerticalSegment getVertSgmt(){
+        if(this.vertSgmt == null)
+            this.vertSgmt = vertical.getWptSgmt(this.wpt);
+        return this.vertSgmt;
+    }
+
+    /**
+     * @return The number of the vertical segment at the position, index starts with 0
+     */
+    public int getVertSgmtPos(){
+        if(this.vertSgmtPos < 0)
+            this.vertSgmtPos = vertical.getSgmtPos(this.getVertSgmt());
+        return this.vertSgmtPos;
+    }
+
+    /**
+     * @return The distance between the start waypoint of the lateral track and the position in meters
+     */
+    public double getTrackDist(){
+        if(Double.isNaN(this.trackDist))
+            this.trackDist = lateral.getDist(lateral.getStartWpt(), this.wpt);
+        return this.trackDist;
+    }
+
+    /**
+     * @return The distance between the position and the end waypoint of the lateral track in meters
+     */
+    public double getDistToEnd(){
+        if(Double.isNaN(this.distToEnd))
+            this.distToEnd = lateral.getDist(this.wpt, lateral.getEndWpt());
+        return this.distToEnd;
+    }
+
+    /**
+     * @return The course at the position in degrees
+     */
+    public double getCourse(){
+        if(Double.isNaN(this.course))
+            this.course = lateral.getCourseAtWpt(this.wpt);
+        return this.course;
+    }
+
+    /**
+     * @return The airspeed at the position in m/s
+     */
+    public double getVas(){
+        if(Double.isNaN(this.vAs))
+            this.vAs = velocity.getVasAtWpt(this.wpt);
+        return this.vAs;
+    }
+
+    /**
+     * @return The altitude at the position in meters
+     */
+    public double getAlt(){
+        if(Double.isNaN(this.alt))
+            this.alt = vertical.getAltAtWpt(this.wpt);
+        return this.alt;
+    }
+
+    /**
+     * @return The vertical angle at the position in radians
+     */
+    public double getAlpha(){
+        if(Double.isNaN(this.alpha))
+            this.alpha = vertical.getAlphaAtWpt(this.wpt);
+        return this.alpha;
+    }
+
+    /**
+     * @return The altitude at the start waypoint of the lateral track in meters
+     */
+    public double getDepAlt(){
+        if(Double.isNaN(this.depAlt))
+            this.depAlt = vertical.getAltAtWpt(lateral.getStartWpt());
+        return this.depAlt;
+    }
+
+    /**
+     * @return The altitude at the end waypoint of the lateral track in meters
+     */
+    public double getDestAlt(){
+        if(Double.isNaN(this.destAlt))
+            this.destAlt = vertical.getAltAtWpt(lateral.getEndWpt());
+        return this.destAlt;
+    }
+
+    /**
+     * @return The weather's effect on the bank angle at the position in degrees
+     */
+    public double getBankDev(){
+        if(Double.isNaN(this.bankDev))
+            this.bankDev = weather.getBankDeviationAtWpt(this.wpt);
+        return this.bankDev;
+    }
+
+    /**
+     * @return The weather's effect on the pitch angle at the position in degrees
+     */
+    public double getPitchDev(){
+        if(Double.isNaN(this.pitchDev))
+            this.pitchDev = weather.getPitchDeviationAtWpt(this.wpt);
+        return this.pitchDev;
+    }
+
+    /**
+     * @return The weather's effect on the altitude at the position in meters
+     */
+    public double getAltDev(){
+        if(Double.isNaN(this.altDev))
+            this.altDev = weather.getAltDeviationAtWpt(this.wpt);
+        return this.altDev;
+    }
+}
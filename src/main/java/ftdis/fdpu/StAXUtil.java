@@ -0,0 +1,82 @@
+package ftdis.fdpu;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The StAXUtil class contains a set of support methods for the streaming XML processing, i.e. reading an xml file in
+ * a single forward pass without building a document tree. Errors are reported with the same exceptions and messages
+ * as the DOMUtil methods.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class StAXUtil {
+    private static final XMLInputFactory factory = createFactory();
+
+    /**
+     * @return Input factory for coalesced text events, without DTD and external entity processing
+     */
+    private static XMLInputFactory createFactory(){
+        XMLInputFactory xmlFactory = XMLInputFactory.newInstance();
+
+        xmlFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        xmlFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        xmlFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+
+        return xmlFactory;
+    }
+
+    /**
+     * The method creates a stream reader for an xml input stream.
+     *
+     * @param in    Input stream of the xml file
+     * @return      The stream reader
+     */
+    public static XMLStreamReader createReader(InputStream in) throws XMLStreamException {
+        synchronized(factory){
+            return factory.createXMLStreamReader(in);
+        }
+    }
+
+    /**
+     * The method returns the value of an attribute of the current start element.
+     *
+     * @param reader    Stream reader positioned at a start element
+     * @param attrName  The name of the attribute
+     * @return          The value of the attribute
+     */
+    public static String getAttributeValue(XMLStreamReader reader, String attrName) throws DOMUtilException {
+        String attrVal = reader.getAttributeValue(null, attrName);
+
+        if(attrVal == null)
+            throw new DOMUtilException("Attribute " + attrName + " not found!");
+
+        return attrVal;
+    }
+
+    /**
+     * The method returns all attributes of the current start element.
+     *
+     * @param reader    Stream reader positioned at a start element
+     * @return          Attribute names and values, an empty map if the element has no attributes
+     */
+    public static Map<String, String> getAttributes(XMLStreamReader reader){
+        Map<String, String> attributes;
+
+        if(reader.getAttributeCount() == 0)
+            return Collections.emptyMap();
+
+        attributes = new HashMap<String, String>(reader.getAttributeCount() * 2);
+
+        for(int a = 0; a < reader.getAttributeCount(); a++)
+            attributes.put(reader.getAttributeLocalName(a), reader.getAttributeValue(a));
+
+        return attributes;
+    }
+}
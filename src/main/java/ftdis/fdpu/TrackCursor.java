@@ -0,0 +1,304 @@
+package ftdis.fdpu;
+
+import static java.lang.Math.*;
+
+/**
+ * The Track Cursor class represents the position of an object moving along the lateral track. The cursor
+ * remembers the current lateral, velocity, vertical and weather segments as well as the along track distance,
+ * so that sequential movements along the track don't require a segment search, i.e. the cost per cycle
+ * doesn't increase with the number of segments.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class TrackCursor {
+    private LateralTrack lateral;
+    private Velocity velocity;
+    private Vertical vertical;
+    private Weather weather;
+    private double[] velStartDist, velEndDist, vertStartDist, wxStartDist;
+    private double trackLn, dist;
+    private int latSgmt, velSgmt, vertSgmt, wxSgmt;
+    private Waypoint pos;
+
+    /**
+     * Constructor(s)
+     *
+     * @param latTrack  Reference to the lateral track
+     * @param velTrack  Reference to the velocity track
+     * @param vertTrack Reference to the vertical track, optional
+     * @param wxTrack   Reference to the weather track, optional
+     */
+    TrackCursor(LateralTrack latTrack, Velocity velTrack, Vertical vertTrack, Weather wxTrack){
+        this.lateral = latTrack;
+        this.velocity = velTrack;
+        this.vertical = vertTrack;
+        this.weather = wxTrack;
+        this.index();
+        this.reset();
+    }
+
+    TrackCursor(LateralTrack latTrack, Velocity velTrack){
+        this(latTrack, velTrack, null, null);
+    }
+
+    /**
+     * This method calculates the along track distances of the start and end points of the velocity, vertical and
+     * weather segments.
+     */
+    private void index(){
+        try{
+            this.trackLn = lateral.getWptDist(lateral.getEndWpt());
+
+            if(velocity != null){
+                velStartDist = new double[velocity.getSgmtCount()];
+                velEndDist = new double[velocity.getSgmtCount()];
+
+                for(int s = 0; s < velocity.getSgmtCount(); s++){
+                    velStartDist[s] = lateral.getWptDist(velocity.getSgmt(s).getStartPt());
+                    velEndDist[s] = lateral.getWptDist(velocity.getSgmt(s).getEndPt());
+                }
+            }
+
+            if(vertical != null){
+                vertStartDist = new double[vertical.getSgmtCount()];
+
+                for(int s = 0; s < vertical.getSgmtCount(); s++)
+                    vertStartDist[s] = lateral.getWptDist(vertical.getSgmt(s).getStartPt());
+            }
+
+            if(weather != null){
+                wxStartDist = new double[weather.getSgmtCount()];
+
+                for(int s = 0; s < weather.getSgmtCount(); s++)
+                    wxStartDist[s] = lateral.getWptDist(weather.getSgmt(s).getStartPt());
+            }
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method moves the cursor back to the start waypoint of the lateral track.
+     */
+    public void reset(){
+        try{
+            this.dist = 0;
+            this.latSgmt = 0;
+            this.velSgmt = 0;
+            this.vertSgmt = 0;
+            this.wxSgmt = 0;
+            this.pos = lateral.getStartWpt();
+            this.moveSgmts();
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method moves the cursor to a specific along track distance, measured from the start waypoint of
+     * the lateral track. Distances beyond the bounds of the track move the cursor to the start/end waypoint.
+     *
+     * @param trackDist Along track distance in meters
+     * @return          The waypoint at the cursor's new position
+     */
+    public Waypoint moveTo(double trackDist){
+        try{
+            LateralSegment thisSgmt;
+
+            if(trackDist <= 0){
+                this.reset();
+                return this.pos;
+            }
+
+            if(trackDist >= trackLn){
+                this.dist = trackLn;
+                this.latSgmt = lateral.getSgmtCount() - 1;
+                this.pos = lateral.getEndWpt();
+            }else{
+                this.latSgmt = lateral.getSgmtAtDist(trackDist, this.latSgmt);
+                this.pos = lateral.getWptAtDist(trackDist, this.latSgmt);
+
+                // Measure the along track distance of the new position, i.e. in line with the lateral track's getDist method
+                thisSgmt = lateral.getSgmt(this.latSgmt);
+                this.dist = lateral.getSgmtStartDist(this.latSgmt) + thisSgmt.getDist(thisSgmt.getStartPt(), this.pos);
+            }
+
+            this.moveSgmts();
+            return this.pos;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * This method moves the cursor by a specific distance along the track.
+     *
+     * @param dist  Distance in meters, negative values move the cursor backwards
+     * @return      The waypoint at the cursor's new position
+     */
+    public Waypoint moveBy(double dist){
+        return this.moveTo(this.dist + dist);
+    }
+
+    /**
+     * This method moves the cursor by the distance an object travels along the velocity track in a given time.
+     *
+     * @param time  Time in seconds
+     * @return      The waypoint at the cursor's new position
+     */
+    public Waypoint moveByTime(double time){
+        return this.moveTo(this.dist + this.getDist(time));
+    }
+
+    /**
+     * This method calculates the distance an object travels along the velocity track in a given time, starting
+     * at the cursor's position. The calculation corresponds to the velocity plan/track's getDist method, but
+     * starts at the cursor's velocity segment rather than searching it.
+     *
+     * @param time  Time in seconds
+     * @return      The distance traveled in meters
+     */
+    public double getDist(double time){
+        try{
+            VelocitySegment thisSgmt;
+            double d, t, vAsi, vAsf, a, totalDist = 0.0, totalT = 0.0;
+            boolean endPointReached = false;
+            int s = this.velSgmt;
+
+            // Moving backwards isn't covered by the cursor
+            if(time < 0)
+                return velocity.getDist(this.pos, time);
+
+            // Loop through segments until time parameter has been reached
+            while(!endPointReached && s < velocity.getSgmtCount()){
+                thisSgmt = velocity.getSgmt(s);
+
+                // Get parameters for this segment
+                if(s == this.velSgmt && this.dist >= velStartDist[s]){
+                    vAsi = thisSgmt.getVas(this.dist - velStartDist[s]);
+                    vAsf = thisSgmt.getVasf();
+                    d = velEndDist[s] - this.dist;
+                }else{
+                    vAsi = thisSgmt.getVasi();
+                    vAsf = thisSgmt.getVasf();
+                    d = velEndDist[s] - velStartDist[s];
+                }
+
+                // Calculate total time required to complete this segment
+                a = thisSgmt.getAcc();
+
+                if(a != 0)
+                    t = abs((vAsf - vAsi)/a);
+                else
+                    t = d / vAsi;
+
+                // Check if total time t , i.e. end point, has been reached
+                if((totalT + t) > time){
+                    endPointReached = true;
+                    t = time - totalT;
+                    d = (vAsi * t) + ((a / 2) * pow(t,2));
+                }else if(s == velocity.getSgmtCount() - 1){
+                    endPointReached = true;
+                    d = (vAsi * t) + ((a / 2) * pow(t,2));
+                }else{
+                    s++;
+                }
+
+                totalT += t;
+                totalDist += d;
+            }
+            return totalDist;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * This method moves the velocity, vertical and weather segments to the cursor's along track distance.
+     */
+    private void moveSgmts(){
+        if(velStartDist != null)
+            this.velSgmt = findSgmt(velStartDist, this.dist, this.velSgmt);
+        if(vertStartDist != null)
+            this.vertSgmt = findSgmt(vertStartDist, this.dist, this.vertSgmt);
+        if(wxStartDist != null)
+            this.wxSgmt = findSgmt(wxStartDist, this.dist, this.wxSgmt);
+    }
+
+    /**
+     * This method returns the last segment starting at or before a specific along track distance. The search
+     * starts at a given segment and moves forwards/backwards.
+     *
+     * @param startDist Along track distances of the segments' start points
+     * @param dist      Along track distance in meters
+     * @param sgmt      Number of the segment to start the search from
+     * @return          The number of the segment, index starts with 0
+     */
+    private static int findSgmt(double[] startDist, double dist, int sgmt){
+        int s = max(0, min(sgmt, startDist.length - 1));
+
+        while(s < startDist.length - 1 && dist >= startDist[s + 1])
+            s++;
+        while(s > 0 && dist < startDist[s])
+            s--;
+
+        return s;
+    }
+
+    /**
+     * @return The along track distance of the cursor in meters, measured from the start waypoint of the track
+     */
+    public double getDist(){
+        return this.dist;
+    }
+
+    /**
+     * @return The waypoint at the cursor's position
+     */
+    public Waypoint getPos(){
+        return this.pos;
+    }
+
+    /**
+     * @return The airspeed at the cursor's position in m/s
+     */
+    public double getVas(){
+        try{
+            return velocity.getSgmt(this.velSgmt).getVas(this.dist - velStartDist[this.velSgmt]);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * @return The lateral segment at the cursor's position
+     */
+    public LateralSegment getLatSgmt(){
+        return lateral.getSgmt(this.latSgmt);
+    }
+
+    /**
+     * @return The velocity segment at the cursor's position
+     */
+    public VelocitySegment getVelSgmt(){
+        return velocity.getSgmt(this.velSgmt);
+    }
+
+    /**
+     * @return The vertical segment at the cursor's position
+     */
+    public VerticalSegment getVertSgmt(){
+        return (vertical != null) ? vertical.getSgmt(this.vertSgmt) : null;
+    }
+
+    /**
+     * @return The weather segment at the cursor's position
+     */
+    public WeatherSegment getWxSgmt(){
+        return (weather != null) ? weather.getSgmt(this.wxSgmt) : null;
+    }
+}
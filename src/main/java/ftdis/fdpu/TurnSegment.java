@@ -354,7 +354,7 @@ public class TurnSegment implements LateralSegment {
 
             // transform x,y offsets of intermediate waypoint to lat, long coordinates
             latitude = yOffset / NavCalc.RADIUS_EARTH_FSX_M;
-            longitude = xOffset / (NavCalc.RADIUS_EARTH_FSX_M * cos(toRadians(this.getStartPt().getLat())));
+            longitude = xOffset / (NavCalc.RADIUS_EARTH_FSX_M * this.getStartPt().getCosLat());
             latitude = this.getStartPt().getLat() + toDegrees(latitude);
             longitude = this.getStartPt().getLon() + toDegrees(longitude);
 
@@ -369,6 +369,69 @@ public class TurnSegment implements LateralSegment {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The intermediate positions are calculated in line with the getItmWpt method, with the turn radius, course
+     * change and the position of the turn initiation point calculated once for all distances.
+     */
+    public void getItmPos(double[] dist, double startDist, double[] lat, double[] lon, double[] course, int from, int to){
+        try{
+            Waypoint startPt = this.getStartPt(), endPt = this.getEndPt();
+            double radius, crsChg, crsStart, sgmtDist, courseOffset, xTi, yTi, d, courseChange, wptCourse, xWpt, yWpt;
+
+            // Segment invariants
+            radius = this.getRadius();
+            crsChg = this.getCourseChange();
+            crsStart = this.getCourseStart();
+            sgmtDist = this.getDist(startPt, endPt);
+
+            if(crsChg > 0)
+                courseOffset = -90;
+            else
+                courseOffset = 90;
+
+            xTi = sin(toRadians(crsStart + courseOffset)) * radius;
+            yTi = cos(toRadians(crsStart + courseOffset)) * radius;
+
+            for(int i = from; i < to; i++){
+                d = dist[i] - startDist;
+
+                // Limit distance to start/end point
+                if(d < 0)
+                    d = 0;
+                if(d > sgmtDist)
+                    d = sgmtDist;
+
+                // Calculate course at intermediate position
+                courseChange = toDegrees(d / radius);
+
+                if(crsChg < 0)
+                    courseChange = courseChange * -1;
+
+                wptCourse = NavCalc.getNewCourse(crsStart,courseChange);
+
+                if(course != null)
+                    course[i] = wptCourse;
+
+                if(d == sgmtDist){
+                    lat[i] = endPt.getLat();
+                    lon[i] = endPt.getLon();
+                    continue;
+                }
+
+                // Determine x,y coordinates and transform x,y offsets to lat, long coordinates
+                xWpt = sin(toRadians(wptCourse + courseOffset)) * radius;
+                yWpt = cos(toRadians(wptCourse + courseOffset)) * radius;
+
+                lat[i] = startPt.getLat() + toDegrees((yWpt - yTi) / NavCalc.RADIUS_EARTH_FSX_M);
+                lon[i] = startPt.getLon() + toDegrees((xWpt - xTi) / (NavCalc.RADIUS_EARTH_FSX_M * startPt.getCosLat()));
+            }
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
     /**
      * This method calculates and returns the error between a random waypoint and the lateral flight plan
      * of the turn segment.
@@ -530,7 +593,7 @@ public class TurnSegment implements LateralSegment {
 
             // invert x,y offsets for turn initiation point to determine center of circle and lat, long coordinates
             ctrLat = (yTi * -1) / NavCalc.RADIUS_EARTH_FSX_M;
-            ctrLon = (xTi * -1) / (NavCalc.RADIUS_EARTH_FSX_M * cos(toRadians(this.getStartPt().getLat())));
+            ctrLon = (xTi * -1) / (NavCalc.RADIUS_EARTH_FSX_M * this.getStartPt().getCosLat());
             ctrPoint.setLat(this.getStartPt().getLat() + toDegrees(ctrLat));
             ctrPoint.setLon(this.getStartPt().getLon() + toDegrees(ctrLon));
 
@@ -1,20 +1,10 @@
 package ftdis.fdpu;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
 import static ftdis.fdpu.Config.FLT_PROC_CYCLE_LN;
 import static ftdis.fdpu.Config.SPD_TAXI;
-import static ftdis.fdpu.DOMUtil.*;
-import static ftdis.fdpu.DOMUtil.findNode;
-import static ftdis.fdpu.DOMUtil.getElementValue;
 import static java.lang.Math.*;
 
 /**
@@ -30,6 +20,8 @@ public class VelocityPlan implements Velocity{
     protected Lateral lateral;
     private List<EventChgAirspeed> events;
     protected List<VelocitySegment> velocitySegments;
+    protected VelocityProfile velProfile;
+    protected IntervalIndex sgmtIndex;
 
     /**
      * Constructor(s)
@@ -60,6 +52,8 @@ public class VelocityPlan implements Velocity{
      */
     public void addSgmt(VelocitySegment sgmt){
         this.velocitySegments.add(sgmt);
+        this.velProfile = null;
+        this.sgmtIndex = null;
     }
 
     /**
@@ -81,10 +75,16 @@ public class VelocityPlan implements Velocity{
      */
     public VelocitySegment getWptSgmt(Waypoint wpt){
         try{
-            // loop through each segment and calculate track error
             int sgmt, i = 0;
             double startDist,endDist,smlst;
-            double[] planError = new double[this.velocitySegments.size()];
+            double[] planError;
+
+            // find segment in interval index
+            if(this.sgmtIndex != null && (sgmt = this.sgmtIndex.getWptSgmtPos(wpt)) >= 0)
+                return this.velocitySegments.get(sgmt);
+
+            // loop through each segment and calculate track error
+            planError = new double[this.velocitySegments.size()];
 
             for(VelocitySegment velSgmt : this.velocitySegments){
                 startDist = lateral.getDist(velSgmt.getStartPt(), wpt);
@@ -122,6 +122,8 @@ public class VelocityPlan implements Velocity{
      * @return          The position of the segment in the list, index starts at 0
      */
     public int getSgmtPos(VelocitySegment sgmt){
+        if(this.sgmtIndex != null)
+            return this.sgmtIndex.getSgmtPos(sgmt);
         return ListUtil.getListItemNum(sgmt, velocitySegments);
     }
 
@@ -172,6 +174,10 @@ public class VelocityPlan implements Velocity{
             // Find position of start segment
             s = this.getSgmtPos(this.getWptSgmt(wpt));
 
+            // Use velocity profile if available
+            if(this.velProfile != null && time >= 0)
+                return this.velProfile.getDist(this, s, wpt, time);
+
             // Loop through segments until time parameter has been reached
             while(!endPointReached && ListUtil.inBound(s,this.velocitySegments)) {
                 thisSgmt = this.velocitySegments.get(s);
@@ -281,6 +287,10 @@ public class VelocityPlan implements Velocity{
                     return vAsi;
             }
 
+            // Use velocity profile if available
+            if(this.velProfile != null)
+                return this.velProfile.getVasu(this, s, getSgmtPos(endSgmt), wpt1, wpt2);
+
             // In case start and end waypoints are in different segments, loop through each segment and accumulate distance
             while(!endPointReached && ListUtil.inBound(s,this.velocitySegments)){
                 thisSgmt = this.velocitySegments.get(s);
@@ -337,6 +347,37 @@ public class VelocityPlan implements Velocity{
         }
     }
 
+    /**
+     * This method builds the interval index, i.e. the along track distances of the start and end points of each
+     * velocity segment, which is used to find the corresponding segment of a waypoint. The index must be rebuilt in
+     * case the velocity segments are modified.
+     */
+    public void buildIndex(){
+        try{
+            IntervalIndex idx = new IntervalIndex(this.lateral, this.velocitySegments.size());
+
+            for(VelocitySegment velSgmt : this.velocitySegments)
+                idx.add(velSgmt, velSgmt.getStartPt(), velSgmt.getEndPt());
+
+            this.sgmtIndex = idx;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method builds the velocity profile, i.e. the lookup tables of cumulative time and distance per segment,
+     * which are used for the time/distance and uniform airspeed calculations. The profile must be rebuilt in case
+     * the velocity segments are modified.
+     */
+    public void buildProfile(){
+        try{
+            this.velProfile = VelocityProfile.build(this);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
     /**
      * This method loads the velocity events from  an external xml file, creating and adding corresponding
      * Change Airspeed events to the velocity plan
@@ -346,85 +387,50 @@ public class VelocityPlan implements Velocity{
      */
     public void load(String fileName, int planID){
         try{
-            Waypoint waypoint;
-            EventChgAirspeed chgAirspeed;
-
-            if(fileName != null && !fileName.isEmpty()){
-                // create Velocity Plan document and parse xml file
-                DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                Document eventCollectionXML = dBuilder.parse(new File(fileName));
-
-                // normalize
-                eventCollectionXML.getDocumentElement().normalize();
-
-                // Get flight plan and loop through corresponding change airspeed events
-                Node plan = findNode(eventCollectionXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(planID));
-                NodeList xmlEvents = plan.getChildNodes();
-
-                for (int n = 0; n < xmlEvents.getLength(); n++) {
-                    Node node = xmlEvents.item(n);
-                    if (node.getNodeName().equalsIgnoreCase("Event")) {
-                        //check for attribute name and value
-                        if (getAttributeValue(node, "type").equalsIgnoreCase("chgAirspeed")) {
-                            chgAirspeed = new EventChgAirspeed();
-                            chgAirspeed.assign(lateral);
-
-                            // Get Waypoints
-                            Node waypoints = findNode(node.getChildNodes(),"Waypoints");
-                            List<Node> wptList = getChildElementsByTagName(waypoints, "Waypoint");
-
-                            for(Node wptNode : wptList){
-                                // get reference to new waypoint and set latitude and longitude coordinates
-                                waypoint = new Waypoint((Integer.parseInt(getAttributeValue(wptNode,"ID"))));
-
-                                waypoint.setLat(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(wptNode.getChildNodes(), "Latitude", "unit", "dec"))));
-
-                                waypoint.setLon(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(wptNode.getChildNodes(), "Longitude", "unit", "dec"))));
-
-                                if(waypoint.id == 1)
-                                   chgAirspeed.setStartPt(waypoint.getLat(),waypoint.getLon());
-                                else if(waypoint.id == 2)
-                                    chgAirspeed.setEndPt(waypoint.getLat(), waypoint.getLon());
-                            }
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
 
-                            // Get Variables
-                             Node variables = findNode(node.getChildNodes(),"Variables");
+    /**
+     * This method loads the change airspeed events of a plan from a parsed event collection xml file, creating
+     * and adding corresponding Change Airspeed events to the velocity plan
+     *
+     * @param index     Plan index of the event collection xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
+        try{
+            EventChgAirspeed chgAirspeed;
 
-                            chgAirspeed.setvAsi(Double.parseDouble(
-                                    getElementValue(
-                                            findNode(variables.getChildNodes(), "Var", "type", "init"))));
+            for(PlanIndex.Event event : index.getEvents(planID, PlanIndex.CHG_AIRSPEED)){
+                chgAirspeed = new EventChgAirspeed();
+                chgAirspeed.assign(lateral);
 
-                            if(getAttributeValue(findNode(variables.getChildNodes(), "Var", "type", "init"), "unit").equalsIgnoreCase("kts"))
-                                chgAirspeed.setvAsi(PerfCalc.convertKts(chgAirspeed.getVAsi(),"kts"));
+                if(event.getStartPt() != null)
+                    chgAirspeed.setStartPt(event.getStartPt().getLat(), event.getStartPt().getLon());
 
-                            chgAirspeed.setvAsf(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(variables.getChildNodes(), "Var", "type", "target"))));
+                if(event.getEndPt() != null)
+                    chgAirspeed.setEndPt(event.getEndPt().getLat(), event.getEndPt().getLon());
 
-                            if(getAttributeValue(findNode(variables.getChildNodes(), "Var", "type", "target"),"unit").equalsIgnoreCase("kts"))
-                                chgAirspeed.setvAsf(PerfCalc.convertKts(chgAirspeed.getVAsf(), "kts"));
+                chgAirspeed.setvAsi(event.getVar("init"));
 
-                            chgAirspeed.setAcc(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(variables.getChildNodes(), "Var", "type", "acceleration"))));
+                if(event.getUnit("init").equalsIgnoreCase("kts"))
+                    chgAirspeed.setvAsi(PerfCalc.convertKts(chgAirspeed.getVAsi(),"kts"));
 
-                            chgAirspeed.setOffset(Double.parseDouble(
-                                    getElementValue(
-                                            findNode(variables.getChildNodes(), "Var", "type", "timeOffset"))));
+                chgAirspeed.setvAsf(event.getVar("target"));
 
-                            // Validate event and add to velocity plan
-                            chgAirspeed.validate();
+                if(event.getUnit("target").equalsIgnoreCase("kts"))
+                    chgAirspeed.setvAsf(PerfCalc.convertKts(chgAirspeed.getVAsf(), "kts"));
 
-                            this.events.add(chgAirspeed);
-                        }
-                    }
-                }
+                chgAirspeed.setAcc(event.getVar("acceleration"));
+                chgAirspeed.setOffset(event.getVar("timeOffset"));
 
+                // Validate event and add to velocity plan
+                chgAirspeed.validate();
+                this.events.add(chgAirspeed);
             }
         }catch(Exception e){
             System.out.println(e.getMessage());
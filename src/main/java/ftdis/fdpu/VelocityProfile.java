@@ -0,0 +1,231 @@
+package ftdis.fdpu;
+
+import java.util.List;
+
+import static java.lang.Math.*;
+
+/**
+ * The Velocity Profile class holds the lookup tables of a velocity plan/track, i.e. the start and end airspeeds,
+ * the acceleration, as well as the cumulative time and distance at the start of each velocity segment. The profile
+ * replaces the segment by segment iteration of the time/distance and uniform airspeed calculations by a binary
+ * search and the corresponding kinematic equations.
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class VelocityProfile {
+    private int sgmtCount;
+    private double[] vAsi, vAsf, acc, sgmtDist, sgmtTime, vasuDist, vasuTime;
+    private double[] startTime, startDist, vasuStartTime, vasuStartDist;
+    private boolean timeSearchable, vasuSummable;
+
+    /**
+     * Constructor
+     */
+    private VelocityProfile(int sgmtCount){
+        this.sgmtCount = sgmtCount;
+        this.vAsi = new double[sgmtCount];
+        this.vAsf = new double[sgmtCount];
+        this.acc = new double[sgmtCount];
+        this.sgmtDist = new double[sgmtCount];
+        this.sgmtTime = new double[sgmtCount];
+        this.vasuDist = new double[sgmtCount];
+        this.vasuTime = new double[sgmtCount];
+        this.startTime = new double[sgmtCount + 1];
+        this.startDist = new double[sgmtCount + 1];
+        this.vasuStartTime = new double[sgmtCount + 1];
+        this.vasuStartDist = new double[sgmtCount + 1];
+    }
+
+    /**
+     * This method builds the velocity profile of a velocity plan/track. The time required to complete each segment
+     * is calculated in line with the velocity plan's getDist and getVasu methods respectively.
+     *
+     * @param velPlan   Reference to the velocity plan/track
+     * @return          The velocity profile
+     */
+    static VelocityProfile build(VelocityPlan velPlan){
+        List<VelocitySegment> velSegments = velPlan.velocitySegments;
+        VelocityProfile profile = new VelocityProfile(velSegments.size());
+        VelocitySegment thisSgmt;
+
+        profile.timeSearchable = true;
+        profile.vasuSummable = true;
+
+        for(int s = 0; s < velSegments.size(); s++){
+            thisSgmt = velSegments.get(s);
+
+            profile.vAsi[s] = thisSgmt.getVasi();
+            profile.vAsf[s] = thisSgmt.getVasf();
+            profile.acc[s] = thisSgmt.getAcc();
+            profile.sgmtDist[s] = velPlan.lateral.getDist(thisSgmt.getStartPt(), thisSgmt.getEndPt());
+
+            // Time required to complete the segment, as per getDist
+            if(profile.acc[s] != 0)
+                profile.sgmtTime[s] = abs((profile.vAsf[s] - profile.vAsi[s]) / profile.acc[s]);
+            else
+                profile.sgmtTime[s] = profile.sgmtDist[s] / profile.vAsi[s];
+
+            // Time required to complete the segment, as per getVasu
+            profile.vasuDist[s] = thisSgmt.getDist();
+
+            if(profile.vAsi[s] != profile.vAsf[s])
+                profile.vasuTime[s] = (profile.vAsf[s] - profile.vAsi[s]) / profile.acc[s];
+            else
+                profile.vasuTime[s] = profile.vasuDist[s] / profile.vAsi[s];
+
+            profile.startTime[s + 1] = profile.startTime[s] + profile.sgmtTime[s];
+            profile.startDist[s + 1] = profile.startDist[s] + profile.sgmtDist[s];
+            profile.vasuStartTime[s + 1] = profile.vasuStartTime[s] + profile.vasuTime[s];
+            profile.vasuStartDist[s + 1] = profile.vasuStartDist[s] + profile.vasuDist[s];
+
+            // The cumulative time must be monotonic for the binary search
+            if(!(profile.sgmtTime[s] >= 0) || Double.isInfinite(profile.sgmtTime[s]) || Double.isNaN(profile.sgmtDist[s]))
+                profile.timeSearchable = false;
+
+            if(Double.isNaN(profile.vasuTime[s]) || Double.isInfinite(profile.vasuTime[s]) || Double.isNaN(profile.vasuDist[s]) || Double.isInfinite(profile.vasuDist[s]))
+                profile.vasuSummable = false;
+        }
+
+        return profile;
+    }
+
+    /**
+     * This method calculates the total distance an object travels along the velocity plan/track in a given
+     * time, starting at a waypoint positioned in a specific segment.
+     *
+     * @param velPlan   Reference to the velocity plan/track
+     * @param sgmt      Number of the velocity segment of the start waypoint
+     * @param wpt       Start waypoint on the flight plan/track
+     * @param time      Total time traveled in seconds, must be positive
+     * @return          The distance traveled in meters
+     */
+    double getDist(VelocityPlan velPlan, int sgmt, Waypoint wpt, double time){
+        VelocitySegment thisSgmt = velPlan.velocitySegments.get(sgmt);
+        double d, t, vAsi, vAsf, a, wptDist, totalT, totalDist, target;
+        int k, lo, hi, mid;
+
+        // Get parameters for the start segment
+        wptDist = velPlan.lateral.getDist(thisSgmt.getStartPt(), wpt);
+
+        if(wptDist >= 0){
+            vAsi = thisSgmt.getVas(wptDist);
+            vAsf = this.vAsf[sgmt];
+            d = velPlan.lateral.getDist(wpt, thisSgmt.getEndPt());
+        }else{
+            vAsi = this.vAsi[sgmt];
+            vAsf = this.vAsf[sgmt];
+            d = this.sgmtDist[sgmt];
+        }
+
+        a = this.acc[sgmt];
+
+        if(a != 0)
+            t = abs((vAsf - vAsi)/a);
+        else
+            t = d / vAsi;
+
+        // Check if end point is reached in the start segment
+        if(t > time)
+            return (vAsi * time) + ((a / 2) * pow(time,2));
+        else if(sgmt == this.sgmtCount - 1)
+            return (vAsi * t) + ((a / 2) * pow(t,2));
+
+        // Find segment in which the end point is reached, i.e. first segment whose cumulative time exceeds the time
+        // parameter, or the final segment
+        lo = sgmt + 1;
+        hi = this.sgmtCount - 1;
+
+        if(this.timeSearchable){
+            target = time - t + this.startTime[sgmt + 1];
+            while(lo < hi){
+                mid = (lo + hi) >>> 1;
+                if(this.startTime[mid + 1] > target)
+                    hi = mid;
+                else
+                    lo = mid + 1;
+            }
+            k = lo;
+            totalT = t + (this.startTime[k] - this.startTime[sgmt + 1]);
+            totalDist = d + (this.startDist[k] - this.startDist[sgmt + 1]);
+        }else{
+            totalT = t;
+            totalDist = d;
+            for(k = lo; k < hi && (totalT + this.sgmtTime[k]) <= time; k++){
+                totalT += this.sgmtTime[k];
+                totalDist += this.sgmtDist[k];
+            }
+        }
+
+        // Calculate distance in end segment
+        if((totalT + this.sgmtTime[k]) > time)
+            t = time - totalT;
+        else
+            t = this.sgmtTime[k];
+
+        return totalDist + (this.vAsi[k] * t) + ((this.acc[k] / 2) * pow(t,2));
+    }
+
+    /**
+     * This method returns the uniform airspeed between two waypoints positioned in different segments along the
+     * velocity plan/track.
+     *
+     * @param velPlan   Reference to the velocity plan/track
+     * @param strtSgmt  Number of the velocity segment of the start waypoint
+     * @param endSgmt   Number of the velocity segment of the end waypoint
+     * @param wpt1      Start waypoint along the velocity plan/track
+     * @param wpt2      End waypoint along the velocity plan/track
+     * @return          Uniform airspeed in m/s
+     */
+    double getVasu(VelocityPlan velPlan, int strtSgmt, int endSgmt, Waypoint wpt1, Waypoint wpt2){
+        VelocitySegment thisSgmt;
+        double dist, t, vAsi, vAsf, totalDist, totalT;
+        int lastSgmt;
+
+        // Get distance and t between w1 and end of start segment
+        thisSgmt = velPlan.velocitySegments.get(strtSgmt);
+        dist = velPlan.lateral.getDist(wpt1, thisSgmt.getEndPt());
+        vAsi = thisSgmt.getVas(velPlan.lateral.getDist(thisSgmt.getStartPt(), wpt1));
+        vAsf = this.vAsf[strtSgmt];
+
+        if(vAsi != vAsf)
+            t = (vAsf - vAsi)/this.acc[strtSgmt];
+        else
+            t = dist / vAsi;
+
+        totalDist = dist;
+        totalT = t;
+
+        // Get distance and t of all segments inbetween start and end segments. In case the end segment precedes
+        // the start segment, all remaining segments are included.
+        lastSgmt = (endSgmt > strtSgmt) ? endSgmt : this.sgmtCount;
+
+        if(this.vasuSummable){
+            totalDist += this.vasuStartDist[lastSgmt] - this.vasuStartDist[strtSgmt + 1];
+            totalT += this.vasuStartTime[lastSgmt] - this.vasuStartTime[strtSgmt + 1];
+        }else{
+            for(int s = strtSgmt + 1; s < lastSgmt; s++){
+                totalDist += this.vasuDist[s];
+                totalT += this.vasuTime[s];
+            }
+        }
+
+        // Get distance and t between start of end segment and w2
+        if(endSgmt > strtSgmt){
+            thisSgmt = velPlan.velocitySegments.get(endSgmt);
+            dist = velPlan.lateral.getDist(thisSgmt.getStartPt(), wpt2);
+            vAsi = this.vAsi[endSgmt];
+            vAsf = thisSgmt.getVas(dist);
+
+            if(vAsi != vAsf)
+                t = (vAsf - vAsi)/this.acc[endSgmt];
+            else
+                t = dist / vAsi;
+
+            totalDist += dist;
+            totalT += t;
+        }
+
+        return totalDist/totalT;
+    }
+}
@@ -95,6 +95,10 @@ public class VelocityTrack extends VelocityPlan implements Velocity{
 
                 this.velocitySegments.add(velSgmt);
             }
+
+            // Build velocity profile and interval index
+            buildProfile();
+            buildIndex();
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
@@ -1,16 +1,8 @@
 package ftdis.fdpu;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
-import static ftdis.fdpu.DOMUtil.*;
 import static java.lang.Math.*;
 
 /**
@@ -27,6 +19,7 @@ public class VerticalPlan implements Vertical{
     protected Velocity velocity;
     private List<EventChgAltitude> events;
     protected List<VerticalSegment> verticalSegments;
+    protected IntervalIndex sgmtIndex;
 
     /**
      * Constructor(s)
@@ -66,6 +59,7 @@ public class VerticalPlan implements Vertical{
      */
     public void addSgmt(VerticalSegment sgmt){
         this.verticalSegments.add(sgmt);
+        this.sgmtIndex = null;
     }
 
     /**
@@ -87,10 +81,16 @@ public class VerticalPlan implements Vertical{
      */
     public VerticalSegment getWptSgmt(Waypoint wpt){
         try{
-            // loop through each direct segment and calculate track error
             int sgmt, i = 0;
             double startDist,endDist,smlst;
-            double[] planError = new double[this.verticalSegments.size()];
+            double[] planError;
+
+            // find segment in interval index
+            if(this.sgmtIndex != null && (sgmt = this.sgmtIndex.getWptSgmtPos(wpt)) >= 0)
+                return this.verticalSegments.get(sgmt);
+
+            // loop through each direct segment and calculate track error
+            planError = new double[this.verticalSegments.size()];
 
             for(VerticalSegment vertSgmt : this.verticalSegments){
                 //startDist = abs(lateral.getDist(vertSgmt.getStartPt(),wpt));
@@ -130,6 +130,8 @@ public class VerticalPlan implements Vertical{
      * @return          The position of the vertial segment in the list, index starts at 0
      */
     public int getSgmtPos(VerticalSegment sgmt){
+        if(this.sgmtIndex != null)
+            return this.sgmtIndex.getSgmtPos(sgmt);
         return ListUtil.getListItemNum(sgmt, verticalSegments);
     }
 
@@ -192,81 +194,66 @@ public class VerticalPlan implements Vertical{
      */
     public void load(String fileName, int planID){
         try{
-            Waypoint waypoint;
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method loads the change altitude events of a plan from a parsed event collection xml file, creating
+     * and adding corresponding Change Altitude events to the vertical plan
+     *
+     * @param index     Plan index of the event collection xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
+        try{
             EventChgAltitude chgAltitude;
 
-            if(fileName != null && !fileName.isEmpty()){
-                // create vertical plan document and parse xml file
-                DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                Document eventCollectionXML = dBuilder.parse(new File(fileName));
-
-                // normalize
-                eventCollectionXML.getDocumentElement().normalize();
-
-                // Get flight plan and loop through corresponding change altitude events
-                Node plan = findNode(eventCollectionXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(planID));
-                NodeList xmlEvents = plan.getChildNodes();
-
-                for (int n = 0; n < xmlEvents.getLength(); n++) {
-                    Node node = xmlEvents.item(n);
-                    if (node.getNodeName().equalsIgnoreCase("Event")) {
-                        //check for attribute name and value
-                        if (getAttributeValue(node, "type").equalsIgnoreCase("chgAltitude")) {
-                            chgAltitude = new EventChgAltitude();
-                            chgAltitude.assignLat(lateral);
-                            chgAltitude.assignVel(velocity);
-
-                            // Get Waypoints
-                            Node waypoints = findNode(node.getChildNodes(),"Waypoints");
-                            List<Node> wptList = getChildElementsByTagName(waypoints, "Waypoint");
-
-                            for(Node wptNode : wptList){
-                                // get reference to new waypoint and set latitude and longitude coordinates
-                                waypoint = new Waypoint((Integer.parseInt(getAttributeValue(wptNode,"ID"))));
-
-                                waypoint.setLat(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(wptNode.getChildNodes(), "Latitude", "unit", "dec"))));
-
-                                waypoint.setLon(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(wptNode.getChildNodes(), "Longitude", "unit", "dec"))));
-
-                                if(waypoint.id == 1)
-                                    chgAltitude.setStartPt(waypoint.getLat(),waypoint.getLon());
-                                else if(waypoint.id ==2)
-                                    chgAltitude.setEndPt(waypoint.getLat(), waypoint.getLon());
-                            }
-
-                            // Get Variables
-                            Node variables = findNode(node.getChildNodes(),"Variables");
-
-                            chgAltitude.setAlti(Double.parseDouble(
-                                    getElementValue(
-                                            findNode(variables.getChildNodes(), "Var", "type", "init"))));
-
-                            chgAltitude.setAltf(Double.parseDouble(
-                                    getElementValue(
-                                            findNode(variables.getChildNodes(), "Var", "type", "target"))));
-
-                            chgAltitude.setVs(Double.parseDouble(
-                                    getElementValue(
-                                            findNode(variables.getChildNodes(), "Var", "type", "vs"))));
-
-                            // Validate event and add to velocity plan
-                            chgAltitude.validate();
-                            this.events.add(chgAltitude);
-                        }
-                    }
-                }
+            for(PlanIndex.Event event : index.getEvents(planID, PlanIndex.CHG_ALTITUDE)){
+                chgAltitude = new EventChgAltitude();
+                chgAltitude.assignLat(lateral);
+                chgAltitude.assignVel(velocity);
+
+                if(event.getStartPt() != null)
+                    chgAltitude.setStartPt(event.getStartPt().getLat(), event.getStartPt().getLon());
+
+                if(event.getEndPt() != null)
+                    chgAltitude.setEndPt(event.getEndPt().getLat(), event.getEndPt().getLon());
 
+                chgAltitude.setAlti(event.getVar("init"));
+                chgAltitude.setAltf(event.getVar("target"));
+                chgAltitude.setVs(event.getVar("vs"));
+
+                // Validate event and add to vertical plan
+                chgAltitude.validate();
+                this.events.add(chgAltitude);
             }
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * This method builds the interval index, i.e. the along track distances of the start and end points of each
+     * vertical segment, which is used to find the corresponding segment of a waypoint. The index must be rebuilt in
+     * case the vertical segments are modified.
+     */
+    public void buildIndex(){
+        try{
+            IntervalIndex idx = new IntervalIndex(this.lateral, this.verticalSegments.size());
+
+            for(VerticalSegment vertSgmt : this.verticalSegments)
+                idx.add(vertSgmt, vertSgmt.getStartPt(), vertSgmt.getEndPt());
+
+            this.sgmtIndex = idx;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
     /**
      * This method transforms the set of change altitude events into a consecutive set of vertical segments.
      */
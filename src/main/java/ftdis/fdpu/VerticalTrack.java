@@ -61,6 +61,9 @@ public class VerticalTrack extends VerticalPlan implements Vertical{
 
                 this.verticalSegments.add(vertSgmt);
             }
+
+            // Build interval index
+            buildIndex();
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
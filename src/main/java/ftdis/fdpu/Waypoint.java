@@ -3,12 +3,18 @@ package ftdis.fdpu;
 import java.io.Serializable;
 import java.util.Comparator;
 
+import static java.lang.Math.*;
+
 /**
  * The Waypoint class is a crucial component for the Lateral LateralSegment, TurnSegment LateralSegment and Event classes.
  * The class represents a waypoint, which is composed of a waypoint ID, latitude and longitude coordinates.
  *
  * The class implements the Comparator interface to allow for objects to be ordered on the waypoint's id.
  *
+ * The latitude and longitude in radians, as well as the sine and cosine of the latitude, are calculated on first use
+ * and kept until the coordinates change, so that the navigation calculations don't repeat them for every call and
+ * waypoints which are only set, copied or stored don't calculate them at all.
+ *
  * @author windowSeatFSX@gmail.com
  * @version 0.1
  */
@@ -16,6 +22,7 @@ public class Waypoint implements Comparator<Waypoint>, Serializable {
     public int id;
     private double latitude;
     private double longitude;
+    private double latRad = Double.NaN, lonRad = Double.NaN, sinLat = Double.NaN, cosLat = Double.NaN;
 
     /**
      * Default constructor
@@ -24,6 +31,8 @@ public class Waypoint implements Comparator<Waypoint>, Serializable {
      */
     public Waypoint(int waypointId){
         this.id = waypointId;
+        this.setLat(0);
+        this.setLon(0);
     }
 
     /**
@@ -33,8 +42,12 @@ public class Waypoint implements Comparator<Waypoint>, Serializable {
      */
     public Waypoint(Waypoint wpt){
         this.id = wpt.id;
-        this.latitude = wpt.getLat();
-        this.longitude = wpt.getLon();
+        this.latitude = wpt.latitude;
+        this.longitude = wpt.longitude;
+        this.latRad = wpt.latRad;
+        this.lonRad = wpt.lonRad;
+        this.sinLat = wpt.sinLat;
+        this.cosLat = wpt.cosLat;
     }
 
     /**
@@ -42,8 +55,8 @@ public class Waypoint implements Comparator<Waypoint>, Serializable {
      */
     public Waypoint(){
         this.id = 0;
-        this.latitude = Double.NaN;
-        this.longitude = Double.NaN;
+        this.setLat(Double.NaN);
+        this.setLon(Double.NaN);
     }
 
     /**
@@ -51,6 +64,9 @@ public class Waypoint implements Comparator<Waypoint>, Serializable {
      */
     public void setLat(double latitude){
         this.latitude = latitude;
+        this.latRad = Double.NaN;
+        this.sinLat = Double.NaN;
+        this.cosLat = Double.NaN;
     }
 
     /**
@@ -65,6 +81,7 @@ public class Waypoint implements Comparator<Waypoint>, Serializable {
      */
     public void setLon(double longitude){
         this.longitude = longitude;
+        this.lonRad = Double.NaN;
     }
 
     /**
@@ -74,6 +91,55 @@ public class Waypoint implements Comparator<Waypoint>, Serializable {
         return this.longitude;
     }
 
+    /**
+     * @return The latitude of the waypoint's position in radians
+     */
+    double getLatRad(){
+        double latRad = this.latRad;
+
+        // Not calculated since the latitude was set
+        if(latRad != latRad)
+            this.latRad = latRad = toRadians(this.latitude);
+
+        return latRad;
+    }
+
+    /**
+     * @return The longitude of the waypoint's position in radians
+     */
+    double getLonRad(){
+        double lonRad = this.lonRad;
+
+        if(lonRad != lonRad)
+            this.lonRad = lonRad = toRadians(this.longitude);
+
+        return lonRad;
+    }
+
+    /**
+     * @return The sine of the waypoint's latitude
+     */
+    double getSinLat(){
+        double sinLat = this.sinLat;
+
+        if(sinLat != sinLat)
+            this.sinLat = sinLat = sin(this.getLatRad());
+
+        return sinLat;
+    }
+
+    /**
+     * @return The cosine of the waypoint's latitude
+     */
+    double getCosLat(){
+        double cosLat = this.cosLat;
+
+        if(cosLat != cosLat)
+            this.cosLat = cosLat = cos(this.getLatRad());
+
+        return cosLat;
+    }
+
     /**
      * {@inheritDoc}
      */
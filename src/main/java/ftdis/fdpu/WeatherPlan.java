@@ -1,16 +1,8 @@
 package ftdis.fdpu;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
-import static ftdis.fdpu.DOMUtil.*;
 import static java.lang.Math.*;
 
 /**
@@ -27,6 +19,7 @@ public class WeatherPlan implements Weather{
     protected Velocity velocity;
     private List<EventChgWeather> events;
     protected List<WeatherSegment> weatherSegments;
+    protected IntervalIndex sgmtIndex;
 
     /**
      * Constructor(s)
@@ -67,6 +60,7 @@ public class WeatherPlan implements Weather{
      */
     public void addSgmt(WeatherSegment sgmt){
         this.weatherSegments.add(sgmt);
+        this.sgmtIndex = null;
     }
 
     /**
@@ -88,10 +82,16 @@ public class WeatherPlan implements Weather{
      */
     public WeatherSegment getWptSgmt(Waypoint wpt){
         try{
-            // loop through each direct segment and calculate track error
             int sgmt, i = 0;
             double startDist,endDist,smlst;
-            double[] planError = new double[this.weatherSegments.size()];
+            double[] planError;
+
+            // find segment in interval index
+            if(this.sgmtIndex != null && (sgmt = this.sgmtIndex.getWptSgmtPos(wpt)) >= 0)
+                return this.weatherSegments.get(sgmt);
+
+            // loop through each direct segment and calculate track error
+            planError = new double[this.weatherSegments.size()];
 
             for(WeatherSegment wxSgmt : this.weatherSegments){
                 //startDist = abs(lateral.getDist(wxSgmt.getStartPt(),wpt));
@@ -131,6 +131,8 @@ public class WeatherPlan implements Weather{
      * @return          The position of the weather segment in the list, index starts at 0
      */
     public int getSgmtPos(WeatherSegment sgmt){
+        if(this.sgmtIndex != null)
+            return this.sgmtIndex.getSgmtPos(sgmt);
         return ListUtil.getListItemNum(sgmt, weatherSegments);
     }
 
@@ -245,84 +247,64 @@ public class WeatherPlan implements Weather{
      */
     public void load(String fileName, int planID){
         try{
-            Waypoint waypoint;
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method loads the change weather events of a plan from a parsed event collection xml file, creating
+     * and adding corresponding Change Weather events to the weather plan
+     *
+     * @param index     Plan index of the event collection xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
+        try{
             EventChgWeather chgWeather;
 
-            if(fileName != null && !fileName.isEmpty()){
-                // create Velocity Plan document and parse xml file
-                DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                Document eventCollectionXML = dBuilder.parse(new File(fileName));
-
-                // normalize
-                eventCollectionXML.getDocumentElement().normalize();
-
-                // Get flight plan and loop through corresponding weather events
-                Node plan = findNode(eventCollectionXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(planID));
-                NodeList xmlEvents = plan.getChildNodes();
-
-                for (int n = 0; n < xmlEvents.getLength(); n++) {
-                    Node node = xmlEvents.item(n);
-                    if (node.getNodeName().equalsIgnoreCase("Event")) {
-                        //check for attribute name and value
-                        if (getAttributeValue(node, "type").equalsIgnoreCase("chgWeather")) {
-                            chgWeather = new EventChgWeather();
-                            chgWeather.assignLat(lateral);
-
-                            // Get Waypoints
-                            Node waypoints = findNode(node.getChildNodes(),"Waypoints");
-                            List<Node> wptList = getChildElementsByTagName(waypoints, "Waypoint");
-
-                            for(Node wptNode : wptList){
-                                // get reference to new waypoint and set latitude and longitude coordinates
-                                waypoint = new Waypoint((Integer.parseInt(getAttributeValue(wptNode,"ID"))));
-
-                                waypoint.setLat(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(wptNode.getChildNodes(), "Latitude", "unit", "dec"))));
-
-                                waypoint.setLon(Double.parseDouble(
-                                        getElementValue(
-                                                findNode(wptNode.getChildNodes(), "Longitude", "unit", "dec"))));
-
-                                if(waypoint.id == 1)
-                                    chgWeather.setStartPt(waypoint.getLat(),waypoint.getLon());
-                                else if(waypoint.id ==2)
-                                    chgWeather.setEndPt(waypoint.getLat(), waypoint.getLon());
-                            }
-
-                            // Get Variables
-                            Node variables = findNode(node.getChildNodes(),"Variables");
-
-                            chgWeather.setTurbulence(
-                                    Double.parseDouble(
-                                            getElementValue(
-                                                    findNode(variables.getChildNodes(), "Var", "type", "magn"))),
-                                    Double.parseDouble(
-                                            getElementValue(
-                                                    findNode(variables.getChildNodes(), "Var", "type", "freq"))));
-
-                            chgWeather.setWind(
-                                    Double.parseDouble(
-                                            getElementValue(
-                                                    findNode(variables.getChildNodes(), "Var", "type", "windDir"))),
-                                    Double.parseDouble(
-                                            getElementValue(
-                                                    findNode(variables.getChildNodes(), "Var", "type", "windSpd"))));
-
-                            // Validate event and add to velocity plan
-                            chgWeather.validate();
-                            this.events.add(chgWeather);
-                        }
-                    }
-                }
+            for(PlanIndex.Event event : index.getEvents(planID, PlanIndex.CHG_WEATHER)){
+                chgWeather = new EventChgWeather();
+                chgWeather.assignLat(lateral);
+
+                if(event.getStartPt() != null)
+                    chgWeather.setStartPt(event.getStartPt().getLat(), event.getStartPt().getLon());
+
+                if(event.getEndPt() != null)
+                    chgWeather.setEndPt(event.getEndPt().getLat(), event.getEndPt().getLon());
+
+                chgWeather.setTurbulence(event.getVar("magn"), event.getVar("freq"));
+                chgWeather.setWind(event.getVar("windDir"), event.getVar("windSpd"));
 
+                // Validate event and add to weather plan
+                chgWeather.validate();
+                this.events.add(chgWeather);
             }
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * This method builds the interval index, i.e. the along track distances of the start and end points of each
+     * weather segment, which is used to find the corresponding segment of a waypoint. The index must be rebuilt in
+     * case the weather segments are modified.
+     */
+    public void buildIndex(){
+        try{
+            IntervalIndex idx = new IntervalIndex(this.lateral, this.weatherSegments.size());
+
+            for(WeatherSegment wxSgmt : this.weatherSegments)
+                idx.add(wxSgmt, wxSgmt.getStartPt(), wxSgmt.getEndPt());
+
+            this.sgmtIndex = idx;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
     /**
      * This method transforms the set of change weather events into a consecutive set of weather segments.
      */
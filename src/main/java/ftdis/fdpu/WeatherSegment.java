@@ -485,6 +485,24 @@ public class WeatherSegment {
         }
     }
 
+    /**
+     * This method returns the list of CATs of an axis, e.g. to store and restore the random CATs of an initialized
+     * segment.
+     *
+     * @param type  Type of CAT, i.e. pitch, bank or alt
+     * @return      Reference to the segment's list of CATs, null if the type is unknown
+     */
+    List<Cat> getCatList(String type){
+        if(type.equalsIgnoreCase("pitch"))
+            return this.pitchEvents;
+        else if(type.equalsIgnoreCase("bank"))
+            return this.bankEvents;
+        else if(type.equalsIgnoreCase("alt"))
+            return this.altEvents;
+        else
+            return null;
+    }
+
     /**
      * This method finds and returns a Weather Segment's CAT, based on the distance from the segment's
      * start point.
@@ -186,6 +186,9 @@ public class WeatherTrack extends WeatherPlan implements Weather{
 
                 this.weatherSegments.add(wxSgm);
             }
+
+            // Build interval index
+            buildIndex();
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
@@ -1,15 +1,9 @@
 package ftdis.fplu;
 
 import ftdis.fdpu.*;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.*;
 
 import static java.lang.Math.*;
-import static ftdis.fdpu.DOMUtil.*;
 import static ftdis.fdpu.Config.*;
 
 /**
@@ -102,6 +96,16 @@ public class FlightPlan {
         this.velEvents.add(velEvent);
     }
 
+    /**
+     * This method inserts a change velocity event at a specific position of the velocity event list
+     *
+     * @param position  Position of the event in the list, starts with 0
+     * @param velEvent  Change velocity event to be inserted.
+     */
+    public void addVelEvent(int position, EventChgAirspeed velEvent){
+        this.velEvents.add(position, velEvent);
+    }
+
     /**
      * This method returns a velocity event of a specific event number
      *
@@ -136,6 +140,16 @@ public class FlightPlan {
         this.vertEvents.add(vertEvent);
     }
 
+    /**
+     * This method inserts a change altitude event at a specific position of the altitude event list
+     *
+     * @param position  Position of the event in the list, starts with 0
+     * @param vertEvent  Change altitude event to be inserted.
+     */
+    public void addVertEvent(int position, EventChgAltitude vertEvent){
+        this.vertEvents.add(position, vertEvent);
+    }
+
     /**
      * This method returns a altitude event of a specific event number
      *
@@ -170,6 +184,16 @@ public class FlightPlan {
         this.wxEvents.add(wxEvent);
     }
 
+    /**
+     * This method inserts a change weather event at a specific position of the weather event list
+     *
+     * @param position  Position of the event in the list, starts with 0
+     * @param wxEvent  Change weather event to be inserted.
+     */
+    public void addWxEvent(int position, EventChgWeather wxEvent){
+        this.wxEvents.add(position, wxEvent);
+    }
+
     /**
      * This method returns a weather event of a specific event number
      *
@@ -203,43 +227,49 @@ public class FlightPlan {
      */
     public void load(String fileName, int planID){
         try{
-            if(fileName != null && !fileName.isEmpty()) {
-                this.planID = planID;
-
-                // Load lateral plan
-                latPlan.load(fileName, this.planID);
-                latPlan.transform();
-                latPlan.validate();
-
-                if (latPlan.dataValid) {
-                    // Parse xml file and load variables
-                    DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                    DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                    Document masterPlanXML = dBuilder.parse(new File(fileName));
-
-                    // normalize
-                    masterPlanXML.getDocumentElement().normalize();
-
-                    // Get variables
-                    this.depAlt = PerfCalc.convertFt(ALT_DEP,"ft");
-                    this.destAlt = PerfCalc.convertFt(ALT_DEST,"ft");
-                    this.initCrzAlt = PerfCalc.convertFt(ALT_INIT_CRUISE,"ft");
-                    this.midCrzAlt = PerfCalc.convertFt(ALT_MID_CRUISE,"ft");
-                    this.crzAlt = PerfCalc.convertFt(ALT_FINAL_CRUISE,"ft");
-
-                    // Get additional waypoint data
-                    Node plan = findNode(findNode(masterPlanXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(planID)).getChildNodes(),"Waypoints");
-                    List<Node> waypoints = getChildElementsByTagName(plan, "Waypoint");
-
-                    for(int w = 0; w < waypoints.size(); w++) {
-                        // Get hold time at start of takeoff point
-                        if(w == 0)
-                            this.timeOffset = Double.parseDouble(getAttributeValue(waypoints.get(w), "timeOffset"));
-
-                        // Get velocity at start of takeoff  and end of landing points
-                        if(w == 0 || w == waypoints.size() - 1)
-                            velocity.add(PerfCalc.convertKts(Double.parseDouble(getAttributeValue(waypoints.get(w), "spd")), "kts"));
-                    }
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method loads the lateral plan and additional variables of a plan from a parsed master plan xml file.
+     *
+     * @param index     Plan index of the master plan xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
+        try{
+            int wptCount;
+
+            this.planID = planID;
+
+            // Load lateral plan
+            latPlan.load(index, this.planID);
+            latPlan.transform();
+            latPlan.validate();
+
+            if (latPlan.dataValid) {
+                // Get variables
+                this.depAlt = PerfCalc.convertFt(ALT_DEP,"ft");
+                this.destAlt = PerfCalc.convertFt(ALT_DEST,"ft");
+                this.initCrzAlt = PerfCalc.convertFt(ALT_INIT_CRUISE,"ft");
+                this.midCrzAlt = PerfCalc.convertFt(ALT_MID_CRUISE,"ft");
+                this.crzAlt = PerfCalc.convertFt(ALT_FINAL_CRUISE,"ft");
+
+                // Get additional waypoint data
+                wptCount = index.getWaypoints(planID).size();
+
+                for(int w = 0; w < wptCount; w++) {
+                    // Get hold time at start of takeoff point
+                    if(w == 0)
+                        this.timeOffset = Double.parseDouble(index.getWptAttribute(planID, PlanIndex.WAYPOINTS, w, "timeOffset"));
+
+                    // Get velocity at start of takeoff  and end of landing points
+                    if(w == 0 || w == wptCount - 1)
+                        velocity.add(PerfCalc.convertKts(Double.parseDouble(index.getWptAttribute(planID, PlanIndex.WAYPOINTS, w, "spd")), "kts"));
                 }
             }
         }catch(Exception e){
@@ -35,8 +35,6 @@ public class PlanProcessing {
             // Define and init vars
             ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-            Waypoint wpt;
-            DirectSegment tempDirSgmt = new DirectSegment();
             int pushBackPlanID, taxiToRwyPlanID, flightPlanID, taxiToGatePlanID;
             String ioDir, clsCmd, aircraft, departure, destination, fileMasterPlan, inputFileName = "";
             StringBuilder kmlFlightTrack = new StringBuilder();
@@ -167,64 +165,16 @@ public class PlanProcessing {
             // 02 - Prepare and Validate Data Sets
             ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-            // Load plans
-            pushbackPlan.load(fileMasterPlan, pushBackPlanID);
-            taxiRwyPlan.load(fileMasterPlan, taxiToRwyPlanID);
-            flightPlan.load(fileMasterPlan, flightPlanID);
-            taxiGatePlan.load(fileMasterPlan, taxiToGatePlanID);
-
-            // Validate transition point: Pushback plan - taxi to runway plan
-            wpt = taxiRwyPlan.getLateralPlan().getWpt(0);
-            tempDirSgmt.setStartPt(wpt.getLat(), wpt.getLon());
-
-            wpt = taxiRwyPlan.getLateralPlan().getWpt(1);
-            tempDirSgmt.setEndPt(wpt.getLat(), wpt.getLon());
-
-            tempDirSgmt.alignToTrack(pushbackPlan.getLateralPlan().getWpt(pushbackPlan.getLateralPlan().getWptSize()-2));
-
-            // Validate transition point: Taxi to runway plan - flight plan
-            wpt = taxiRwyPlan.getLateralPlan().getWpt(taxiRwyPlan.getLateralPlan().getWptSize()-2);
-            tempDirSgmt.setStartPt(wpt.getLat(), wpt.getLon());
-
-            wpt = flightPlan.getLateralPlan().getWpt(1);
-            tempDirSgmt.setEndPt(wpt.getLat(), wpt.getLon());
-
-            tempDirSgmt.alignToTrack(taxiRwyPlan.getLateralPlan().getWpt(taxiRwyPlan.getLateralPlan().getWptSize() - 1));
-            tempDirSgmt.alignToTrack(taxiRwyPlan.getLateralPlan().getEndWpt());
-
-            tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getWpt(0));
-            tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getStartWpt());
-
-            // Validate transition point: Flight plan to Taxi to gate plan
-            wpt = flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize()-2);
-            tempDirSgmt.setStartPt(wpt.getLat(), wpt.getLon());
-
-            wpt = taxiGatePlan.getLateralPlan().getWpt(1);
-            tempDirSgmt.setEndPt(wpt.getLat(), wpt.getLon());
-
-            tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 1));
-            tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getEndWpt());
-
-            tempDirSgmt.alignToTrack(taxiGatePlan.getLateralPlan().getWpt(0));
-            tempDirSgmt.alignToTrack(taxiGatePlan.getLateralPlan().getStartWpt());
+            // Load plans, the master plan file is read once for all plans
+            PlanIndex masterPlanIdx = new PlanIndex(fileMasterPlan);
 
-            // Validate that heading of first waypoint after take off matches rwy heading
-            double wptDist = flightPlan.getLateralPlan().getDist(flightPlan.getLateralPlan().getWpt(1), flightPlan.getLateralPlan().getWpt(2));
-            double rwyRadial = NavCalc.getInitBearing(flightPlan.getLateralPlan().getStartWpt(), flightPlan.getLateralPlan().getWpt(1));
+            pushbackPlan.load(masterPlanIdx, pushBackPlanID);
+            taxiRwyPlan.load(masterPlanIdx, taxiToRwyPlanID);
+            flightPlan.load(masterPlanIdx, flightPlanID);
+            taxiGatePlan.load(masterPlanIdx, taxiToGatePlanID);
 
-            wpt = NavCalc.getRadWpt(flightPlan.getLateralPlan().getWpt(1),wptDist,rwyRadial);
-
-            flightPlan.getLateralPlan().getWpt(2).setLat(wpt.getLat());
-            flightPlan.getLateralPlan().getWpt(2).setLon(wpt.getLon());
-
-            // Validate that final approach heading matches rwy heading
-            wptDist = flightPlan.getLateralPlan().getDist(flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 3),flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 2));
-            rwyRadial = NavCalc.getInitBearing(flightPlan.getLateralPlan().getEndWpt(), flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 2));
-
-            wpt = NavCalc.getRadWpt(flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 2),wptDist,rwyRadial);
-
-            flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 3).setLat(wpt.getLat());
-            flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 3).setLon(wpt.getLon());
+            // Validate transition points and runway headings
+            validateTransitions(pushbackPlan, taxiRwyPlan, flightPlan, taxiGatePlan);
 
             ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 03 - Transform, validate and process data sets
@@ -258,30 +208,101 @@ public class PlanProcessing {
             ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
             // 04 - Write data to xml files
             ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-
             // Write data to flightPlan.xml
-            DOMSource source = new DOMSource(flightPlanXML);
-            StreamResult result = new StreamResult(flightPlanOut);
-            transformer.transform(source, result);
+            writeXml(flightPlanXML, flightPlanOut);
 
             // Write data to eventCollection.xml
-            source = new DOMSource(eventCollectionXML);
-            result = new StreamResult(eventCollectionOut);
-            transformer.transform(source, result);
+            writeXml(eventCollectionXML, eventCollectionOut);
 
             // Write data to flightPlan.kml
-            source = new DOMSource(kmlXML);
-            result = new StreamResult(kmlOut);
-            transformer.transform(source, result);
+            writeXml(kmlXML, kmlOut);
         }catch(Exception e){
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * This method validates the transition points between the pushback, taxi and flight plans, by aligning the
+     * waypoints at each transition to the track of the adjacent plan. The initial climb and final approach waypoints of
+     * the flight plan are further aligned to the runway headings.
+     *
+     * @param pushbackPlan  Pushback plan
+     * @param taxiRwyPlan   Taxi to runway plan
+     * @param flightPlan    Flight plan
+     * @param taxiGatePlan  Taxi to gate plan
+     */
+    public static void validateTransitions(PushbackPlan pushbackPlan, TaxiPlan taxiRwyPlan, FlightPlan flightPlan, TaxiPlan taxiGatePlan) throws Exception {
+        Waypoint wpt;
+        DirectSegment tempDirSgmt = new DirectSegment();
+
+        // Validate transition point: Pushback plan - taxi to runway plan
+        wpt = taxiRwyPlan.getLateralPlan().getWpt(0);
+        tempDirSgmt.setStartPt(wpt.getLat(), wpt.getLon());
+
+        wpt = taxiRwyPlan.getLateralPlan().getWpt(1);
+        tempDirSgmt.setEndPt(wpt.getLat(), wpt.getLon());
+
+        tempDirSgmt.alignToTrack(pushbackPlan.getLateralPlan().getWpt(pushbackPlan.getLateralPlan().getWptSize()-2));
+
+        // Validate transition point: Taxi to runway plan - flight plan
+        wpt = taxiRwyPlan.getLateralPlan().getWpt(taxiRwyPlan.getLateralPlan().getWptSize()-2);
+        tempDirSgmt.setStartPt(wpt.getLat(), wpt.getLon());
+
+        wpt = flightPlan.getLateralPlan().getWpt(1);
+        tempDirSgmt.setEndPt(wpt.getLat(), wpt.getLon());
+
+        tempDirSgmt.alignToTrack(taxiRwyPlan.getLateralPlan().getWpt(taxiRwyPlan.getLateralPlan().getWptSize() - 1));
+        tempDirSgmt.alignToTrack(taxiRwyPlan.getLateralPlan().getEndWpt());
+
+        tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getWpt(0));
+        tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getStartWpt());
+
+        // Validate transition point: Flight plan to Taxi to gate plan
+        wpt = flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize()-2);
+        tempDirSgmt.setStartPt(wpt.getLat(), wpt.getLon());
+
+        wpt = taxiGatePlan.getLateralPlan().getWpt(1);
+        tempDirSgmt.setEndPt(wpt.getLat(), wpt.getLon());
+
+        tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 1));
+        tempDirSgmt.alignToTrack(flightPlan.getLateralPlan().getEndWpt());
+
+        tempDirSgmt.alignToTrack(taxiGatePlan.getLateralPlan().getWpt(0));
+        tempDirSgmt.alignToTrack(taxiGatePlan.getLateralPlan().getStartWpt());
+
+        // Validate that heading of first waypoint after take off matches rwy heading
+        double wptDist = flightPlan.getLateralPlan().getDist(flightPlan.getLateralPlan().getWpt(1), flightPlan.getLateralPlan().getWpt(2));
+        double rwyRadial = NavCalc.getInitBearing(flightPlan.getLateralPlan().getStartWpt(), flightPlan.getLateralPlan().getWpt(1));
+
+        wpt = NavCalc.getRadWpt(flightPlan.getLateralPlan().getWpt(1),wptDist,rwyRadial);
+
+        flightPlan.getLateralPlan().getWpt(2).setLat(wpt.getLat());
+        flightPlan.getLateralPlan().getWpt(2).setLon(wpt.getLon());
+
+        // Validate that final approach heading matches rwy heading
+        wptDist = flightPlan.getLateralPlan().getDist(flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 3),flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 2));
+        rwyRadial = NavCalc.getInitBearing(flightPlan.getLateralPlan().getEndWpt(), flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 2));
+
+        wpt = NavCalc.getRadWpt(flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 2),wptDist,rwyRadial);
+
+        flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 3).setLat(wpt.getLat());
+        flightPlan.getLateralPlan().getWpt(flightPlan.getLateralPlan().getWptSize() - 3).setLon(wpt.getLon());
+    }
+
+    /**
+     * This method writes a document to an .xml file, indented by four spaces.
+     *
+     * @param doc   The document
+     * @param file  The .xml output file
+     */
+    public static void writeXml(Document doc, File file) throws TransformerException {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+
+        transformer.transform(new DOMSource(doc), new StreamResult(file));
+    }
+
     /**
      * This method processes the pushback plan as defined in the flight master plan.xml, by adding the corresponding
      * waypoints and events to the flight plan.xml and event collection.xml documents.
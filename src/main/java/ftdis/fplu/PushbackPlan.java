@@ -1,15 +1,9 @@
 package ftdis.fplu;
 
 import ftdis.fdpu.*;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.*;
 
 import static java.lang.Math.*;
-import static ftdis.fdpu.DOMUtil.*;
 import static ftdis.fdpu.Config.*;
 
 /**
@@ -111,59 +105,58 @@ public class PushbackPlan {
      * @param planID    ID of the plan to be loaded
      */
     public void load(String fileName, int planID){
+        try{
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method loads the lateral plan and additional variables of a plan from a parsed master plan xml file.
+     *
+     * @param index     Plan index of the master plan xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
         try{
             double cTimeOffset = 0.0, cVelocity = 0.0;
+            int wptCount;
 
-            if(fileName != null && !fileName.isEmpty()) {
-                this.planID = planID;
-
-                // Load lateral plan
-                latPlan.load(fileName, this.planID);
-                latPlan.transform();
-                latPlan.validate();
-
-                if (latPlan.dataValid) {
-                    // Parse xml file and load variables
-                    DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                    DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                    Document masterPlanXML = dBuilder.parse(new File(fileName));
-
-                    // normalize
-                    masterPlanXML.getDocumentElement().normalize();
-
-                    // Get variables
-                    this.pushbackSpd = PerfCalc.convertKts(SPD_PUSHBACK,"kts");
-
-                    // Get additional waypoint data
-                    Node plan = findNode(findNode(masterPlanXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(planID)).getChildNodes(),"Waypoints");
-                    List<Node> waypoints = getChildElementsByTagName(plan, "Waypoint");
-
-                    for(Node node : waypoints){
-                        // Get time offset
-                        try{
-                            cTimeOffset = Double.parseDouble(getAttributeValue(node, "timeOffset"));
-                        } catch (Exception e) {
-                            cTimeOffset = 0.0;
-                        }
-                        timeOffset.add(cTimeOffset);
-
-                        // Get taxi speed
-                        try{
-                            if(cTimeOffset == 0.0)
-                                cVelocity = PerfCalc.convertKts(Double.parseDouble(getAttributeValue(node, "spd")),"kts");
-                            else
-                                cVelocity = 0.0;
-                        } catch (DOMUtilException e) {
-                            cVelocity = PerfCalc.convertKts(SPD_TAXI,"kts");
-                        }
-                        velocity.add(cVelocity);
-                    }
+            this.planID = planID;
+
+            // Load lateral plan
+            latPlan.load(index, this.planID);
+            latPlan.transform();
+            latPlan.validate();
 
-                    /*
-                    for(Node node : waypoints){
-                        timeOffset.add(Double.parseDouble(getAttributeValue(node, "timeOffset")));
-                        velocity.add(PerfCalc.convertKts(Double.parseDouble(getAttributeValue(node, "spd")),"kts"));
-                    }*/
+            if (latPlan.dataValid) {
+                // Get variables
+                this.pushbackSpd = PerfCalc.convertKts(SPD_PUSHBACK,"kts");
+
+                // Get additional waypoint data
+                wptCount = index.getWaypoints(this.planID).size();
+
+                for(int w = 0; w < wptCount; w++){
+                    // Get time offset
+                    try{
+                        cTimeOffset = Double.parseDouble(index.getWptAttribute(this.planID, PlanIndex.WAYPOINTS, w, "timeOffset"));
+                    } catch (Exception e) {
+                        cTimeOffset = 0.0;
+                    }
+                    timeOffset.add(cTimeOffset);
+
+                    // Get taxi speed
+                    try{
+                        if(cTimeOffset == 0.0)
+                            cVelocity = PerfCalc.convertKts(Double.parseDouble(index.getWptAttribute(this.planID, PlanIndex.WAYPOINTS, w, "spd")),"kts");
+                        else
+                            cVelocity = 0.0;
+                    } catch (DOMUtilException e) {
+                        cVelocity = PerfCalc.convertKts(SPD_TAXI,"kts");
+                    }
+                    velocity.add(cVelocity);
                 }
             }
         }catch(Exception e){
@@ -0,0 +1,565 @@
+package ftdis.fplu;
+
+import ftdis.fdpu.*;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+import org.w3c.dom.*;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import static java.lang.Math.*;
+import static ftdis.fdpu.DOMUtil.*;
+import static ftdis.fdpu.Config.*;
+
+/**
+ * Generate synthetic flight plan.xml and event collection.xml files, i.e. input files for the flight data processing
+ * unit, for flights of arbitrary length and route complexity.
+ *
+ * The generator writes a synthetic flight master plan.xml with a pushback, taxi to runway, flight and taxi to gate
+ * plan, and processes it the same way as the plan processing. The cruise section of the route is a sequence of legs
+ * of equal length, where a share of the waypoints, i.e. the turn density, changes the course to alternating sides.
+ * Additional change airspeed, change altitude and change weather events are inserted into the cruise section of the
+ * flight plan, in between the events of the climb and the descent.
+ *
+ * Usage: SyntheticPlanProcessing [-name Synthetic] [-wpts 200] [-turns 0.3] [-velEvents 10] [-vertEvents 4]
+ *                                [-wxEvents 10] [-duration 10] [-seed 1]
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class SyntheticPlanProcessing {
+    private static final double DEP_LAT = 47.4490, DEP_LON = -122.3093, RWY_CRS = 90;
+    private static final double TURN_CRS_CHG = 20, CRZ_SPD_CHG = 10, CRZ_ALT_CHG = 2000, TAXI_TURN_DIST = 40, SPD_TAXI_TURN = 10;
+
+    /**
+     * Generate synthetic flight plan
+     */
+    public static void main(String[] args) {
+        try{
+            String ioDir, name = "Synthetic";
+            int wptCount = 200, velEventCount = 10, vertEventCount = 4, wxEventCount = 10;
+            double turnDensity = 0.3, duration = 10;
+            long seed = 1;
+
+            // Set input directories
+            final String os = System.getProperty("os.name");
+
+            Path localDir = Paths.get("").toAbsolutePath().getParent().getParent();
+
+            if (os.contains("Windows"))
+                ioDir = "\\IO\\";
+            else
+                ioDir = "/IO/";
+
+            // Read arguments
+            for(int a = 0; a + 1 < args.length; a += 2){
+                if(args[a].equals("-name"))
+                    name = args[a + 1];
+                else if(args[a].equals("-wpts"))
+                    wptCount = Integer.parseInt(args[a + 1]);
+                else if(args[a].equals("-turns"))
+                    turnDensity = Double.parseDouble(args[a + 1]);
+                else if(args[a].equals("-velEvents"))
+                    velEventCount = Integer.parseInt(args[a + 1]);
+                else if(args[a].equals("-vertEvents"))
+                    vertEventCount = Integer.parseInt(args[a + 1]);
+                else if(args[a].equals("-wxEvents"))
+                    wxEventCount = Integer.parseInt(args[a + 1]);
+                else if(args[a].equals("-duration"))
+                    duration = Double.parseDouble(args[a + 1]);
+                else if(args[a].equals("-seed"))
+                    seed = Long.parseLong(args[a + 1]);
+            }
+
+            generate(localDir + ioDir, name, wptCount, turnDensity, velEventCount, vertEventCount, wxEventCount, duration, seed);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * This method generates a synthetic flight master plan.xml and processes it into a flight plan.xml and event
+     * collection.xml, named "[name] FlightPlan.xml" and "[name] EventCollection.xml".
+     *
+     * @param ioDir             Output directory, incl. trailing separator
+     * @param name              Name of the synthetic flight, prefix of the output files
+     * @param wptCount          Number of waypoints of the cruise section
+     * @param turnDensity       Share of the cruise waypoints with a course change, i.e. 0 to 1
+     * @param velEventCount     Number of additional change airspeed events during cruise
+     * @param vertEventCount    Number of additional change altitude events during cruise
+     * @param wxEventCount      Number of change weather events during cruise
+     * @param duration          Approximate flight time in hours
+     * @param seed              Seed of the turn waypoint selection
+     */
+    public static void generate(String ioDir, String name, int wptCount, double turnDensity, int velEventCount, int vertEventCount, int wxEventCount, double duration, long seed) throws Exception {
+        int pushBackPlanID = 1, taxiToRwyPlanID = 2, flightPlanID = 3, taxiToGatePlanID = 4;
+        String fileMasterPlan = ioDir + name + " FlightMasterPlan.xml";
+        StringBuilder kmlFlightTrack = new StringBuilder();
+        double[] cruise;
+
+        PushbackPlan pushbackPlan = new PushbackPlan();
+        TaxiPlan taxiRwyPlan = new TaxiPlan();
+        FlightPlan flightPlan = new FlightPlan();
+        TaxiPlan taxiGatePlan = new TaxiPlan();
+
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // 01 - Prepare Master Plan
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        writeMasterPlan(new File(fileMasterPlan), wptCount, turnDensity, duration, seed);
+
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // 02 - Prepare Output Files
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        DocumentBuilder docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+
+        // Create flight plan root element, add ID, flight child and  plan nodes
+        Document flightPlanXML = docBuilder.newDocument();
+        Element flightPlanNode = createChildElement(flightPlanXML, "Flightplan");
+        createAttribute(flightPlanNode, "ID").setValue("1");
+
+        Element flight = createChildElement(flightPlanNode,"Flight");
+        createAttribute(flight,"AircraftType").setValue(AIRCRAFT_TYPE);
+
+        Element dept = createChildElement(flight,"Departure");
+        createAttribute(dept,"type").setValue("ICAO");
+        setElementValue(dept, DEP_ICAO);
+
+        Element dest = createChildElement(flight,"Destination");
+        createAttribute(dest,"type").setValue("ICAO");
+        setElementValue(dest, DEST_ICAO);
+
+        // Create event collection root element
+        Document eventCollectionXML = docBuilder.newDocument();
+        Element eventCollection = createChildElement(eventCollectionXML, "EventCollection");
+        createAttribute(eventCollection, "ID").setValue("1");
+
+        // The kml flight track isn't written, but required by the plan processing
+        Element kmlFlightPlan = createChildElement(docBuilder.newDocument(), "Folder");
+
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // 03 - Load, transform, validate and process data sets
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // The master plan file is read once for all plans
+        PlanIndex masterPlanIdx = new PlanIndex(fileMasterPlan);
+
+        pushbackPlan.load(masterPlanIdx, pushBackPlanID);
+        taxiRwyPlan.load(masterPlanIdx, taxiToRwyPlanID);
+        flightPlan.load(masterPlanIdx, flightPlanID);
+        taxiGatePlan.load(masterPlanIdx, taxiToGatePlanID);
+
+        PlanProcessing.validateTransitions(pushbackPlan, taxiRwyPlan, flightPlan, taxiGatePlan);
+
+        // Transform flight plan and add events during cruise
+        flightPlan.transform();
+
+        if(velEventCount > 0 || vertEventCount > 0){
+            cruise = getCruise(flightPlan);
+
+            addCruiseVelEvents(flightPlan, cruise, velEventCount);
+            addCruiseVertEvents(flightPlan, cruise, vertEventCount);
+        }
+
+        addCruiseWxEvents(flightPlan, wxEventCount);
+
+        flightPlan.validate();
+
+        pushbackPlan.transform();
+        pushbackPlan.validate();
+        PlanProcessing.processPushbackPlan(flightPlanNode, eventCollection, pushbackPlan, pushBackPlanID, flightPlan.getVertEvent(0).getAlti(), kmlFlightTrack, kmlFlightPlan);
+
+        taxiRwyPlan.transform();
+        taxiRwyPlan.validate();
+        PlanProcessing.processTaxiPlan(flightPlanNode, eventCollection, taxiRwyPlan, taxiToRwyPlanID, flightPlan.getVertEvent(0).getAlti(), kmlFlightTrack, kmlFlightPlan);
+
+        PlanProcessing.processFlightPlan(flightPlanNode, eventCollection, flightPlan, flightPlanID, kmlFlightTrack, kmlFlightPlan);
+
+        taxiGatePlan.transform();
+        taxiGatePlan.validate();
+        PlanProcessing.processTaxiPlan(flightPlanNode, eventCollection, taxiGatePlan, taxiToGatePlanID, flightPlan.getVertEvent(flightPlan.getVertEventCount() - 1).getAltf(), kmlFlightTrack, kmlFlightPlan);
+
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // 04 - Write data to xml files
+        ///////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        PlanProcessing.writeXml(flightPlanXML, new File(ioDir + name + " FlightPlan.xml"));
+        PlanProcessing.writeXml(eventCollectionXML, new File(ioDir + name + " EventCollection.xml"));
+
+        System.out.println("Synthetic flight plan " + name + ": " + flightPlan.getLateralPlan().getWptSize() + " waypoints, " +
+                String.format(Locale.US, "%.0f", flightPlan.getLateralPlan().getLength() / 1000) + " km, " +
+                flightPlan.getVelEventCount() + "/" + flightPlan.getVertEventCount() + "/" + flightPlan.getWxEventCount() + " airspeed/altitude/weather events");
+    }
+
+    /**
+     * This method writes the synthetic flight master plan.xml. The gate, taxiways and the departure runway are aligned
+     * on a single track, the destination runway continues the final leg of the cruise section.
+     *
+     * @param file          Flight master plan.xml output file
+     * @param wptCount      Number of waypoints of the cruise section
+     * @param turnDensity   Share of the cruise waypoints with a course change, i.e. 0 to 1
+     * @param duration      Approximate flight time in hours
+     * @param seed          Seed of the turn waypoint selection
+     */
+    static void writeMasterPlan(File file, int wptCount, double turnDensity, double duration, long seed) throws Exception {
+        Random rnd = new Random(seed);
+        Waypoint gate, pushbackEnd, rwyStart, prevWpt, thisWpt, turnStartWpt, turnEndWpt;
+        Element waypoints;
+        double crs = RWY_CRS, turnSide = 1, legLn;
+        int n;
+
+        Document masterPlanXML = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element masterPlan = createChildElement(masterPlanXML, "FlightMasterPlan");
+        createAttribute(masterPlan, "ID").setValue("1");
+
+        gate = new Waypoint();
+        gate.setLat(DEP_LAT);
+        gate.setLon(DEP_LON);
+
+        // Pushback plan, hold at gate and push back onto the taxiway
+        pushbackEnd = NavCalc.getRadWpt(gate, 60, NavCalc.getNewCourse(RWY_CRS, 180));
+
+        waypoints = addMasterPlan(masterPlan, 1);
+        addMasterWaypoint(waypoints, 1, gate, 60, Double.NaN);
+        addMasterWaypoint(waypoints, 2, pushbackEnd, Double.NaN, 0);
+
+        // Taxi to runway plan
+        rwyStart = NavCalc.getRadWpt(gate, 1500, RWY_CRS);
+
+        waypoints = addMasterPlan(masterPlan, 2);
+        addMasterWaypoint(waypoints, 1, pushbackEnd, Double.NaN, 0);
+        addMasterWaypoint(waypoints, 2, NavCalc.getRadWpt(gate, 800, RWY_CRS), Double.NaN, SPD_TAXI);
+        addMasterWaypoint(waypoints, 3, rwyStart, Double.NaN, 0);
+
+        // Flight plan, takeoff and initial climb on runway heading
+        waypoints = addMasterPlan(masterPlan, 3);
+        addMasterWaypoint(waypoints, 1, rwyStart, 30, 0);
+
+        prevWpt = NavCalc.getRadWpt(rwyStart, 1800, RWY_CRS);
+        addMasterWaypoint(waypoints, 2, prevWpt, Double.NaN, Double.NaN);
+
+        prevWpt = NavCalc.getRadWpt(prevWpt, 8000, RWY_CRS);
+        addMasterWaypoint(waypoints, 3, prevWpt, Double.NaN, Double.NaN);
+        n = 3;
+
+        // Cruise section, legs of equal length and course changes to alternating sides
+        legLn = max(duration * 3600 * PerfCalc.convertKts(SPD_CRUISE, "kts"), 500000) / (wptCount + 1);
+
+        for(int w = 0; w < wptCount; w++){
+            if(rnd.nextDouble() < turnDensity){
+                crs = NavCalc.getNewCourse(crs, TURN_CRS_CHG * turnSide);
+                turnSide *= -1;
+            }
+
+            thisWpt = NavCalc.getRadWpt(prevWpt, legLn, crs);
+            addMasterWaypoint(waypoints, ++n, thisWpt, Double.NaN, Double.NaN);
+
+            // Continue with the course at the end of the great circle leg
+            crs = NavCalc.getNewCourse(NavCalc.getInitBearing(thisWpt, prevWpt), 180);
+            prevWpt = thisWpt;
+        }
+
+        // Final approach, touchdown and end of rollout
+        prevWpt = NavCalc.getRadWpt(prevWpt, legLn, crs);
+        addMasterWaypoint(waypoints, ++n, prevWpt, Double.NaN, Double.NaN);
+
+        prevWpt = NavCalc.getRadWpt(prevWpt, 30000, crs);
+        addMasterWaypoint(waypoints, ++n, prevWpt, Double.NaN, Double.NaN);
+
+        prevWpt = NavCalc.getRadWpt(prevWpt, 2000, crs);
+        addMasterWaypoint(waypoints, ++n, prevWpt, Double.NaN, SPD_TAXI);
+
+        // Taxi to gate plan, vacate runway and turn off to the gate, the turn is defined by its start, mid and end points
+        thisWpt = NavCalc.getRadWpt(prevWpt, 300, crs);
+        turnStartWpt = NavCalc.getRadWpt(thisWpt, TAXI_TURN_DIST, NavCalc.getNewCourse(crs, 180));
+        turnEndWpt = NavCalc.getRadWpt(thisWpt, TAXI_TURN_DIST, NavCalc.getNewCourse(crs, 90));
+
+        waypoints = addMasterPlan(masterPlan, 4);
+        addMasterWaypoint(waypoints, 1, prevWpt, Double.NaN, SPD_TAXI);
+        addMasterWaypoint(waypoints, 2, turnStartWpt, Double.NaN, SPD_TAXI_TURN);
+        addMasterWaypoint(waypoints, 3, NavCalc.getItmWpt(NavCalc.getItmWpt(turnStartWpt, turnEndWpt, 0.5), thisWpt, 0.3), Double.NaN, SPD_TAXI_TURN);
+        addMasterWaypoint(waypoints, 4, turnEndWpt, Double.NaN, SPD_TAXI_TURN);
+        addMasterWaypoint(waypoints, 5, NavCalc.getRadWpt(thisWpt, 400, NavCalc.getNewCourse(crs, 90)), Double.NaN, 0);
+
+        PlanProcessing.writeXml(masterPlanXML, file);
+    }
+
+    /**
+     * @param masterPlan    Root node of the flight master plan.xml
+     * @param planID        Id of the plan
+     * @return              Waypoints node of the new plan
+     */
+    private static Element addMasterPlan(Element masterPlan, int planID){
+        Element plan = createChildElement(masterPlan, "Plan");
+        createAttribute(plan, "ID").setValue(String.valueOf(planID));
+
+        return createChildElement(plan, "Waypoints");
+    }
+
+    /**
+     * This method adds a waypoint incl. the optional hold time and speed to a plan of the flight master plan.xml.
+     *
+     * @param waypoints     Waypoints node of the plan
+     * @param wptId         Waypoint ID
+     * @param wpt           Waypoint
+     * @param timeOffset    Hold time at the waypoint in seconds, NaN if not defined
+     * @param spd           Speed at the waypoint in knots, NaN if not defined
+     */
+    private static void addMasterWaypoint(Element waypoints, int wptId, Waypoint wpt, double timeOffset, double spd){
+        Element waypoint;
+
+        PlanProcessing.addWaypoint(waypoints, wptId, wpt.getLat(), wpt.getLon());
+        waypoint = (Element) waypoints.getLastChild();
+
+        if(!Double.isNaN(timeOffset))
+            createAttribute(waypoint, "timeOffset").setValue(String.format(Locale.US, "%.1f", timeOffset));
+
+        if(!Double.isNaN(spd))
+            createAttribute(waypoint, "spd").setValue(String.format(Locale.US, "%.1f", spd));
+    }
+
+    /**
+     * This method returns the cruise section of the flight plan, i.e. the section between the end of the final climb
+     * and acceleration to cruise speed, and the start of the descent and the deceleration to descent speed.
+     *
+     * @param flightPlan    Flight plan
+     * @return              Start and end of the cruise section as distance from the start of the flight plan in meters
+     */
+    private static double[] getCruise(FlightPlan flightPlan){
+        LateralPlan latPlan = flightPlan.getLateralPlan();
+        Waypoint startWpt = latPlan.getStartWpt();
+        double start, end;
+
+        if(flightPlan.getCrzAlt() <= PerfCalc.convertFt(ALT_TRANSITION, "ft"))
+            throw new IllegalArgumentException("Cruise altitude below transition altitude");
+
+        start = max(latPlan.getDist(startWpt, getCrzAccEvent(flightPlan).getEndPt()), latPlan.getDist(startWpt, getCrzClimbEvent(flightPlan).getEndPt()));
+        end = min(latPlan.getDist(startWpt, getCrzDecEvent(flightPlan).getStartPt()), latPlan.getDist(startWpt, getCrzDescEvent(flightPlan).getStartPt()));
+
+        if(end <= start)
+            throw new IllegalArgumentException("Flight too short for cruise events");
+
+        // Keep a margin to the climb and descent
+        return new double[]{start + (end - start) * 0.05, end - (end - start) * 0.05};
+    }
+
+    /**
+     * @param flightPlan    Flight plan
+     * @return              The acceleration to cruise speed, i.e. the first change airspeed event to cruise speed
+     */
+    static EventChgAirspeed getCrzAccEvent(FlightPlan flightPlan){
+        double vCrz = PerfCalc.convertKts(SPD_CRUISE, "kts");
+        EventChgAirspeed velEvent;
+
+        for(int e = 0; e < flightPlan.getVelEventCount(); e++){
+            velEvent = flightPlan.getVelEvent(e);
+
+            if(velEvent.getVAsf() == vCrz && velEvent.getVAsi() < vCrz)
+                return velEvent;
+        }
+
+        throw new IllegalArgumentException("No acceleration to cruise speed");
+    }
+
+    /**
+     * @param flightPlan    Flight plan
+     * @return              The deceleration from cruise speed, i.e. the last change airspeed event from cruise speed
+     *                      to a lower speed
+     */
+    static EventChgAirspeed getCrzDecEvent(FlightPlan flightPlan){
+        double vCrz = PerfCalc.convertKts(SPD_CRUISE, "kts");
+        EventChgAirspeed velEvent;
+
+        for(int e = flightPlan.getVelEventCount() - 1; e >= 0; e--){
+            velEvent = flightPlan.getVelEvent(e);
+
+            if(velEvent.getVAsi() == vCrz && velEvent.getVAsf() < vCrz)
+                return velEvent;
+        }
+
+        throw new IllegalArgumentException("No deceleration from cruise speed");
+    }
+
+    /**
+     * @param flightPlan    Flight plan
+     * @return              The climb to cruise altitude, i.e. the first change altitude event to cruise altitude
+     */
+    static EventChgAltitude getCrzClimbEvent(FlightPlan flightPlan){
+        double crzAlt = flightPlan.getCrzAlt();
+        EventChgAltitude vertEvent;
+
+        for(int e = 0; e < flightPlan.getVertEventCount(); e++){
+            vertEvent = flightPlan.getVertEvent(e);
+
+            if(vertEvent.getAltf() == crzAlt && vertEvent.getAlti() < crzAlt)
+                return vertEvent;
+        }
+
+        throw new IllegalArgumentException("No climb to cruise altitude");
+    }
+
+    /**
+     * @param flightPlan    Flight plan
+     * @return              The descent from cruise altitude, i.e. the last change altitude event from cruise altitude
+     *                      to a lower altitude
+     */
+    static EventChgAltitude getCrzDescEvent(FlightPlan flightPlan){
+        double crzAlt = flightPlan.getCrzAlt();
+        EventChgAltitude vertEvent;
+
+        for(int e = flightPlan.getVertEventCount() - 1; e >= 0; e--){
+            vertEvent = flightPlan.getVertEvent(e);
+
+            if(vertEvent.getAlti() == crzAlt && vertEvent.getAltf() < crzAlt)
+                return vertEvent;
+        }
+
+        throw new IllegalArgumentException("No descent from cruise altitude");
+    }
+
+    /**
+     * @param flightPlan    Flight plan
+     * @return              The cruise turbulence, i.e. the change weather event of cruise turbulence which covers the
+     *                      middle of the flight plan
+     */
+    static EventChgWeather getCrzWxEvent(FlightPlan flightPlan){
+        LateralPlan latPlan = flightPlan.getLateralPlan();
+        Waypoint startWpt = latPlan.getStartWpt();
+        double mid = latPlan.getLength() / 2;
+        EventChgWeather wxEvent;
+
+        for(int e = 0; e < flightPlan.getWxEventCount(); e++){
+            wxEvent = flightPlan.getWxEvent(e);
+
+            if(wxEvent.getTurbulenceMagn() == CAT_MAGN_CRUISE && wxEvent.getTurbulenceFreq() == CAT_FREQ_CRUISE
+                    && latPlan.getDist(startWpt, wxEvent.getStartPt()) <= mid && latPlan.getDist(startWpt, wxEvent.getEndPt()) >= mid)
+                return wxEvent;
+        }
+
+        throw new IllegalArgumentException("No cruise turbulence");
+    }
+
+    /**
+     * This method adds change airspeed events during cruise, alternating above and below the cruise speed and
+     * returning to cruise speed with the last event.
+     *
+     * @param flightPlan    Flight plan
+     * @param cruise        Start and end of the cruise section, ref. getCruise()
+     * @param count         Number of change airspeed events
+     */
+    static void addCruiseVelEvents(FlightPlan flightPlan, double[] cruise, int count){
+        LateralPlan latPlan = flightPlan.getLateralPlan();
+        EventChgAirspeed velEvent;
+        Waypoint startWpt, endWpt;
+        double slotLn, vCrz = PerfCalc.convertKts(SPD_CRUISE, "kts"), vChg = PerfCalc.convertKts(CRZ_SPD_CHG, "kts");
+        int pos;
+
+        if(count <= 0)
+            return;
+
+        slotLn = (cruise[1] - cruise[0]) / count;
+        pos = flightPlan.getVelEventPos(getCrzAccEvent(flightPlan)) + 1;
+
+        for(int e = 0; e < count; e++){
+            startWpt = latPlan.getItmWpt(latPlan.getStartWpt(), cruise[0] + slotLn * (e + 0.25));
+            endWpt = latPlan.getItmWpt(latPlan.getStartWpt(), cruise[0] + slotLn * (e + 0.75));
+
+            velEvent = new EventChgAirspeed();
+            velEvent.setStartPt(startWpt.getLat(), startWpt.getLon());
+            velEvent.setEndPt(endWpt.getLat(), endWpt.getLon());
+            velEvent.setvAsi((e == 0) ? vCrz : vCrz + vChg * ((e % 2 == 1) ? 1 : -1));
+            velEvent.setvAsf((e == count - 1) ? vCrz : vCrz + vChg * ((e % 2 == 0) ? 1 : -1));
+            velEvent.setAcc(Double.NaN);
+
+            // Insert after the acceleration to cruise speed
+            flightPlan.addVelEvent(pos + e, velEvent);
+        }
+    }
+
+    /**
+     * This method adds change altitude events during cruise, alternating between a step descent and a step climb back
+     * to cruise altitude, and returning to cruise altitude with the last event.
+     *
+     * @param flightPlan    Flight plan
+     * @param cruise        Start and end of the cruise section, ref. getCruise()
+     * @param count         Number of change altitude events
+     */
+    static void addCruiseVertEvents(FlightPlan flightPlan, double[] cruise, int count){
+        LateralPlan latPlan = flightPlan.getLateralPlan();
+        EventChgAltitude vertEvent;
+        Waypoint startWpt, endWpt;
+        double slotLn, vertGrndDist, alti, altf, crzAlt = flightPlan.getCrzAlt(), altChg = PerfCalc.convertFt(CRZ_ALT_CHG, "ft");
+        int descent;
+
+        if(count <= 0)
+            return;
+
+        slotLn = (cruise[1] - cruise[0]) / count;
+        descent = flightPlan.getVertEventPos(getCrzDescEvent(flightPlan));
+
+        for(int e = 0; e < count; e++){
+            alti = (e % 2 == 1) ? crzAlt - altChg : crzAlt;
+            altf = (e % 2 == 0 && e < count - 1) ? crzAlt - altChg : crzAlt;
+
+            // Ground distance on default climb and descent slopes, level if altitude doesn't change
+            if(altf < alti)
+                vertGrndDist = (alti - altf) / sin(toRadians(ALPHA_DESC_DEF_DEG));
+            else if(altf > alti)
+                vertGrndDist = (altf - alti) / sin(toRadians(ALPHA_CLIMB_DEF_DEG));
+            else
+                vertGrndDist = slotLn / 2;
+
+            vertGrndDist = min(vertGrndDist, slotLn * 0.8);
+
+            startWpt = latPlan.getItmWpt(latPlan.getStartWpt(), cruise[0] + slotLn * (e + 0.5) - vertGrndDist / 2);
+            endWpt = latPlan.getItmWpt(latPlan.getStartWpt(), cruise[0] + slotLn * (e + 0.5) + vertGrndDist / 2);
+
+            vertEvent = new EventChgAltitude();
+            vertEvent.setStartPt(startWpt.getLat(), startWpt.getLon());
+            vertEvent.setEndPt(endWpt.getLat(), endWpt.getLon());
+            vertEvent.setAlti(alti);
+            vertEvent.setAltf(altf);
+
+            // Insert before the descent
+            flightPlan.addVertEvent(descent + e, vertEvent);
+        }
+    }
+
+    /**
+     * This method splits the cruise turbulence event into a number of consecutive change weather events of varying
+     * turbulence magnitude.
+     *
+     * @param flightPlan    Flight plan
+     * @param count         Number of change weather events
+     */
+    static void addCruiseWxEvents(FlightPlan flightPlan, int count){
+        LateralPlan latPlan = flightPlan.getLateralPlan();
+        EventChgWeather crzEvent, wxEvent;
+        Waypoint startWpt, endWpt;
+        double start, slotLn;
+        int pos;
+
+        if(count <= 1)
+            return;
+
+        crzEvent = getCrzWxEvent(flightPlan);
+        pos = flightPlan.getWxEventPos(crzEvent) + 1;
+
+        start = latPlan.getDist(latPlan.getStartWpt(), crzEvent.getStartPt());
+        slotLn = latPlan.getDist(crzEvent.getStartPt(), crzEvent.getEndPt()) / count;
+
+        for(int e = count - 1; e >= 0; e--){
+            startWpt = latPlan.getItmWpt(latPlan.getStartWpt(), start + slotLn * e);
+            endWpt = latPlan.getItmWpt(latPlan.getStartWpt(), start + slotLn * (e + 1));
+
+            wxEvent = (e == 0) ? crzEvent : new EventChgWeather();
+            wxEvent.setStartPt(startWpt.getLat(), startWpt.getLon());
+            wxEvent.setEndPt(endWpt.getLat(), endWpt.getLon());
+            wxEvent.setTurbulence(CAT_MAGN_CRUISE * (1 + e % 3) / 2, CAT_FREQ_CRUISE);
+            wxEvent.setWind(0, 0);
+
+            if(e > 0)
+                flightPlan.addWxEvent(pos, wxEvent);
+        }
+    }
+}
@@ -3,16 +3,10 @@ package ftdis.fplu;
 //import com.sun.xml.internal.bind.v2.runtime.output.StAXExStreamWriterOutput;
 
 import ftdis.fdpu.*;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.File;
 import java.util.*;
 
 import static ftdis.fdpu.ListUtil.deepClone;
 import static java.lang.Math.*;
-import static ftdis.fdpu.DOMUtil.*;
 import static ftdis.fdpu.Config.*;
 
 /**
@@ -117,55 +111,60 @@ public class TaxiPlan {
      */
     public void load(String fileName, int planID){
         try{
-            double cTimeOffset = 0.0, cVelocity = 0.0;
-
-            if(fileName != null && !fileName.isEmpty()) {
-                this.planID = planID;
-
-                // Load lateral plan
-                latPlan.load(fileName, this.planID);
-                latPlan.transform();
-                latPlan.validate();
+            if(fileName != null && !fileName.isEmpty())
+                this.load(new PlanIndex(fileName), planID);
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+        }
+    }
 
-                // Load events
-                holdPoints.load(fileName, this.planID);
+    /**
+     * This method loads the lateral plan and additional variables of a plan from a parsed master plan xml file.
+     *
+     * @param index     Plan index of the master plan xml file
+     * @param planID    ID of the plan to be loaded
+     */
+    public void load(PlanIndex index, int planID){
+        try{
+            double cTimeOffset = 0.0, cVelocity = 0.0;
+            int wptCount;
 
-                if (latPlan.dataValid) {
-                    // Parse xml file and load variables
-                    DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                    DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-                    Document masterPlanXML = dBuilder.parse(new File(fileName));
+            this.planID = planID;
 
-                    // normalize
-                    masterPlanXML.getDocumentElement().normalize();
+            // Load lateral plan
+            latPlan.load(index, this.planID);
+            latPlan.transform();
+            latPlan.validate();
 
-                    // Get variables
-                    this.taxiSpd = PerfCalc.convertKts(SPD_TAXI,"kts");
+            // Load events
+            holdPoints.load(index, this.planID);
 
-                    // Get additional waypoint data
-                    Node plan = findNode(findNode(masterPlanXML.getDocumentElement().getChildNodes(), "Plan", "ID", Integer.toString(this.planID)).getChildNodes(),"Waypoints");
-                    List<Node> waypoints = getChildElementsByTagName(plan, "Waypoint");
+            if (latPlan.dataValid) {
+                // Get variables
+                this.taxiSpd = PerfCalc.convertKts(SPD_TAXI,"kts");
 
-                    for(Node node : waypoints){
-                        // Get time offset
-                        try{
-                            cTimeOffset = Double.parseDouble(getAttributeValue(node, "timeOffset"));
-                        } catch (Exception e) {
-                            cTimeOffset = 0.0;
-                        }
-                        timeOffset.add(cTimeOffset);
+                // Get additional waypoint data
+                wptCount = index.getWaypoints(this.planID).size();
 
-                        // Get taxi speed
-                        try{
-                            if(cTimeOffset == 0.0)
-                                cVelocity = PerfCalc.convertKts(Double.parseDouble(getAttributeValue(node, "spd")),"kts");
-                            else
-                                cVelocity = 0.0;
-                        } catch (DOMUtilException e) {
-                            cVelocity = this.taxiSpd;
-                        }
-                        velocity.add(cVelocity);
+                for(int w = 0; w < wptCount; w++){
+                    // Get time offset
+                    try{
+                        cTimeOffset = Double.parseDouble(index.getWptAttribute(this.planID, PlanIndex.WAYPOINTS, w, "timeOffset"));
+                    } catch (Exception e) {
+                        cTimeOffset = 0.0;
+                    }
+                    timeOffset.add(cTimeOffset);
+
+                    // Get taxi speed
+                    try{
+                        if(cTimeOffset == 0.0)
+                            cVelocity = PerfCalc.convertKts(Double.parseDouble(index.getWptAttribute(this.planID, PlanIndex.WAYPOINTS, w, "spd")),"kts");
+                        else
+                            cVelocity = 0.0;
+                    } catch (DOMUtilException e) {
+                        cVelocity = this.taxiSpd;
                     }
+                    velocity.add(cVelocity);
                 }
             }
         }catch(Exception e){
@@ -178,6 +178,39 @@ public class AircraftAxisTest {
         }
     }
 
+    @Test
+    public void testPositionContext() throws Exception {
+        Waypoint trackWpt, startWpt;
+        PositionContext pos = new PositionContext(latTrack, velTrack, vertTrack, wxTrack);
+        AircraftAxis testAxis = new AircraftAxis();
+        AircraftControl testControl = new AircraftControl();
+
+        testControl.assignLat(latTrack);
+        testControl.assignVel(velTrack);
+        testControl.assignVert(vertTrack);
+        testControl.assignWx(wxTrack);
+
+        testAxis.assignLat(latTrack);
+        testAxis.assignVel(velTrack);
+        testAxis.assignVert(vertTrack);
+        testAxis.assignWx(wxTrack);
+        testAxis.assignControl(testControl);
+
+        startWpt = latTrack.getStartWpt();
+
+        // Compare axis values derived from the position context with the waypoint based calculation
+        for(double trackDist = 0; trackDist < latTrack.getLength(); trackDist += 500){
+            trackWpt = latTrack.getItmWpt(startWpt, trackDist);
+            pos.set(trackWpt);
+
+            assertEquals(latTrack.getDist(startWpt, trackWpt), pos.getTrackDist(), 0.0);
+            assertEquals(velTrack.getVasAtWpt(trackWpt), pos.getVas(), 0.0);
+            assertEquals(testAxis.getHeadingAtWpt(trackWpt), testAxis.getHeadingAtWpt(pos), 0.0);
+            assertEquals(testAxis.getPitchAngleAtWpt(trackWpt), testAxis.getPitchAngleAtWpt(pos), 0.0);
+            assertEquals(testAxis.getAltAtWpt(trackWpt), testAxis.getAltAtWpt(pos), 0.0);
+        }
+    }
+
     @Ignore
     public void testGetHeading() throws Exception {
 
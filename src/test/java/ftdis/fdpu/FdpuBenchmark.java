@@ -0,0 +1,379 @@
+package ftdis.fdpu;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static java.lang.Math.*;
+
+/**
+ * Micro benchmark of the geometry and kinematics methods, which are called in each processing cycle of the flight
+ * processing, i.e. NavCalc, DirectSegment, TurnSegment, LateralTrack, VelocityPlan, PerfCalc and AircraftAxis.
+ *
+ * The track dependent methods are measured on synthetic flights with a configurable number of lateral segments, so
+ * that the scaling of segment lookups and distance calculations with the length of the track becomes visible. The
+ * sample waypoints exceed the waypoint location cache of the lateral track, i.e. lookups include the segment search.
+ * Each benchmark is warmed up before it is measured, results are consumed by a sink to prevent dead code elimination.
+ *
+ * Usage: FdpuBenchmark [-segments 10,100,500,2000] [-filter name] [-iterations 5] [-time 0.2]
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FdpuBenchmark {
+    static final int SAMPLES = 1024, BATCH = 16;
+    static final double TRACK_LN = 6.0E6;
+
+    static volatile double sink;
+
+    private int iterations = 5, warmupIterations = 3;
+    private long iterationNs = 200000000L;
+    private String filter = "";
+
+    /**
+     * Benchmarked operation, the operand selects one of the prepared samples.
+     */
+    interface Op {
+        double run(int i);
+    }
+
+    public static void main(String[] args) {
+        FdpuBenchmark bench = new FdpuBenchmark();
+        int[] sgmtCounts = {10, 100, 500, 2000};
+        String[] counts;
+
+        Locale.setDefault(Locale.US);
+
+        // Read arguments
+        for(int a = 0; a + 1 < args.length; a += 2){
+            if(args[a].equals("-segments")){
+                counts = args[a + 1].split(",");
+                sgmtCounts = new int[counts.length];
+                for(int c = 0; c < counts.length; c++)
+                    sgmtCounts[c] = Integer.parseInt(counts[c].trim());
+            }else if(args[a].equals("-filter")){
+                bench.filter = args[a + 1];
+            }else if(args[a].equals("-iterations")){
+                bench.iterations = Integer.parseInt(args[a + 1]);
+            }else if(args[a].equals("-time")){
+                bench.iterationNs = (long) (Double.parseDouble(args[a + 1]) * 1.0E9);
+            }
+        }
+
+        System.out.println(String.format("%-36s %9s %14s %12s", "Benchmark", "Segments", "ns/op", "Error"));
+
+        bench.runStatic();
+
+        for(int n : sgmtCounts)
+            bench.runTrack(new Flight(n));
+    }
+
+    /**
+     * Benchmarks, which don't depend on the length of the track.
+     */
+    void runStatic(){
+        final Flight flight = new Flight(10);
+        final Waypoint[] w1 = new Waypoint[SAMPLES], w2 = new Waypoint[SAMPLES];
+        final Waypoint[] dirWpt = new Waypoint[SAMPLES], turnWpt = new Waypoint[SAMPLES];
+        final Waypoint itmWpt = new Waypoint();
+        final double[] f = new double[SAMPLES], values = new double[SAMPLES];
+        final DirectSegment dirSgmt = (DirectSegment) flight.latTrack.getSgmt(2);
+        final TurnSegment turnSgmt = (TurnSegment) flight.latTrack.getSgmt(3);
+        final int[] sigmSlopes = {5, 10, 20, 30}, accSlopes = {5, 10, 20, 25};
+        double dirLn = dirSgmt.getDist(), turnLn = turnSgmt.getDist();
+
+        // Random waypoint pairs and waypoints within the segments
+        Random rnd = new Random(7);
+
+        for(int i = 0; i < SAMPLES; i++){
+            w1[i] = new Waypoint();
+            w1[i].setLat(rnd.nextDouble() * 120 - 60);
+            w1[i].setLon(rnd.nextDouble() * 360 - 180);
+            w2[i] = NavCalc.getRadWpt(w1[i], rnd.nextDouble() * 1.0E6, rnd.nextDouble() * 360);
+            f[i] = rnd.nextDouble();
+            values[i] = rnd.nextDouble() * 25;
+
+            dirWpt[i] = dirSgmt.getItmWpt(dirSgmt.getStartPt(), dirLn * (i + 0.5) / SAMPLES);
+            turnWpt[i] = turnSgmt.getItmWpt(turnSgmt.getStartPt(), turnLn * (i + 0.5) / SAMPLES);
+        }
+
+        measure("NavCalc.getDirectDist", 0, new Op() {
+            public double run(int i) { return NavCalc.getDirectDist(w1[i], w2[i]); }
+        });
+
+        measure("NavCalc.getItmWpt", 0, new Op() {
+            public double run(int i) { return NavCalc.getItmWpt(w1[i], w2[i], f[i], itmWpt).getLat(); }
+        });
+
+        measure("NavCalc.getRadWpt", 0, new Op() {
+            public double run(int i) { return NavCalc.getRadWpt(w1[i], f[i] * 1.0E5, values[i] * 14.4, itmWpt).getLat(); }
+        });
+
+        measure("DirectSegment.getTrackError", 0, new Op() {
+            public double run(int i) { return dirSgmt.getTrackError(dirWpt[i]); }
+        });
+
+        measure("DirectSegment.getItmWpt", 0, new Op() {
+            public double run(int i) { return dirSgmt.getItmWpt(dirWpt[i], 100).getLat(); }
+        });
+
+        measure("TurnSegment.getTrackError", 0, new Op() {
+            public double run(int i) { return turnSgmt.getTrackError(turnWpt[i]); }
+        });
+
+        measure("TurnSegment.getItmWpt", 0, new Op() {
+            public double run(int i) { return turnSgmt.getItmWpt(turnWpt[i], 10).getLat(); }
+        });
+
+        measure("PerfCalc.getSigmoidVal", 0, new Op() {
+            public double run(int i) { return PerfCalc.getSigmoidVal(25, values[i], sigmSlopes[i & 3]); }
+        });
+
+        measure("PerfCalc.getAccVal", 0, new Op() {
+            public double run(int i) { return PerfCalc.getAccVal(25, values[i], accSlopes[i & 3]); }
+        });
+    }
+
+    /**
+     * Benchmarks, which depend on the length of the track.
+     *
+     * @param flight    The synthetic flight
+     */
+    void runTrack(final Flight flight){
+        final int n = flight.sgmtCount;
+        final Waypoint[] wpt = flight.samples;
+
+        measure("LateralTrack.getWptSgmt", n, new Op() {
+            public double run(int i) { return flight.latTrack.getWptSgmt(wpt[i]).getDist(); }
+        });
+
+        measure("LateralTrack.getDist", n, new Op() {
+            public double run(int i) { return flight.latTrack.getDist(wpt[i], wpt[(i + 37) & (SAMPLES - 1)]); }
+        });
+
+        measure("LateralTrack.getItmWpt", n, new Op() {
+            public double run(int i) { return flight.latTrack.getItmWpt(wpt[i], 1000).getLat(); }
+        });
+
+        measure("VelocityPlan.getDist", n, new Op() {
+            public double run(int i) { return flight.velPlan.getDist(wpt[i], 60); }
+        });
+
+        measure("VelocityPlan.getVasu", n, new Op() {
+            public double run(int i) { return flight.velPlan.getVasu(wpt[i], wpt[(i + 37) & (SAMPLES - 1)]); }
+        });
+
+        measure("AircraftAxis.getBankAngleAtWpt", n, new Op() {
+            public double run(int i) { return flight.axis.getBankAngleAtWpt(wpt[i]); }
+        });
+
+        measure("AircraftAxis.getPitchAngleAtWpt", n, new Op() {
+            public double run(int i) { return flight.axis.getPitchAngleAtWpt(wpt[i]); }
+        });
+    }
+
+    /**
+     * This method warms up and measures a benchmark, and prints the average time per operation together with the
+     * 99.9% confidence interval of the measurement iterations.
+     *
+     * @param name      Name of the benchmark
+     * @param sgmts     Number of segments of the track, 0 if not applicable
+     * @param op        The benchmarked operation
+     */
+    void measure(String name, int sgmts, Op op){
+        double[] nsPerOp;
+        double mean = 0, var = 0;
+
+        if(!name.contains(filter))
+            return;
+
+        for(int w = 0; w < warmupIterations; w++)
+            iteration(op);
+
+        nsPerOp = new double[iterations];
+        for(int m = 0; m < iterations; m++){
+            nsPerOp[m] = iteration(op);
+            mean += nsPerOp[m] / iterations;
+        }
+
+        for(double v : nsPerOp)
+            var += pow(v - mean, 2) / max(1, iterations - 1);
+
+        System.out.println(String.format("%-36s %9s %14.1f %12.1f", name, (sgmts > 0) ? String.valueOf(sgmts) : "-",
+                mean, 3.29 * sqrt(var / iterations)));
+    }
+
+    /**
+     * @param op    The benchmarked operation
+     * @return      Average time per operation in nanoseconds of a single iteration
+     */
+    private double iteration(Op op){
+        long ops = 0, startNs = System.nanoTime(), elapsedNs;
+        double sum = 0;
+
+        // Check the clock once per batch only, slow operations on long tracks take milliseconds per call
+        do{
+            for(int i = 0; i < BATCH; i++)
+                sum += op.run((int) (ops + i) & (SAMPLES - 1));
+
+            ops += BATCH;
+            elapsedNs = System.nanoTime() - startNs;
+        }while(elapsedNs < iterationNs);
+
+        sink += sum;
+
+        return (double) elapsedNs / ops;
+    }
+
+    /**
+     * Synthetic flight along a zigzag track of alternating direct and turn segments with a course change of 20
+     * degrees, including matching velocity, vertical and weather segments. The flight climbs and accelerates during
+     * the first quarter of the track and descends and decelerates during the last quarter.
+     */
+    static class Flight {
+        final int sgmtCount;
+        final LateralTrack latTrack = new LateralTrack();
+        final VelocityPlan velPlan = new VelocityPlan();
+        final VerticalPlan vertPlan = new VerticalPlan();
+        final WeatherTrack wxTrack = new WeatherTrack();
+        final AircraftAxis axis = new AircraftAxis();
+        final Waypoint[] samples = new Waypoint[SAMPLES];
+
+        /**
+         * Constructor
+         *
+         * @param sgmtCount Number of lateral segments
+         */
+        Flight(int sgmtCount){
+            int legs = sgmtCount / 2 + 1;
+            double legLn = TRACK_LN / legs, turnDist = legLn * 0.1, length, sgmtDist, vAsi, vAsf, vAsu, alti, altf;
+            double[] course = new double[legs];
+            Waypoint[] vertex = new Waypoint[legs + 1];
+            Waypoint start, end = null;
+            LateralSegment latSgmt;
+            DirectSegment dirSgmt;
+            TurnSegment turnSgmt;
+            VelocitySegment velSgmt;
+            VerticalSegment vertSgmt;
+            WeatherSegment wxSgmt;
+
+            this.sgmtCount = sgmtCount;
+
+            // Vertices of the zigzag track
+            vertex[0] = new Waypoint();
+            vertex[0].setLat(47.0);
+            vertex[0].setLon(8.0);
+
+            for(int v = 0; v < legs; v++){
+                course[v] = (v % 2 == 0) ? 80 : 100;
+                vertex[v + 1] = NavCalc.getRadWpt(vertex[v], legLn, course[v]);
+            }
+
+            // Alternating direct and turn segments, turns are cut into the vertices
+            for(int s = 0, v = 0; s < sgmtCount; s++){
+                start = (s == 0) ? vertex[0] : end;
+
+                if(s % 2 == 0){
+                    end = (s == sgmtCount - 1) ? vertex[v + 1] : NavCalc.getRadWpt(vertex[v + 1], turnDist, course[v] + 180);
+
+                    dirSgmt = new DirectSegment();
+                    dirSgmt.setStartPt(start.getLat(), start.getLon());
+                    dirSgmt.setEndPt(end.getLat(), end.getLon());
+                    latTrack.addSgmt(dirSgmt);
+                }else{
+                    v++;
+                    end = NavCalc.getRadWpt(vertex[v], turnDist, course[v]);
+
+                    turnSgmt = new TurnSegment();
+                    turnSgmt.setRadius(turnDist * tan(toRadians(80)));
+                    turnSgmt.setStartPt(start.getLat(), start.getLon());
+                    turnSgmt.setTurnPt(vertex[v].getLat(), vertex[v].getLon());
+                    turnSgmt.setEndPt(end.getLat(), end.getLon());
+                    latTrack.addSgmt(turnSgmt);
+                }
+            }
+
+            latTrack.buildIndex();
+            length = latTrack.getLength();
+
+            // Velocity and vertical segments match the lateral segments
+            velPlan.assignLat(latTrack);
+            vertPlan.assignLat(latTrack);
+            vertPlan.assignVel(velPlan);
+
+            for(int s = 0; s < sgmtCount; s++){
+                latSgmt = latTrack.getSgmt(s);
+                sgmtDist = latSgmt.getDist();
+                vAsi = getVas((double) s / sgmtCount);
+                vAsf = getVas((double) (s + 1) / sgmtCount);
+                alti = getAlt((double) s / sgmtCount);
+                altf = getAlt((double) (s + 1) / sgmtCount);
+
+                velSgmt = new VelocitySegment();
+                velSgmt.setStartPt(latSgmt.getStartPt().getLat(), latSgmt.getStartPt().getLon());
+                velSgmt.setEndPt(latSgmt.getEndPt().getLat(), latSgmt.getEndPt().getLon());
+                velSgmt.setDist(sgmtDist);
+                velSgmt.setVasi(vAsi);
+                velSgmt.setVasf(vAsf);
+                velSgmt.setAcc((pow(vAsf, 2) - pow(vAsi, 2)) / (2 * sgmtDist));
+                velPlan.addSgmt(velSgmt);
+
+                vertSgmt = new VerticalSegment();
+                vertSgmt.setStartPt(latSgmt.getStartPt().getLat(), latSgmt.getStartPt().getLon());
+                vertSgmt.setEndPt(latSgmt.getEndPt().getLat(), latSgmt.getEndPt().getLon());
+                vertSgmt.setDist(sgmtDist);
+                vertSgmt.setAlti(alti);
+                vertSgmt.setAltf(altf);
+                vertSgmt.setAlpha(atan((altf - alti) / sgmtDist));
+                vertSgmt.setVs((altf - alti) / (2 * sgmtDist / (vAsi + vAsf)));
+                vertPlan.addSgmt(vertSgmt);
+            }
+
+            velPlan.buildIndex();
+            velPlan.buildProfile();
+            vertPlan.buildIndex();
+
+            // Single weather segment with light turbulence across the entire track
+            wxSgmt = new WeatherSegment();
+            wxSgmt.setStartPt(latTrack.getStartWpt().getLat(), latTrack.getStartWpt().getLon());
+            wxSgmt.setEndPt(latTrack.getEndWpt().getLat(), latTrack.getEndWpt().getLon());
+            wxSgmt.setDist(length);
+            wxSgmt.setCat(1, 1);
+
+            vAsu = velPlan.getVasu(wxSgmt.getStartPt(), wxSgmt.getEndPt());
+            wxSgmt.init(vAsu, "pitch");
+            wxSgmt.init(vAsu, "bank");
+            wxSgmt.init(vAsu, "alt");
+
+            wxTrack.assignLat(latTrack);
+            wxTrack.assignVel(velPlan);
+            wxTrack.addSgmt(wxSgmt);
+            wxTrack.buildIndex();
+
+            axis.assignLat(latTrack);
+            axis.assignVel(velPlan);
+            axis.assignVert(vertPlan);
+            axis.assignWx(wxTrack);
+            axis.assignControl(new AircraftControl());
+
+            // Sample waypoints evenly distributed along the track
+            for(int i = 0; i < SAMPLES; i++)
+                samples[i] = latTrack.getWptAtDist(length * (i + 0.5) / SAMPLES);
+        }
+
+        /**
+         * @param f Fraction of the track
+         * @return  Airspeed in m/s
+         */
+        static double getVas(double f){
+            return 80 + 150 * min(1, min(f, 1 - f) * 4);
+        }
+
+        /**
+         * @param f Fraction of the track
+         * @return  Altitude in meters
+         */
+        static double getAlt(double f){
+            return 100 + 10000 * min(1, min(f, 1 - f) * 4);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ftdis.fdpu;
+
+import ftdis.fplu.SyntheticPlanProcessing;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * End to end benchmark of the flight processing. Synthetic flights of increasing route complexity are generated by
+ * the synthetic plan processing, and processed by the flight processing with an increasing number of threads. Each
+ * run reports the wall time, the throughput in processing cycles per second, the peak heap usage and the speedup
+ * against the first thread count.
+ *
+ * The input and output files are located in the IO directory of the flight processing, the output files of each run
+ * are deleted after it has been measured. The number of processing cycles is read from the binary output file.
+ *
+ * Usage: FlightProcessingBenchmark [-wpts 100,500,2000] [-threads 1,2,4,8] [-turns 0.3] [-velEvents 10]
+ *                                  [-vertEvents 4] [-wxEvents 10] [-duration 10] [-chunkLn 300] [-runs 1]
+ *
+ * @author windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingBenchmark {
+    private int[] wptCounts = {100, 500, 2000}, threadCounts = {1, 2, 4, 8};
+    private int velEventCount = 10, vertEventCount = 4, wxEventCount = 10, runs = 1;
+    private double turnDensity = 0.3, duration = 10, chunkLn = 300;
+    private String ioDir;
+
+    public static void main(String[] args) {
+        FlightProcessingBenchmark bench = new FlightProcessingBenchmark();
+
+        Locale.setDefault(Locale.US);
+
+        // Read arguments
+        for(int a = 0; a + 1 < args.length; a += 2){
+            if(args[a].equals("-wpts"))
+                bench.wptCounts = parseCounts(args[a + 1]);
+            else if(args[a].equals("-threads"))
+                bench.threadCounts = parseCounts(args[a + 1]);
+            else if(args[a].equals("-turns"))
+                bench.turnDensity = Double.parseDouble(args[a + 1]);
+            else if(args[a].equals("-velEvents"))
+                bench.velEventCount = Integer.parseInt(args[a + 1]);
+            else if(args[a].equals("-vertEvents"))
+                bench.vertEventCount = Integer.parseInt(args[a + 1]);
+            else if(args[a].equals("-wxEvents"))
+                bench.wxEventCount = Integer.parseInt(args[a + 1]);
+            else if(args[a].equals("-duration"))
+                bench.duration = Double.parseDouble(args[a + 1]);
+            else if(args[a].equals("-chunkLn"))
+                bench.chunkLn = Double.parseDouble(args[a + 1]);
+            else if(args[a].equals("-runs"))
+                bench.runs = Integer.parseInt(args[a + 1]);
+        }
+
+        // Set IO directory of the flight processing
+        Path localDir = Paths.get("").toAbsolutePath().getParent().getParent();
+
+        if(System.getProperty("os.name").contains("Windows"))
+            bench.ioDir = localDir + "\\IO\\";
+        else
+            bench.ioDir = localDir + "/IO/";
+
+        bench.run();
+    }
+
+    /**
+     * @param counts    Comma separated list of counts
+     * @return          The counts
+     */
+    private static int[] parseCounts(String counts){
+        String[] items = counts.split(",");
+        int[] values = new int[items.length];
+
+        for(int i = 0; i < items.length; i++)
+            values[i] = Integer.parseInt(items[i].trim());
+
+        return values;
+    }
+
+    /**
+     * Generates the synthetic flights and runs the flight processing for each route complexity and thread count.
+     */
+    private void run(){
+        String name;
+        double[] result;
+        double baseRate;
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("%8s %8s %12s %12s %14s %12s %8s%n", "wpts", "threads", "wall s", "cycles", "cycles/s", "peak MB", "speedup"));
+
+        for(int wptCount : wptCounts){
+            name = "Synthetic" + wptCount;
+
+            try{
+                SyntheticPlanProcessing.generate(ioDir, name, wptCount, turnDensity, velEventCount, vertEventCount, wxEventCount, duration, 1);
+            }catch(Exception e){
+                System.out.println(e.getMessage());
+                continue;
+            }
+
+            baseRate = Double.NaN;
+
+            for(int threads : threadCounts){
+                for(int r = 0; r < runs; r++){
+                    result = process(name, threads);
+
+                    if(Double.isNaN(baseRate))
+                        baseRate = result[1] / result[0];
+
+                    report.append(String.format("%8d %8d %12.2f %12.0f %14.1f %12.1f %8.2f%n", wptCount, threads,
+                            result[0], result[1], result[1] / result[0], result[2] / (1 << 20), (result[1] / result[0]) / baseRate));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.print(report);
+    }
+
+    /**
+     * This method runs the flight processing of a synthetic flight and measures the run.
+     *
+     * @param name      Name of the synthetic flight
+     * @param threads   Number of threads
+     * @return          Wall time in seconds, number of processing cycles and peak heap usage in bytes
+     */
+    private double[] process(String name, int threads){
+        double[] result = new double[3];
+        String prefix = name + " FlightPlan FlightData ";
+        long startNs;
+
+        // Start each run with an empty heap and reset peak usage
+        System.gc();
+
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if(pool.getType() == MemoryType.HEAP)
+                pool.resetPeakUsage();
+
+        startNs = System.nanoTime();
+
+        FlightProcessing.main(new String[]{
+                name + " FlightPlan.xml", name + " EventCollection.xml",
+                "-timeStart", "NaN", "-timeEnd", "NaN",
+                "-threads", String.valueOf(threads),
+                "-chunkLn", String.valueOf(chunkLn),
+                "-offHeap", "false",
+                "-maxInFlight", String.valueOf(2 * threads),
+                "-progrLn", "5",
+                "-binaryOut", "true",
+                "-compressedOut", "false",
+                "-planCache", "false"});
+
+        result[0] = (System.nanoTime() - startNs) / 1.0E9;
+
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if(pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null)
+                result[2] += pool.getPeakUsage().getUsed();
+
+        // Read number of cycles from binary output, delete output files of the run
+        File[] files = new File(ioDir).listFiles();
+
+        if(files != null){
+            for(File file : files){
+                if(!file.getName().startsWith(prefix))
+                    continue;
+
+                if(file.getName().endsWith(".fdb")){
+                    try{
+                        result[1] = new FlightProcessingBinaryReader(file).size();
+                    }catch(Exception e){
+                        System.out.println(e.getMessage());
+                    }
+                }
+
+                file.delete();
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Unit test FlightProcessingBinaryWriter, FlightProcessingBinaryReader and ExportFlightTextProcessing methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingBinaryFileTest {
+    double cycleLn = 0.2;
+    int rows = FlightProcessingBinaryWriter.WINDOW_ROWS + 1234;
+
+    @Test
+    public void testWriteRead() throws Exception {
+        File binaryFile = File.createTempFile("FlightData", ".fdb");
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem(), readItem = new FlightProcessingLineItem();
+        FlightProcessingBinaryReader reader;
+        FlightProcessingBinaryWriter writer;
+        Random rnd;
+
+        try{
+            writer = new FlightProcessingBinaryWriter(binaryFile, cycleLn);
+
+            rnd = new Random(7);
+            for(int i = 0; i < rows; i++)
+                writer.write(item(rnd, i, lineItem));
+
+            writer.close();
+
+            // File holds header and rows only
+            assertEquals(FlightProcessingBinaryFormat.HEADER_SIZE + (long) rows * FlightProcessingBinaryFormat.ROW_SIZE, binaryFile.length());
+
+            reader = new FlightProcessingBinaryReader(binaryFile);
+            assertEquals(rows, reader.size());
+            assertEquals(cycleLn, reader.getCycleLn(), 0);
+
+            // Rows
+            rnd = new Random(7);
+            for(int i = 0; i < rows; i++){
+                item(rnd, i, lineItem);
+                reader.getRow(i, readItem);
+
+                assertEquals(lineItem.latitude, readItem.latitude, 0);
+                assertEquals(lineItem.longitude, readItem.longitude, 0);
+                assertEquals(lineItem.altAtWpt, readItem.altAtWpt, 0);
+                assertEquals(lineItem.bankAtWpt, readItem.bankAtWpt, 0);
+                assertEquals(lineItem.throttleAtWpt, readItem.throttleAtWpt, 0);
+                assertEquals(lineItem.timeAtWpt, readItem.timeAtWpt, 0);
+                assertEquals(lineItem.flapsAtWpt, readItem.flapsAtWpt);
+                assertEquals(lineItem.fltPhase, readItem.fltPhase);
+                assertEquals(lineItem.signAtt, readItem.signAtt);
+                assertArrayEquals(lineItem.lightsAtWpt, readItem.lightsAtWpt);
+            }
+
+            // Flight phase offsets
+            assertEquals(0, reader.getPhaseRow(1));
+            assertEquals(1000, reader.getPhaseRow(2));
+            assertEquals(5000, reader.getPhaseRow(3));
+            assertEquals(rows - 500, reader.getPhaseRow(4));
+            assertEquals(-1, reader.getPhaseRow(5));
+
+            // Seek by time
+            assertEquals(0, reader.findRow(-1));
+            assertEquals(5000, reader.findRow(5000 * cycleLn - 0.01));
+            assertEquals(5001, reader.findRow(5000 * cycleLn + 0.01));
+            assertEquals(rows, reader.findRow(rows * cycleLn));
+        }finally{
+            binaryFile.delete();
+        }
+    }
+
+    @Test
+    public void testConvert() throws Exception {
+        File binaryFile = File.createTempFile("FlightData", ".fdb");
+        File textFile = File.createTempFile("FlightData", ".txt");
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder();
+        FlightProcessingBinaryWriter writer;
+        StringBuilder text = new StringBuilder();
+        Random rnd;
+        int len;
+
+        try{
+            writer = new FlightProcessingBinaryWriter(binaryFile, cycleLn);
+
+            rnd = new Random(11);
+            for(int i = 0; i < 2000; i++){
+                writer.write(item(rnd, i, lineItem));
+
+                // Text format of the rows within the time window
+                if(i >= 100 && i <= 1500){
+                    len = rowEncoder.encode(lineItem);
+                    text.append(new String(rowEncoder.getRow(), 0, len));
+                }
+            }
+
+            writer.close();
+
+            assertEquals(1401, ExportFlightTextProcessing.convert(new FlightProcessingBinaryReader(binaryFile), textFile, 100 * cycleLn - 0.01, 1500 * cycleLn + 0.01));
+            assertEquals(text.toString(), new String(Files.readAllBytes(textFile.toPath())));
+        }finally{
+            binaryFile.delete();
+            textFile.delete();
+        }
+    }
+
+    private FlightProcessingLineItem item(Random rnd, int i, FlightProcessingLineItem lineItem){
+        lineItem.latitude = (rnd.nextDouble() - 0.5) * 180;
+        lineItem.longitude = (rnd.nextDouble() - 0.5) * 360;
+        lineItem.altAtWpt = rnd.nextDouble() * 45000;
+        lineItem.headingAtWpt = rnd.nextDouble() * 360;
+        lineItem.ktsAtWpt = rnd.nextDouble() * 500;
+        lineItem.pitchAtWpt = (rnd.nextDouble() - 0.5) * 30;
+        lineItem.bankAtWpt = (rnd.nextDouble() - 0.5) * 60;
+        lineItem.aileronAtWpt = (rnd.nextDouble() - 0.5) * 2;
+        lineItem.flapsAtWpt = rnd.nextInt(16384);
+        lineItem.spoilersAtWpt = rnd.nextInt(16384);
+        lineItem.gearAtWpt = rnd.nextInt(2);
+        lineItem.throttleAtWpt = rnd.nextDouble();
+        lineItem.noseWheelAtWpt = rnd.nextDouble() - 0.5;
+        lineItem.lightsAtWpt = new int[8];
+        for(int l = 0; l < 8; l++)
+            lineItem.lightsAtWpt[l] = rnd.nextInt(2);
+        lineItem.signSmk = rnd.nextInt(2);
+        lineItem.signSeat = rnd.nextInt(2);
+        lineItem.signAtt = rnd.nextInt(2);
+        lineItem.fltPhase = (i < 1000) ? 1 : (i < 5000) ? 2 : (i < rows - 500) ? 3 : 4;
+        lineItem.timeAtWpt = i * cycleLn;
+        return lineItem;
+    }
+}
@@ -0,0 +1,222 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+
+import static ftdis.fdpu.Config.FLT_PROC_CYCLE_LN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test FlightProcessingDeltaEncoder and FlightProcessingDeltaDecoder methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingDeltaCodecTest {
+    double cycleLn = 0.2;
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        int rows = 3 * FlightProcessingDeltaEncoder.BLOCK_ROWS + 321;
+        Random rnd = new Random(3);
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FlightProcessingDeltaEncoder encoder = new FlightProcessingDeltaEncoder(bytes);
+        FlightProcessingDeltaDecoder decoder;
+        StringBuilder text = new StringBuilder(), decodedText = new StringBuilder();
+        double lat = 47.4502, lon = 8.5618, alt = 1416, heading = 160, kts = 0;
+        int len;
+
+        lineItem.lightsAtWpt = new int[8];
+
+        // Flight track, including noise and special values
+        for(int i = 0; i < rows; i++){
+            kts = Math.min(kts + 0.05, 280);
+            lat += kts * 1.0E-7 + rnd.nextGaussian() * 1.0E-9;
+            lon += kts * 1.5E-7;
+            alt += (i > 2000) ? 0.6 + rnd.nextGaussian() * 0.01 : 0;
+            heading = (heading + 0.01) % 360;
+
+            lineItem.latitude = lat;
+            lineItem.longitude = (i % 997 == 0) ? -0.0 : lon;
+            lineItem.altAtWpt = (i % 1009 == 0) ? Double.NaN : alt;
+            lineItem.headingAtWpt = heading;
+            lineItem.ktsAtWpt = kts;
+            lineItem.pitchAtWpt = (i % 1013 == 0) ? -1.0E-9 : rnd.nextGaussian() * 2;
+            lineItem.bankAtWpt = (i % 1019 == 0) ? 1.0E300 : rnd.nextGaussian() * 5;
+            lineItem.aileronAtWpt = rnd.nextGaussian() * 0.1;
+            lineItem.throttleAtWpt = (i % 1021 == 0) ? Double.NEGATIVE_INFINITY : 0.85;
+            lineItem.noseWheelAtWpt = (i % 3 == 0) ? -0.001 : 0;
+            lineItem.flapsAtWpt = (i < 3000) ? 5120 : 0;
+            lineItem.spoilersAtWpt = 0;
+            lineItem.gearAtWpt = (i < 2500) ? 1 : 0;
+            lineItem.lightsAtWpt[0] = 1;
+            lineItem.lightsAtWpt[3] = (i / 500) % 2;
+            lineItem.signSmk = 1;
+            lineItem.signSeat = (i < 4000) ? 1 : 0;
+            lineItem.signAtt = (i % 1500 == 0) ? 1 : 0;
+            lineItem.fltPhase = (i < 1000) ? 2 : 3;
+            lineItem.timeAtWpt = i * cycleLn;
+
+            encoder.write(lineItem);
+
+            len = rowEncoder.encode(lineItem);
+            text.append(new String(rowEncoder.getRow(), 0, len));
+        }
+
+        encoder.close();
+
+        // Decode and compare text format
+        decoder = new FlightProcessingDeltaDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+        lineItem = new FlightProcessingLineItem();
+
+        for(int i = 0; i < rows; i++){
+            assertTrue(decoder.read(lineItem));
+
+            len = rowEncoder.encode(lineItem);
+            decodedText.append(new String(rowEncoder.getRow(), 0, len));
+        }
+
+        assertFalse(decoder.read(lineItem));
+        assertEquals(text.toString(), decodedText.toString());
+
+        // Compression compared to the text format
+        assertTrue(bytes.size() * 4 < text.length());
+    }
+
+    @Test
+    public void testRandomValues() throws Exception {
+        Random rnd = new Random(5);
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem(), decodedItem = new FlightProcessingLineItem();
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FlightProcessingDeltaEncoder encoder = new FlightProcessingDeltaEncoder(bytes);
+        FlightProcessingDeltaDecoder decoder;
+        String[] text = new String[5000];
+        int len;
+
+        lineItem.lightsAtWpt = new int[8];
+
+        for(int i = 0; i < text.length; i++){
+            lineItem.latitude = (rnd.nextDouble() - 0.5) * 180;
+            lineItem.longitude = (rnd.nextDouble() - 0.5) * 360;
+            lineItem.altAtWpt = rnd.nextDouble() * Math.pow(10, rnd.nextInt(12));
+            lineItem.headingAtWpt = rnd.nextDouble() * 360;
+            lineItem.ktsAtWpt = rnd.nextInt(100000) / 100.0 + 0.005;
+            lineItem.pitchAtWpt = (rnd.nextDouble() - 0.5) * 1.0E-5;
+            lineItem.bankAtWpt = rnd.nextLong() / 1.0E6;
+            lineItem.aileronAtWpt = rnd.nextDouble() - 0.5;
+            lineItem.throttleAtWpt = 0.995;
+            lineItem.noseWheelAtWpt = rnd.nextDouble();
+            lineItem.flapsAtWpt = rnd.nextInt();
+            lineItem.spoilersAtWpt = -rnd.nextInt(100);
+            lineItem.gearAtWpt = rnd.nextInt(2);
+            for(int l = 0; l < 8; l++)
+                lineItem.lightsAtWpt[l] = rnd.nextInt(2);
+            lineItem.signSmk = rnd.nextInt(2);
+            lineItem.signSeat = rnd.nextInt(2);
+            lineItem.signAtt = rnd.nextInt(2);
+            lineItem.fltPhase = 1 + rnd.nextInt(5);
+            lineItem.timeAtWpt = rnd.nextDouble() * 1.0E5;
+
+            encoder.write(lineItem);
+
+            len = rowEncoder.encode(lineItem);
+            text[i] = new String(rowEncoder.getRow(), 0, len);
+        }
+
+        encoder.close();
+
+        decoder = new FlightProcessingDeltaDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+
+        for(int i = 0; i < text.length; i++){
+            assertTrue(decoder.read(decodedItem));
+
+            len = rowEncoder.encode(decodedItem);
+            assertEquals(text[i], new String(rowEncoder.getRow(), 0, len));
+        }
+
+        assertFalse(decoder.read(decodedItem));
+    }
+
+    @Test
+    public void testFlightData() throws Exception {
+        SyntheticFlight flight = new SyntheticFlight();
+        File textFile = new File(flight.ioDir, "Synthetic FlightData.txt");
+        File binaryFile = new File(flight.ioDir, "Synthetic FlightData.fdb");
+        File compressedFile = new File(flight.ioDir, "Synthetic FlightData.fdz");
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        FlightProcessingBinaryReader reader;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FlightProcessingDeltaEncoder encoder;
+        List<String> text;
+
+        try{
+            Vector<FlightProcessingPlanSet> processedPlans = flight.preparePlans();
+            FlightProcessingSeekIndex seekIdx = SyntheticFlight.createSeekIndex(processedPlans);
+            FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder(new FileOutputStream(textFile).getChannel(), 1 << 16);
+            FlightProcessingBinaryWriter binaryWriter = new FlightProcessingBinaryWriter(binaryFile, FLT_PROC_CYCLE_LN);
+            FlightProcessingDeltaEncoder deltaEncoder = new FlightProcessingDeltaEncoder(new BufferedOutputStream(new FileOutputStream(compressedFile), 1 << 16));
+
+            // Process the cycles across the start of each flight phase and write the output files as the flight processing
+            for(int p = 2; p <= 5; p++)
+                FlightProcessing.writeRows(flight.process(processedPlans, seekIdx, seekIdx.getRowStart(p) - 100, seekIdx.getRowStart(p) + 100),
+                        lineItem, rowEncoder, binaryWriter, deltaEncoder);
+
+            rowEncoder.close();
+            binaryWriter.close();
+            deltaEncoder.close();
+
+            text = Files.readAllLines(textFile.toPath(), StandardCharsets.UTF_8);
+            assertEquals(4 * 200, text.size());
+
+            // Encode the rows of the binary file, decode them and compare with the text file
+            reader = new FlightProcessingBinaryReader(binaryFile);
+            encoder = new FlightProcessingDeltaEncoder(bytes);
+            assertEquals(text.size(), reader.size());
+
+            for(long row = 0; row < reader.size(); row++)
+                encoder.write(reader.getRow(row, lineItem));
+
+            encoder.close();
+
+            assertEquals(text, decode(new ByteArrayInputStream(bytes.toByteArray())));
+
+            // Compressed file of the flight processing
+            assertEquals(text, decode(new FileInputStream(compressedFile)));
+        }finally{
+            flight.delete();
+        }
+    }
+
+    /**
+     * @param in    Compressed flight data
+     * @return      The decoded rows in text format, without line separator
+     */
+    private static List<String> decode(InputStream in) throws IOException {
+        FlightProcessingDeltaDecoder decoder = new FlightProcessingDeltaDecoder(in);
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder();
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        List<String> rows = new ArrayList<>();
+        int len;
+
+        while(decoder.read(lineItem)){
+            len = rowEncoder.encode(lineItem) - System.lineSeparator().length();
+            rows.add(new String(rowEncoder.getRow(), 0, len, StandardCharsets.UTF_8));
+        }
+
+        decoder.close();
+
+        return rows;
+    }
+}
@@ -0,0 +1,82 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Unit test FlightProcessingLineItemStore methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingLineItemStoreTest {
+
+    @Test
+    public void testAddGetRow() throws Exception {
+        int rows = FlightProcessingLineItemStore.BLOCK_ROWS * 2 + 17;
+
+        for(boolean offHeap : new boolean[]{false, true}){
+            FlightProcessingLineItemStore store = new FlightProcessingLineItemStore(offHeap);
+            FlightProcessingLineItem item = new FlightProcessingLineItem(), row = new FlightProcessingLineItem();
+
+            for(int r = 0; r < rows; r++)
+                store.add(getItem(r, item));
+
+            assertEquals(rows, store.size());
+
+            for(int r = 0; r < rows; r++){
+                getItem(r, item);
+                store.getRow(r, row);
+
+                assertEquals(item.latitude, row.latitude, 0.0);
+                assertEquals(item.longitude, row.longitude, 0.0);
+                assertEquals(item.altAtWpt, row.altAtWpt, 0.0);
+                assertEquals(item.headingAtWpt, row.headingAtWpt, 0.0);
+                assertEquals(item.ktsAtWpt, row.ktsAtWpt, 0.0);
+                assertEquals(item.pitchAtWpt, row.pitchAtWpt, 0.0);
+                assertEquals(item.bankAtWpt, row.bankAtWpt, 0.0);
+                assertEquals(item.throttleAtWpt, row.throttleAtWpt, 0.0);
+                assertEquals(item.aileronAtWpt, row.aileronAtWpt, 0.0);
+                assertEquals(item.noseWheelAtWpt, row.noseWheelAtWpt, 0.0);
+                assertEquals(item.timeAtWpt, row.timeAtWpt, 0.0);
+                assertEquals(item.fltPhase, row.fltPhase);
+                assertEquals(item.flapsAtWpt, row.flapsAtWpt);
+                assertEquals(item.spoilersAtWpt, row.spoilersAtWpt);
+                assertEquals(item.gearAtWpt, row.gearAtWpt);
+                assertEquals(item.signSmk, row.signSmk);
+                assertEquals(item.signSeat, row.signSeat);
+                assertEquals(item.signAtt, row.signAtt);
+                assertArrayEquals(item.lightsAtWpt, row.lightsAtWpt);
+                assertEquals(item.timeAtWpt, store.getTime(r), 0.0);
+            }
+        }
+    }
+
+    private static FlightProcessingLineItem getItem(int r, FlightProcessingLineItem item){
+        item.latitude = 47.4 + r * 1.0E-7;
+        item.longitude = -122.3 - r * 1.0E-7;
+        item.altAtWpt = r * 0.5;
+        item.headingAtWpt = r % 360;
+        item.ktsAtWpt = r * 0.01;
+        item.pitchAtWpt = r * 0.001;
+        item.bankAtWpt = -r * 0.001;
+        item.throttleAtWpt = (r % 7 == 0) ? -99.0 : r * 1.0E-4;
+        item.aileronAtWpt = r * 0.002;
+        item.noseWheelAtWpt = -r * 0.003;
+        item.timeAtWpt = r * 0.2;
+        item.fltPhase = r % 5 + 1;
+        item.flapsAtWpt = r % 31;
+        item.spoilersAtWpt = r % 3;
+        item.gearAtWpt = r % 2;
+        item.signSmk = (r / 2) % 2;
+        item.signSeat = (r / 3) % 2;
+        item.signAtt = (r / 5) % 2;
+
+        for(int l = 0; l < 8; l++)
+            item.lightsAtWpt[l] = (r >> l) & 1;
+
+        return item;
+    }
+}
@@ -0,0 +1,336 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test FlightProcessingPlanCache methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingPlanCacheTest {
+    private File cacheDir, planFile, eventFile;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheDir = Files.createTempDirectory("PlanCache").toFile();
+        planFile = File.createTempFile("FlightPlan", ".xml");
+        eventFile = File.createTempFile("EventCollection", ".xml");
+
+        Files.write(planFile.toPath(), "<FlightPlan ID=\"1\"/>".getBytes(StandardCharsets.UTF_8));
+        Files.write(eventFile.toPath(), "<EventCollection ID=\"1\"/>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = cacheDir.listFiles();
+
+        if(files != null)
+            for(File file : files)
+                file.delete();
+
+        cacheDir.delete();
+        planFile.delete();
+        eventFile.delete();
+    }
+
+    @Test
+    public void testSaveLoad() throws Exception {
+        FlightProcessingPlanCache cache = new FlightProcessingPlanCache(cacheDir.getPath(), planFile.getPath(), eventFile.getPath());
+        Vector<FlightProcessingPlanSet> planSets = new Vector<>(), loaded;
+        FlightProcessingPlanSet planSet;
+        TurnSegment turnSgmt;
+        WeatherSegment.Cat cat;
+
+        assertNull(cache.load());
+
+        planSets.add(planSet(1));
+        planSets.add(planSet(2));
+        cache.save(planSets);
+
+        assertTrue(cache.getFile().isFile());
+
+        loaded = cache.load();
+        assertNotNull(loaded);
+        assertEquals(2, loaded.size());
+
+        planSet = loaded.get(1);
+        assertEquals(2, planSet.phase);
+
+        // Lateral plan and track
+        assertEquals(Integer.valueOf(2), planSet.latPlan.id);
+        assertTrue(planSet.latPlan.dataValid);
+        assertEquals(3, planSet.latPlan.getWptSize());
+        assertEquals(12, planSet.latPlan.getWpt(1).id);
+        assertEquals(47.1, planSet.latPlan.getWpt(1).getLat(), 0);
+        assertEquals(2, planSet.latPlan.getSgmtCount());
+        assertEquals(-122.2, planSet.latPlan.getSgmt(1).getEndPt().getLon(), 0);
+
+        assertNull(planSet.latTrack.id);
+        assertEquals(3, planSet.latTrack.getSgmtCount());
+        assertTrue(planSet.latTrack.getSgmt(1) instanceof TurnSegment);
+        turnSgmt = (TurnSegment) planSet.latTrack.getSgmt(1);
+        assertEquals(47.1, turnSgmt.getTurnPt().getLat(), 0);
+        assertEquals(250.0, turnSgmt.getCourseEnd(), 0);
+        assertEquals(1, planSet.latTrack.getSgmtPos(turnSgmt));
+        assertTrue(planSet.latTrack.getLateralPlan() == planSet.latPlan);
+
+        // Velocity track shadows valid flag of the plan
+        assertEquals(2, planSet.velTrack.getSgmtCount());
+        assertEquals(60.0, planSet.velTrack.getSgmt(1).getVasf(), 0);
+        assertEquals(30.0, planSet.velTrack.getSgmt(1).getOffset(), 0);
+        assertTrue(planSet.velTrack.dataValid);
+        assertFalse(((VelocityPlan) planSet.velTrack).dataValid);
+
+        // Vertical and weather tracks
+        assertEquals(3000.0, planSet.vertTrack.getSgmt(0).getAltf(), 0);
+        assertEquals(0.1, planSet.vertTrack.getSgmt(0).getAlpha(), 0);
+        assertEquals(0.5, planSet.wxTrack.getSgmt(0).getCatMagn(), 0);
+        assertEquals(270.0, planSet.wxTrack.getSgmt(0).getWindDir(), 0);
+
+        // Random CATs
+        assertEquals(2, planSet.wxTrack.getSgmt(0).getCatList("pitch").size());
+        assertEquals(0, planSet.wxTrack.getSgmt(0).getCatList("bank").size());
+        cat = planSet.wxTrack.getSgmt(0).getCatList("pitch").get(1);
+        assertEquals(2, cat.id);
+        assertEquals(100.0, cat.startDist, 0);
+        assertEquals(1.5, cat.value, 0);
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        FlightProcessingPlanCache cache = new FlightProcessingPlanCache(cacheDir.getPath(), planFile.getPath(), eventFile.getPath());
+        File cacheFile = cache.getFile();
+        byte[] key = FlightProcessingPlanCache.createKey(planFile.getPath(), eventFile.getPath());
+
+        cache.save(new Vector<FlightProcessingPlanSet>(Arrays.asList(planSet(1))));
+
+        // Same content, same entry
+        assertEquals(cacheFile, new FlightProcessingPlanCache(cacheDir.getPath(), planFile.getPath(), eventFile.getPath()).getFile());
+        assertNotNull(new FlightProcessingPlanCache(cacheDir.getPath(), planFile.getPath(), eventFile.getPath()).load());
+
+        // Changed input file
+        Files.write(eventFile.toPath(), "<EventCollection ID=\"2\"/>".getBytes(StandardCharsets.UTF_8));
+        assertFalse(Arrays.equals(key, FlightProcessingPlanCache.createKey(planFile.getPath(), eventFile.getPath())));
+        assertNull(new FlightProcessingPlanCache(cacheDir.getPath(), planFile.getPath(), eventFile.getPath()).load());
+        Files.write(eventFile.toPath(), "<EventCollection ID=\"1\"/>".getBytes(StandardCharsets.UTF_8));
+
+        // Changed configuration value
+        Config.CAT_MAX_DUR += 1;
+        try{
+            assertFalse(Arrays.equals(key, FlightProcessingPlanCache.createKey(planFile.getPath(), eventFile.getPath())));
+        }finally{
+            Config.CAT_MAX_DUR -= 1;
+        }
+        assertTrue(Arrays.equals(key, FlightProcessingPlanCache.createKey(planFile.getPath(), eventFile.getPath())));
+
+        // Incomplete entry
+        Files.write(cacheFile.toPath(), Arrays.copyOf(Files.readAllBytes(cacheFile.toPath()), (int) cacheFile.length() - 8));
+        assertNull(cache.load());
+
+        // Field layout of the cached classes
+        assertTrue(FlightProcessingPlanCache.getClassLayout().contains("ftdis.fdpu.TurnSegment."));
+        assertTrue(FlightProcessingPlanCache.getClassLayout().contains("ftdis.fdpu.WeatherSegment$Cat."));
+    }
+
+    @Test
+    public void testEvict() throws Exception {
+        FlightProcessingPlanCache cache = new FlightProcessingPlanCache(cacheDir.getPath(), planFile.getPath(), eventFile.getPath());
+        long now = System.currentTimeMillis();
+        File entry;
+
+        // Older entries, least recently used first
+        for(int e = 0; e < FlightProcessingPlanCache.MAX_ENTRIES + 2; e++){
+            entry = new File(cacheDir, "entry" + e + ".fpc");
+            Files.write(entry.toPath(), new byte[1]);
+            assertTrue(entry.setLastModified(now - 100000 + e * 1000));
+        }
+
+        cache.save(new Vector<FlightProcessingPlanSet>(Arrays.asList(planSet(1))));
+
+        // Most recently used entries remain, including the new entry
+        assertEquals(FlightProcessingPlanCache.MAX_ENTRIES, cacheDir.listFiles().length);
+        assertTrue(cache.getFile().isFile());
+        assertFalse(new File(cacheDir, "entry2.fpc").exists());
+        assertTrue(new File(cacheDir, "entry3.fpc").exists());
+        assertTrue(new File(cacheDir, "entry" + (FlightProcessingPlanCache.MAX_ENTRIES + 1) + ".fpc").exists());
+
+        // Loading an entry marks it as recently used
+        assertTrue(cache.getFile().setLastModified(now - 200000));
+        assertNotNull(cache.load());
+        assertTrue(cache.getFile().lastModified() >= now - 1000);
+    }
+
+    @Test
+    public void testProcessCachedPlans() throws Exception {
+        SyntheticFlight flight = new SyntheticFlight();
+        FlightProcessingPlanCache cache;
+        Vector<FlightProcessingPlanSet> preparedPlans, cachedPlans;
+
+        try{
+            // Prepare plans, store them in and reload them from the cache
+            preparedPlans = flight.preparePlans();
+
+            cache = new FlightProcessingPlanCache(cacheDir.getPath(), flight.flightPlanFile, flight.eventCollectionFile);
+            assertNull(cache.load());
+            cache.save(preparedPlans);
+
+            cachedPlans = cache.load();
+            assertNotNull(cachedPlans);
+
+            // Rows processed from the cached plans are identical to the rows processed from the prepared plans
+            assertEquals(process(flight, preparedPlans), process(flight, cachedPlans));
+        }finally{
+            flight.delete();
+        }
+    }
+
+    /**
+     * This method processes the cycles across the start of each flight phase and encodes the rows.
+     *
+     * @return The encoded rows
+     */
+    private List<String> process(SyntheticFlight flight, Vector<FlightProcessingPlanSet> processedPlans){
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder();
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        FlightProcessingLineItemStore lineItems;
+        FlightProcessingSeekIndex seekIdx = SyntheticFlight.createSeekIndex(processedPlans);
+        List<String> rows = new ArrayList<>();
+        int length;
+
+        for(int p = 2; p <= 5; p++){
+            lineItems = flight.process(processedPlans, seekIdx, seekIdx.getRowStart(p) - 100, seekIdx.getRowStart(p) + 100);
+
+            for(int row = 0; row < lineItems.size(); row++){
+                length = rowEncoder.encode(lineItems.getRow(row, lineItem));
+                rows.add(new String(rowEncoder.getRow(), 0, length, StandardCharsets.UTF_8));
+            }
+        }
+
+        assertEquals(4 * 200, rows.size());
+
+        return rows;
+    }
+
+    /**
+     * @param phase The flight phase
+     * @return      Plan set with a few segments of each type
+     */
+    private FlightProcessingPlanSet planSet(int phase){
+        FlightProcessingPlanSet planSet = new FlightProcessingPlanSet();
+        DirectSegment dirSgmt;
+        TurnSegment turnSgmt;
+        VelocitySegment velSgmt;
+        VerticalSegment vertSgmt;
+        WeatherSegment wxSgmt;
+        WeatherSegment.Cat cat;
+        Waypoint wpt;
+
+        planSet.phase = phase;
+
+        // Lateral plan
+        planSet.latPlan.id = phase;
+        planSet.latPlan.dataValid = true;
+
+        for(int w = 0; w < 3; w++){
+            wpt = new Waypoint(11 + w);
+            wpt.setLat(47.0 + w * 0.1);
+            wpt.setLon(-122.0 - w * 0.1);
+            planSet.latPlan.addWpt(wpt);
+        }
+
+        for(int s = 0; s < 2; s++){
+            dirSgmt = new DirectSegment(s + 1);
+            dirSgmt.setStartPt(planSet.latPlan.getWpt(s).getLat(), planSet.latPlan.getWpt(s).getLon());
+            dirSgmt.setEndPt(planSet.latPlan.getWpt(s + 1).getLat(), planSet.latPlan.getWpt(s + 1).getLon());
+            planSet.latPlan.addSgmt(dirSgmt);
+        }
+
+        // Lateral track
+        dirSgmt = new DirectSegment(1);
+        dirSgmt.setStartPt(47.0, -122.0);
+        dirSgmt.setEndPt(47.09, -122.09);
+        planSet.latTrack.addSgmt(dirSgmt);
+
+        turnSgmt = new TurnSegment(2);
+        turnSgmt.setStartPt(47.09, -122.09);
+        turnSgmt.setTurnPt(47.1, -122.1);
+        turnSgmt.setEndPt(47.11, -122.11);
+        turnSgmt.setCourseStart(225.0);
+        turnSgmt.setCourseEnd(250.0);
+        planSet.latTrack.addSgmt(turnSgmt);
+
+        dirSgmt = new DirectSegment(3);
+        dirSgmt.setStartPt(47.11, -122.11);
+        dirSgmt.setEndPt(47.2, -122.2);
+        planSet.latTrack.addSgmt(dirSgmt);
+        planSet.latTrack.dataValid = true;
+
+        // Velocity plan and track
+        for(int s = 0; s < 2; s++){
+            velSgmt = new VelocitySegment(s + 1);
+            velSgmt.setStartPt(47.0 + s * 0.1, -122.0 - s * 0.1);
+            velSgmt.setEndPt(47.1 + s * 0.1, -122.1 - s * 0.1);
+            velSgmt.setVasi(50.0 + s * 10);
+            velSgmt.setVasf(50.0 + s * 10);
+            velSgmt.setAcc(0);
+            velSgmt.setOffset(s * 30.0);
+            velSgmt.setDist(13000.0);
+            planSet.velPlan.addSgmt(velSgmt);
+            planSet.velTrack.addSgmt(new VelocitySegment(velSgmt));
+            planSet.velTrack.getSgmt(s).setOffset(s * 30.0);
+        }
+
+        planSet.velTrack.dataValid = true;
+
+        // Vertical plan and track
+        vertSgmt = new VerticalSegment(1);
+        vertSgmt.setStartPt(47.0, -122.0);
+        vertSgmt.setEndPt(47.2, -122.2);
+        vertSgmt.setAlti(120.0);
+        vertSgmt.setAltf(3000.0);
+        vertSgmt.setVs(10.0);
+        vertSgmt.setAlpha(0.1);
+        vertSgmt.setDist(26000.0);
+        planSet.vertPlan.addSgmt(vertSgmt);
+        planSet.vertTrack.addSgmt(new VerticalSegment(vertSgmt));
+
+        // Weather plan and track
+        wxSgmt = new WeatherSegment(1);
+        wxSgmt.setStartPt(47.0, -122.0);
+        wxSgmt.setEndPt(47.2, -122.2);
+        wxSgmt.setCat(0.5, 0.8);
+        wxSgmt.setWind(270.0, 5.0);
+        wxSgmt.setDist(26000.0);
+        planSet.wxPlan.addSgmt(wxSgmt);
+
+        wxSgmt = new WeatherSegment(wxSgmt);
+
+        for(int c = 0; c < 2; c++){
+            cat = wxSgmt.new Cat(c + 1);
+            cat.startDist = c * 100.0;
+            cat.endDist = cat.startDist + 100.0;
+            cat.dist = 100.0;
+            cat.value = c * 1.5;
+            wxSgmt.getCatList("pitch").add(cat);
+        }
+
+        planSet.wxTrack.addSgmt(wxSgmt);
+
+        return planSet;
+    }
+}
@@ -0,0 +1,107 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test FlightProcessingPlanGraph methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingPlanGraphTest {
+
+    @Test
+    public void testRun() throws Exception {
+        FlightProcessingPlanGraph graph = new FlightProcessingPlanGraph();
+        List<String> completed = new CopyOnWriteArrayList<String>();
+        FlightProcessingPlanGraph.Step lat, vel, vert, wx;
+
+        // Two phases with a diamond of steps each
+        for(int phase = 1; phase <= 2; phase++){
+            lat = graph.addStep("lat", phase, step(completed, phase + "lat"));
+            vel = graph.addStep("vel", phase, step(completed, phase + "vel"), lat);
+            vert = graph.addStep("vert", phase, step(completed, phase + "vert"), vel);
+            wx = graph.addStep("wx", phase, step(completed, phase + "wx"), vel);
+            graph.addStep("track", phase, step(completed, phase + "track"), vert, wx);
+        }
+
+        graph.run(4);
+
+        assertEquals(10, completed.size());
+
+        // Each step completes after its predecessors
+        for(int phase = 1; phase <= 2; phase++){
+            assertTrue(completed.indexOf(phase + "lat") < completed.indexOf(phase + "vel"));
+            assertTrue(completed.indexOf(phase + "vel") < completed.indexOf(phase + "vert"));
+            assertTrue(completed.indexOf(phase + "vel") < completed.indexOf(phase + "wx"));
+            assertTrue(completed.indexOf(phase + "vert") < completed.indexOf(phase + "track"));
+            assertTrue(completed.indexOf(phase + "wx") < completed.indexOf(phase + "track"));
+        }
+
+        // Step times
+        for(FlightProcessingPlanGraph.Step step : graph.getSteps()){
+            assertTrue(step.getEndNs() >= step.getStartNs());
+            assertTrue(step.getTime() >= 0);
+        }
+
+        assertTrue(graph.getSteps().get(4).getStartNs() >= graph.getSteps().get(2).getEndNs());
+        assertTrue(graph.getSteps().get(4).getStartNs() >= graph.getSteps().get(3).getEndNs());
+
+        // Graph can be run again
+        completed.clear();
+        graph.run(1);
+        assertEquals(10, completed.size());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        FlightProcessingPlanGraph graph = new FlightProcessingPlanGraph();
+        List<String> completed = new CopyOnWriteArrayList<String>();
+        FlightProcessingPlanGraph.Step lat, vel;
+
+        lat = graph.addStep("lat", 1, step(completed, "lat"));
+        vel = graph.addStep("vel", 1, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("vel failed");
+            }
+        }, lat);
+        graph.addStep("vert", 1, step(completed, "vert"), vel);
+
+        try{
+            graph.run(2);
+            assertTrue(false);
+        }catch(IllegalStateException e){
+            assertEquals("vel failed", e.getMessage());
+        }
+
+        // Successors of the failed step are skipped
+        assertEquals(1, completed.size());
+        assertEquals("lat", completed.get(0));
+    }
+
+    /**
+     * @param completed List of completed steps
+     * @param name      Name of the step
+     * @return          Action, which adds the name of the step to the list of completed steps
+     */
+    private Runnable step(final List<String> completed, final String name){
+        return new Runnable() {
+            @Override
+            public void run() {
+                try{
+                    Thread.sleep(5);
+                }catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                completed.add(name);
+            }
+        };
+    }
+}
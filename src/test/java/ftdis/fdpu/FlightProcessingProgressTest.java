@@ -0,0 +1,68 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test FlightProcessingProgress methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingProgressTest {
+    double cycleLn = 0.2;
+    double[] trackT = {100, 200, 1000, 300};
+    FlightProcessingSeekIndex seekIdx = new FlightProcessingSeekIndex(trackT, cycleLn);
+
+    @Test
+    public void testProgress() throws Exception {
+        double timeEnd = seekIdx.getPhaseEnd(4);
+        final FlightProcessingProgress progress = new FlightProcessingProgress(seekIdx, 0, timeEnd, cycleLn);
+        List<Thread> threads = new ArrayList<Thread>();
+
+        assertEquals(0, progress.getProgress(), 0);
+        assertEquals(100, progress.getPhaseProgress(5), 0);
+
+        // Complete phase 1 and half of phase 3 on concurrent workers
+        for(int t = 0; t < 4; t++){
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for(int i = 0; i < 501; i++)
+                        progress.increment(1, 0);
+                    for(int i = 0; i < 625; i++)
+                        progress.increment(3, 0);
+                }
+            }));
+        }
+
+        for(Thread t : threads)
+            t.start();
+        for(Thread t : threads)
+            t.join();
+
+        assertEquals(4 * 1126, progress.getCycles());
+        assertEquals(100, progress.getPhaseProgress(1), 0.5);
+        assertEquals(0, progress.getPhaseProgress(2), 0);
+        assertEquals(50, progress.getPhaseProgress(3), 0.1);
+        assertEquals(100.0 * 4 * 1126 / (timeEnd / cycleLn), progress.getProgress(), 0.1);
+
+        // Time window starting within phase 3
+        FlightProcessingProgress window = new FlightProcessingProgress(seekIdx, seekIdx.getPhaseStart(3) + 500, timeEnd, cycleLn);
+        window.increment(3, 0);
+        assertEquals(100, window.getPhaseProgress(1), 0);
+        assertEquals(100.0 / 2500, window.getPhaseProgress(3), 1.0E-3);
+    }
+
+    @Test
+    public void testFormatDuration() throws Exception {
+        assertEquals("00:00:00", FlightProcessingProgress.formatDuration(0));
+        assertEquals("01:01:01", FlightProcessingProgress.formatDuration(3660.2));
+        assertEquals("27:46:40", FlightProcessingProgress.formatDuration(100000));
+        assertEquals("--:--:--", FlightProcessingProgress.formatDuration(Double.NaN));
+    }
+}
@@ -0,0 +1,132 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test FlightProcessingRowEncoder methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingRowEncoderTest {
+    FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder();
+
+    @Test
+    public void testEncode() throws Exception {
+        Random rnd = new Random(42);
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        lineItem.lightsAtWpt = new int[8];
+
+        for(int i = 0; i < 20000; i++){
+            lineItem.latitude = (rnd.nextDouble() - 0.5) * 180;
+            lineItem.longitude = (rnd.nextDouble() - 0.5) * 360;
+            lineItem.altAtWpt = rnd.nextDouble() * 45000;
+            lineItem.headingAtWpt = rnd.nextDouble() * 360;
+            lineItem.ktsAtWpt = rnd.nextInt(50000) / 100.0 + ((i % 3 == 0) ? 0.005 : 0);
+            lineItem.pitchAtWpt = (rnd.nextDouble() - 0.5) * 30;
+            lineItem.bankAtWpt = (rnd.nextDouble() - 0.5) * ((i % 2 == 0) ? 60 : 1.0E-6);
+            lineItem.aileronAtWpt = (rnd.nextDouble() - 0.5) * 2;
+            lineItem.flapsAtWpt = rnd.nextInt(16384);
+            lineItem.spoilersAtWpt = rnd.nextInt(16384);
+            lineItem.gearAtWpt = rnd.nextInt(2);
+            lineItem.throttleAtWpt = (i % 5 == 0) ? 0.995 : rnd.nextDouble();
+            lineItem.noseWheelAtWpt = (i % 7 == 0) ? -0.0 : rnd.nextDouble() - 0.5;
+            for(int l = 0; l < 8; l++)
+                lineItem.lightsAtWpt[l] = rnd.nextInt(2);
+            lineItem.signSmk = rnd.nextInt(2);
+            lineItem.signSeat = rnd.nextInt(2);
+            lineItem.signAtt = rnd.nextInt(2);
+            lineItem.fltPhase = 1 + rnd.nextInt(5);
+            lineItem.timeAtWpt = i * 0.2;
+
+            assertEquals(format(lineItem), encode(lineItem));
+        }
+    }
+
+    @Test
+    public void testToFixed() throws Exception {
+        Random rnd = new Random(7);
+        double val;
+        int decimals;
+
+        // Rounded from the scaled value or the decimal digits, as formatted
+        for(int i = 0; i < 200000; i++){
+            decimals = rnd.nextInt(16);
+            val = (rnd.nextDouble() - 0.5) * Math.pow(10, rnd.nextInt(8));
+
+            if(i % 4 == 0)
+                val = Math.round(val * Math.pow(10, decimals + 1)) / Math.pow(10, decimals + 1);
+
+            if(rowEncoder.toFixed(val, decimals) != Long.MIN_VALUE)
+                assertEquals(String.format(Locale.US, "%." + decimals + "f", val).replace(".", "").replaceFirst("^(-?)0+(?=\\d)", "$1"), Long.toString(rowEncoder.toFixed(val, decimals)));
+        }
+    }
+
+    @Test
+    public void testEncodeLimits() throws Exception {
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        double[] values = {0, 9.995, 99.995, 0.005, 0.0049999, 1.0E-20, 1.0E-7, -1.0E-7, 1.0E22, 123456789012.345,
+                0.1 + 0.2, 0.125, 2.675, 1.005, 4.35, 0.0000005, 1.0000005, 4.4999999999999995, 4.5, 9.0071992547409E15,
+                Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY};
+
+        lineItem.lightsAtWpt = new int[8];
+        lineItem.flapsAtWpt = -1;
+        lineItem.spoilersAtWpt = Integer.MIN_VALUE;
+
+        for(double v : values){
+            lineItem.latitude = v;
+            lineItem.longitude = -v;
+            lineItem.altAtWpt = v;
+            lineItem.headingAtWpt = -v;
+            lineItem.ktsAtWpt = v;
+            lineItem.pitchAtWpt = v;
+            lineItem.bankAtWpt = v;
+            lineItem.aileronAtWpt = -v;
+            lineItem.throttleAtWpt = v;
+            lineItem.noseWheelAtWpt = v;
+            lineItem.timeAtWpt = v;
+
+            assertEquals(format(lineItem), encode(lineItem));
+        }
+    }
+
+    private String encode(FlightProcessingLineItem lineItem){
+        int len = rowEncoder.encode(lineItem);
+        return new String(rowEncoder.getRow(), 0, len);
+    }
+
+    private static String format(FlightProcessingLineItem lineItem){
+        return String.format(Locale.US, "%10.15f", lineItem.latitude) + "," +
+                String.format(Locale.US, "%10.15f", lineItem.longitude) + "," +
+                String.format(Locale.US, "%10.6f", lineItem.altAtWpt) + "," +
+                String.format(Locale.US, "%10.6f", lineItem.headingAtWpt) + "," +
+                String.format(Locale.US, "%10.2f", lineItem.ktsAtWpt) + "," +
+                String.format(Locale.US, "%10.6f", lineItem.pitchAtWpt) + "," +
+                String.format(Locale.US, "%10.6f", lineItem.bankAtWpt) + "," +
+                String.format(Locale.US, "%10.2f", lineItem.aileronAtWpt) + "," +
+                lineItem.flapsAtWpt + "," +
+                lineItem.spoilersAtWpt + "," +
+                lineItem.gearAtWpt + "," +
+                String.format(Locale.US, "%10.2f", lineItem.throttleAtWpt) + "," +
+                String.format(Locale.US, "%10.2f", lineItem.noseWheelAtWpt) + "," +
+                lineItem.lightsAtWpt[0] + "," +
+                lineItem.lightsAtWpt[1] + "," +
+                lineItem.lightsAtWpt[2] + "," +
+                lineItem.lightsAtWpt[3] + "," +
+                lineItem.lightsAtWpt[4] + "," +
+                lineItem.lightsAtWpt[5] + "," +
+                lineItem.lightsAtWpt[6] + "," +
+                lineItem.lightsAtWpt[7] + "," +
+                lineItem.signSmk + "," +
+                lineItem.signSeat + "," +
+                lineItem.signAtt + "," +
+                lineItem.fltPhase + "," +
+                String.format(Locale.US, "%10.2f", lineItem.timeAtWpt) +
+                System.lineSeparator();
+    }
+}
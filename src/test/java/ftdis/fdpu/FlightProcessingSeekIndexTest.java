@@ -0,0 +1,114 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test FlightProcessingSeekIndex methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingSeekIndexTest {
+    double cycleLn = 0.2;
+    double[] trackT = {183.37, 612.05, 9731.8, 455.2};
+    FlightProcessingSeekIndex seekIdx = new FlightProcessingSeekIndex(trackT, cycleLn);
+
+    @Test
+    public void testGetPhase() throws Exception {
+        double timeMrk = 0;
+        long row = 0;
+
+        // Each phase ends one cycle after the end of its track
+        for(int p = 1; p <= 4; p++){
+            assertEquals(timeMrk, seekIdx.getPhaseStart(p), 0);
+            assertEquals(row, seekIdx.getRowStart(p));
+
+            timeMrk += trackT[p - 1] + cycleLn;
+            row += seekIdx.getCycles(p);
+
+            assertEquals(timeMrk, seekIdx.getPhaseEnd(p), 1.0E-9);
+            assertEquals(trackT[p - 1], seekIdx.getTrackEnd(p), 0);
+        }
+
+        assertEquals(row + seekIdx.getCycles(5), seekIdx.getRows());
+        assertEquals(301, seekIdx.getCycles(5));
+
+        assertEquals(1, seekIdx.getPhase(0));
+        assertEquals(1, seekIdx.getPhase(seekIdx.getPhaseEnd(1)));
+        assertEquals(2, seekIdx.getPhase(seekIdx.getPhaseEnd(1) + cycleLn));
+        assertEquals(3, seekIdx.getPhase(5000));
+        assertEquals(5, seekIdx.getPhase(seekIdx.getPhaseEnd(4) + cycleLn));
+
+        for(int p = 1; p <= 5; p++){
+            assertEquals(p, seekIdx.getPhase(seekIdx.getRowStart(p)));
+            assertEquals(p, seekIdx.getPhase(seekIdx.getRowStart(p) + seekIdx.getCycles(p) - 1));
+        }
+    }
+
+    @Test
+    public void testGetTime() throws Exception {
+        double prevTime = -1, time;
+        int cycles;
+
+        for(int p = 1; p <= 5; p++){
+            cycles = seekIdx.getCycles(p);
+
+            for(int c = 0; c < cycles; c++){
+                time = seekIdx.getTime(p, c);
+
+                // Time stamps are calculated from the cycle number and increase from cycle to cycle
+                if(p == 5 || c < cycles - 1)
+                    assertEquals(seekIdx.getPhaseStart(p) + (((p == 1) ? 0 : cycleLn) + c * cycleLn), time, 0);
+
+                assertTrue(time > prevTime);
+                assertEquals(time, seekIdx.getTime(seekIdx.getRowStart(p) + c), 0);
+                assertEquals(seekIdx.getRowStart(p) + c, seekIdx.getRow(time));
+
+                prevTime = time;
+            }
+
+            // The last cycle of a track is the end of the track, all other cycles precede it
+            if(p < 5){
+                assertEquals(trackT[p - 1], seekIdx.getTimeStmp(p, cycles - 1), 0);
+                assertTrue(seekIdx.getTimeStmp(p, cycles - 2) < trackT[p - 1]);
+                assertTrue(seekIdx.getTimeStmp(p, cycles - 2) + cycleLn >= trackT[p - 1]);
+            }
+        }
+
+        assertEquals(seekIdx.getRows(), seekIdx.getRow(prevTime + 1));
+        assertEquals(seekIdx.getRowStart(2), seekIdx.getRow(Math.nextUp(seekIdx.getTime(1, seekIdx.getCycles(1) - 1))));
+    }
+
+    @Test
+    public void testGetSkipCycles() throws Exception {
+        for(int p = 1; p <= 5; p++){
+            assertEquals(0, seekIdx.getSkipCycles(p, 0));
+            assertEquals(0, seekIdx.getSkipCycles(p, seekIdx.getRowStart(p)));
+            assertEquals(7, seekIdx.getSkipCycles(p, seekIdx.getRowStart(p) + 7));
+
+            // Chunk after the phase, skip all cycles
+            assertEquals(seekIdx.getCycles(p), seekIdx.getSkipCycles(p, seekIdx.getRows()));
+        }
+    }
+
+    @Test
+    public void testCreateChunks() throws Exception {
+        long[][] chunks = FlightProcessing.createChunks(seekIdx, 10, seekIdx.getRows() - 10, 1500);
+        long next = 10;
+
+        // Chunks cover each cycle exactly once and don't extend across the start of a phase
+        for(long[] chunk : chunks){
+            assertEquals(next, chunk[1]);
+            assertTrue(chunk[2] > chunk[1] && chunk[2] - chunk[1] <= 1500);
+            assertEquals(chunk[0], seekIdx.getPhase(chunk[1]));
+            assertEquals(chunk[0], seekIdx.getPhase(chunk[2] - 1));
+
+            next = chunk[2];
+        }
+
+        assertEquals(seekIdx.getRows() - 10, next);
+    }
+}
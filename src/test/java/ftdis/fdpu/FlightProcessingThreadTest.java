@@ -0,0 +1,127 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ftdis.fdpu.Config.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test FlightProcessingThread methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class FlightProcessingThreadTest {
+    private SyntheticFlight flight;
+
+    @Before
+    public void setUp() throws Exception {
+        flight = new SyntheticFlight();
+    }
+
+    @After
+    public void tearDown() {
+        flight.delete();
+    }
+
+    @Test
+    public void testVarDbl() throws Exception {
+        double cycleLn = 0.2, max = 0.1, rate = 0.005, timeStmp = cycleLn, var, prevVar = Double.NaN;
+
+        for(int c = 0; c < 20000; c++){
+            var = FlightProcessingThread.varDbl(2, timeStmp, cycleLn, max, rate);
+
+            // Variation within limits and rate
+            assertTrue(Math.abs(var) <= max);
+            if(!Double.isNaN(prevVar))
+                assertTrue(Math.abs(var - prevVar) <= rate + 1.0E-12);
+
+            // Variation independent of the start of the time window, i.e. the accumulated time stamp
+            assertEquals(var, FlightProcessingThread.varDbl(2, cycleLn + c * cycleLn, cycleLn, max, rate), 0.0);
+
+            prevVar = var;
+            timeStmp += cycleLn;
+        }
+    }
+
+    @Test
+    public void testProcessChunks() throws Exception {
+        Vector<FlightProcessingPlanSet> processedPlans = flight.preparePlans();
+        FlightProcessingSeekIndex seekIdx = SyntheticFlight.createSeekIndex(processedPlans);
+        List<long[]> chunks = new ArrayList<>();
+        List<String> single, chunked;
+
+        // Time windows across the start of each flight phase
+        long[][] windows = new long[4][];
+
+        for(int p = 2; p <= 5; p++)
+            windows[p - 2] = new long[]{seekIdx.getRowStart(p) - 150, seekIdx.getRowStart(p) + 150};
+
+        // Single chunk per window on one thread
+        for(long[] window : windows)
+            chunks.add(new long[]{seekIdx.getPhase(window[0]), window[0], window[1]});
+
+        single = process(processedPlans, seekIdx, chunks.toArray(new long[0][]), 1);
+
+        // Small chunks, which cut the windows within and at the start of each flight phase, on several threads
+        chunks.clear();
+
+        for(long[] window : windows)
+            for(long[] chunk : FlightProcessing.createChunks(seekIdx, window[0], window[1], 100))
+                chunks.add(chunk);
+
+        chunked = process(processedPlans, seekIdx, chunks.toArray(new long[0][]), 4);
+
+        // Each cycle is written exactly once and with identical values
+        assertEquals(4 * 300, single.size());
+        assertEquals(single.size(), chunked.size());
+
+        for(int r = 0; r < single.size(); r++)
+            assertEquals("Row " + r, single.get(r), chunked.get(r));
+    }
+
+    /**
+     * This method processes the chunks on a fork/join pool, as by the flight processing, and encodes the rows of the
+     * chunks in order.
+     *
+     * @param chunks    Chunks to be processed, each defined by phase, first cycle and cycle after the chunk
+     * @param threads   Number of threads
+     * @return          The encoded rows
+     */
+    private List<String> process(Vector<FlightProcessingPlanSet> processedPlans, FlightProcessingSeekIndex seekIdx, long[][] chunks, int threads){
+        FlightProcessingLineItemStore[] lineItems = new FlightProcessingLineItemStore[chunks.length];
+        CountDownLatch[] chunkDone = new CountDownLatch[chunks.length];
+        FlightProcessingProgress progress = new FlightProcessingProgress(seekIdx, 0, seekIdx.getTime(seekIdx.getRows() - 1), FLT_PROC_CYCLE_LN);
+        FlightProcessingRowEncoder rowEncoder = new FlightProcessingRowEncoder();
+        FlightProcessingLineItem lineItem = new FlightProcessingLineItem();
+        ForkJoinPool fjp = new ForkJoinPool(threads);
+        List<String> rows = new ArrayList<>();
+        int length;
+
+        for(int c = 0; c < chunks.length; c++)
+            chunkDone[c] = new CountDownLatch(1);
+
+        // Permits for all chunks and the final claim of each worker, as no writer releases them
+        fjp.invoke(new FlightProcessingChunkTask(new FlightProcessingThread(), lineItems, progress, processedPlans, seekIdx, flight.flightPlanFile, flight.eventCollectionFile, chunks, new long[chunks.length], new AtomicInteger(0), new Semaphore(chunks.length + threads), chunkDone, false, threads, seekIdx.getTime(seekIdx.getRows() - 1)));
+        fjp.shutdown();
+
+        for(FlightProcessingLineItemStore lineItemStore : lineItems){
+            for(int row = 0; row < lineItemStore.size(); row++){
+                length = rowEncoder.encode(lineItemStore.getRow(row, lineItem));
+                rows.add(new String(rowEncoder.getRow(), 0, length, StandardCharsets.UTF_8));
+            }
+        }
+
+        return rows;
+    }
+}
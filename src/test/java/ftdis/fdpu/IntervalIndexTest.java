@@ -0,0 +1,147 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.util.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test IntervalIndex of the vertical and weather tracks. The segments found by the index must be the same as
+ * those found by the plan error of each segment, including waypoints off the track and close to the start/end points
+ * of a segment, which the index leaves to the plan error.
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class IntervalIndexTest {
+    SyntheticFlight flight;
+    Vector<FlightProcessingPlanSet> processedPlans;
+
+    @Before
+    public void setUp() throws Exception {
+        flight = new SyntheticFlight();
+        processedPlans = flight.preparePlans();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        flight.delete();
+    }
+
+    @Test
+    public void testVerticalIndex() throws Exception {
+        LateralTrack latTrack;
+        VerticalTrack vertTrack, refTrack;
+        Waypoint pos, offPos = new Waypoint();
+        double trackLn, startDist, endDist;
+        double[] boundaries;
+
+        for(FlightProcessingPlanSet planSet : processedPlans){
+            latTrack = planSet.latTrack;
+            vertTrack = planSet.vertTrack;
+            trackLn = latTrack.getLength();
+            assertNotNull(vertTrack.sgmtIndex);
+
+            // Reference vertical track without interval index
+            refTrack = new VerticalTrack();
+            refTrack.assignLat(latTrack);
+            for(int s = 0; s < vertTrack.getSgmtCount(); s++)
+                refTrack.addSgmt(vertTrack.getSgmt(s));
+
+            for(double trackDist = 0; trackDist <= trackLn; trackDist += 100){
+                // Waypoint on the track
+                pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                assertSame(refTrack.getWptSgmt(pos), vertTrack.getWptSgmt(pos));
+
+                // Waypoint off the track, not resolved by the index
+                offPos.setLat(pos.getLat() + 0.0005);
+                offPos.setLon(pos.getLon());
+                assertEquals(-1, vertTrack.sgmtIndex.getWptSgmtPos(offPos));
+                assertSame(refTrack.getWptSgmt(offPos), vertTrack.getWptSgmt(offPos));
+            }
+
+            for(int s = 0; s < vertTrack.getSgmtCount(); s++){
+                startDist = latTrack.getDist(latTrack.getStartWpt(), vertTrack.getSgmt(s).getStartPt());
+                endDist = latTrack.getDist(latTrack.getStartWpt(), vertTrack.getSgmt(s).getEndPt());
+
+                // Waypoint in the middle of the segment, resolved by the index
+                pos = latTrack.getItmWpt(latTrack.getStartWpt(), (startDist + endDist) / 2);
+                assertEquals(s, vertTrack.sgmtIndex.getWptSgmtPos(pos));
+
+                // Waypoints close to the start/end points of the segment, not resolved by the index. The end of the
+                // last segment is the end of the track and is resolved by the index
+                if(s < vertTrack.getSgmtCount() - 1)
+                    boundaries = new double[]{startDist - 0.5, startDist + 0.5, endDist - 0.5, endDist + 0.5};
+                else
+                    boundaries = new double[]{startDist - 0.5, startDist + 0.5};
+
+                for(double trackDist : boundaries){
+                    pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                    assertEquals(-1, vertTrack.sgmtIndex.getWptSgmtPos(pos));
+                    assertSame(refTrack.getWptSgmt(pos), vertTrack.getWptSgmt(pos));
+                }
+
+                assertEquals(s, vertTrack.getSgmtPos(vertTrack.getSgmt(s)));
+            }
+        }
+    }
+
+    @Test
+    public void testWeatherIndex() throws Exception {
+        LateralTrack latTrack;
+        WeatherTrack wxTrack, refTrack;
+        Waypoint pos, offPos = new Waypoint();
+        double trackLn, startDist, endDist;
+        double[] boundaries;
+
+        for(FlightProcessingPlanSet planSet : processedPlans){
+            latTrack = planSet.latTrack;
+            wxTrack = planSet.wxTrack;
+            trackLn = latTrack.getLength();
+            assertNotNull(wxTrack.sgmtIndex);
+
+            // Reference weather track without interval index
+            refTrack = new WeatherTrack();
+            refTrack.assignLat(latTrack);
+            for(int s = 0; s < wxTrack.getSgmtCount(); s++)
+                refTrack.addSgmt(wxTrack.getSgmt(s));
+
+            for(double trackDist = 0; trackDist <= trackLn; trackDist += 100){
+                // Waypoint on the track
+                pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                assertSame(refTrack.getWptSgmt(pos), wxTrack.getWptSgmt(pos));
+
+                // Waypoint off the track, not resolved by the index
+                offPos.setLat(pos.getLat() + 0.0005);
+                offPos.setLon(pos.getLon());
+                assertEquals(-1, wxTrack.sgmtIndex.getWptSgmtPos(offPos));
+                assertSame(refTrack.getWptSgmt(offPos), wxTrack.getWptSgmt(offPos));
+            }
+
+            for(int s = 0; s < wxTrack.getSgmtCount(); s++){
+                startDist = latTrack.getDist(latTrack.getStartWpt(), wxTrack.getSgmt(s).getStartPt());
+                endDist = latTrack.getDist(latTrack.getStartWpt(), wxTrack.getSgmt(s).getEndPt());
+
+                // Waypoint in the middle of the segment, resolved by the index
+                pos = latTrack.getItmWpt(latTrack.getStartWpt(), (startDist + endDist) / 2);
+                assertEquals(s, wxTrack.sgmtIndex.getWptSgmtPos(pos));
+
+                // Waypoints close to the start/end points of the segment, not resolved by the index. The end of the
+                // last segment is the end of the track and is resolved by the index
+                if(s < wxTrack.getSgmtCount() - 1)
+                    boundaries = new double[]{startDist - 0.5, startDist + 0.5, endDist - 0.5, endDist + 0.5};
+                else
+                    boundaries = new double[]{startDist - 0.5, startDist + 0.5};
+
+                for(double trackDist : boundaries){
+                    pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+                    assertEquals(-1, wxTrack.sgmtIndex.getWptSgmtPos(pos));
+                    assertSame(refTrack.getWptSgmt(pos), wxTrack.getWptSgmt(pos));
+                }
+
+                assertEquals(s, wxTrack.getSgmtPos(wxTrack.getSgmt(s)));
+            }
+        }
+    }
+}
@@ -377,6 +377,45 @@ public class LateralTrackTest {
 
     }
 
+    @Test
+    public void testGetWptAtDist() throws Exception{
+        Waypoint idxWpt, itmWpt;
+        double length = latTrack.getLength();
+
+        assertEquals(length, latTrack.getWptDist(latTrack.getEndWpt()), 0.001);
+
+        for(double dist = 0; dist <= length; dist += 500){
+            idxWpt = latTrack.getWptAtDist(dist);
+            itmWpt = latTrack.getItmWpt(latTrack.getStartWpt(), dist);
+
+            assertEquals(itmWpt.getLat(), idxWpt.getLat(), 0.000001);
+            assertEquals(itmWpt.getLon(), idxWpt.getLon(), 0.000001);
+            assertEquals(dist, latTrack.getWptDist(idxWpt), 0.01);
+            assertEquals(dist, latTrack.getDist(latTrack.getStartWpt(), idxWpt), 0.01);
+        }
+    }
+
+    @Test
+    public void testGetItmPos() throws Exception{
+        Waypoint idxWpt;
+        double length = latTrack.getLength();
+        int count = (int) (length / 50) + 2;
+        double[] dist = new double[count], lat = new double[count], lon = new double[count], course = new double[count];
+
+        for(int i = 0; i < count; i++)
+            dist[i] = i * 50;
+
+        latTrack.getItmPos(dist, lat, lon, course, count);
+
+        for(int i = 0; i < count; i++){
+            idxWpt = latTrack.getWptAtDist(dist[i]);
+
+            assertEquals(idxWpt.getLat(), lat[i], 0);
+            assertEquals(idxWpt.getLon(), lon[i], 0);
+            assertEquals(0, NavCalc.getCourseChange(latTrack.getCourseAtWpt(idxWpt), course[i]), 0.01);
+        }
+    }
+
     @Test
     public void exportEventKML() throws Exception {
 
@@ -0,0 +1,154 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test MonitorStatus methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class MonitorStatusTest {
+
+    @Test
+    public void testWriteRead() throws Exception {
+        File statusFile = File.createTempFile("status", ".dat");
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 14, 30, 15);
+
+        try{
+            MonitorStatus writer = new MonitorStatus(statusFile, true);
+            MonitorStatus reader = new MonitorStatus(statusFile, false);
+
+            writer.write(new Monitor(start, 42.5, 1234.5, 3, new double[]{100, 100, 85, 0, 0}, new double[]{10, 20, 30}, false, 0), MonitorStatus.STATE_PROCESSING);
+
+            Monitor status = reader.read();
+            assertNotNull(status);
+            assertEquals(start, status.getStartDateTime());
+            assertEquals(42.5, status.getProgress(), 0);
+            assertEquals(1234.5, status.getCyclesPerSec(), 0);
+            assertEquals(3, status.getPhase());
+            assertArrayEquals(new double[]{100, 100, 85, 0, 0}, status.getPhaseProgress(), 0);
+            assertArrayEquals(new double[]{10, 20, 30}, status.getThreadProgress(), 0);
+            assertTrue(!status.isDone());
+            assertTrue(MonitorStatus.isValid(status));
+
+            // Sequence number changes with each update
+            writer.write(new Monitor(start, 100), MonitorStatus.STATE_DONE);
+            assertTrue(reader.read().getSeq() > status.getSeq());
+            assertTrue(reader.read().isDone());
+            assertEquals(0, reader.read().getThreadProgress().length);
+        }finally{
+            statusFile.delete();
+        }
+    }
+
+    @Test
+    public void testConsistentSnapshots() throws Exception {
+        File statusFile = File.createTempFile("status", ".dat");
+        final LocalDateTime start = LocalDateTime.of(2024, 5, 1, 14, 30);
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final MonitorStatus writer = new MonitorStatus(statusFile, true);
+        MonitorStatus reader = new MonitorStatus(statusFile, false);
+        Monitor status;
+        long snapshots = 0;
+        double k;
+
+        try{
+            // Writer updates all values of the region from a single counter
+            Thread writerThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    double[] phaseProgress = new double[MonitorStatus.PHASES];
+
+                    for(int i = 1; i <= 200000; i++){
+                        double[] threadProgress = new double[i % 8 + 1];
+
+                        Arrays.fill(phaseProgress, i);
+                        Arrays.fill(threadProgress, i);
+
+                        writer.write(new Monitor(start, i, 2.0 * i, i % 5 + 1, phaseProgress, threadProgress, false, 0), MonitorStatus.STATE_PROCESSING);
+                    }
+
+                    done.set(true);
+                }
+            });
+
+            writerThread.start();
+
+            // Each snapshot must hold the values of a single update
+            while(!done.get()){
+                status = reader.read();
+
+                // Skip empty region before the first update
+                if(status == null || status.getProgress() == 0)
+                    continue;
+
+                k = status.getProgress();
+                snapshots++;
+
+                assertTrue(MonitorStatus.isValid(status));
+
+                assertEquals(2.0 * k, status.getCyclesPerSec(), 0);
+                assertEquals((int) k % 5 + 1, status.getPhase());
+                assertEquals((int) k % 8 + 1, status.getThreadProgress().length);
+
+                for(double p : status.getPhaseProgress())
+                    assertEquals(k, p, 0);
+
+                for(double t : status.getThreadProgress())
+                    assertEquals(k, t, 0);
+            }
+
+            writerThread.join();
+
+            assertTrue(snapshots > 0);
+            assertEquals(200000, reader.read().getProgress(), 0);
+        }finally{
+            statusFile.delete();
+        }
+    }
+
+    @Test
+    public void testChecksum() throws Exception {
+        File statusFile = File.createTempFile("status", ".dat");
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 14, 30);
+
+        try{
+            MonitorStatus writer = new MonitorStatus(statusFile, true);
+            MonitorStatus reader = new MonitorStatus(statusFile, false);
+
+            // Empty region before the first update
+            assertNotNull(reader.read());
+
+            writer.write(new Monitor(start, 42.5, 1234.5, 3, new double[]{100, 100, 85, 0, 0}, new double[]{10, 20, 30}, false, 0), MonitorStatus.STATE_PROCESSING);
+            assertTrue(MonitorStatus.isValid(reader.read()));
+
+            // Snapshot with values, which don't match the checksum, e.g. progress of an incomplete update
+            try(RandomAccessFile file = new RandomAccessFile(statusFile, "rw")){
+                file.seek(24);
+                file.write(new byte[8]);
+            }
+
+            assertNull(reader.read());
+            assertTrue(!MonitorStatus.isValid(new Monitor(start, 42.5, 1234.5, 3, new double[]{100, 100, 85, 0, 0}, new double[]{10, 20, 30}, false, 2, 0)));
+
+            // Next update is accepted again
+            writer.write(new Monitor(start, 50), MonitorStatus.STATE_PROCESSING);
+            assertEquals(50, reader.read().getProgress(), 0);
+        }finally{
+            statusFile.delete();
+        }
+    }
+}
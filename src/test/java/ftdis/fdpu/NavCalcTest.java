@@ -210,6 +210,55 @@ public class NavCalcTest {
     }
 
 
+    @Test
+    public void testPrimitiveNavCalc(){
+        Waypoint w1 = new Waypoint(1), w2 = new Waypoint(2), holder = new Waypoint(), itmWpt, radWpt;
+
+        w1.setLat(47.476641);
+        w1.setLon(-122.307703);
+
+        w2.setLat(47.485540);
+        w2.setLon(-122.320961);
+
+        // Waypoint and lat/lon based calculations must be identical
+        assertEquals(NavCalc.getDirectDist(w1, w2), NavCalc.getDirectDist(w1.getLat(), w1.getLon(), w2.getLat(), w2.getLon()), 0);
+        assertEquals(NavCalc.getInitBearing(w1, w2), NavCalc.getInitBearing(w1.getLat(), w1.getLon(), w2.getLat(), w2.getLon()), 0);
+
+        // Intermediate waypoint assigned to existing waypoint
+        itmWpt = NavCalc.getItmWpt(w1, w2, 0.5);
+        assertSame(holder, NavCalc.getItmWpt(w1, w2, 0.5, holder));
+        assertEquals(itmWpt.getLat(), holder.getLat(), 0);
+        assertEquals(itmWpt.getLon(), holder.getLon(), 0);
+
+        NavCalc.getItmWpt(w1.getLat(), w1.getLon(), w2.getLat(), w2.getLon(), 0.5, holder);
+        assertEquals(itmWpt.getLat(), holder.getLat(), 0);
+        assertEquals(itmWpt.getLon(), holder.getLon(), 0);
+
+        // Radial waypoint assigned to existing waypoint
+        radWpt = NavCalc.getRadWpt(w1, 5000, 45);
+        assertSame(holder, NavCalc.getRadWpt(w1, 5000, 45, holder));
+        assertEquals(radWpt.getLat(), holder.getLat(), 0);
+        assertEquals(radWpt.getLon(), holder.getLon(), 0);
+
+        NavCalc.getRadWpt(w1.getLat(), w1.getLon(), 5000, 45, holder);
+        assertEquals(radWpt.getLat(), holder.getLat(), 0);
+        assertEquals(radWpt.getLon(), holder.getLon(), 0);
+        assertEquals(5000, NavCalc.getDirectDist(w1, holder), 0.01);
+
+        // Cached trigonometric values follow the coordinates
+        holder.setLat(w2.getLat());
+        holder.setLon(w2.getLon());
+        assertEquals(NavCalc.getDirectDist(w1, w2), NavCalc.getDirectDist(w1, holder), 0);
+        assertEquals(NavCalc.getDirectDist(w1, w2), NavCalc.getDirectDist(w1, new Waypoint(w2)), 0);
+
+        holder.setLat(-33.946111);
+        holder.setLon(151.177222);
+        assertEquals(Math.toRadians(151.177222), holder.getLonRad(), 0);
+        assertEquals(Math.sin(Math.toRadians(-33.946111)), holder.getSinLat(), 0);
+        assertEquals(Math.cos(Math.toRadians(-33.946111)), holder.getCosLat(), 0);
+        assertEquals(NavCalc.getDirectDist(w1.getLat(), w1.getLon(), holder.getLat(), holder.getLon()), NavCalc.getDirectDist(w1, holder), 0);
+    }
+
     @Test
     public void testGetIntersectWaypoint(){
         Waypoint startWpt = new Waypoint();
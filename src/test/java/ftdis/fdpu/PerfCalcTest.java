@@ -2,6 +2,7 @@ package ftdis.fdpu;
 
 import org.junit.Test;
 
+import static java.lang.Math.*;
 import static org.junit.Assert.*;
 
 /**
@@ -100,8 +101,293 @@ public class PerfCalcTest {
         assertEquals(100,PerfCalc.getDecVal(100, 100, 5),0.00001);
     }
 
+    @Test
+    public void testCurveTables() throws Exception {
+        int[] sigmoidSlopes = {925, 950, 1, 2, 5, 10, 15, 20, 22, 25, 30, 35, 40, 45, 50};
+        int[] accSlopes = {2, 5, 10, 15, 20, 25, 35, 45, 50, 55, 60};
+        int[] decSlopes = {2, 5, 10, 15, 20, 25, 35};
+        double value;
+
+        // Tables vs. exact curves, across and beyond the value range, for positive and negative values
+        for(int i = -1000; i <= 12000; i++){
+            value = i / 97.0;
+
+            for(int slope : sigmoidSlopes)
+                assertCurve(sigmoidVal(100, value, slope), PerfCalc.getSigmoidVal(100, value, slope));
+
+            for(int slope : accSlopes)
+                assertCurve(accVal(100, value, slope), PerfCalc.getAccVal(100, value, slope));
+
+            for(int slope : decSlopes)
+                assertCurve(decVal(100, value, slope), PerfCalc.getDecVal(100, value, slope));
+        }
+
+        // Segment boundaries
+        for(int slope : sigmoidSlopes){
+            assertCurve(sigmoidVal(250, 2.5 * slope, slope), PerfCalc.getSigmoidVal(250, 2.5 * slope, slope));
+            assertCurve(sigmoidVal(250, 250 - 2.5 * slope, slope), PerfCalc.getSigmoidVal(250, 250 - 2.5 * slope, slope));
+        }
+
+        for(int slope : accSlopes)
+            assertCurve(accVal(-250, 2.5 * slope, slope), PerfCalc.getAccVal(-250, 2.5 * slope, slope));
+
+        for(int slope : decSlopes)
+            assertCurve(decVal(-250, 250 - 2.5 * slope, slope), PerfCalc.getDecVal(-250, 250 - 2.5 * slope, slope));
+
+        // Unknown slopes and empty value range
+        assertEquals(42, PerfCalc.getSigmoidVal(100, 42, 3), 0);
+        assertEquals(42, PerfCalc.getSigmoidVal(100, 42, -5), 0);
+        assertEquals(42, PerfCalc.getSigmoidVal(100, 42, 1000), 0);
+        assertEquals(42, PerfCalc.getAccVal(100, 42, 40), 0);
+        assertEquals(42, PerfCalc.getDecVal(100, 42, 45), 0);
+        assertEquals(0, PerfCalc.getAccVal(0, 0, 5), 0);
+        assertEquals(sigmoidVal(0, 5, 5), PerfCalc.getSigmoidVal(0, 5, 5), 0);
+        assertEquals(decVal(0, 5, 5), PerfCalc.getDecVal(0, 5, 5), 0);
+    }
+
     @Test
     public void testGetSinVal() throws Exception {
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Asserts that the tabulated value of a curve matches the exact value within a relative error of 1e-7
+     */
+    private void assertCurve(double expected, double actual){
+        if(Double.isNaN(expected) || Double.isInfinite(expected))
+            assertEquals(expected, actual, 0);
+        else
+            assertEquals(expected, actual, 1e-7 * max(abs(expected), 1e-3));
+    }
+
+    /**
+     * Exact sigmoid curve, reference for the lookup tables of PerfCalc
+     */
+    private double sigmoidVal(double rngSize, double value, int slope){
+        try{
+            double x, x1, x2, y, y1, y2, a, m, n, crvAdjustFct;
+
+            if(value == 0)
+                return 0;
+
+            // Set variables for exponential function
+            switch (slope) {
+                case 925:
+                    a = 2.931568512;
+                    break;
+                case 950:
+                    a =2.0411743572;
+                    break;
+                case 1:
+                    a = 1.7753639511;
+                    break;
+                case 2:
+                    a = 1.6214832573;
+                    break;
+                case 5:
+                    a = 1.3312550618;
+                    break;
+                case 10:
+                    a = 1.2060383272;
+                    break;
+                case 15:
+                    a = 1.1567306549;
+                    break;
+                case 20:
+                    a = 1.1297507209;
+                    break;
+                case 22:
+                    a = 1.1220784817;
+                    break;
+                case 25:
+                    a = 1.1127066511;
+                    break;
+                case 30:
+                    a = 1.1011005683;
+                    break;
+                case 35:
+                    a = 1.0929162338;
+                    break;
+                case 40:
+                    a = 1.0871679816;
+                    break;
+                case 45:
+                    a = 1.0834337842;
+                    break;
+                case 50:
+                    a = 1.0818420047;
+                    break;
+                default:
+                    return value;
+            }
+
+            // Calculate slope m and y-intercept n of linear function
+            x1 = slope;
+            y1 = pow(a, x1) - 1.0000;
+            x2 = 100 - slope;
+            y2 = 100 - (1 / pow(a,(x2 - 100)) - 1.0000);
+
+            m = (y2 - y1)/(x2 - x1);
+            n = y1 - m * x1;
+
+            // Calculate percent of x value in value range
+            x = abs(value) / abs(rngSize) * 100;
+
+            // Calculate curve adjustment factor
+            if(x <= slope){
+                y = pow(a,x) - 1.0000;
+            }else if(x >= 100 - slope){
+                y = 100 - (1 / pow(a,(x - 100)) - 1.0000);
+            }else{
+                y = m * x + n;
+            }
+
+            crvAdjustFct = y/x;
+
+            return value * crvAdjustFct;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return 0;
+        }
+
+    }
+
+    /**
+     * Exact acceleration curve, reference for the lookup tables of PerfCalc
+     */
+    private double accVal(double rngSize, double value, int slope){
+        try{
+            double x, x1, x2, y, y1, y2, a, m, n, crvAdjustFct;
+
+            if(value == 0)
+                return 0;
+
+            switch (slope) {
+                case 2:
+                    a = 1.6197354377;
+                    break;
+                case 5:
+                    a = 1.3279252240;
+                    break;
+                case 10:
+                    a = 1.2015381168;
+                    break;
+                case 15:
+                    a = 1.1514091555;
+                    break;
+                case 20:
+                    a = 1.1236789900;
+                    break;
+                case 25:
+                    a = 1.1057903460;
+                    break;
+                case 35:
+                    a = 1.0838607950;
+                    break;
+                case 45:
+                    a = 1.0718542203;
+                    break;
+                case 50:
+                    a = 1.0669279229;
+                    break;
+                case 55:
+                    a = 1.0629480360;
+                    break;
+                case 60:
+                    a = 1.0596560229;
+                    break;
+                default:
+                    return value;
+            }
+
+            // Calculate slope m and y-intercept n of linear function
+            x1 = slope - 1;
+            y1 = pow(a, x1) - 1.0000;
+            x2 = 100;
+            y2 = 100;
+
+            m = (y2 - y1)/(x2 - x1);
+            n = y1 - m * x1;
+
+            // Calculate percent of x value in value range
+            x = abs(value) / abs(rngSize) * 100;
+
+            // Calculate curve adjustment factor
+            if(x <= slope){
+                y = pow(a,x) - 1.0000;
+            }else{
+                y = m * x + n;
+            }
+
+            crvAdjustFct = y/x;
+
+            return value * crvAdjustFct;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Exact deceleration curve, reference for the lookup tables of PerfCalc
+     */
+    private double decVal(double rngSize, double value, int slope){
+        try{
+            double x, x1, x2, y, y1, y2, a, m, n, crvAdjustFct;
+
+            if(value == 0)
+                return 0;
+
+            switch (slope) {
+                case 2:
+                    a= 1.6197353593;
+                    break;
+                case 5:
+                    a = 1.3277650267;
+                    break;
+                case 10:
+                    a = 1.2015668098;
+                    break;
+                case 15:
+                    a = 1.1514057149;
+                    break;
+                case 20:
+                    a = 1.1235881177;
+                    break;
+                case 25:
+                    a = 1.1057500002;
+                    break;
+                case 35:
+                    a = 1.0838598369;
+                    break;
+                default:
+                    return value;
+            }
+
+            // Calculate slope m and y-intercept n of linear function
+            x1 = 0;
+            y1 = 0;
+            x2 = 100 - slope;
+            y2 = 100 - (1 / pow(a,(x2 - 100)) - 1.0000);
+
+            m = (y2 - y1)/(x2 - x1);
+            n = y1 - m * x1;
+
+            // Calculate percent of x value in value range
+            x = abs(value) / abs(rngSize) * 100;
+
+            // Calculate curve adjustment factor
+            if(x >= 100 - slope)
+                y = 100 - (1 / pow(a,(x - 100)) - 1.0000);
+            else
+                y = m * x + n;
+
+            crvAdjustFct = y/x;
+
+            return value * crvAdjustFct;
+        }catch(Exception e){
+            System.out.println(e.getMessage());
+            return 0;
+        }
+    }
+}
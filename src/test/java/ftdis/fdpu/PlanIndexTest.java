@@ -0,0 +1,175 @@
+package ftdis.fdpu;
+
+import org.junit.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test PlanIndex methods
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+public class PlanIndexTest {
+    private static final String XML =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+            "<EventCollection ID=\"1\">\n" +
+            "    <Plan ID=\"1\">\n" +
+            "        <Waypoints>\n" +
+            "            <Waypoint ID=\"2\"><Latitude unit=\"dec\">47.5</Latitude><Longitude unit=\"dec\">-122.4</Longitude></Waypoint>\n" +
+            "            <Waypoint ID=\"1\"><Latitude unit=\"dec\">47.4</Latitude><Longitude unit=\"dec\">-122.3</Longitude></Waypoint>\n" +
+            "        </Waypoints>\n" +
+            "        <Event ID=\"1\" type=\"chgAirspeed\">\n" +
+            "            <Waypoints>\n" +
+            "                <Waypoint ID=\"1\"><Latitude unit=\"dec\">47.4</Latitude><Longitude unit=\"dec\">-122.3</Longitude></Waypoint>\n" +
+            "                <Waypoint ID=\"2\"><Latitude unit=\"dec\">47.45</Latitude><Longitude unit=\"dec\">-122.35</Longitude></Waypoint>\n" +
+            "            </Waypoints>\n" +
+            "            <Variables>\n" +
+            "                <Var type=\"init\" unit=\"kts\">0.0</Var>\n" +
+            "                <Var type=\"target\" unit=\"kts\">20.0</Var>\n" +
+            "                <Var type=\"acceleration\" unit=\"ms2\">NaN</Var>\n" +
+            "                <Var type=\"timeOffset\" unit=\"s\">60.0</Var>\n" +
+            "            </Variables>\n" +
+            "        </Event>\n" +
+            "        <Event ID=\"1\" type=\"chgAltitude\">\n" +
+            "            <Waypoints>\n" +
+            "                <Waypoint ID=\"1\"><Latitude unit=\"dec\">47.4</Latitude><Longitude unit=\"dec\">-122.3</Longitude></Waypoint>\n" +
+            "            </Waypoints>\n" +
+            "            <Variables>\n" +
+            "                <Var type=\"init\" unit=\"m\">120.0</Var>\n" +
+            "                <Var type=\"target\">3000.0</Var>\n" +
+            "                <Var type=\"vs\" unit=\"ms\">10.0</Var>\n" +
+            "            </Variables>\n" +
+            "        </Event>\n" +
+            "        <Event ID=\"2\" type=\"chgAirspeed\">\n" +
+            "            <Variables>\n" +
+            "                <Var type=\"init\" unit=\"kts\">20.0</Var>\n" +
+            "                <Var type=\"target\" unit=\"kts\">0.0</Var>\n" +
+            "            </Variables>\n" +
+            "        </Event>\n" +
+            "    </Plan>\n" +
+            "    <Plan ID=\"2\">\n" +
+            "    </Plan>\n" +
+            "</EventCollection>\n";
+
+    private static final String MASTER_XML =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+            "<FlightMasterPlan ID=\"1\">\n" +
+            "    <Plan ID=\"2\">\n" +
+            "        <Waypoints>\n" +
+            "            <Waypoint ID=\"1\" spd=\"0.0\" timeOffset=\"30.0\"><Latitude unit=\"rad\">0.8</Latitude><Latitude unit=\"dec\">47.4</Latitude><Longitude unit=\"dec\">-122.3</Longitude></Waypoint>\n" +
+            "            <Waypoint ID=\"2\"><Latitude unit=\"dec\">47.5</Latitude><Longitude unit=\"dec\">-122.4</Longitude></Waypoint>\n" +
+            "        </Waypoints>\n" +
+            "        <Events>\n" +
+            "            <Waypoint ID=\"1\" timeOffset=\"120\"><Latitude unit=\"dec\">47.45</Latitude><Longitude unit=\"dec\">-122.35</Longitude></Waypoint>\n" +
+            "        </Events>\n" +
+            "    </Plan>\n" +
+            "</FlightMasterPlan>\n";
+
+    private File xmlFile;
+    private PlanIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        xmlFile = File.createTempFile("PlanIndex", ".xml");
+        Files.write(xmlFile.toPath(), XML.getBytes(StandardCharsets.UTF_8));
+        index = new PlanIndex(xmlFile.getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        xmlFile.delete();
+    }
+
+    @Test
+    public void testGetWaypoints() throws Exception {
+        List<Waypoint> wpts = index.getWaypoints(1);
+
+        // Waypoints in order of the xml file
+        assertEquals(2, wpts.size());
+        assertEquals(2, wpts.get(0).id);
+        assertEquals(47.5, wpts.get(0).getLat(), 0);
+        assertEquals(-122.4, wpts.get(0).getLon(), 0);
+        assertEquals(1, wpts.get(1).id);
+
+        // Waypoints are copies, the index is not modified by the plans
+        wpts.get(0).setLat(0);
+        assertEquals(47.5, index.getWaypoints(1).get(0).getLat(), 0);
+
+        assertTrue(index.hasPlan(2));
+        assertEquals(0, index.getWaypoints(2).size());
+    }
+
+    @Test
+    public void testGetEvents() throws Exception {
+        List<PlanIndex.Event> velEvents = index.getEvents(1, PlanIndex.CHG_AIRSPEED);
+        List<PlanIndex.Event> vertEvents = index.getEvents(1, "CHGALTITUDE");
+
+        assertEquals(2, velEvents.size());
+        assertEquals(47.4, velEvents.get(0).getStartPt().getLat(), 0);
+        assertEquals(-122.35, velEvents.get(0).getEndPt().getLon(), 0);
+        assertEquals(20.0, velEvents.get(0).getVar("target"), 0);
+        assertEquals("kts", velEvents.get(0).getUnit("init"));
+        assertTrue(Double.isNaN(velEvents.get(0).getVar("acceleration")));
+        assertEquals(60.0, velEvents.get(0).getVar("TIMEOFFSET"), 0);
+
+        // Event without waypoints
+        assertNull(velEvents.get(1).getStartPt());
+        assertNull(velEvents.get(1).getEndPt());
+
+        // Variable without unit
+        assertEquals(1, vertEvents.size());
+        assertEquals(3000.0, vertEvents.get(0).getVar("target"), 0);
+        assertEquals("", vertEvents.get(0).getUnit("target"));
+        assertNull(vertEvents.get(0).getEndPt());
+
+        assertEquals(0, index.getEvents(1, PlanIndex.CHG_WEATHER).size());
+        assertEquals(0, index.getEvents(2, PlanIndex.CHG_AIRSPEED).size());
+    }
+
+    @Test
+    public void testWptAttributes() throws Exception {
+        File masterFile = File.createTempFile("PlanIndex", ".xml");
+
+        try{
+            Files.write(masterFile.toPath(), MASTER_XML.getBytes(StandardCharsets.UTF_8));
+            PlanIndex masterIdx = new PlanIndex(masterFile.getAbsolutePath());
+
+            // Only latitude and longitude in decimal degrees are read
+            assertEquals(47.4, masterIdx.getWaypoints(2).get(0).getLat(), 0);
+            assertEquals("30.0", masterIdx.getWptAttribute(2, PlanIndex.WAYPOINTS, 0, "timeOffset"));
+            assertEquals("0.0", masterIdx.getWptAttribute(2, PlanIndex.WAYPOINTS, 0, "spd"));
+
+            // Holding points
+            assertEquals(1, masterIdx.getWaypoints(2, PlanIndex.EVENTS).size());
+            assertEquals(-122.35, masterIdx.getWaypoints(2, PlanIndex.EVENTS).get(0).getLon(), 0);
+            assertEquals("120", masterIdx.getWptAttribute(2, PlanIndex.EVENTS, 0, "timeOffset"));
+
+            try{
+                masterIdx.getWptAttribute(2, PlanIndex.WAYPOINTS, 1, "spd");
+                assertTrue(false);
+            }catch(DOMUtilException e){
+                assertEquals("DOMUtil Exception: Attribute spd not found!", e.toString());
+            }
+        }finally{
+            masterFile.delete();
+        }
+    }
+
+    @Test(expected = DOMUtilException.class)
+    public void testMissingPlan() throws Exception {
+        index.getWaypoints(3);
+    }
+
+    @Test(expected = DOMUtilException.class)
+    public void testMissingVar() throws Exception {
+        index.getEvents(1, PlanIndex.CHG_AIRSPEED).get(1).getVar("acceleration");
+    }
+}
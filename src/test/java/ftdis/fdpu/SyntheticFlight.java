@@ -0,0 +1,101 @@
+package ftdis.fdpu;
+
+import ftdis.fplu.SyntheticPlanProcessing;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Vector;
+
+import static ftdis.fdpu.Config.FLT_PROC_CYCLE_LN;
+
+/**
+ * Synthetic flight for the tests of the flight processing. The flight plan and event collection of a short flight are
+ * generated by the synthetic plan processing into a temporary directory, and the plan sets are prepared and processed
+ * as by the flight processing.
+ *
+ * @author  windowSeatFSX@gmail.com
+ * @version 0.1
+ */
+class SyntheticFlight {
+    File ioDir;
+    String flightPlanFile, eventCollectionFile;
+
+    /**
+     * Constructor, generates the flight plan and event collection
+     */
+    SyntheticFlight() throws Exception {
+        ioDir = Files.createTempDirectory("FlightProcessing").toFile();
+        flightPlanFile = ioDir.getPath() + File.separator + "Synthetic FlightPlan.xml";
+        eventCollectionFile = ioDir.getPath() + File.separator + "Synthetic EventCollection.xml";
+
+        SyntheticPlanProcessing.generate(ioDir.getPath() + File.separator, "Synthetic", 10, 0.3, 2, 1, 2, 0.5, 1);
+    }
+
+    /**
+     * @return The plan sets of the flight, prepared as by the flight processing
+     */
+    Vector<FlightProcessingPlanSet> preparePlans() throws Exception {
+        FlightProcessingPlanSet[] planSets = new FlightProcessingPlanSet[4];
+        PlanIndex flightPlanIdx = new PlanIndex(flightPlanFile);
+        PlanIndex eventCollectionIdx = new PlanIndex(eventCollectionFile);
+        FlightProcessingPlanGraph planGraph = new FlightProcessingPlanGraph();
+
+        for(int p = 1; p <= 4; p++)
+            planSets[p - 1] = FlightProcessing.addPlanSteps(planGraph, p, flightPlanIdx, eventCollectionIdx);
+
+        planGraph.run(1);
+
+        return new Vector<FlightProcessingPlanSet>(Arrays.asList(planSets));
+    }
+
+    /**
+     * @param processedPlans    The prepared plan sets
+     * @return                  Seek index of the flight phases, as by the flight processing
+     */
+    static FlightProcessingSeekIndex createSeekIndex(Vector<FlightProcessingPlanSet> processedPlans){
+        double[] phaseT = new double[4];
+        LateralTrack latTrack;
+        VelocityTrack velTrack;
+
+        for(int p = 1; p <= 4; p++){
+            latTrack = processedPlans.get(p - 1).latTrack;
+            velTrack = processedPlans.get(p - 1).velTrack;
+            phaseT[p - 1] = latTrack.getDist(latTrack.getStartWpt(), latTrack.getEndWpt()) / velTrack.getVasu(latTrack.getStartWpt(), latTrack.getEndWpt());
+        }
+
+        return new FlightProcessingSeekIndex(phaseT, FLT_PROC_CYCLE_LN);
+    }
+
+    /**
+     * This method processes a range of cycles of the flight on the current thread.
+     *
+     * @param processedPlans    The prepared plan sets
+     * @param seekIdx           Seek index of the flight phases
+     * @param rowStart          First cycle
+     * @param rowEnd            Cycle after the last cycle
+     * @return                  The line items
+     */
+    FlightProcessingLineItemStore process(Vector<FlightProcessingPlanSet> processedPlans, FlightProcessingSeekIndex seekIdx, long rowStart, long rowEnd){
+        FlightProcessingLineItemStore lineItems = new FlightProcessingLineItemStore();
+        double duration = seekIdx.getTime(seekIdx.getRows() - 1);
+
+        FlightProcessingThread.processFile(1, lineItems, new FlightProcessingProgress(seekIdx, 0, duration, FLT_PROC_CYCLE_LN),
+                processedPlans, seekIdx, flightPlanFile, eventCollectionFile, rowStart, rowEnd, duration);
+
+        return lineItems;
+    }
+
+    /**
+     * Deletes the directory of the flight, including all files
+     */
+    void delete(){
+        File[] files = ioDir.listFiles();
+
+        if(files != null)
+            for(File file : files)
+                file.delete();
+
+        ioDir.delete();
+    }
+}
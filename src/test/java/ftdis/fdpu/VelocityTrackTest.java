@@ -126,6 +126,104 @@ public class VelocityTrackTest {
 
     }
 
+    @Test
+    public void testVelocityProfile() throws Exception{
+        // Transform velocity plan to velocity track and validate
+        velTrack.assignLat(latTrack);
+        velTrack.transform(velPlan);
+        velTrack.validate();
+
+        // Reference velocity track without velocity profile
+        VelocityTrack refTrack = new VelocityTrack();
+        refTrack.assignLat(latTrack);
+        for(int s = 0; s < velTrack.getSgmtCount(); s++)
+            refTrack.addSgmt(velTrack.getSgmt(s));
+
+        Waypoint pos;
+        double trackLn = latTrack.getLength();
+
+        for(double trackDist = 0; trackDist < trackLn; trackDist += 250){
+            pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+
+            assertEquals(refTrack.getDist(pos, 0.02), velTrack.getDist(pos, 0.02), 0.0001);
+            assertEquals(refTrack.getDist(pos, 60), velTrack.getDist(pos, 60), 0.0001);
+            assertEquals(refTrack.getDist(latTrack.getStartWpt(), trackDist / 10), velTrack.getDist(latTrack.getStartWpt(), trackDist / 10), 0.0001);
+            assertEquals(refTrack.getVasu(pos, latTrack.getEndWpt()), velTrack.getVasu(pos, latTrack.getEndWpt()), 0.0001);
+            assertEquals(refTrack.getTime(latTrack.getStartWpt(), pos), velTrack.getTime(latTrack.getStartWpt(), pos), 0.0001);
+        }
+    }
+
+    @Test
+    public void testIntervalIndex() throws Exception{
+        // Transform velocity plan to velocity track and validate
+        velTrack.assignLat(latTrack);
+        velTrack.transform(velPlan);
+        velTrack.validate();
+
+        // Reference velocity track without interval index
+        VelocityTrack refTrack = new VelocityTrack();
+        refTrack.assignLat(latTrack);
+        for(int s = 0; s < velTrack.getSgmtCount(); s++)
+            refTrack.addSgmt(velTrack.getSgmt(s));
+
+        Waypoint pos, offPos = new Waypoint();
+        double trackLn = latTrack.getLength();
+
+        for(double trackDist = 0; trackDist <= trackLn; trackDist += 100){
+            // Waypoint on the track
+            pos = latTrack.getItmWpt(latTrack.getStartWpt(), trackDist);
+            assertSame(refTrack.getWptSgmt(pos), velTrack.getWptSgmt(pos));
+
+            // Waypoint off the track
+            offPos.setLat(pos.getLat() + 0.0005);
+            offPos.setLon(pos.getLon());
+            assertSame(refTrack.getWptSgmt(offPos), velTrack.getWptSgmt(offPos));
+        }
+
+        for(int s = 0; s < velTrack.getSgmtCount(); s++)
+            assertEquals(s, velTrack.getSgmtPos(velTrack.getSgmt(s)));
+    }
+
+    @Test
+    public void testTrackCursor() throws Exception{
+        // Transform velocity plan to velocity track and validate
+        velTrack.assignLat(latTrack);
+        velTrack.transform(velPlan);
+        velTrack.validate();
+
+        // Move cursor along the track and compare with the results of the velocity track
+        TrackCursor trackCrsr = new TrackCursor(latTrack, velTrack);
+        Waypoint pos, prevPos = null;
+        double trackDist = 0, crsrDist, trackLn, cycleLn = 0.02;
+
+        trackLn = latTrack.getLength();
+
+        for(double timeStmp = cycleLn; trackDist < trackLn; timeStmp += cycleLn){
+
+            if(prevPos != null && latTrack.getDist(latTrack.getStartWpt(),prevPos) > 0)
+                trackDist = latTrack.getDist(latTrack.getStartWpt(),prevPos) + velTrack.getDist(prevPos,cycleLn);
+            else
+                trackDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
+
+            if(prevPos != null && trackCrsr.getDist() > 0)
+                crsrDist = trackCrsr.getDist() + trackCrsr.getDist(cycleLn);
+            else
+                crsrDist = velTrack.getDist(latTrack.getStartWpt(), timeStmp);
+
+            assertEquals(trackDist, crsrDist, 0.001);
+
+            if ((trackLn - trackDist) <= 1.0E-4)
+                trackDist = trackLn;
+
+            pos = latTrack.getItmWpt(latTrack.getStartWpt(),trackDist);
+            prevPos = trackCrsr.moveTo(trackDist);
+
+            assertEquals(pos.getLat(), prevPos.getLat(), 0.000001);
+            assertEquals(pos.getLon(), prevPos.getLon(), 0.000001);
+            assertSame(velTrack.getWptSgmt(prevPos), trackCrsr.getVelSgmt());
+        }
+    }
+
     @Test
     public void exportEventKML() throws Exception {
 